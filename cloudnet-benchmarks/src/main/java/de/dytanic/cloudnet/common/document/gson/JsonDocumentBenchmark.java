@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.common.document.gson;
+
+import de.dytanic.cloudnet.driver.service.BenchmarkServiceInfoSnapshots;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing and serializing a document which holds a service info snapshot, as it is done for configuration
+ * files, database documents and the rest api.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDocumentBenchmark {
+
+  private ServiceInfoSnapshot serviceInfoSnapshot;
+  private JsonDocument document;
+  private String json;
+
+  @Setup
+  public void setup() {
+    this.serviceInfoSnapshot = BenchmarkServiceInfoSnapshots.create(1);
+    this.document = JsonDocument.newDocument(this.serviceInfoSnapshot);
+    this.json = this.document.toJson();
+  }
+
+  @Benchmark
+  public JsonDocument parse() {
+    return JsonDocument.newDocument(this.json);
+  }
+
+  @Benchmark
+  public String serialize() {
+    return this.document.toJson();
+  }
+
+  @Benchmark
+  public JsonDocument fromObject() {
+    return JsonDocument.newDocument(this.serviceInfoSnapshot);
+  }
+
+  @Benchmark
+  public ServiceInfoSnapshot toObject() {
+    return this.document.toInstanceOf(ServiceInfoSnapshot.class);
+  }
+}
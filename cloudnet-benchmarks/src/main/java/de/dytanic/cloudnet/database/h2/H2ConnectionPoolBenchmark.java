@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.database.h2;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.database.Database;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures concurrent reads and writes on the embedded h2 database with different sizes of the connection pool and
+ * the statement cache of the {@link H2DatabaseProvider}. The statistics of the pool are printed after each trial.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class H2ConnectionPoolBenchmark {
+
+  @Param({"1", "4", "8"})
+  public int poolSize;
+
+  @Param({"0", "64"})
+  public int statementCacheSize;
+
+  @Param({"10000"})
+  public int documents;
+
+  private Path directory;
+  private H2DatabaseProvider databaseProvider;
+  private Database database;
+
+  @Setup
+  public void setup() throws Exception {
+    this.directory = Files.createTempDirectory("cloudnet-benchmark");
+
+    this.databaseProvider = new H2DatabaseProvider(this.directory.resolve("h2database").toString(), false, null,
+      this.poolSize, this.statementCacheSize);
+    this.databaseProvider.init();
+
+    this.database = this.databaseProvider.getDatabase("cloudnet_cloud_players");
+    for (int i = 0; i < this.documents; i++) {
+      this.database.insert(this.key(i), this.createPlayer(i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    System.out.println();
+    System.out.println(this.databaseProvider.getConnectionPoolStatistics());
+
+    this.databaseProvider.close();
+    FileUtils.delete(this.directory);
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(6)
+  public JsonDocument read() {
+    return this.database.get(this.key(this.randomIndex()));
+  }
+
+  @Benchmark
+  @Group("readWrite")
+  @GroupThreads(2)
+  public boolean write() {
+    int index = this.randomIndex();
+    return this.database.update(this.key(index), this.createPlayer(index));
+  }
+
+  private int randomIndex() {
+    return ThreadLocalRandom.current().nextInt(this.documents);
+  }
+
+  private String key(int index) {
+    return new UUID(0, index).toString();
+  }
+
+  private JsonDocument createPlayer(int index) {
+    return JsonDocument.newDocument()
+      .append("uniqueId", new UUID(0, index))
+      .append("name", "Player" + index)
+      .append("firstLoginTimeMillis", 1_600_000_000_000L + index)
+      .append("lastLoginTimeMillis", System.currentTimeMillis())
+      .append("lastNetworkPlayerProxyInfo", JsonDocument.newDocument()
+        .append("name", "Player" + index)
+        .append("version", 47)
+        .append("address", JsonDocument.newDocument("host", "127.0.0.1").append("port", 50000 + index % 10000))
+        .append("onlineMode", true));
+  }
+}
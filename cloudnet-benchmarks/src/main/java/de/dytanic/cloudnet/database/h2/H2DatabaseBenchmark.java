@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.database.h2;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.database.Database;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations of a {@link de.dytanic.cloudnet.database.sql.SQLDatabase} on the embedded h2 database with
+ * documents like the ones of the offline players stored by the bridge.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class H2DatabaseBenchmark {
+
+  @Param({"10000"})
+  public int documents;
+
+  private Path directory;
+  private H2DatabaseProvider databaseProvider;
+  private Database database;
+
+  @Setup
+  public void setup() throws Exception {
+    this.directory = Files.createTempDirectory("cloudnet-benchmark");
+
+    this.databaseProvider = new H2DatabaseProvider(this.directory.resolve("h2database").toString(), false);
+    this.databaseProvider.init();
+
+    this.database = this.databaseProvider.getDatabase("cloudnet_cloud_players");
+    for (int i = 0; i < this.documents; i++) {
+      this.database.insert(this.key(i), this.createPlayer(i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    this.databaseProvider.close();
+    FileUtils.delete(this.directory);
+  }
+
+  @Benchmark
+  public JsonDocument get() {
+    return this.database.get(this.key(this.randomIndex()));
+  }
+
+  @Benchmark
+  public boolean contains() {
+    return this.database.contains(this.key(this.randomIndex()));
+  }
+
+  @Benchmark
+  public boolean update() {
+    int index = this.randomIndex();
+    return this.database.update(this.key(index), this.createPlayer(index));
+  }
+
+  @Benchmark
+  public boolean insertAndDelete() {
+    String key = UUID.randomUUID().toString();
+    return this.database.insert(key, this.createPlayer(this.documents)) && this.database.delete(key);
+  }
+
+  @Benchmark
+  public boolean insertAllAndDeleteAll() {
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      documents.put(UUID.randomUUID().toString(), this.createPlayer(this.documents + i));
+    }
+
+    return this.database.insertAll(documents) && this.database.deleteAll(documents.keySet());
+  }
+
+  @Benchmark
+  public List<JsonDocument> getByField() {
+    return this.database.get("name", "Player" + this.randomIndex());
+  }
+
+  @Benchmark
+  public long documentsCount() {
+    return this.database.getDocumentsCount();
+  }
+
+  private int randomIndex() {
+    return ThreadLocalRandom.current().nextInt(this.documents);
+  }
+
+  private String key(int index) {
+    return new UUID(0, index).toString();
+  }
+
+  private JsonDocument createPlayer(int index) {
+    return JsonDocument.newDocument()
+      .append("uniqueId", new UUID(0, index))
+      .append("name", "Player" + index)
+      .append("firstLoginTimeMillis", 1_600_000_000_000L + index)
+      .append("lastLoginTimeMillis", System.currentTimeMillis())
+      .append("lastNetworkPlayerProxyInfo", JsonDocument.newDocument()
+        .append("name", "Player" + index)
+        .append("version", 47)
+        .append("address", JsonDocument.newDocument("host", "127.0.0.1").append("port", 50000 + index % 10000))
+        .append("onlineMode", true));
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.event;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures calling an event on the {@link DefaultEventManager}, with listeners for the event and for an event no
+ * listener is interested in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DefaultEventManagerBenchmark {
+
+  @Param({"1", "20"})
+  public int listeners;
+
+  private final IEventManager eventManager = new DefaultEventManager();
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < this.listeners; i++) {
+      this.eventManager.registerListener(new BenchmarkListener());
+    }
+  }
+
+  @Benchmark
+  public HandledEvent callHandledEvent(Blackhole blackhole) {
+    return this.eventManager.callEvent(new HandledEvent(blackhole));
+  }
+
+  @Benchmark
+  public UnhandledEvent callUnhandledEvent() {
+    return this.eventManager.callEvent(new UnhandledEvent());
+  }
+
+  @Benchmark
+  public HandledEvent callHandledEventOnChannel(Blackhole blackhole) {
+    return this.eventManager.callEvent("benchmark", new HandledEvent(blackhole));
+  }
+
+  public static final class BenchmarkListener {
+
+    @EventListener
+    public void handle(HandledEvent event) {
+      event.blackhole.consume(event);
+    }
+
+    @EventListener(channel = "benchmark")
+    public void handleOnChannel(HandledEvent event) {
+      event.blackhole.consume(event);
+    }
+  }
+
+  public static final class HandledEvent extends Event {
+
+    private final Blackhole blackhole;
+
+    public HandledEvent(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+  }
+
+  public static final class UnhandledEvent extends Event {
+
+  }
+}
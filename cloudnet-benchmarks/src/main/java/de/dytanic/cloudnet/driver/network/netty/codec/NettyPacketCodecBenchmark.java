@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty.codec;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.service.BenchmarkServiceInfoSnapshots;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the encoding and decoding of packets carrying service info snapshots, a single one like the update of a
+ * service or many like the response to a query of all services.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NettyPacketCodecBenchmark {
+
+  @Param({"false", "true"})
+  public boolean binaryHeaders;
+
+  @Param({"false", "true"})
+  public boolean compression;
+
+  @Param({"1", "100"})
+  public int snapshots;
+
+  private final NettyPacketEncoder encoder = new NettyPacketEncoder();
+  private final NettyPacketDecoder decoder = new NettyPacketDecoder();
+  private final List<Object> decodedPackets = new ArrayList<>(1);
+
+  private Packet packet;
+  private ByteBuf encodeTarget;
+  private ByteBuf encodedPacket;
+
+  @Setup
+  public void setup() {
+    this.encoder.setBinaryHeaders(this.binaryHeaders);
+    this.encoder.setCompression(this.compression);
+
+    List<ServiceInfoSnapshot> serviceInfoSnapshots = new ArrayList<>(this.snapshots);
+    for (int i = 1; i <= this.snapshots; i++) {
+      serviceInfoSnapshots.add(BenchmarkServiceInfoSnapshots.create(i));
+    }
+
+    ProtocolBuffer body = ProtocolBuffer.create().writeObjectCollection(serviceInfoSnapshots);
+    JsonDocument header = JsonDocument.newDocument("message", "update_service_info")
+      .append("channel", "cloudnet_service_info")
+      .append("uniqueId", UUID.randomUUID());
+    this.packet = new Packet(3, UUID.randomUUID(), header, body);
+
+    this.encodeTarget = Unpooled.buffer(body.readableBytes() + 512);
+    this.encodedPacket = Unpooled.buffer(body.readableBytes() + 512);
+    this.encoder.encode(null, this.packet, this.encodedPacket);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.packet.release();
+    this.encodeTarget.release();
+    this.encodedPacket.release();
+  }
+
+  @Benchmark
+  public ByteBuf encode() {
+    this.encodeTarget.clear();
+    this.encoder.encode(null, this.packet, this.encodeTarget);
+    return this.encodeTarget;
+  }
+
+  @Benchmark
+  public Object decode() {
+    this.encodedPacket.readerIndex(0);
+    this.decodedPackets.clear();
+    this.decoder.decode(null, this.encodedPacket, this.decodedPackets);
+
+    Packet decoded = (Packet) this.decodedPackets.get(0);
+    decoded.release();
+    return decoded;
+  }
+}
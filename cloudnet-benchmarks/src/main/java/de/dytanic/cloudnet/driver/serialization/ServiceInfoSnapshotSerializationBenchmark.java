@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.serialization;
+
+import de.dytanic.cloudnet.driver.service.BenchmarkServiceInfoSnapshots;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the binary serialization of a service info snapshot with the {@link DefaultProtocolBuffer}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceInfoSnapshotSerializationBenchmark {
+
+  private ServiceInfoSnapshot serviceInfoSnapshot;
+
+  private ProtocolBuffer writeTarget;
+  private ProtocolBuffer serialized;
+
+  @Setup
+  public void setup() {
+    this.serviceInfoSnapshot = BenchmarkServiceInfoSnapshots.create(1);
+
+    this.writeTarget = ProtocolBuffer.create();
+    this.serialized = ProtocolBuffer.create().writeObject(this.serviceInfoSnapshot);
+  }
+
+  @TearDown
+  public void tearDown() {
+    this.writeTarget.release();
+    this.serialized.release();
+  }
+
+  @Benchmark
+  public ProtocolBuffer write() {
+    this.writeTarget.clear();
+    return this.writeTarget.writeObject(this.serviceInfoSnapshot);
+  }
+
+  @Benchmark
+  public ServiceInfoSnapshot read() {
+    this.serialized.readerIndex(0);
+    return this.serialized.readObject(ServiceInfoSnapshot.class);
+  }
+}
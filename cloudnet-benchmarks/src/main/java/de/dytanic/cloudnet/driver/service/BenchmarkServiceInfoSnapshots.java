@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.service;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Creates service info snapshots which look like the ones published by a running minecraft server.
+ */
+public final class BenchmarkServiceInfoSnapshots {
+
+  private BenchmarkServiceInfoSnapshots() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static ServiceInfoSnapshot create(int taskServiceId) {
+    ServiceId serviceId = new ServiceId(UUID.randomUUID(), "Node-1", "Lobby", taskServiceId,
+      ServiceEnvironmentType.MINECRAFT_SERVER);
+
+    ServiceConfiguration configuration = new ServiceConfiguration(
+      serviceId,
+      "java",
+      true,
+      false,
+      new String[]{"Lobby", "Global-Server"},
+      new ServiceRemoteInclusion[0],
+      new ServiceTemplate[]{new ServiceTemplate("Lobby", "default", "local")},
+      new ServiceDeployment[0],
+      new String[0],
+      new ProcessConfiguration(ServiceEnvironmentType.MINECRAFT_SERVER, 512,
+        Arrays.asList("-XX:+UseG1GC", "-XX:MaxGCPauseMillis=50", "-Dfile.encoding=UTF-8")),
+      JsonDocument.newDocument(),
+      44955 + taskServiceId
+    );
+
+    ProcessSnapshot processSnapshot = new ProcessSnapshot(
+      134_217_728L,
+      67_108_864L,
+      536_870_912L,
+      8512,
+      8640L,
+      128L,
+      Collections.emptyList(),
+      12.5D,
+      4000 + taskServiceId,
+      42
+    );
+
+    JsonDocument properties = JsonDocument.newDocument()
+      .append("Online", true)
+      .append("Motd", "A CloudNet provided minecraft server")
+      .append("Extra", "")
+      .append("State", "LOBBY")
+      .append("Max-Players", 100)
+      .append("Online-Count", 37)
+      .append("Version", "git-Spigot-21fe707-e1ebe52 (MC: 1.8.8)")
+      .append("Whitelist-Enabled", false);
+
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 44955 + taskServiceId),
+      System.currentTimeMillis(),
+      ServiceLifeCycle.RUNNING,
+      processSnapshot,
+      properties,
+      configuration
+    );
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.permission;
+
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.driver.permission.IPermissionGroup;
+import de.dytanic.cloudnet.driver.permission.IPermissionManagement;
+import de.dytanic.cloudnet.driver.permission.IPermissionUser;
+import de.dytanic.cloudnet.driver.permission.Permission;
+import de.dytanic.cloudnet.driver.permission.PermissionGroup;
+import de.dytanic.cloudnet.driver.permission.PermissionUser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures permission checks of a user in a group which inherits from three other groups, as they are done for every
+ * command and chat message of a player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+  private Path directory;
+  private IPermissionManagement permissionManagement;
+  private IPermissionUser permissionUser;
+
+  @Setup
+  public void setup() throws IOException {
+    this.directory = Files.createTempDirectory("cloudnet-benchmark");
+    System.setProperty("cloudnet.permissions.json.path", this.directory.resolve("permissions.json").toString());
+
+    // the users are not stored in the database during the benchmark
+    this.permissionManagement = new DefaultDatabasePermissionManagement(() -> null);
+    this.permissionManagement.init();
+
+    this.permissionManagement.setGroups(Arrays.asList(
+      this.createGroup("default", 0, null, true),
+      this.createGroup("vip", 10, "default", false),
+      this.createGroup("builder", 20, "vip", false),
+      this.createGroup("moderator", 30, "builder", false)
+    ));
+
+    this.permissionUser = new PermissionUser(UUID.randomUUID(), "Benchmark", null, 0);
+    this.permissionUser.addGroup("moderator");
+    for (int i = 0; i < 10; i++) {
+      this.permissionUser.addPermission(new Permission("user.permission." + i));
+      this.permissionUser.addPermission("Lobby", new Permission("user.lobby.permission." + i));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    FileUtils.delete(this.directory);
+  }
+
+  @Benchmark
+  public boolean userPermission() {
+    return this.permissionManagement.hasPermission(this.permissionUser, "user.permission.5");
+  }
+
+  @Benchmark
+  public boolean inheritedPermission() {
+    return this.permissionManagement.hasPermission(this.permissionUser, "default.permission.25");
+  }
+
+  @Benchmark
+  public boolean wildcardPermission() {
+    return this.permissionManagement.hasPermission(this.permissionUser, "moderator.chat.color");
+  }
+
+  @Benchmark
+  public boolean missingPermission() {
+    return this.permissionManagement.hasPermission(this.permissionUser, "not.granted.permission");
+  }
+
+  @Benchmark
+  public boolean groupPermission() {
+    return this.permissionManagement.hasPermission(this.permissionUser, "Lobby", new Permission("vip.lobby.fly"));
+  }
+
+  @Benchmark
+  public IPermissionGroup highestPermissionGroup() {
+    return this.permissionManagement.getHighestPermissionGroup(this.permissionUser);
+  }
+
+  private IPermissionGroup createGroup(String name, int potency, String parent, boolean defaultGroup) {
+    IPermissionGroup group = new PermissionGroup(name, potency,
+      parent == null ? Collections.emptyList() : Collections.singletonList(parent),
+      "&7", "&7", "", name, potency, defaultGroup);
+
+    for (int i = 0; i < 50; i++) {
+      group.addPermission(new Permission(name + ".permission." + i));
+    }
+    group.addPermission(new Permission(name + ".chat.*"));
+    group.addPermission("Lobby", new Permission(name + ".lobby.fly"));
+
+    return group;
+  }
+}
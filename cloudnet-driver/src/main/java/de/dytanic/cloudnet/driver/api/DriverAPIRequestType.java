@@ -89,6 +89,7 @@ public enum DriverAPIRequestType {
   KILL_CLOUD_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
   RUN_COMMAND_ON_CLOUD_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
   GET_CACHED_LOG_MESSAGES_FROM_CLOUD_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
+  GET_THREADS_FROM_CLOUD_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
   DEPLOY_RESOURCES_ON_CLOUD_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
   FORCE_UPDATE_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
   ADD_SERVICE_TEMPLATE_TO_CLOUD_SERVICE(DriverAPICategory.SPECIFIC_CLOUD_SERVICE),
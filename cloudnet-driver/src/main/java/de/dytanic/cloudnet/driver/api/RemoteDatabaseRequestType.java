@@ -34,7 +34,11 @@ public enum RemoteDatabaseRequestType {
   DATABASE_ENTRIES(true),
   DATABASE_CLEAR(true),
   DATABASE_CLOSE(true),
-  DATABASE_COUNT_DOCUMENTS(true);
+  DATABASE_COUNT_DOCUMENTS(true),
+  DATABASE_INSERT_ALL(true),
+  DATABASE_DELETE_ALL(true),
+  DATABASE_CREATE_INDEX(true),
+  DATABASE_ITERATE(true);
 
   private final boolean databaseSpecific;
 
@@ -16,15 +16,20 @@
 
 package de.dytanic.cloudnet.driver.database;
 
+import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.common.INameable;
+import de.dytanic.cloudnet.common.concurrent.CompletableTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public interface Database extends INameable, AutoCloseable {
 
@@ -36,8 +41,53 @@ public interface Database extends INameable, AutoCloseable {
 
   boolean delete(String key);
 
+  /**
+   * Inserts all given documents at once, documents of keys which already exist are replaced. The databases of CloudNet
+   * write the documents either all or none of them. The default implementation inserts the documents one by one with
+   * {@link #insert(String, JsonDocument)} and is not atomic.
+   *
+   * @param documents the documents to write mapped by their keys
+   * @return if all documents were written
+   */
+  default boolean insertAll(Map<String, JsonDocument> documents) {
+    boolean success = true;
+    for (Map.Entry<String, JsonDocument> entry : documents.entrySet()) {
+      success &= this.insert(entry.getKey(), entry.getValue());
+    }
+    return success;
+  }
+
+  /**
+   * Deletes the documents of all given keys at once. The databases of CloudNet delete the documents either all or none
+   * of them. The default implementation deletes the documents one by one with {@link #delete(String)} and is not
+   * atomic.
+   *
+   * @param keys the keys of the documents to delete
+   * @return if the documents were deleted
+   */
+  default boolean deleteAll(Collection<String> keys) {
+    boolean success = true;
+    for (String key : keys) {
+      success &= this.delete(key);
+    }
+    return success;
+  }
+
   JsonDocument get(String key);
 
+  /**
+   * Creates an index on the given field of the documents, if it doesn't exist yet. {@link #get(String, Object)} and
+   * {@link #get(JsonDocument)} look up the documents by the index for fields which are indexed, instead of searching
+   * through all documents. Unlike the search, a lookup by the index only matches the exact value at the exact path.
+   *
+   * @param fieldPath the path of the field to index, nested fields are separated by dots, for example {@code
+   *                  lastNetworkPlayerProxyInfo.name}
+   * @return if the index exists, the default implementation doesn't support indexes and always returns false
+   */
+  default boolean createIndex(String fieldPath) {
+    return false;
+  }
+
   List<JsonDocument> get(String fieldName, Object fieldValue);
 
   List<JsonDocument> get(JsonDocument filters);
@@ -52,6 +102,58 @@ public interface Database extends INameable, AutoCloseable {
 
   void iterate(BiConsumer<String, JsonDocument> consumer);
 
+  /**
+   * Reads one page of the documents of this database, ordered by their keys. Only the documents of the page are held in
+   * memory, so a database can be read completely without loading all documents at once by passing the returned cursor
+   * to the next call until it returns null. The cursor stays valid when documents are changed in the meantime, a new
+   * document is read if its key is after the cursor.
+   *
+   * @param cursor   the cursor returned by the previous call, or null to start with the first document
+   * @param pageSize the maximum amount of documents to read
+   * @param consumer the consumer to accept the key and the document of every read document
+   * @return the cursor to read the next page with, or null if there are no more documents
+   * @throws DatabaseException if the page couldn't be read, so that a failure doesn't look like the last page
+   */
+  @Nullable
+  default String iterate(@Nullable String cursor, int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    Preconditions.checkArgument(pageSize > 0, "pageSize has to be positive");
+
+    // the default implementation holds all keys in memory, but only the documents of the page
+    List<String> keys = new ArrayList<>(this.keys());
+    Collections.sort(keys);
+
+    int read = 0;
+    String lastKey = null;
+    for (String key : keys) {
+      if (cursor != null && key.compareTo(cursor) <= 0) {
+        continue;
+      }
+      if (read == pageSize) {
+        return lastKey;
+      }
+
+      JsonDocument document = this.get(key);
+      if (document != null) {
+        consumer.accept(key, document);
+        lastKey = key;
+        read++;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Reads all documents of this database page by page, see {@link #iterate(String, int, BiConsumer)}. The default
+   * implementation reads all documents at once with {@link #iterate(BiConsumer)}.
+   *
+   * @param pageSize the maximum amount of documents to hold in memory at once
+   * @param consumer the consumer to accept the key and the document of every document
+   * @throws DatabaseException if a page couldn't be read
+   */
+  default void iterate(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    this.iterate(consumer);
+  }
+
   void clear();
 
   long getDocumentsCount();
@@ -70,6 +172,21 @@ public interface Database extends INameable, AutoCloseable {
   @NotNull
   ITask<Boolean> deleteAsync(String key);
 
+  @NotNull
+  default ITask<Boolean> insertAllAsync(Map<String, JsonDocument> documents) {
+    return CompletableTask.supplyAsync(() -> this.insertAll(documents));
+  }
+
+  @NotNull
+  default ITask<Boolean> deleteAllAsync(Collection<String> keys) {
+    return CompletableTask.supplyAsync(() -> this.deleteAll(keys));
+  }
+
+  @NotNull
+  default ITask<Boolean> createIndexAsync(String fieldPath) {
+    return CompletableTask.supplyAsync(() -> this.createIndex(fieldPath));
+  }
+
   @NotNull
   ITask<JsonDocument> getAsync(String key);
 
@@ -94,6 +211,19 @@ public interface Database extends INameable, AutoCloseable {
   @NotNull
   ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer);
 
+  @NotNull
+  default ITask<String> iterateAsync(@Nullable String cursor, int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    return CompletableTask.supplyAsync(() -> this.iterate(cursor, pageSize, consumer));
+  }
+
+  @NotNull
+  default ITask<Void> iterateAsync(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    return CompletableTask.supplyAsync(() -> {
+      this.iterate(pageSize, consumer);
+      return null;
+    });
+  }
+
   @NotNull
   ITask<Void> clearAsync();
 
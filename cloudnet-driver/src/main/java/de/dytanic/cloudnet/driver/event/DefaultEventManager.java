@@ -21,20 +21,62 @@
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.event.invoker.ListenerInvoker;
 import de.dytanic.cloudnet.driver.event.invoker.ListenerInvokerGenerator;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The default event manager. The registered listeners are kept in an array sorted by their priority which is replaced on
+ * every change. The listeners which have to be called for an event class in a channel are resolved once from this array
+ * and cached in a dispatch table until the registered listeners change, so calling an event doesn't allocate and is
+ * almost free if no listener is interested in it.
+ * <p>
+ * Listeners which declare an executor are called through a queue on the executor registered for its name, see
+ * {@link EventListener#executor()}.
+ */
 public final class DefaultEventManager implements IEventManager {
 
-  private final Map<String, List<IRegisteredEventListener>> registeredListeners = new HashMap<>();
+  private static final String ALL_CHANNELS = "*";
+  private static final IRegisteredEventListener[] NO_LISTENERS = new IRegisteredEventListener[0];
+  private static final int LISTENER_QUEUE_CAPACITY = Integer
+    .getInteger("cloudnet.event.listener.queue.capacity", 1024);
 
+  private final Object registrationLock = new Object();
   private final ListenerInvokerGenerator invokerGenerator = new ListenerInvokerGenerator();
+  private final Map<String, Executor> executors = new ConcurrentHashMap<>();
+  private final int listenerQueueCapacity;
+
+  /**
+   * All registered listeners, sorted by their priority and in the order of their registration
+   */
+  private volatile IRegisteredEventListener[] registeredListeners = NO_LISTENERS;
+  /**
+   * The listeners to call for an event class, by channel. Replaced when the registered listeners change
+   */
+  private volatile Map<String, Map<Class<?>, IRegisteredEventListener[]>> dispatchTables = new ConcurrentHashMap<>();
+
+  public DefaultEventManager() {
+    this(LISTENER_QUEUE_CAPACITY);
+  }
+
+  /**
+   * @param listenerQueueCapacity the capacity of the queues of listeners which are called on an executor, zero or less
+   *                              for unbounded queues
+   */
+  DefaultEventManager(int listenerQueueCapacity) {
+    this.listenerQueueCapacity = listenerQueueCapacity;
+  }
 
   @Override
   public IEventManager registerListener(Object listener) {
@@ -48,10 +90,7 @@ public IEventManager registerListener(Object listener) {
   public IEventManager unregisterListener(Object listener) {
     Preconditions.checkNotNull(listener);
 
-    for (Map.Entry<String, List<IRegisteredEventListener>> listeners : this.registeredListeners.entrySet()) {
-      listeners.getValue().removeIf(registeredEventListener -> registeredEventListener.getInstance().equals(listener));
-    }
-
+    this.unregisterIf(registeredEventListener -> registeredEventListener.getInstance().equals(listener));
     return this;
   }
 
@@ -59,11 +98,7 @@ public IEventManager unregisterListener(Object listener) {
   public IEventManager unregisterListener(Class<?> listener) {
     Preconditions.checkNotNull(listener);
 
-    for (Map.Entry<String, List<IRegisteredEventListener>> listeners : this.registeredListeners.entrySet()) {
-      listeners.getValue()
-        .removeIf(registeredEventListener -> registeredEventListener.getInstance().getClass().equals(listener));
-    }
-
+    this.unregisterIf(registeredEventListener -> registeredEventListener.getInstance().getClass().equals(listener));
     return this;
   }
 
@@ -71,12 +106,8 @@ public IEventManager unregisterListener(Class<?> listener) {
   public IEventManager unregisterListeners(ClassLoader classLoader) {
     Preconditions.checkNotNull(classLoader);
 
-    for (Map.Entry<String, List<IRegisteredEventListener>> listeners : this.registeredListeners.entrySet()) {
-      listeners.getValue().removeIf(
-        registeredEventListener -> registeredEventListener.getInstance().getClass().getClassLoader()
-          .equals(classLoader));
-    }
-
+    this.unregisterIf(registeredEventListener -> registeredEventListener.getInstance().getClass().getClassLoader()
+      .equals(classLoader));
     return this;
   }
 
@@ -104,14 +135,36 @@ public IEventManager unregisterListeners(Class<?>... classes) {
 
   @Override
   public IEventManager unregisterAll() {
-    this.registeredListeners.clear();
+    synchronized (this.registrationLock) {
+      this.setRegisteredListeners(NO_LISTENERS);
+    }
     return this;
   }
 
+  @Override
+  public IEventManager registerExecutor(@NotNull String name, @NotNull Executor executor) {
+    Preconditions.checkNotNull(name);
+    Preconditions.checkNotNull(executor);
+
+    this.executors.put(name, executor);
+    return this;
+  }
+
+  @Override
+  public @NotNull Collection<EventListenerStatistics> getListenerStatistics() {
+    Collection<EventListenerStatistics> statistics = new ArrayList<>();
+    for (IRegisteredEventListener listener : this.registeredListeners) {
+      if (listener instanceof QueuedRegisteredEventListener) {
+        statistics.add(((QueuedRegisteredEventListener) listener).createStatistics());
+      }
+    }
+    return statistics;
+  }
+
   @Override
   public <T extends Event> T callEvent(String channel, T event) {
     if (channel == null) {
-      channel = "*";
+      channel = ALL_CHANNELS;
     }
     Preconditions.checkNotNull(event);
 
@@ -119,31 +172,77 @@ public <T extends Event> T callEvent(String channel, T event) {
     return event;
   }
 
-
   private void fireEvent(String channel, Event event) {
-    if (channel.equals("*")) {
-      List<IRegisteredEventListener> listeners = new ArrayList<>();
+    for (IRegisteredEventListener listener : this.getDispatchTargets(channel, event.getClass())) {
+      listener.fireEvent(event);
+    }
+  }
+
+  private IRegisteredEventListener[] getDispatchTargets(String channel, Class<?> eventClass) {
+    // the tables have to be read before the listeners, they are replaced after the listeners on a change
+    Map<String, Map<Class<?>, IRegisteredEventListener[]>> dispatchTables = this.dispatchTables;
 
-      for (List<IRegisteredEventListener> entry : this.registeredListeners.values()) {
-        listeners.addAll(entry);
+    Map<Class<?>, IRegisteredEventListener[]> dispatchTable = dispatchTables.get(channel);
+    if (dispatchTable == null) {
+      dispatchTable = dispatchTables.computeIfAbsent(channel, key -> new ConcurrentHashMap<>());
+    }
+
+    IRegisteredEventListener[] targets = dispatchTable.get(eventClass);
+    if (targets == null) {
+      targets = dispatchTable.computeIfAbsent(eventClass, key -> this.resolveDispatchTargets(channel, key));
+    }
+
+    return targets;
+  }
+
+  private IRegisteredEventListener[] resolveDispatchTargets(String channel, Class<?> eventClass) {
+    boolean allChannels = channel.equals(ALL_CHANNELS);
+    Collection<IRegisteredEventListener> targets = new ArrayList<>();
+
+    for (IRegisteredEventListener listener : this.registeredListeners) {
+      if ((allChannels || listener.getEventListener().channel().equals(channel))
+        && listener.getEventClass().isAssignableFrom(eventClass)) {
+        targets.add(listener);
       }
+    }
+
+    return targets.isEmpty() ? NO_LISTENERS : targets.toArray(NO_LISTENERS);
+  }
 
-      this.fireEvent(listeners, event);
-    } else if (this.registeredListeners.containsKey(channel)) {
-      this.fireEvent(this.registeredListeners.get(channel), event);
+  private Executor getExecutor(String name) {
+    Executor executor = this.executors.get(name);
+    if (executor == null) {
+      executor = this.executors.computeIfAbsent(name,
+        key -> Executors.newCachedThreadPool(new DefaultThreadFactory("event-" + key, true)));
     }
+    return executor;
   }
 
-  private void fireEvent(List<IRegisteredEventListener> listeners, Event event) {
-    Collections.sort(listeners);
+  private void unregisterIf(Predicate<IRegisteredEventListener> filter) {
+    synchronized (this.registrationLock) {
+      IRegisteredEventListener[] listeners = Arrays.stream(this.registeredListeners)
+        .filter(filter.negate())
+        .toArray(IRegisteredEventListener[]::new);
 
-    for (IRegisteredEventListener listener : listeners) {
-      listener.fireEvent(event);
+      if (listeners.length != this.registeredListeners.length) {
+        this.setRegisteredListeners(listeners);
+      }
     }
   }
 
+  private void setRegisteredListeners(IRegisteredEventListener[] listeners) {
+    // the sort is stable, listeners with the same priority stay in the order of their registration
+    Arrays.sort(listeners);
+
+    this.registeredListeners = listeners;
+    this.dispatchTables = new ConcurrentHashMap<>();
+  }
+
   @SuppressWarnings("unchecked")
   private void registerListener0(Object listener) {
+    List<IRegisteredEventListener> registeredEventListeners = new ArrayList<>();
+    Map<String, ListenerExecutionQueue> queues = new HashMap<>();
+
     for (Method method : listener.getClass().getMethods()) {
       if (!method.isAnnotationPresent(EventListener.class)) {
         continue;
@@ -180,6 +279,22 @@ private void registerListener0(Object listener) {
         methodName,
         listenerInvoker);
 
+      if (!eventListener.executor().isEmpty()) {
+        if (ICancelable.class.isAssignableFrom(eventClass)) {
+          throw new IllegalStateException(String.format(
+            "Listener method %s:%s of cancelable event %s can't be called on an executor",
+            listener.getClass().getName(),
+            method.getName(),
+            eventClass.getName()));
+        }
+
+        // all methods of the listener running on the same executor share a queue to keep the order of the events
+        ListenerExecutionQueue queue = queues.computeIfAbsent(eventListener.executor(),
+          executorName -> new ListenerExecutionQueue(executorName, () -> this.getExecutor(executorName),
+            this.listenerQueueCapacity));
+        registeredEventListener = new QueuedRegisteredEventListener(registeredEventListener, queue);
+      }
+
       CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
         if (cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
           cloudNetDriver.getLogger().debug(String.format(
@@ -191,8 +306,19 @@ private void registerListener0(Object listener) {
         }
       });
 
-      this.registeredListeners.computeIfAbsent(eventListener.channel(),
-        key -> new CopyOnWriteArrayList<>()).add(registeredEventListener);
+      registeredEventListeners.add(registeredEventListener);
+    }
+
+    if (!registeredEventListeners.isEmpty()) {
+      synchronized (this.registrationLock) {
+        IRegisteredEventListener[] listeners = Arrays.copyOf(this.registeredListeners,
+          this.registeredListeners.length + registeredEventListeners.size());
+        for (int i = 0; i < registeredEventListeners.size(); i++) {
+          listeners[this.registeredListeners.length + i] = registeredEventListeners.get(i);
+        }
+
+        this.setRegisteredListeners(listeners);
+      }
     }
   }
 }
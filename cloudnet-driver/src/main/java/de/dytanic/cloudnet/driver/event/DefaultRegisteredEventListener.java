@@ -54,15 +54,15 @@ public void fireEvent(Event event) {
     }
 
     if (event.isShowDebug()) {
-      CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
-        if (cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
-          cloudNetDriver.getLogger().debug(String.format(
-            "Calling event %s on listener %s",
-            event.getClass().getName(),
-            this.getInstance().getClass().getName()
-          ));
-        }
-      });
+      // no lambda here, this is called for every event and listener
+      CloudNetDriver cloudNetDriver = CloudNetDriver.getInstance();
+      if (cloudNetDriver != null && cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
+        cloudNetDriver.getLogger().debug(String.format(
+          "Calling event %s on listener %s",
+          event.getClass().getName(),
+          this.getInstance().getClass().getName()
+        ));
+      }
     }
 
     try {
@@ -28,4 +28,20 @@
   String channel() default "*";
 
   EventPriority priority() default EventPriority.NORMAL;
+
+  /**
+   * The name of the executor the listener should be called on. By default, listeners are called synchronously on the
+   * thread calling the event. If an executor is given, events are added to a bounded queue of the listener instead and
+   * handed to the listener one after another on the executor, the caller of the event doesn't wait for the listener.
+   * If the queue of the listener is full, the event is rejected and not handed to the listener. The capacity of the
+   * queues is set by the system property {@code cloudnet.event.listener.queue.capacity}, a capacity of zero or less
+   * makes them unbounded.
+   * <p>
+   * Listeners on an executor can't take part in the cancellation of an event, declaring an executor for a listener of a
+   * cancelable event is rejected.
+   *
+   * @return the name of the executor to call the listener on, an empty string to call it synchronously
+   * @see IEventManager#registerExecutor(String, java.util.concurrent.Executor)
+   */
+  String executor() default "";
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.event;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A snapshot of the statistics of a listener which is called on an executor.
+ *
+ * @see EventListener#executor()
+ */
+public final class EventListenerStatistics {
+
+  private final String listenerClass;
+  private final String methodName;
+  private final String eventClass;
+  private final String executor;
+
+  private final int queueSize;
+  private final int queueCapacity;
+  private final long invocations;
+  private final long rejectedEvents;
+  private final long averageWaitNanos;
+  private final long averageExecutionNanos;
+  private final long maxExecutionNanos;
+
+  public EventListenerStatistics(String listenerClass, String methodName, String eventClass, String executor,
+    int queueSize, int queueCapacity, long invocations, long rejectedEvents, long averageWaitNanos,
+    long averageExecutionNanos, long maxExecutionNanos) {
+    this.listenerClass = listenerClass;
+    this.methodName = methodName;
+    this.eventClass = eventClass;
+    this.executor = executor;
+    this.queueSize = queueSize;
+    this.queueCapacity = queueCapacity;
+    this.invocations = invocations;
+    this.rejectedEvents = rejectedEvents;
+    this.averageWaitNanos = averageWaitNanos;
+    this.averageExecutionNanos = averageExecutionNanos;
+    this.maxExecutionNanos = maxExecutionNanos;
+  }
+
+  @NotNull
+  public String getListenerClass() {
+    return this.listenerClass;
+  }
+
+  @NotNull
+  public String getMethodName() {
+    return this.methodName;
+  }
+
+  @NotNull
+  public String getEventClass() {
+    return this.eventClass;
+  }
+
+  @NotNull
+  public String getExecutor() {
+    return this.executor;
+  }
+
+  /**
+   * @return the amount of events waiting in the queue of the listener
+   */
+  public int getQueueSize() {
+    return this.queueSize;
+  }
+
+  /**
+   * @return the capacity of the queue of the listener, -1 if the queue is unbounded
+   */
+  public int getQueueCapacity() {
+    return this.queueCapacity;
+  }
+
+  /**
+   * @return the amount of events handed to the listener
+   */
+  public long getInvocations() {
+    return this.invocations;
+  }
+
+  /**
+   * @return the amount of events which weren't handed to the listener because its queue was full
+   */
+  public long getRejectedEvents() {
+    return this.rejectedEvents;
+  }
+
+  /**
+   * @return the average time in nanoseconds an event waited in the queue before it was handed to the listener
+   */
+  public long getAverageWaitNanos() {
+    return this.averageWaitNanos;
+  }
+
+  /**
+   * @return the average time in nanoseconds the listener took to handle an event
+   */
+  public long getAverageExecutionNanos() {
+    return this.averageExecutionNanos;
+  }
+
+  /**
+   * @return the longest time in nanoseconds the listener took to handle an event
+   */
+  public long getMaxExecutionNanos() {
+    return this.maxExecutionNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "EventListenerStatistics{"
+      + "listener=" + this.listenerClass + ":" + this.methodName
+      + ", event=" + this.eventClass
+      + ", executor=" + this.executor
+      + ", queue=" + this.queueSize + "/" + this.queueCapacity
+      + ", invocations=" + this.invocations
+      + ", rejected=" + this.rejectedEvents
+      + ", averageWaitNanos=" + this.averageWaitNanos
+      + ", averageExecutionNanos=" + this.averageExecutionNanos
+      + ", maxExecutionNanos=" + this.maxExecutionNanos
+      + '}';
+  }
+}
@@ -17,6 +17,10 @@
 package de.dytanic.cloudnet.driver.event;
 
 import com.google.common.base.Preconditions;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import org.jetbrains.annotations.NotNull;
 
 public interface IEventManager {
 
@@ -40,6 +44,27 @@ default <T extends Event> T callEvent(T event) {
     return this.callEvent("*", event);
   }
 
+  /**
+   * Registers the executor to run the listeners which declare the given executor name on. If no executor is registered
+   * for a name a cached thread pool is created for it.
+   *
+   * @param name     the name of the executor
+   * @param executor the executor to run the listeners on
+   * @return the same instance of this class, for chaining
+   * @see EventListener#executor()
+   */
+  IEventManager registerExecutor(@NotNull String name, @NotNull Executor executor);
+
+  /**
+   * Gets the statistics of the registered listeners which are called on an executor.
+   *
+   * @return the statistics of all listeners running on an executor
+   */
+  @NotNull
+  default Collection<EventListenerStatistics> getListenerStatistics() {
+    return Collections.emptyList();
+  }
+
   default IEventManager registerListeners(Object... listeners) {
     Preconditions.checkNotNull(listeners);
 
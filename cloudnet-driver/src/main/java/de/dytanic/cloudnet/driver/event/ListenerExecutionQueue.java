@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.event;
+
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The queue of the events for the listener methods of one listener instance which run on the same executor. The queue
+ * is drained by at most one task on the executor at a time, so the listener receives the events one after another and
+ * in the order they were fired, even if they are handled by different methods.
+ * <p>
+ * The caller of an event never waits for the listener. If the queue is bounded and full, the event is rejected: it is
+ * not handed to the listener and counted in the statistics of the listener, see
+ * {@link EventListenerStatistics#getRejectedEvents()}. A capacity of zero or less makes the queue unbounded, no event
+ * is rejected then but a listener which can't keep up lets the queue grow without limit. If the executor rejects the
+ * draining task because it was shut down, the queue is drained by the caller instead, still by one thread at a time.
+ */
+final class ListenerExecutionQueue {
+
+  /**
+   * The maximum amount of events handled by one task on the executor, to not occupy a thread of a shared executor
+   */
+  private static final int MAX_EVENTS_PER_TASK = 64;
+
+  private final String executorName;
+  private final Supplier<Executor> executorSupplier;
+
+  private final Queue<QueuedEvent> queue;
+  private final int capacity;
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  ListenerExecutionQueue(String executorName, Supplier<Executor> executorSupplier, int capacity) {
+    this.executorName = executorName;
+    this.executorSupplier = executorSupplier;
+    this.queue = capacity > 0 ? new ArrayBlockingQueue<>(capacity) : new LinkedBlockingQueue<>();
+    this.capacity = capacity > 0 ? capacity : -1;
+  }
+
+  void offer(QueuedRegisteredEventListener listener, Event event) {
+    if (!this.queue.offer(new QueuedEvent(listener, event, System.nanoTime()))) {
+      listener.onQueueFull();
+      return;
+    }
+
+    this.schedule();
+  }
+
+  private void schedule() {
+    while (this.scheduled.compareAndSet(false, true)) {
+      try {
+        this.executorSupplier.get().execute(this::drain);
+        return;
+      } catch (RejectedExecutionException exception) {
+        // the executor is shut down, the events are handled by the calling thread to not lose them
+        this.drainQueue(Integer.MAX_VALUE);
+        this.scheduled.set(false);
+        if (this.queue.isEmpty()) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void drain() {
+    try {
+      this.drainQueue(MAX_EVENTS_PER_TASK);
+    } finally {
+      this.scheduled.set(false);
+      if (!this.queue.isEmpty()) {
+        this.schedule();
+      }
+    }
+  }
+
+  private void drainQueue(int maxEvents) {
+    QueuedEvent queuedEvent;
+    for (int i = 0; i < maxEvents && (queuedEvent = this.queue.poll()) != null; i++) {
+      queuedEvent.listener.invoke(queuedEvent.event, queuedEvent.queueTime);
+    }
+  }
+
+  String getExecutorName() {
+    return this.executorName;
+  }
+
+  int size() {
+    return this.queue.size();
+  }
+
+  /**
+   * @return the capacity of the queue, -1 if the queue is unbounded
+   */
+  int getCapacity() {
+    return this.capacity;
+  }
+
+  private static final class QueuedEvent {
+
+    private final QueuedRegisteredEventListener listener;
+    private final Event event;
+    private final long queueTime;
+
+    public QueuedEvent(QueuedRegisteredEventListener listener, Event event, long queueTime) {
+      this.listener = listener;
+      this.event = event;
+      this.queueTime = queueTime;
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.event;
+
+import de.dytanic.cloudnet.driver.CloudNetDriver;
+import de.dytanic.cloudnet.driver.event.invoker.ListenerInvoker;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A registered listener which is called on an executor through the {@link ListenerExecutionQueue} of its instance.
+ */
+final class QueuedRegisteredEventListener implements IRegisteredEventListener {
+
+  private final IRegisteredEventListener delegate;
+  private final ListenerExecutionQueue queue;
+
+  private final AtomicLong invocations = new AtomicLong();
+  private final AtomicLong rejectedEvents = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong totalExecutionNanos = new AtomicLong();
+  private final AtomicLong maxExecutionNanos = new AtomicLong();
+
+  QueuedRegisteredEventListener(IRegisteredEventListener delegate, ListenerExecutionQueue queue) {
+    this.delegate = delegate;
+    this.queue = queue;
+  }
+
+  @Override
+  public void fireEvent(Event event) {
+    this.queue.offer(this, event);
+  }
+
+  void onQueueFull() {
+    long rejected = this.rejectedEvents.incrementAndGet();
+    if (rejected == 1 || rejected % 1000 == 0) {
+      this.log(String.format("Queue of listener %s:%s is full, %d events were rejected so far",
+        this.delegate.getInstance().getClass().getName(), this.delegate.getMethodName(), rejected), null);
+    }
+  }
+
+  void invoke(Event event, long queueTime) {
+    long startTime = System.nanoTime();
+    try {
+      this.delegate.fireEvent(event);
+    } catch (Throwable throwable) {
+      this.log(String.format("Exception while calling listener %s:%s on executor %s",
+        this.delegate.getInstance().getClass().getName(), this.delegate.getMethodName(),
+        this.queue.getExecutorName()), throwable);
+    } finally {
+      long executionNanos = System.nanoTime() - startTime;
+
+      this.invocations.incrementAndGet();
+      this.totalWaitNanos.addAndGet(startTime - queueTime);
+      this.totalExecutionNanos.addAndGet(executionNanos);
+      this.maxExecutionNanos.accumulateAndGet(executionNanos, Math::max);
+    }
+  }
+
+  private void log(String message, Throwable throwable) {
+    CloudNetDriver cloudNetDriver = CloudNetDriver.getInstance();
+    if (cloudNetDriver != null) {
+      if (throwable == null) {
+        cloudNetDriver.getLogger().warning(message);
+      } else {
+        cloudNetDriver.getLogger().error(message, throwable);
+      }
+    } else if (throwable != null) {
+      throwable.printStackTrace();
+    }
+  }
+
+  EventListenerStatistics createStatistics() {
+    long invocations = this.invocations.get();
+    return new EventListenerStatistics(
+      this.delegate.getInstance().getClass().getName(),
+      this.delegate.getMethodName(),
+      this.delegate.getEventClass().getName(),
+      this.queue.getExecutorName(),
+      this.queue.size(),
+      this.queue.getCapacity(),
+      invocations,
+      this.rejectedEvents.get(),
+      invocations == 0 ? 0 : this.totalWaitNanos.get() / invocations,
+      invocations == 0 ? 0 : this.totalExecutionNanos.get() / invocations,
+      this.maxExecutionNanos.get()
+    );
+  }
+
+  @Override
+  public EventListener getEventListener() {
+    return this.delegate.getEventListener();
+  }
+
+  @Override
+  public EventPriority getPriority() {
+    return this.delegate.getPriority();
+  }
+
+  @Override
+  public Object getInstance() {
+    return this.delegate.getInstance();
+  }
+
+  @Override
+  public ListenerInvoker getInvoker() {
+    return this.delegate.getInvoker();
+  }
+
+  @Override
+  public Class<?> getEventClass() {
+    return this.delegate.getEventClass();
+  }
+
+  @Override
+  public String getMethodName() {
+    return this.delegate.getMethodName();
+  }
+}
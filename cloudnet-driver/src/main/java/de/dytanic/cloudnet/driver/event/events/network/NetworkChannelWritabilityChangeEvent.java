@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.event.events.network;
+
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+
+/**
+ * Called when a channel becomes unwritable because its outbound buffer exceeded the high water mark, or writable
+ * again after the buffer was drained below the low water mark.
+ */
+public final class NetworkChannelWritabilityChangeEvent extends NetworkEvent {
+
+  private final boolean writable;
+
+  public NetworkChannelWritabilityChangeEvent(INetworkChannel channel, boolean writable) {
+    super(channel);
+    this.writable = writable;
+  }
+
+  public boolean isWritable() {
+    return this.writable;
+  }
+}
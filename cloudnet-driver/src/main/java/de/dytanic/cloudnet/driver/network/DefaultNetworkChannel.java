@@ -47,6 +47,7 @@ public abstract class DefaultNetworkChannel implements INetworkChannel {
   private final boolean clientProvidedChannel;
 
   private INetworkChannelHandler handler;
+  private volatile boolean serviceInfoDeltaSupported;
 
   public DefaultNetworkChannel(IPacketListenerRegistry packetRegistry, HostAndPort serverAddress,
     HostAndPort clientAddress, boolean clientProvidedChannel, INetworkChannelHandler handler) {
@@ -81,14 +82,14 @@ public IPacket sendQuery(@NotNull IPacket packet) {
   @Override
   public ITask<IPacket> registerQueryResponseHandler(UUID uniqueId) {
     CompletableTask<IPacket> task = new CompletableTask<>();
-    InternalSyncPacketChannel.registerQueryHandler(uniqueId, task::complete);
+    InternalSyncPacketChannel.registerQueryHandler(this, uniqueId, task::complete);
     return task;
   }
 
   @Override
   public ITask<ChunkedQueryResponse> sendChunkedPacketQuery(@NotNull IPacket packet) {
     CompletableTask<ChunkedQueryResponse> task = new CompletableTask<>();
-    InternalSyncPacketChannel.registerChunkedQueryHandler(packet.getUniqueId(), task::complete);
+    InternalSyncPacketChannel.registerChunkedQueryHandler(this, packet.getUniqueId(), task::complete);
     this.sendPacket(packet);
     return task;
   }
@@ -151,4 +152,14 @@ public void setHandler(INetworkChannelHandler handler) {
     this.handler = handler;
   }
 
+  @Override
+  public boolean isServiceInfoDeltaSupported() {
+    return this.serviceInfoDeltaSupported;
+  }
+
+  @Override
+  public void setServiceInfoDeltaSupported(boolean serviceInfoDeltaSupported) {
+    this.serviceInfoDeltaSupported = serviceInfoDeltaSupported;
+  }
+
 }
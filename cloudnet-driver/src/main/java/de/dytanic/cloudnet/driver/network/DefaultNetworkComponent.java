@@ -18,6 +18,7 @@
 
 import com.google.common.base.Preconditions;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
 import java.util.Collection;
 import org.jetbrains.annotations.NotNull;
 
@@ -42,26 +43,22 @@ default void closeChannels() {
   default void sendPacket(@NotNull IPacket packet) {
     Preconditions.checkNotNull(packet);
 
-    for (INetworkChannel channel : this.getModifiableChannels()) {
-      channel.sendPacket(packet);
-    }
+    IPacketSender.sendPacketToAll(this.getModifiableChannels(), packet, false);
   }
 
   @Override
   default void sendPacketSync(@NotNull IPacket packet) {
     Preconditions.checkNotNull(packet);
 
-    for (INetworkChannel channel : this.getModifiableChannels()) {
-      channel.sendPacketSync(packet);
-    }
+    IPacketSender.sendPacketToAll(this.getModifiableChannels(), packet, true);
   }
 
   @Override
   default void sendPacket(@NotNull IPacket... packets) {
     Preconditions.checkNotNull(packets);
 
-    for (INetworkChannel channel : this.getModifiableChannels()) {
-      channel.sendPacket(packets);
+    for (IPacket packet : packets) {
+      this.sendPacket(packet);
     }
   }
 
@@ -90,6 +90,60 @@ boolean sendChunkedPackets(UUID uniqueId, @NotNull JsonDocument header, @NotNull
 
   boolean isWriteable();
 
+  /**
+   * Returns if the headers of the packets written to this channel are encoded in the compact binary format
+   */
+  boolean isBinaryHeaders();
+
+  /**
+   * Sets if the headers of the packets written to this channel should be encoded in the compact binary format instead
+   * of json. This may only be enabled if the other side of the channel announced that it is able to read them
+   *
+   * @param binaryHeaders if binary packet headers should be written
+   */
+  void setBinaryHeaders(boolean binaryHeaders);
+
+  /**
+   * Returns if headers in the compact binary format are read from the other side of this channel
+   */
+  boolean isAcceptingBinaryHeaders();
+
+  /**
+   * Sets if headers in the compact binary format are read from the other side of this channel. This has to be enabled
+   * when this side announces that it is able to read them, until then a packet with a binary header is rejected
+   *
+   * @param acceptingBinaryHeaders if binary packet headers should be read
+   */
+  void setAcceptingBinaryHeaders(boolean acceptingBinaryHeaders);
+
+  /**
+   * Returns if large packet bodies written to this channel are compressed
+   */
+  boolean isCompression();
+
+  /**
+   * Sets if packet bodies written to this channel which are larger than the compression threshold should be compressed.
+   * This may only be enabled if the other side of the channel announced that it is able to read them
+   *
+   * @param compression if large packet bodies should be compressed
+   */
+  void setCompression(boolean compression);
+
+  /**
+   * Returns if the other side of this channel announced that it reads service info deltas
+   *
+   * @see de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoDelta
+   */
+  boolean isServiceInfoDeltaSupported();
+
+  /**
+   * Sets if the other side of this channel announced that it reads service info deltas. Updates of services are sent
+   * as full snapshots to channels which don't support them
+   *
+   * @param serviceInfoDeltaSupported if the other side reads service info deltas
+   */
+  void setServiceInfoDeltaSupported(boolean serviceInfoDeltaSupported);
+
   boolean isActive();
 
 }
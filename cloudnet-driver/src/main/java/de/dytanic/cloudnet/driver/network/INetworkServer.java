@@ -16,6 +16,8 @@
 
 package de.dytanic.cloudnet.driver.network;
 
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import java.util.Collection;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -42,4 +44,13 @@ public interface INetworkServer extends INetworkComponent, AutoCloseable {
    * @return true when the binding was successful or false if an error was threw or the port is already bind
    */
   boolean addListener(@NotNull HostAndPort hostAndPort);
+
+  /**
+   * Sends the given packets to all given channels. Each packet is only encoded once for all channels instead of once
+   * for each channel, which makes this the preferred way to send the same packet to many receivers
+   *
+   * @param channels the channels to send the packets to, they don't have to be connected to this server
+   * @param packets  the packets to send
+   */
+  void broadcastPacket(@NotNull Collection<INetworkChannel> channels, @NotNull IPacket... packets);
 }
@@ -218,8 +218,7 @@ public void write(@NotNull ProtocolBuffer buffer) {
     buffer.writeObject(this.processSnapshot);
     buffer.writeObjectCollection(this.modules);
     buffer.writeDouble(this.systemCpuUsage);
-
-    super.write(buffer);
+    buffer.writeJsonDocument(ProcessSnapshot.appendThreadCount(this.properties, this.processSnapshot));
   }
 
   @Override
@@ -238,5 +237,6 @@ public void read(@NotNull ProtocolBuffer buffer) {
     this.systemCpuUsage = buffer.readDouble();
 
     super.read(buffer);
+    ProcessSnapshot.readThreadCount(this.properties, this.processSnapshot);
   }
 }
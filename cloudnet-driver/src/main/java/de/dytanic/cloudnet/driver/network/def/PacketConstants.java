@@ -40,6 +40,7 @@ public final class PacketConstants {
   public static final int SERVICE_INFO_PUBLISH_CHANNEL = 15;
   public static final int PERMISSIONS_PUBLISH_CHANNEL = 16;
   public static final int CHANNEL_MESSAGING_CHANNEL = 17;
+  public static final int SERVICE_INFO_DELTA_CHANNEL = 18;
 
   private PacketConstants() {
     throw new UnsupportedOperationException();
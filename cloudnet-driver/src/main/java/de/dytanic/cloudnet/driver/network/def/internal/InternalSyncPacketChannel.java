@@ -23,17 +23,31 @@
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedQueryResponse;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ChunkedPacketListener;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ConsumingChunkedPacketListener;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @ApiStatus.Internal
 public final class InternalSyncPacketChannel {
 
+  private static final long QUERY_TIMEOUT_MILLIS = Long.getLong("cloudnet.query.timeout.millis", 30_000);
+
   private static final Map<UUID, SynchronizedCallback> WAITING_PACKETS = new ConcurrentHashMap<>();
+  private static final Timer TIMEOUT_TIMER = new HashedWheelTimer(
+    new DefaultThreadFactory("query-timeout", true), 100, TimeUnit.MILLISECONDS);
+
+  private static final AtomicLong COMPLETED_QUERIES = new AtomicLong();
+  private static final AtomicLong TIMED_OUT_QUERIES = new AtomicLong();
 
   private InternalSyncPacketChannel() {
     throw new UnsupportedOperationException();
@@ -42,40 +56,102 @@ private InternalSyncPacketChannel() {
   public static boolean handleIncomingChannel(INetworkChannel channel, Packet packet) {
     Preconditions.checkNotNull(packet);
 
-    if (WAITING_PACKETS.containsKey(packet.getUniqueId())) {
-      SynchronizedCallback syncEntry = null;
+    SynchronizedCallback syncEntry = WAITING_PACKETS.get(packet.getUniqueId());
+    return syncEntry != null && syncEntry.isSentTo(channel) && handleResponse(channel, packet, syncEntry);
+  }
 
-      try {
-        syncEntry = WAITING_PACKETS.get(packet.getUniqueId());
-        syncEntry.consumer.accept(channel, packet);
-      } catch (Throwable e) {
-        e.printStackTrace();
-      }
+  /**
+   * Completes the query the given packet is the response to. This is called by the network before the packet is queued
+   * for its listeners, as a listener which is waiting for a response from the same channel would block the queue of
+   * the channel otherwise. Responses to chunked queries are left to {@link #handleIncomingChannel(INetworkChannel,
+   * Packet)}, their chunks have to be handled in order and are written to files.
+   *
+   * @param channel the channel the packet was received from
+   * @param packet  the received packet
+   * @return if the packet was the response to a query sent to the channel and must not be handled by any listener
+   */
+  public static boolean handleQueryResponse(INetworkChannel channel, Packet packet) {
+    Preconditions.checkNotNull(packet);
 
-      if (syncEntry != null && syncEntry.autoRemove) {
-        WAITING_PACKETS.remove(packet.getUniqueId());
+    SynchronizedCallback syncEntry = WAITING_PACKETS.get(packet.getUniqueId());
+    return syncEntry != null && syncEntry.autoRemove && syncEntry.isSentTo(channel)
+      && handleResponse(channel, packet, syncEntry);
+  }
+
+  private static boolean handleResponse(INetworkChannel channel, Packet packet, SynchronizedCallback syncEntry) {
+    if (syncEntry.autoRemove) {
+      // only the one who removes the entry is allowed to complete it, the timeout might be faster
+      if (!WAITING_PACKETS.remove(packet.getUniqueId(), syncEntry)) {
+        return true;
       }
 
-      return true;
+      syncEntry.cancelTimeout();
+      COMPLETED_QUERIES.incrementAndGet();
+    }
+
+    try {
+      syncEntry.consumer.accept(channel, packet);
+    } catch (Throwable e) {
+      e.printStackTrace();
+    }
+
+    return true;
+  }
+
+  /**
+   * Completes all queries which are waiting for a response from the given channel with an empty packet, as the
+   * response will never arrive after the channel was closed.
+   *
+   * @param channel the channel which was closed
+   */
+  public static void handleChannelClose(INetworkChannel channel) {
+    Preconditions.checkNotNull(channel);
 
-    } else {
-      return false;
+    for (Map.Entry<UUID, SynchronizedCallback> entry : WAITING_PACKETS.entrySet()) {
+      SynchronizedCallback callback = entry.getValue();
+      if (callback.channelId == channel.getChannelId() && WAITING_PACKETS.remove(entry.getKey(), callback)) {
+        callback.cancelTimeout();
+        if (callback.autoRemove) {
+          callback.fail();
+        }
+      }
     }
   }
 
   public static void removeEntry(UUID uniqueId) {
-    WAITING_PACKETS.remove(uniqueId);
+    SynchronizedCallback callback = WAITING_PACKETS.remove(uniqueId);
+    if (callback != null) {
+      callback.cancelTimeout();
+    }
+  }
+
+  public static long getCompletedQueries() {
+    return COMPLETED_QUERIES.get();
+  }
+
+  public static long getTimedOutQueries() {
+    return TIMED_OUT_QUERIES.get();
+  }
+
+  public static int getPendingQueries() {
+    return WAITING_PACKETS.size();
   }
 
   public static void registerChunkedQueryHandler(UUID uniqueId, Consumer<ChunkedQueryResponse> consumer) {
+    registerChunkedQueryHandler(null, uniqueId, consumer);
+  }
+
+  public static void registerChunkedQueryHandler(@Nullable INetworkChannel channel, UUID uniqueId,
+    Consumer<ChunkedQueryResponse> consumer) {
     ChunkedPacketListener listener = new ConsumingChunkedPacketListener(response -> {
       removeEntry(uniqueId);
+      COMPLETED_QUERIES.incrementAndGet();
       consumer.accept(response);
     });
 
-    registerQueryHandler(uniqueId, false, (channel, packet) -> {
+    registerQueryHandler(channel, uniqueId, false, (sender, packet) -> {
       try {
-        listener.handle(channel, packet);
+        listener.handle(sender, packet);
       } catch (Exception exception) {
         exception.printStackTrace();
       }
@@ -83,40 +159,73 @@ public static void registerChunkedQueryHandler(UUID uniqueId, Consumer<ChunkedQu
   }
 
   public static void registerQueryHandler(UUID uniqueId, Consumer<IPacket> consumer) {
-    registerQueryHandler(uniqueId, true, (channel, packet) -> consumer.accept(packet));
+    registerQueryHandler(null, uniqueId, consumer);
   }
 
-  private static void registerQueryHandler(UUID uniqueId, boolean autoRemove,
-    BiConsumer<INetworkChannel, IPacket> consumer) {
-    checkCachedValidation();
-    WAITING_PACKETS.put(uniqueId, new SynchronizedCallback(autoRemove, consumer));
+  public static void registerQueryHandler(@Nullable INetworkChannel channel, UUID uniqueId,
+    Consumer<IPacket> consumer) {
+    registerQueryHandler(channel, uniqueId, true, (sender, packet) -> consumer.accept(copyOf(packet)));
   }
 
-  private static void checkCachedValidation() {
-    long systemCurrent = System.currentTimeMillis();
-
-    for (Map.Entry<UUID, SynchronizedCallback> entry : WAITING_PACKETS.entrySet()) {
-      if (entry.getValue().autoRemove && entry.getValue().timeOut < systemCurrent) {
-        WAITING_PACKETS.remove(entry.getKey());
+  private static IPacket copyOf(IPacket packet) {
+    // the body of a received packet is released after it was handled, but the response is read by the waiting thread
+    if (packet == Packet.EMPTY || packet.getBuffer() == null) {
+      return packet;
+    }
+    return new Packet(packet.getChannel(), packet.getUniqueId(), packet.getHeader(), packet.getBuffer().toArray());
+  }
 
-        try {
-          entry.getValue().consumer.accept(null, Packet.EMPTY);
-        } catch (Throwable throwable) {
-          throwable.printStackTrace();
+  private static void registerQueryHandler(INetworkChannel channel, UUID uniqueId, boolean autoRemove,
+    BiConsumer<INetworkChannel, IPacket> consumer) {
+    SynchronizedCallback callback = new SynchronizedCallback(channel == null ? -1 : channel.getChannelId(),
+      autoRemove, consumer);
+    WAITING_PACKETS.put(uniqueId, callback);
+
+    // chunked queries are removed by their listener once all chunks arrived, so only plain queries may time out
+    if (autoRemove) {
+      callback.timeout = TIMEOUT_TIMER.newTimeout(timeout -> {
+        if (WAITING_PACKETS.remove(uniqueId, callback)) {
+          TIMED_OUT_QUERIES.incrementAndGet();
+          callback.fail();
         }
-      }
+      }, QUERY_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
     }
   }
 
   private static class SynchronizedCallback {
 
-    private final long timeOut = System.currentTimeMillis() + 30000;
+    private final long channelId;
     private final boolean autoRemove;
     private final BiConsumer<INetworkChannel, IPacket> consumer;
 
-    public SynchronizedCallback(boolean autoRemove, BiConsumer<INetworkChannel, IPacket> consumer) {
+    private volatile Timeout timeout;
+
+    public SynchronizedCallback(long channelId, boolean autoRemove, BiConsumer<INetworkChannel, IPacket> consumer) {
+      this.channelId = channelId;
       this.autoRemove = autoRemove;
       this.consumer = consumer;
     }
+
+    /**
+     * @return if the query was sent to the given channel, the response has to be received from it
+     */
+    private boolean isSentTo(INetworkChannel channel) {
+      return this.channelId == -1 || channel == null || this.channelId == channel.getChannelId();
+    }
+
+    private void cancelTimeout() {
+      Timeout timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel();
+      }
+    }
+
+    private void fail() {
+      try {
+        this.consumer.accept(null, Packet.EMPTY);
+      } catch (Throwable throwable) {
+        throwable.printStackTrace();
+      }
+    }
   }
 }
@@ -29,7 +29,12 @@ public PacketClientAuthorization(PacketAuthorizationType packetAuthorizationType
     Preconditions.checkNotNull(packetAuthorizationType);
     Preconditions.checkNotNull(credentials);
 
-    this.header.append("authorization", packetAuthorizationType).append("credentials", credentials);
+    this.header
+      .append("authorization", packetAuthorizationType)
+      .append("credentials", credentials)
+      .append("binaryHeaders", true)
+      .append("compression", true)
+      .append("serviceInfoDeltas", true);
   }
 
   public enum PacketAuthorizationType {
@@ -24,14 +24,21 @@
 
 public class PacketClientDriverAPI extends Packet {
 
+  private static final int SIZE_HINT = 128;
+
   public PacketClientDriverAPI(DriverAPIRequestType type) {
     this(type, null);
   }
 
   public PacketClientDriverAPI(DriverAPIRequestType type, Consumer<ProtocolBuffer> modifier) {
-    super(PacketConstants.INTERNAL_DRIVER_API_CHANNEL, ProtocolBuffer.create().writeEnumConstant(type));
+    super(PacketConstants.INTERNAL_DRIVER_API_CHANNEL, ProtocolBuffer.createPooled(SIZE_HINT).writeEnumConstant(type));
     if (modifier != null) {
-      modifier.accept(super.body);
+      try {
+        modifier.accept(super.body);
+      } catch (Throwable throwable) {
+        super.release();
+        throw throwable;
+      }
     }
   }
 
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.def.packet;
+
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotDelta;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Publishes the changes of a service since the last published version of its snapshot or requests the latest full
+ * snapshot of a service if the receiver of a delta doesn't know the version the delta is based on.
+ * <p>
+ * Deltas are only sent to channels which support them, see {@link
+ * de.dytanic.cloudnet.driver.network.INetworkChannel#isServiceInfoDeltaSupported()}. If a delta replaces a held back
+ * update of the same service while the channel is not writable, the full snapshot is held back instead, as the receiver
+ * would miss the version the delta is based on.
+ *
+ * @see de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotVersions
+ */
+public final class PacketClientServerServiceInfoDelta extends Packet {
+
+  private static final int SIZE_HINT = 256;
+
+  private final UUID serviceUniqueId;
+  private final Type type;
+  private final Supplier<IPacket> fullUpdate;
+
+  /**
+   * Creates a new delta between two versions of the snapshot of a service.
+   *
+   * @param previous        the snapshot the delta is based on
+   * @param previousVersion the version of the snapshot the delta is based on
+   * @param current         the updated snapshot
+   * @param version         the version of the updated snapshot
+   * @param fullUpdate      supplies the full update of the service which is sent instead if this delta replaces a held
+   *                        back update, it may supply null to send the delta anyway
+   */
+  public PacketClientServerServiceInfoDelta(ServiceInfoSnapshot previous, long previousVersion,
+    ServiceInfoSnapshot current, long version, Supplier<IPacket> fullUpdate) {
+    super(PacketConstants.SERVICE_INFO_DELTA_CHANNEL, ProtocolBuffer.createPooled(SIZE_HINT)
+      .writeEnumConstant(Type.DELTA)
+      .writeUUID(current.getServiceId().getUniqueId())
+      .writeVarLong(previousVersion)
+      .writeVarLong(version));
+    ServiceInfoSnapshotDelta.write(this.body, previous, current);
+
+    this.serviceUniqueId = current.getServiceId().getUniqueId();
+    this.type = Type.DELTA;
+    this.fullUpdate = fullUpdate;
+  }
+
+  /**
+   * Creates a packet forwarding a received delta. The body of the received packet is retained until the forwarded
+   * packet was written to all channels.
+   *
+   * @param packet          the received delta
+   * @param serviceUniqueId the unique id of the service the delta belongs to
+   * @param fullUpdate      supplies the full update of the service which is sent instead if this delta replaces a held
+   *                        back update, it may supply null to send the delta anyway
+   */
+  public PacketClientServerServiceInfoDelta(IPacket packet, UUID serviceUniqueId, Supplier<IPacket> fullUpdate) {
+    super(packet.getChannel(), packet.getUniqueId(), packet.getHeader(), packet.getBuffer().retainedSliceForWrite());
+    this.serviceUniqueId = serviceUniqueId;
+    this.type = Type.DELTA;
+    this.fullUpdate = fullUpdate;
+  }
+
+  public PacketClientServerServiceInfoDelta(UUID serviceUniqueId) {
+    super(PacketConstants.SERVICE_INFO_DELTA_CHANNEL, ProtocolBuffer.createPooled(SIZE_HINT)
+      .writeEnumConstant(Type.RESYNC)
+      .writeUUID(serviceUniqueId));
+    this.serviceUniqueId = serviceUniqueId;
+    this.type = Type.RESYNC;
+    this.fullUpdate = null;
+  }
+
+  @Override
+  public PacketWritePolicy getWritePolicy() {
+    // a delta replacing a held back update is turned into a full update, see coalesce
+    return this.type == Type.DELTA ? PacketWritePolicy.LATEST_VALUE_WINS : PacketWritePolicy.ALWAYS;
+  }
+
+  @Override
+  public @NotNull IPacket coalesce(@NotNull IPacket replaced) {
+    // the receiver misses the replaced version, it couldn't apply this delta without requesting a resync
+    IPacket fullUpdate = this.fullUpdate == null ? null : this.fullUpdate.get();
+    return fullUpdate == null ? this : fullUpdate;
+  }
+
+  @Override
+  public Object getCoalesceKey() {
+    return this.serviceUniqueId;
+  }
+
+  public enum Type {
+    DELTA,
+    RESYNC
+  }
+}
@@ -18,14 +18,63 @@
 
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import java.util.UUID;
 
 public final class PacketClientServerServiceInfoPublisher extends Packet {
 
+  private static final int SIZE_HINT = 2048;
+
+  private final UUID serviceUniqueId;
+  private final PublisherType publisherType;
+
   public PacketClientServerServiceInfoPublisher(ServiceInfoSnapshot serviceInfoSnapshot, PublisherType publisherType) {
     super(PacketConstants.SERVICE_INFO_PUBLISH_CHANNEL,
-      ProtocolBuffer.create().writeObject(serviceInfoSnapshot).writeEnumConstant(publisherType));
+      ProtocolBuffer.createPooled(SIZE_HINT).writeObject(serviceInfoSnapshot).writeEnumConstant(publisherType));
+    this.serviceUniqueId = serviceInfoSnapshot.getServiceId().getUniqueId();
+    this.publisherType = publisherType;
+  }
+
+  /**
+   * Creates a new publisher packet which carries the version of the snapshot, deltas of the following updates of the
+   * service are based on this version.
+   *
+   * @param serviceInfoSnapshot the snapshot to publish
+   * @param publisherType       the type of the publication
+   * @param version             the version of the snapshot
+   * @see PacketClientServerServiceInfoDelta
+   */
+  public PacketClientServerServiceInfoPublisher(ServiceInfoSnapshot serviceInfoSnapshot, PublisherType publisherType,
+    long version) {
+    super(PacketConstants.SERVICE_INFO_PUBLISH_CHANNEL, ProtocolBuffer.createPooled(SIZE_HINT)
+      .writeObject(serviceInfoSnapshot)
+      .writeEnumConstant(publisherType)
+      .writeVarLong(version));
+    this.serviceUniqueId = serviceInfoSnapshot.getServiceId().getUniqueId();
+    this.publisherType = publisherType;
+  }
+
+  /**
+   * Reads the version which follows the publisher type in the buffer of a publisher packet.
+   *
+   * @param buffer the buffer to read from, positioned after the publisher type
+   * @return the version of the published snapshot or 0 if the packet doesn't carry one
+   */
+  public static long readVersion(ProtocolBuffer buffer) {
+    return buffer.isReadable() ? buffer.readVarLong() : 0;
+  }
+
+  @Override
+  public PacketWritePolicy getWritePolicy() {
+    // only updates may be replaced by newer ones, lifecycle changes of a service have to arrive
+    return this.publisherType == PublisherType.UPDATE ? PacketWritePolicy.LATEST_VALUE_WINS : PacketWritePolicy.ALWAYS;
+  }
+
+  @Override
+  public Object getCoalesceKey() {
+    return this.serviceUniqueId;
   }
 
   public enum PublisherType {
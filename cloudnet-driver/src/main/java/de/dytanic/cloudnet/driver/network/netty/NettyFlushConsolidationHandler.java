@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Consolidates the flushes of a channel, so that many small packets written in a short time are sent with one syscall
+ * instead of one syscall per packet. A flush is passed through if the maximum amount of consolidated flushes is
+ * reached, otherwise it is delayed until the end of the current event loop iteration or the maximum delay.
+ */
+@ApiStatus.Internal
+public final class NettyFlushConsolidationHandler extends ChannelDuplexHandler {
+
+  public static final int DEFAULT_MAX_BATCH = Integer.getInteger("cloudnet.network.flush.max.batch", 64);
+  public static final long DEFAULT_MAX_DELAY_MICROS = Long.getLong("cloudnet.network.flush.max.delay.micros", 0);
+
+  private final int maxBatch;
+  private final long maxDelayMicros;
+
+  private int pendingFlushes;
+  private Future<?> scheduledFlush;
+
+  public NettyFlushConsolidationHandler() {
+    this(DEFAULT_MAX_BATCH, DEFAULT_MAX_DELAY_MICROS);
+  }
+
+  /**
+   * @param maxBatch       the maximum amount of flushes to consolidate before flushing the channel
+   * @param maxDelayMicros the maximum delay of a flush in microseconds, 0 to flush at the end of the current event loop
+   *                       iteration
+   */
+  public NettyFlushConsolidationHandler(int maxBatch, long maxDelayMicros) {
+    Preconditions.checkArgument(maxBatch > 0, "maxBatch has to be positive");
+    Preconditions.checkArgument(maxDelayMicros >= 0, "maxDelayMicros can't be negative");
+
+    this.maxBatch = maxBatch;
+    this.maxDelayMicros = maxDelayMicros;
+  }
+
+  /**
+   * @return if the flush consolidation should be added to the pipeline of new channels
+   */
+  public static boolean isEnabled() {
+    return DEFAULT_MAX_BATCH > 1;
+  }
+
+  @Override
+  public void flush(ChannelHandlerContext ctx) {
+    if (++this.pendingFlushes >= this.maxBatch) {
+      this.flushNow(ctx);
+    } else if (this.scheduledFlush == null) {
+      Runnable flushTask = () -> {
+        this.scheduledFlush = null;
+        if (this.pendingFlushes > 0) {
+          this.flushNow(ctx);
+        }
+      };
+
+      this.scheduledFlush = this.maxDelayMicros == 0
+        ? ctx.executor().submit(flushTask)
+        : ctx.executor().schedule(flushTask, this.maxDelayMicros, TimeUnit.MICROSECONDS);
+    }
+  }
+
+  @Override
+  public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+    // the outbound buffer can only drain if it gets flushed
+    if (!ctx.channel().isWritable()) {
+      this.flushIfNeeded(ctx);
+    }
+    ctx.fireChannelWritabilityChanged();
+  }
+
+  @Override
+  public void disconnect(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+    this.flushIfNeeded(ctx);
+    ctx.disconnect(promise);
+  }
+
+  @Override
+  public void close(ChannelHandlerContext ctx, ChannelPromise promise) throws Exception {
+    this.flushIfNeeded(ctx);
+    ctx.close(promise);
+  }
+
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    this.flushIfNeeded(ctx);
+  }
+
+  private void flushIfNeeded(ChannelHandlerContext ctx) {
+    if (this.pendingFlushes > 0) {
+      this.flushNow(ctx);
+    }
+  }
+
+  private void flushNow(ChannelHandlerContext ctx) {
+    if (this.scheduledFlush != null) {
+      this.scheduledFlush.cancel(false);
+      this.scheduledFlush = null;
+    }
+
+    this.pendingFlushes = 0;
+    ctx.flush();
+  }
+}
@@ -17,25 +17,44 @@
 package de.dytanic.cloudnet.driver.network.netty;
 
 import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.common.collection.Pair;
 import de.dytanic.cloudnet.common.logging.LogLevel;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.event.events.network.NetworkChannelPacketSendEvent;
+import de.dytanic.cloudnet.driver.event.events.network.NetworkChannelWritabilityChangeEvent;
 import de.dytanic.cloudnet.driver.network.DefaultNetworkChannel;
 import de.dytanic.cloudnet.driver.network.HostAndPort;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
+import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketDecoder;
+import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketEncoder;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListenerRegistry;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
+import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.util.ReferenceCountUtil;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
 @ApiStatus.Internal
 public final class NettyNetworkChannel extends DefaultNetworkChannel implements INetworkChannel {
 
+  private static final boolean CALL_SEND_EVENT = !Boolean.getBoolean("cloudnet.network.disable.send.event");
+  private static final int MAX_PENDING_PACKETS = Integer.getInteger("cloudnet.network.max.pending.packets", 1024);
+
   private final Channel channel;
 
+  private final Map<Object, Pair<IPacket, Object>> pendingPackets = new LinkedHashMap<>();
+  private final AtomicLong droppedPackets = new AtomicLong();
+  private final AtomicLong coalescedPackets = new AtomicLong();
+  private final AtomicLong unwritableCount = new AtomicLong();
+
   public NettyNetworkChannel(Channel channel, IPacketListenerRegistry packetRegistry, INetworkChannelHandler handler,
     HostAndPort serverAddress, HostAndPort clientAddress, boolean clientProvidedChannel) {
     super(packetRegistry, serverAddress, clientAddress, clientProvidedChannel, handler);
@@ -53,6 +72,41 @@ public void sendPacket(@NotNull IPacket packet) {
     }
   }
 
+  /**
+   * Writes all given packets to this channel and flushes the channel once after all packets were written.
+   *
+   * @param packets the packets to send
+   */
+  @Override
+  public void sendPacket(@NotNull IPacket... packets) {
+    Preconditions.checkNotNull(packets);
+
+    if (this.channel.eventLoop().inEventLoop()) {
+      this.writePackets(packets);
+    } else {
+      this.channel.eventLoop().execute(() -> this.writePackets(packets));
+    }
+  }
+
+  /**
+   * Writes a packet which was already encoded into the given buffer to this channel. The given packet is only used to
+   * call the send event, the buffer is released after it was written or if the sending was cancelled. If the body of
+   * the packet is released on write, it is released once after the send event was called
+   *
+   * @param packet        the packet which was encoded
+   * @param encodedPacket the encoded packet, without the length prefix
+   */
+  public void sendEncodedPacket(@NotNull IPacket packet, @NotNull ByteBuf encodedPacket) {
+    Preconditions.checkNotNull(packet);
+    Preconditions.checkNotNull(encodedPacket);
+
+    if (this.channel.eventLoop().inEventLoop()) {
+      this.writeEncodedPacket(packet, encodedPacket);
+    } else {
+      this.channel.eventLoop().execute(() -> this.writeEncodedPacket(packet, encodedPacket));
+    }
+  }
+
   @Override
   public void sendPacketSync(@NotNull IPacket packet) {
     Preconditions.checkNotNull(packet);
@@ -63,43 +117,243 @@ public void sendPacketSync(@NotNull IPacket packet) {
     }
   }
 
+  @Override
+  public void sendPacketSync(@NotNull IPacket... packets) {
+    Preconditions.checkNotNull(packets);
+
+    ChannelFuture future = this.writePackets(packets);
+    if (future != null) {
+      future.syncUninterruptibly();
+    }
+  }
+
   @Override
   public boolean isWriteable() {
     return this.channel.isWritable();
   }
 
+  @Override
+  public boolean isBinaryHeaders() {
+    NettyPacketEncoder encoder = this.channel.pipeline().get(NettyPacketEncoder.class);
+    return encoder != null && encoder.isBinaryHeaders();
+  }
+
+  @Override
+  public void setBinaryHeaders(boolean binaryHeaders) {
+    NettyPacketEncoder encoder = this.channel.pipeline().get(NettyPacketEncoder.class);
+    if (encoder != null) {
+      encoder.setBinaryHeaders(binaryHeaders);
+    }
+  }
+
+  @Override
+  public boolean isAcceptingBinaryHeaders() {
+    NettyPacketDecoder decoder = this.channel.pipeline().get(NettyPacketDecoder.class);
+    return decoder != null && decoder.isBinaryHeaders();
+  }
+
+  @Override
+  public void setAcceptingBinaryHeaders(boolean acceptingBinaryHeaders) {
+    NettyPacketDecoder decoder = this.channel.pipeline().get(NettyPacketDecoder.class);
+    if (decoder != null) {
+      decoder.setBinaryHeaders(acceptingBinaryHeaders);
+    }
+  }
+
+  @Override
+  public boolean isCompression() {
+    NettyPacketEncoder encoder = this.channel.pipeline().get(NettyPacketEncoder.class);
+    return encoder != null && encoder.isCompression();
+  }
+
+  @Override
+  public void setCompression(boolean compression) {
+    NettyPacketEncoder encoder = this.channel.pipeline().get(NettyPacketEncoder.class);
+    if (encoder != null) {
+      encoder.setCompression(compression);
+    }
+  }
+
   @Override
   public boolean isActive() {
     return this.channel.isActive();
   }
 
   private ChannelFuture writePacket(IPacket packet) {
-    NetworkChannelPacketSendEvent event = new NetworkChannelPacketSendEvent(this, packet);
+    return this.writePacket(packet, packet, true);
+  }
 
-    CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> cloudNetDriver.getEventManager().callEvent(event));
+  private ChannelFuture writePackets(IPacket... packets) {
+    ChannelFuture lastFuture = null;
+    for (IPacket packet : packets) {
+      ChannelFuture future = this.writePacket(packet, packet, false);
+      if (future != null) {
+        lastFuture = future;
+      }
+    }
+
+    this.channel.flush();
+    return lastFuture;
+  }
+
+  private void writeEncodedPacket(IPacket packet, ByteBuf encodedPacket) {
+    try {
+      this.writePacket(packet, encodedPacket, true);
+    } finally {
+      if (packet.isReleaseOnWrite()) {
+        packet.release();
+      }
+    }
+  }
+
+  private ChannelFuture writePacket(IPacket packet, Object message, boolean flush) {
+    if (this.isSendCancelled(packet)) {
+      this.releaseMessage(packet, message);
+      return null;
+    }
+
+    if (packet.isShowDebug()) {
+      CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
+        if (cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
+          cloudNetDriver.getLogger().debug(
+            String.format(
+              "Sending packet to %s on channel %d with id %s, header=%s;body=%d",
+              this.getClientAddress().toString(),
+              packet.getChannel(),
+              packet.getUniqueId(),
+              packet.getHeader().toJson(),
+              packet.getBuffer() != null ? packet.getBuffer().readableBytes() : 0
+            )
+          );
+        }
+      });
+    }
+
+    PacketWritePolicy writePolicy = packet.getWritePolicy();
+    boolean writable = this.channel.isWritable();
+    if (writePolicy == PacketWritePolicy.DROP_IF_UNWRITABLE && !writable) {
+      this.droppedPackets.incrementAndGet();
+      this.releaseMessage(packet, message);
+      return null;
+    }
+
+    synchronized (this.pendingPackets) {
+      // packets which were held back are written first once the channel is writable again, so later packets have to
+      // be queued behind them to keep the order
+      if (!this.pendingPackets.isEmpty() || (writePolicy != PacketWritePolicy.ALWAYS && !writable)) {
+        this.holdBackPacket(packet, message);
+        if (writable) {
+          // the channel became writable before the held back packets were written
+          this.channel.eventLoop().execute(this::writePendingPacketsIfWritable);
+        }
+        return null;
+      }
+    }
+
+    return flush ? this.channel.writeAndFlush(message) : this.channel.write(message);
+  }
+
+  private void holdBackPacket(IPacket packet, Object message) {
+    // only packets whose latest value wins replace each other, the others are unique
+    Object key = packet.getWritePolicy() == PacketWritePolicy.LATEST_VALUE_WINS
+      ? packet.getCoalesceKey()
+      : new Object();
+
+    Pair<IPacket, Object> previous = this.pendingPackets.remove(key);
+    if (previous != null) {
+      this.coalescedPackets.incrementAndGet();
+      this.releaseMessage(previous.getFirst(), previous.getSecond());
+
+      IPacket replacement = packet.coalesce(previous.getFirst());
+      if (replacement != packet) {
+        this.releaseMessage(packet, message);
+        packet = replacement;
+        message = replacement;
+      }
+    } else if (this.pendingPackets.size() >= MAX_PENDING_PACKETS) {
+      this.dropOldestPendingPacket();
+    }
+
+    this.pendingPackets.put(key, new Pair<>(packet, message));
+  }
+
+  private void dropOldestPendingPacket() {
+    // packets which have to be written always are never dropped, the queue can only exceed its limit with them
+    Iterator<Pair<IPacket, Object>> iterator = this.pendingPackets.values().iterator();
+    while (iterator.hasNext()) {
+      Pair<IPacket, Object> pendingPacket = iterator.next();
+      if (pendingPacket.getFirst().getWritePolicy() != PacketWritePolicy.ALWAYS) {
+        iterator.remove();
+
+        this.droppedPackets.incrementAndGet();
+        this.releaseMessage(pendingPacket.getFirst(), pendingPacket.getSecond());
+        return;
+      }
+    }
+  }
+
+  private void writePendingPacketsIfWritable() {
+    if (this.channel.isWritable()) {
+      this.writePendingPackets();
+    }
+  }
+
+  private void writePendingPackets() {
+    synchronized (this.pendingPackets) {
+      if (this.pendingPackets.isEmpty()) {
+        return;
+      }
+
+      for (Pair<IPacket, Object> pendingPacket : this.pendingPackets.values()) {
+        this.channel.write(pendingPacket.getSecond());
+      }
+      this.pendingPackets.clear();
+    }
+
+    this.channel.flush();
+  }
+
+  private void releaseMessage(IPacket packet, Object message) {
+    if (message == packet) {
+      // the encoder would have released the body
+      if (packet.isReleaseOnWrite()) {
+        packet.release();
+      }
+    } else {
+      ReferenceCountUtil.release(message);
+    }
+  }
+
+  void handleWritabilityChange() {
+    boolean writable = this.channel.isWritable();
+    if (writable) {
+      this.writePendingPackets();
+    } else {
+      this.unwritableCount.incrementAndGet();
+    }
+
+    CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> cloudNetDriver.getEventManager()
+      .callEvent(new NetworkChannelWritabilityChangeEvent(this, writable)));
+  }
 
-    if (!event.isCancelled()) {
-      if (packet.isShowDebug()) {
-        CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
-          if (cloudNetDriver.getLogger().getLevel() >= LogLevel.DEBUG.getLevel()) {
-            cloudNetDriver.getLogger().debug(
-              String.format(
-                "Sending packet to %s on channel %d with id %s, header=%s;body=%d",
-                this.getClientAddress().toString(),
-                packet.getChannel(),
-                packet.getUniqueId(),
-                packet.getHeader().toJson(),
-                packet.getBuffer() != null ? packet.getBuffer().readableBytes() : 0
-              )
-            );
-          }
-        });
+  void releasePendingPackets() {
+    synchronized (this.pendingPackets) {
+      for (Pair<IPacket, Object> pendingPacket : this.pendingPackets.values()) {
+        this.releaseMessage(pendingPacket.getFirst(), pendingPacket.getSecond());
       }
+      this.pendingPackets.clear();
+    }
+  }
 
-      return this.channel.writeAndFlush(packet);
+  private boolean isSendCancelled(IPacket packet) {
+    if (!CALL_SEND_EVENT || !packet.isCallSendEvent()) {
+      return false;
     }
 
-    return null;
+    NetworkChannelPacketSendEvent event = new NetworkChannelPacketSendEvent(this, packet);
+    CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> cloudNetDriver.getEventManager().callEvent(event));
+
+    return event.isCancelled();
   }
 
   @Override
@@ -111,4 +365,35 @@ public Channel getChannel() {
     return this.channel;
   }
 
+  /**
+   * @return the amount of packets which were dropped because this channel was not writable or too many packets were
+   * held back
+   */
+  public long getDroppedPackets() {
+    return this.droppedPackets.get();
+  }
+
+  /**
+   * @return the amount of packets which were replaced by newer packets while this channel was not writable
+   */
+  public long getCoalescedPackets() {
+    return this.coalescedPackets.get();
+  }
+
+  /**
+   * @return how often this channel became unwritable
+   */
+  public long getUnwritableCount() {
+    return this.unwritableCount.get();
+  }
+
+  /**
+   * @return the amount of packets which are currently held back until this channel is writable again
+   */
+  public int getPendingPackets() {
+    synchronized (this.pendingPackets) {
+      return this.pendingPackets.size();
+    }
+  }
+
 }
@@ -18,26 +18,36 @@
 
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.internal.InternalSyncPacketChannel;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketListenerRegistry;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ChunkedPacketListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
 public abstract class NettyNetworkHandler extends SimpleChannelInboundHandler<Packet> {
 
   protected NettyNetworkChannel channel;
+  protected Executor channelPacketDispatcher;
 
   protected abstract Collection<INetworkChannel> getChannels();
 
-  protected abstract Executor getPacketDispatcher();
+  protected abstract NettyPacketDispatcher getPacketDispatcher();
 
   @Override
   public void channelInactive(ChannelHandlerContext ctx) throws Exception {
     if (!ctx.channel().isActive() || !ctx.channel().isOpen() || !ctx.channel().isWritable()) {
+      InternalSyncPacketChannel.handleChannelClose(this.channel);
+      this.channel.releasePendingPackets();
+      this.abandonChunkedSessions();
+
       if (this.channel.getHandler() != null) {
         this.channel.getHandler().handleChannelClose(this.channel);
       }
@@ -47,6 +57,27 @@ public void channelInactive(ChannelHandlerContext ctx) throws Exception {
     }
   }
 
+  private void abandonChunkedSessions() {
+    // the chunks of incomplete sessions are retained until the session completes, which can't happen anymore
+    for (IPacketListenerRegistry registry = this.channel.getPacketRegistry(); registry != null;
+      registry = registry.getParent()) {
+      for (IPacketListener listener : registry.getListeners()) {
+        if (listener instanceof ChunkedPacketListener) {
+          ((ChunkedPacketListener) listener).handleChannelClose(this.channel);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+    if (this.channel != null) {
+      this.channel.handleWritabilityChange();
+    }
+
+    super.channelWritabilityChanged(ctx);
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
     if (!(cause instanceof IOException)) {
@@ -61,14 +92,32 @@ public void channelReadComplete(ChannelHandlerContext ctx) {
 
   @Override
   protected void channelRead0(ChannelHandlerContext ctx, Packet msg) {
-    this.getPacketDispatcher().execute(() -> {
-      try {
-        if (this.channel.getHandler() == null || this.channel.getHandler().handlePacketReceive(this.channel, msg)) {
-          this.channel.getPacketRegistry().handlePacket(this.channel, msg);
-        }
-      } catch (Exception exception) {
-        CloudNetDriver.getInstance().getLogger().error("Exception whilst handling packet " + msg, exception);
+    // the response is copied for the waiting thread, which may be a listener of this channel blocking its queue
+    if (InternalSyncPacketChannel.handleQueryResponse(this.channel, msg)) {
+      msg.release();
+      return;
+    }
+
+    if (this.channelPacketDispatcher == null) {
+      this.channelPacketDispatcher = this.getPacketDispatcher().newChannelExecutor(ctx.channel());
+    }
+
+    try {
+      this.channelPacketDispatcher.execute(() -> this.handlePacket(msg));
+    } catch (RejectedExecutionException exception) {
+      msg.release();
+    }
+  }
+
+  private void handlePacket(Packet msg) {
+    try {
+      if (this.channel.getHandler() == null || this.channel.getHandler().handlePacketReceive(this.channel, msg)) {
+        this.channel.getPacketRegistry().handlePacket(this.channel, msg);
       }
-    });
+    } catch (Exception exception) {
+      CloudNetDriver.getInstance().getLogger().error("Exception whilst handling packet " + msg, exception);
+    } finally {
+      msg.release();
+    }
   }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketEncoder;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.util.Collection;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Sends a packet to multiple channels by encoding it only once per header format and compression setting and writing
+ * duplicates of the encoded buffer to each channel, so the broadcast cost scales with the bytes written instead of the
+ * amount of receivers.
+ * <p>
+ * A packet whose body is released on write counts as written once it was broadcast, even if there was no receiver.
+ */
+@ApiStatus.Internal
+public final class NettyPacketBroadcaster {
+
+  private NettyPacketBroadcaster() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static void broadcast(@NotNull Collection<INetworkChannel> channels, @NotNull IPacket packet) {
+    Preconditions.checkNotNull(channels);
+    Preconditions.checkNotNull(packet);
+
+    // one encoded buffer for each combination of header format and compression
+    ByteBuf[] encoded = new ByteBuf[4];
+    boolean releaseOnWrite = packet.isReleaseOnWrite();
+
+    try {
+      for (INetworkChannel channel : channels) {
+        if (releaseOnWrite) {
+          // every channel releases the packet once after it was written
+          packet.retain();
+        }
+
+        if (channel instanceof NettyNetworkChannel) {
+          NettyNetworkChannel nettyChannel = (NettyNetworkChannel) channel;
+
+          boolean binaryHeaders = nettyChannel.isBinaryHeaders();
+          boolean compression = nettyChannel.isCompression();
+          int format = (binaryHeaders ? 1 : 0) | (compression ? 2 : 0);
+
+          if (encoded[format] == null) {
+            encoded[format] = encode(packet, binaryHeaders, compression);
+          }
+
+          nettyChannel.sendEncodedPacket(packet, encoded[format].retainedDuplicate());
+        } else {
+          channel.sendPacket(packet);
+        }
+      }
+    } finally {
+      for (ByteBuf byteBuf : encoded) {
+        if (byteBuf != null) {
+          byteBuf.release();
+        }
+      }
+
+      if (releaseOnWrite) {
+        packet.release();
+      }
+    }
+  }
+
+  private static ByteBuf encode(IPacket packet, boolean binaryHeaders, boolean compression) {
+    ByteBuf byteBuf = ByteBufAllocator.DEFAULT.ioBuffer();
+
+    try {
+      NettyPacketEncoder.encodePacket(packet, byteBuf, binaryHeaders, compression);
+      return byteBuf;
+    } catch (Throwable throwable) {
+      byteBuf.release();
+      throw throwable;
+    }
+  }
+}
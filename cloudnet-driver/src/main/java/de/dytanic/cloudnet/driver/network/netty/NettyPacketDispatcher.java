@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Dispatches the handling of received packets to a shared thread pool. Packets of the same channel are handled one
+ * after another in the order they were received, packets of different channels are handled in parallel. The amount of
+ * queued packets per channel is bounded, the behaviour if the bound is exceeded is defined by the {@link
+ * OverflowPolicy}.
+ */
+@ApiStatus.Internal
+public final class NettyPacketDispatcher implements Executor {
+
+  public static final int DEFAULT_MAX_QUEUED_PACKETS = Integer
+    .getInteger("cloudnet.network.dispatcher.max.queued.packets", 1024);
+  public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = OverflowPolicy
+    .valueOf(System.getProperty("cloudnet.network.dispatcher.overflow.policy", "PAUSE_READING"));
+
+  // the maximum amount of packets handled in a row before other channels get a chance
+  private static final int MAX_BATCH = 64;
+
+  private final ThreadPoolExecutor executor;
+  private final int maxQueuedPackets;
+  private final OverflowPolicy overflowPolicy;
+
+  private final AtomicInteger queuedPackets = new AtomicInteger();
+  private final AtomicLong processedPackets = new AtomicLong();
+  private final AtomicLong discardedPackets = new AtomicLong();
+  private final AtomicLong totalLatencyNanos = new AtomicLong();
+
+  public NettyPacketDispatcher() {
+    this(NettyUtils.getThreadAmount(), DEFAULT_MAX_QUEUED_PACKETS, DEFAULT_OVERFLOW_POLICY);
+  }
+
+  /**
+   * @param threads          the maximum amount of threads handling packets
+   * @param maxQueuedPackets the maximum amount of queued packets per channel
+   * @param overflowPolicy   the behaviour if a channel has more than {@code maxQueuedPackets} queued packets
+   */
+  public NettyPacketDispatcher(int threads, int maxQueuedPackets, @NotNull OverflowPolicy overflowPolicy) {
+    Preconditions.checkArgument(threads > 0, "threads has to be positive");
+    Preconditions.checkArgument(maxQueuedPackets > 0, "maxQueuedPackets has to be positive");
+    Preconditions.checkNotNull(overflowPolicy, "overflowPolicy");
+
+    // at most one task per channel is queued in the pool, so the queue of the pool doesn't need a bound
+    this.executor = new ThreadPoolExecutor(threads, threads, 30L, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+    this.executor.allowCoreThreadTimeOut(true);
+    this.maxQueuedPackets = maxQueuedPackets;
+    this.overflowPolicy = overflowPolicy;
+  }
+
+  /**
+   * Executes the given task in the shared thread pool without any ordering guarantees.
+   *
+   * @param command the task to execute
+   */
+  @Override
+  public void execute(@NotNull Runnable command) {
+    this.executor.execute(command);
+  }
+
+  /**
+   * Creates a new executor which executes all tasks in the order they were submitted, one after another.
+   *
+   * @param channel the channel the tasks of the executor belong to
+   * @return the new executor for the channel
+   */
+  public @NotNull Executor newChannelExecutor(@NotNull Channel channel) {
+    return new ChannelExecutor(channel);
+  }
+
+  public void shutdown() {
+    this.executor.shutdown();
+  }
+
+  public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+    return this.executor.awaitTermination(timeout, unit);
+  }
+
+  /**
+   * @return the amount of packets which are queued in all channel executors
+   */
+  public int getQueuedPackets() {
+    return this.queuedPackets.get();
+  }
+
+  /**
+   * @return the amount of packets which were handled
+   */
+  public long getProcessedPackets() {
+    return this.processedPackets.get();
+  }
+
+  /**
+   * @return the amount of packets which were discarded because the queue of the channel was full
+   */
+  public long getDiscardedPackets() {
+    return this.discardedPackets.get();
+  }
+
+  /**
+   * @return the average time between receiving a packet and the end of its handling in nanoseconds
+   */
+  public long getAverageLatencyNanos() {
+    long processedPackets = this.processedPackets.get();
+    return processedPackets == 0 ? 0 : this.totalLatencyNanos.get() / processedPackets;
+  }
+
+  public int getMaxQueuedPackets() {
+    return this.maxQueuedPackets;
+  }
+
+  public OverflowPolicy getOverflowPolicy() {
+    return this.overflowPolicy;
+  }
+
+  public enum OverflowPolicy {
+
+    /**
+     * The packet is queued anyway, but the channel stops reading until the queue is half empty again. The sender will
+     * notice the backpressure because its channel becomes unwritable.
+     */
+    PAUSE_READING,
+    /**
+     * The packet is rejected with a {@link RejectedExecutionException}.
+     */
+    DISCARD
+  }
+
+  private final class ChannelExecutor implements Executor {
+
+    private final Channel channel;
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean readingPaused = new AtomicBoolean();
+
+    public ChannelExecutor(Channel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+      if (this.size.incrementAndGet() > NettyPacketDispatcher.this.maxQueuedPackets) {
+        if (NettyPacketDispatcher.this.overflowPolicy == OverflowPolicy.DISCARD) {
+          this.size.decrementAndGet();
+          NettyPacketDispatcher.this.discardedPackets.incrementAndGet();
+          throw new RejectedExecutionException("Packet queue of channel " + this.channel + " is full");
+        }
+
+        if (this.readingPaused.compareAndSet(false, true)) {
+          this.channel.config().setAutoRead(false);
+        }
+      }
+
+      long enqueueTime = System.nanoTime();
+      NettyPacketDispatcher.this.queuedPackets.incrementAndGet();
+
+      this.tasks.offer(() -> {
+        try {
+          command.run();
+        } finally {
+          NettyPacketDispatcher.this.processedPackets.incrementAndGet();
+          NettyPacketDispatcher.this.totalLatencyNanos.addAndGet(System.nanoTime() - enqueueTime);
+        }
+      });
+      this.schedule();
+    }
+
+    private void schedule() {
+      if (this.running.compareAndSet(false, true)) {
+        try {
+          NettyPacketDispatcher.this.executor.execute(this::runTasks);
+        } catch (RejectedExecutionException exception) {
+          // the dispatcher was shut down, the remaining packets will not be handled anymore
+          this.running.set(false);
+          throw exception;
+        }
+      }
+    }
+
+    private void runTasks() {
+      try {
+        Runnable task;
+        for (int i = 0; i < MAX_BATCH && (task = this.tasks.poll()) != null; i++) {
+          try {
+            task.run();
+          } finally {
+            NettyPacketDispatcher.this.queuedPackets.decrementAndGet();
+            if (this.size.decrementAndGet() <= NettyPacketDispatcher.this.maxQueuedPackets / 2
+              && this.readingPaused.compareAndSet(true, false)) {
+              this.channel.config().setAutoRead(true);
+            }
+          }
+        }
+      } finally {
+        this.running.set(false);
+        // re-schedule instead of looping to give the other channels a chance to handle their packets
+        if (!this.tasks.isEmpty()) {
+          this.schedule();
+        }
+      }
+    }
+  }
+}
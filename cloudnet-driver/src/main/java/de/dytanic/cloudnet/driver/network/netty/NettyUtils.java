@@ -24,6 +24,7 @@
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
@@ -42,12 +43,7 @@
 import io.netty.util.internal.logging.InternalLoggerFactory;
 import io.netty.util.internal.logging.JdkLoggerFactory;
 import java.nio.charset.StandardCharsets;
-import java.util.concurrent.Executor;
-import java.util.concurrent.RejectedExecutionHandler;
-import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
@@ -55,7 +51,9 @@ public final class NettyUtils {
 
   private static final ThreadFactory THREAD_FACTORY = FastThreadLocalThread::new;
   private static final SilentDecoderException INVALID_VAR_INT = new SilentDecoderException("Invalid var int");
-  private static final RejectedExecutionHandler DEFAULT_REJECT_HANDLER = new ThreadPoolExecutor.CallerRunsPolicy();
+  private static final WriteBufferWaterMark WRITE_BUFFER_WATER_MARK = new WriteBufferWaterMark(
+    Integer.getInteger("cloudnet.network.write.buffer.low", 1024 * 1024),
+    Integer.getInteger("cloudnet.network.write.buffer.high", 2 * 1024 * 1024));
 
   static {
     // use jdk logger to prevent issues with older slf4j versions
@@ -80,11 +78,9 @@ public static EventLoopGroup newEventLoopGroup() {
         new NioEventLoopGroup(4, threadFactory());
   }
 
-  public static Executor newPacketDispatcher() {
-    // a cached pool with a thread idle-lifetime of 30 seconds
-    // rejected tasks will be executed on the calling thread (See ThreadPoolExecutor.CallerRunsPolicy)
-    return new ThreadPoolExecutor(0, getThreadAmount(),
-      30L, TimeUnit.SECONDS, new SynchronousQueue<>(true), DEFAULT_REJECT_HANDLER);
+  public static NettyPacketDispatcher newPacketDispatcher() {
+    // packets of one channel are handled in order, packets of different channels in parallel
+    return new NettyPacketDispatcher();
   }
 
   @Deprecated
@@ -115,6 +111,10 @@ public static ThreadFactory threadFactory() {
     return THREAD_FACTORY;
   }
 
+  public static WriteBufferWaterMark getWriteBufferWaterMark() {
+    return WRITE_BUFFER_WATER_MARK;
+  }
+
   @Deprecated
   @ApiStatus.ScheduledForRemoval
   public static byte[] toByteArray(ByteBuf byteBuf, int size) {
@@ -23,6 +23,7 @@
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
 import de.dytanic.cloudnet.driver.network.INetworkClient;
+import de.dytanic.cloudnet.driver.network.netty.NettyPacketDispatcher;
 import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
 import de.dytanic.cloudnet.driver.network.protocol.DefaultPacketListenerRegistry;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListenerRegistry;
@@ -42,7 +43,6 @@
 import java.util.Collections;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -51,7 +51,7 @@ public final class NettyNetworkClient implements DefaultNetworkComponent, INetwo
 
   private static final int CONNECTION_TIMEOUT_MILLIS = 5_000;
 
-  protected final Executor packetDispatcher = NettyUtils.newPacketDispatcher();
+  protected final NettyPacketDispatcher packetDispatcher = NettyUtils.newPacketDispatcher();
   protected final EventLoopGroup eventLoopGroup = NettyUtils.newEventLoopGroup();
 
   protected final Collection<INetworkChannel> channels = new ConcurrentLinkedQueue<>();
@@ -133,6 +133,7 @@ public boolean connect(@NotNull HostAndPort hostAndPort) {
         .option(ChannelOption.IP_TOS, 24)
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS)
+        .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyUtils.getWriteBufferWaterMark())
         .channelFactory(NettyUtils.getClientChannelFactory())
         .handler(
           new NettyNetworkClientInitializer(this, hostAndPort, () -> this.connectedTime = System.currentTimeMillis()))
@@ -162,7 +163,7 @@ public Collection<INetworkChannel> getChannels() {
   }
 
   @Override
-  public Executor getPacketDispatcher() {
+  public NettyPacketDispatcher getPacketDispatcher() {
     return this.packetDispatcher;
   }
 
@@ -17,6 +17,7 @@
 package de.dytanic.cloudnet.driver.network.netty.client;
 
 import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.netty.NettyFlushConsolidationHandler;
 import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketDecoder;
 import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketEncoder;
 import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketLengthDeserializer;
@@ -53,6 +54,10 @@ protected void initChannel(@NotNull Channel ch) {
           .newHandler(ch.alloc(), this.hostAndPort.getHost(), this.hostAndPort.getPort()));
     }
 
+    if (NettyFlushConsolidationHandler.isEnabled()) {
+      ch.pipeline().addLast("flush-consolidation", new NettyFlushConsolidationHandler());
+    }
+
     ch.pipeline()
       .addLast("packet-length-deserializer", new NettyPacketLengthDeserializer())
       .addLast("packet-decoder", new NettyPacketDecoder())
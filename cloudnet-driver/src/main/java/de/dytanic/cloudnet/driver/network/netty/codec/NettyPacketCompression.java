@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty.codec;
+
+import de.dytanic.cloudnet.driver.network.exception.SilentDecoderException;
+import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.concurrent.FastThreadLocal;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Compresses and decompresses packet bodies. The body of a packet is written as its length followed by the body, a
+ * compressed body is written as {@link #COMPRESSED_BODY} followed by the length of the uncompressed body and the
+ * deflated body which fills the rest of the packet. Body lengths are never negative, so decoding accepts both formats,
+ * compressed bodies must only be written when the other side of the connection announced that it is able to read
+ * them.
+ */
+@ApiStatus.Internal
+public final class NettyPacketCompression {
+
+  public static final int COMPRESSED_BODY = -1;
+
+  public static final int THRESHOLD = Integer.getInteger("cloudnet.network.compression.threshold", 8 * 1024);
+  public static final int LEVEL = Integer.getInteger("cloudnet.network.compression.level", Deflater.BEST_SPEED);
+  public static final int MAX_BODY_SIZE = Integer
+    .getInteger("cloudnet.network.compression.max.body.size", 128 * 1024 * 1024);
+
+  private static final SilentDecoderException BAD_LENGTH = new SilentDecoderException("Bad uncompressed body length");
+  private static final SilentDecoderException BAD_BODY = new SilentDecoderException("Bad compressed body");
+
+  private static final AtomicLong COMPRESSED_BODIES = new AtomicLong();
+  private static final AtomicLong UNCOMPRESSED_BYTES = new AtomicLong();
+  private static final AtomicLong COMPRESSED_BYTES = new AtomicLong();
+
+  private static final FastThreadLocal<Deflater> DEFLATER = new FastThreadLocal<Deflater>() {
+    @Override
+    protected Deflater initialValue() {
+      return new Deflater(LEVEL);
+    }
+
+    @Override
+    protected void onRemoval(Deflater value) {
+      value.end();
+    }
+  };
+  private static final FastThreadLocal<Inflater> INFLATER = new FastThreadLocal<Inflater>() {
+    @Override
+    protected Inflater initialValue() {
+      return new Inflater();
+    }
+
+    @Override
+    protected void onRemoval(Inflater value) {
+      value.end();
+    }
+  };
+  private static final FastThreadLocal<byte[]> CHUNK = new FastThreadLocal<byte[]>() {
+    @Override
+    protected byte[] initialValue() {
+      return new byte[8192];
+    }
+  };
+
+  private NettyPacketCompression() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static boolean shouldCompress(IPacket packet, int bodyLength) {
+    return THRESHOLD >= 0 && bodyLength >= THRESHOLD && packet.isCompressible();
+  }
+
+  /**
+   * Writes the given body compressed to the buffer. The body is written uncompressed if compressing doesn't make it
+   * smaller.
+   *
+   * @param byteBuf the buffer to write the body to
+   * @param body    the body to write, its reader index is not modified
+   */
+  public static void writeCompressedBody(ByteBuf byteBuf, ByteBuf body) {
+    int length = body.readableBytes();
+    int start = byteBuf.writerIndex();
+
+    NettyUtils.writeVarInt(byteBuf, COMPRESSED_BODY);
+    NettyUtils.writeVarInt(byteBuf, length);
+
+    byte[] input;
+    int inputOffset;
+    if (body.hasArray()) {
+      input = body.array();
+      inputOffset = body.arrayOffset() + body.readerIndex();
+    } else {
+      input = ByteBufUtil.getBytes(body, body.readerIndex(), length, false);
+      inputOffset = 0;
+    }
+
+    Deflater deflater = DEFLATER.get();
+    byte[] chunk = CHUNK.get();
+    try {
+      deflater.setInput(input, inputOffset, length);
+      deflater.finish();
+
+      while (!deflater.finished()) {
+        byteBuf.writeBytes(chunk, 0, deflater.deflate(chunk));
+        if (byteBuf.writerIndex() - start >= length) {
+          // compressing doesn't pay off for this body
+          byteBuf.writerIndex(start);
+          NettyUtils.writeVarInt(byteBuf, length);
+          byteBuf.writeBytes(body, body.readerIndex(), length);
+          return;
+        }
+      }
+    } finally {
+      deflater.reset();
+    }
+
+    COMPRESSED_BODIES.incrementAndGet();
+    UNCOMPRESSED_BYTES.addAndGet(length);
+    COMPRESSED_BYTES.addAndGet(byteBuf.writerIndex() - start);
+  }
+
+  /**
+   * Reads a compressed body from the buffer, the marker {@link #COMPRESSED_BODY} must already be read.
+   *
+   * @param byteBuf the buffer to read the body from, all remaining bytes are read
+   * @return the decompressed body, allocated from the default allocator
+   */
+  public static ByteBuf readCompressedBody(ByteBuf byteBuf) {
+    int length = NettyUtils.readVarInt(byteBuf);
+    if (length < 0 || length > MAX_BODY_SIZE) {
+      throw BAD_LENGTH;
+    }
+
+    byte[] input = ByteBufUtil.getBytes(byteBuf);
+    byteBuf.skipBytes(input.length);
+
+    ByteBuf body = ByteBufAllocator.DEFAULT.heapBuffer(length, length);
+    Inflater inflater = INFLATER.get();
+    try {
+      inflater.setInput(input);
+
+      int read = inflater.inflate(body.array(), body.arrayOffset(), length);
+      if (read != length || !inflater.finished()) {
+        throw BAD_BODY;
+      }
+
+      return body.writerIndex(length);
+    } catch (DataFormatException | RuntimeException exception) {
+      body.release();
+      throw exception instanceof SilentDecoderException ? (SilentDecoderException) exception : BAD_BODY;
+    } finally {
+      inflater.reset();
+    }
+  }
+
+  /**
+   * @return the amount of packet bodies which were written compressed
+   */
+  public static long getCompressedBodies() {
+    return COMPRESSED_BODIES.get();
+  }
+
+  /**
+   * @return the size of all packet bodies which were written compressed, before compressing them
+   */
+  public static long getUncompressedBytes() {
+    return UNCOMPRESSED_BYTES.get();
+  }
+
+  /**
+   * @return the size of all packet bodies which were written compressed, after compressing them
+   */
+  public static long getCompressedBytes() {
+    return COMPRESSED_BYTES.get();
+  }
+}
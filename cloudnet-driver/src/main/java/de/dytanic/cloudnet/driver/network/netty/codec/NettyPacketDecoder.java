@@ -26,7 +26,6 @@
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 import org.jetbrains.annotations.ApiStatus;
@@ -34,6 +33,8 @@
 @ApiStatus.Internal
 public final class NettyPacketDecoder extends ByteToMessageDecoder {
 
+  private volatile boolean binaryHeaders;
+
   @Override
   protected void decode(ChannelHandlerContext ctx, ByteBuf byteBuf, List<Object> out) {
     if (ctx != null && (!ctx.channel().isActive() || !byteBuf.isReadable())) {
@@ -44,18 +45,32 @@ protected void decode(ChannelHandlerContext ctx, ByteBuf byteBuf, List<Object> o
     try {
       int channel = NettyUtils.readVarInt(byteBuf);
       UUID uniqueId = new UUID(byteBuf.readLong(), byteBuf.readLong());
-      JsonDocument header = this.readHeader(byteBuf);
-      ProtocolBuffer body = ProtocolBuffer.wrap(NettyUtils.readByteArray(byteBuf, NettyUtils.readVarInt(byteBuf)));
+      JsonDocument header = NettyPacketHeaderCodec.readHeader(byteBuf, this.binaryHeaders);
+      int bodyLength = NettyUtils.readVarInt(byteBuf);
+      // the body shares the memory of the inbound buffer, it's released after the packet was handled
+      ProtocolBuffer body = ProtocolBuffer.wrap(bodyLength == NettyPacketCompression.COMPRESSED_BODY
+        ? NettyPacketCompression.readCompressedBody(byteBuf)
+        : byteBuf.readRetainedSlice(bodyLength));
 
       Packet packet = new Packet(channel, uniqueId, header, body);
       out.add(packet);
 
       this.showDebug(packet);
     } catch (Exception exception) {
+      // the buffer holds exactly one packet, the rest of an unreadable one must not be read as the next packet
+      byteBuf.skipBytes(byteBuf.readableBytes());
       exception.printStackTrace();
     }
   }
 
+  public boolean isBinaryHeaders() {
+    return this.binaryHeaders;
+  }
+
+  public void setBinaryHeaders(boolean binaryHeaders) {
+    this.binaryHeaders = binaryHeaders;
+  }
+
   protected void showDebug(IPacket packet) {
     if (packet.isShowDebug()) {
       CloudNetDriver.optionalInstance().ifPresent(cloudNetDriver -> {
@@ -73,15 +88,4 @@ protected void showDebug(IPacket packet) {
       });
     }
   }
-
-  protected JsonDocument readHeader(ByteBuf buf) {
-    int length = NettyUtils.readVarInt(buf);
-    if (length == 0) {
-      return JsonDocument.EMPTY;
-    } else {
-      byte[] content = new byte[length];
-      buf.readBytes(content);
-      return JsonDocument.newDocument(new String(content, StandardCharsets.UTF_8));
-    }
-  }
 }
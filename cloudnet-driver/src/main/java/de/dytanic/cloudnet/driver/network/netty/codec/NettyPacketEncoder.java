@@ -28,6 +28,9 @@
 @ApiStatus.Internal
 public final class NettyPacketEncoder extends MessageToByteEncoder<IPacket> {
 
+  private volatile boolean binaryHeaders;
+  private volatile boolean compression;
+
   @Override
   protected void encode(ChannelHandlerContext ctx, IPacket packet, ByteBuf byteBuf) {
     if (packet.isShowDebug()) {
@@ -46,6 +49,20 @@ protected void encode(ChannelHandlerContext ctx, IPacket packet, ByteBuf byteBuf
       });
     }
 
+    try {
+      encodePacket(packet, byteBuf, this.binaryHeaders, this.compression);
+    } finally {
+      if (packet.isReleaseOnWrite()) {
+        packet.release();
+      }
+    }
+  }
+
+  public static void encodePacket(IPacket packet, ByteBuf byteBuf, boolean binaryHeaders) {
+    encodePacket(packet, byteBuf, binaryHeaders, false);
+  }
+
+  public static void encodePacket(IPacket packet, ByteBuf byteBuf, boolean binaryHeaders, boolean compression) {
     // channel
     NettyUtils.writeVarInt(byteBuf, packet.getChannel());
     // unique id
@@ -53,22 +70,34 @@ protected void encode(ChannelHandlerContext ctx, IPacket packet, ByteBuf byteBuf
       .writeLong(packet.getUniqueId().getMostSignificantBits())
       .writeLong(packet.getUniqueId().getLeastSignificantBits());
     // header
-    this.writeHeader(packet, byteBuf);
+    NettyPacketHeaderCodec.writeHeader(byteBuf, packet.getHeader(), binaryHeaders);
     // body
     if (packet.getBuffer() != null) {
       int amount = packet.getBuffer().readableBytes();
-      NettyUtils.writeVarInt(byteBuf, amount);
-      byteBuf.writeBytes(packet.getBuffer(), 0, amount);
+      if (compression && NettyPacketCompression.shouldCompress(packet, amount)) {
+        NettyPacketCompression.writeCompressedBody(byteBuf, packet.getBuffer());
+      } else {
+        NettyUtils.writeVarInt(byteBuf, amount);
+        byteBuf.writeBytes(packet.getBuffer(), 0, amount);
+      }
     } else {
       NettyUtils.writeVarInt(byteBuf, 0);
     }
   }
 
-  private void writeHeader(IPacket packet, ByteBuf byteBuf) {
-    if (packet.getHeader() == null || packet.getHeader().isEmpty()) {
-      NettyUtils.writeVarInt(byteBuf, 0);
-    } else {
-      NettyUtils.writeString(byteBuf, packet.getHeader().toJson());
-    }
+  public boolean isBinaryHeaders() {
+    return this.binaryHeaders;
+  }
+
+  public void setBinaryHeaders(boolean binaryHeaders) {
+    this.binaryHeaders = binaryHeaders;
+  }
+
+  public boolean isCompression() {
+    return this.compression;
+  }
+
+  public void setCompression(boolean compression) {
+    this.compression = compression;
   }
 }
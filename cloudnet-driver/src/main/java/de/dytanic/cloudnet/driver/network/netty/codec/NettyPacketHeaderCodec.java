@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty.codec;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonObject;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
+import de.dytanic.cloudnet.driver.serialization.json.BinaryJsonCodec;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Reads and writes packet headers. A header starts with a var int which is either {@link #EMPTY_HEADER} for an empty
+ * header, {@link #BINARY_HEADER} for a header in the binary format of the {@link BinaryJsonCodec} (without key
+ * dictionary) or the length of the legacy json header following it. A json header is always at least two bytes long
+ * ({@code {}}), so the markers can never collide with a json header length. The binary format must only be written when
+ * the other side of the connection announced that it is able to read it, and is only read once this side announced it.
+ */
+@ApiStatus.Internal
+public final class NettyPacketHeaderCodec {
+
+  public static final int EMPTY_HEADER = 0;
+  public static final int BINARY_HEADER = 1;
+
+  private NettyPacketHeaderCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  @SuppressWarnings("deprecation") // the codec works on the gson tree of the header, copying it would be wasted work
+  public static void writeHeader(ByteBuf byteBuf, JsonDocument header, boolean binary) {
+    if (header == null || header.isEmpty()) {
+      NettyUtils.writeVarInt(byteBuf, EMPTY_HEADER);
+    } else if (binary) {
+      NettyUtils.writeVarInt(byteBuf, BINARY_HEADER);
+      BinaryJsonCodec.writeObject(byteBuf, header.toJsonObject(), false);
+    } else {
+      NettyUtils.writeString(byteBuf, header.toJson());
+    }
+  }
+
+  /**
+   * @param binary if this side of the connection announced that it reads binary headers, a binary header is rejected
+   *               otherwise
+   * @throws IllegalStateException if the header is binary but binary headers weren't announced
+   */
+  @SuppressWarnings("deprecation") // the codec works on the gson tree of the header, copying it would be wasted work
+  public static JsonDocument readHeader(ByteBuf byteBuf, boolean binary) {
+    int length = NettyUtils.readVarInt(byteBuf);
+    if (length == EMPTY_HEADER) {
+      return JsonDocument.EMPTY;
+    } else if (length == BINARY_HEADER) {
+      Preconditions.checkState(binary, "Received a binary header which wasn't negotiated");
+      return JsonDocument.newDocument(BinaryJsonCodec.readObject(byteBuf, new JsonObject(), false));
+    } else {
+      return JsonDocument.newDocument(BinaryJsonCodec.readString(byteBuf, length));
+    }
+  }
+}
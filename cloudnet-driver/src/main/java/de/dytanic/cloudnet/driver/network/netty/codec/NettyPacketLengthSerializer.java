@@ -19,23 +19,18 @@
 import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import java.util.List;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
-public final class NettyPacketLengthSerializer extends MessageToByteEncoder<ByteBuf> {
+public final class NettyPacketLengthSerializer extends MessageToMessageEncoder<ByteBuf> {
 
   @Override
-  protected void encode(ChannelHandlerContext ctx, ByteBuf in, ByteBuf out) {
-    NettyUtils.writeVarInt(out, in.readableBytes());
-    out.writeBytes(in);
-  }
-
-  @Override
-  protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf msg, boolean preferDirect) {
-    int initialSize = 5 + msg.readableBytes();
-    return preferDirect
-      ? ctx.alloc().ioBuffer(initialSize)
-      : ctx.alloc().heapBuffer(initialSize);
+  protected void encode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+    // only the length is written into a new buffer, the packet itself is passed through without copying it
+    // which allows to write the same encoded packet to multiple channels
+    out.add(NettyUtils.writeVarInt(ctx.alloc().ioBuffer(5), in.readableBytes()));
+    out.add(in.retain());
   }
 }
@@ -24,6 +24,8 @@
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
 import de.dytanic.cloudnet.driver.network.INetworkServer;
+import de.dytanic.cloudnet.driver.network.netty.NettyPacketBroadcaster;
+import de.dytanic.cloudnet.driver.network.netty.NettyPacketDispatcher;
 import de.dytanic.cloudnet.driver.network.netty.NettySSLServer;
 import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
 import de.dytanic.cloudnet.driver.network.protocol.DefaultPacketListenerRegistry;
@@ -41,7 +43,6 @@
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.Executor;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -53,7 +54,7 @@ public final class NettyNetworkServer extends NettySSLServer implements DefaultN
 
   protected final IPacketListenerRegistry packetRegistry = new DefaultPacketListenerRegistry();
 
-  protected final Executor packetDispatcher = NettyUtils.newPacketDispatcher();
+  protected final NettyPacketDispatcher packetDispatcher = NettyUtils.newPacketDispatcher();
 
   protected final EventLoopGroup bossEventLoopGroup = NettyUtils.newEventLoopGroup();
   protected final EventLoopGroup workerEventLoopGroup = NettyUtils.newEventLoopGroup();
@@ -109,6 +110,7 @@ public boolean addListener(@NotNull HostAndPort hostAndPort) {
           .childOption(ChannelOption.TCP_NODELAY, true)
           .childOption(ChannelOption.IP_TOS, 24)
           .childOption(ChannelOption.AUTO_READ, true)
+          .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, NettyUtils.getWriteBufferWaterMark())
           .channelFactory(NettyUtils.getServerChannelFactory())
           .childHandler(new NettyNetworkServerInitializer(this, hostAndPort))
           .bind(hostAndPort.getHost(), hostAndPort.getPort())
@@ -144,7 +146,7 @@ public Collection<INetworkChannel> getChannels() {
   }
 
   @Override
-  public Executor getPacketDispatcher() {
+  public NettyPacketDispatcher getPacketDispatcher() {
     return this.packetDispatcher;
   }
 
@@ -153,6 +155,26 @@ public Collection<INetworkChannel> getModifiableChannels() {
     return this.channels;
   }
 
+  @Override
+  public void broadcastPacket(@NotNull Collection<INetworkChannel> channels, @NotNull IPacket... packets) {
+    Preconditions.checkNotNull(channels);
+    Preconditions.checkNotNull(packets);
+
+    for (IPacket packet : packets) {
+      NettyPacketBroadcaster.broadcast(channels, packet);
+    }
+  }
+
+  @Override
+  public void sendPacket(@NotNull IPacket packet) {
+    this.broadcastPacket(this.channels, packet);
+  }
+
+  @Override
+  public void sendPacket(@NotNull IPacket... packets) {
+    this.broadcastPacket(this.channels, packets);
+  }
+
   @Override
   public void sendPacketSync(@NotNull IPacket... packets) {
     Preconditions.checkNotNull(packets);
@@ -20,9 +20,9 @@
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.netty.NettyNetworkChannel;
 import de.dytanic.cloudnet.driver.network.netty.NettyNetworkHandler;
+import de.dytanic.cloudnet.driver.network.netty.NettyPacketDispatcher;
 import io.netty.channel.ChannelHandlerContext;
 import java.util.Collection;
-import java.util.concurrent.Executor;
 import org.jetbrains.annotations.ApiStatus;
 
 @ApiStatus.Internal
@@ -59,7 +59,7 @@ protected Collection<INetworkChannel> getChannels() {
   }
 
   @Override
-  protected Executor getPacketDispatcher() {
+  protected NettyPacketDispatcher getPacketDispatcher() {
     return this.nettyNetworkServer.getPacketDispatcher();
   }
 }
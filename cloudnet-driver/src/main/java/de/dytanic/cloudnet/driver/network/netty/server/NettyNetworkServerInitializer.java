@@ -17,6 +17,7 @@
 package de.dytanic.cloudnet.driver.network.netty.server;
 
 import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.netty.NettyFlushConsolidationHandler;
 import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketDecoder;
 import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketEncoder;
 import de.dytanic.cloudnet.driver.network.netty.codec.NettyPacketLengthDeserializer;
@@ -44,6 +45,10 @@ protected void initChannel(Channel ch) {
         .addLast(this.nettyNetworkServer.sslContext.newHandler(ch.alloc()));
     }
 
+    if (NettyFlushConsolidationHandler.isEnabled()) {
+      ch.pipeline().addLast("flush-consolidation", new NettyFlushConsolidationHandler());
+    }
+
     ch.pipeline()
       .addLast("packet-length-deserializer", new NettyPacketLengthDeserializer())
       .addLast("packet-decoder", new NettyPacketDecoder())
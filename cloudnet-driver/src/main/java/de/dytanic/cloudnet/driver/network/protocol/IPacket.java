@@ -82,6 +82,91 @@ public interface IPacket {
    */
   long getCreationMillis();
 
+  /**
+   * Increases the reference count of the packet body. The body of a received packet is released after all listeners
+   * handled it, so a listener which is using the body after that must retain the packet and release it afterwards
+   *
+   * @return the same packet instance
+   */
+  default IPacket retain() {
+    if (this.getBuffer() != null) {
+      this.getBuffer().retain();
+    }
+    return this;
+  }
+
+  /**
+   * Decreases the reference count of the packet body and deallocates it if the reference count reached 0
+   *
+   * @return if the body was deallocated by this call
+   */
+  default boolean release() {
+    return this.getBuffer() != null && this.getBuffer().refCnt() > 0 && this.getBuffer().release();
+  }
+
+  /**
+   * Returns if the body of this packet is released after the packet was written to a channel. A packet with such a body
+   * can only be written once, it has to be retained for every additional write.
+   *
+   * @return if the body of this packet is released after it was written
+   * @see ProtocolBuffer#createPooled(int)
+   */
+  default boolean isReleaseOnWrite() {
+    return this.getBuffer() != null && this.getBuffer().isReleaseOnWrite();
+  }
+
+  /**
+   * Returns if the {@link de.dytanic.cloudnet.driver.event.events.network.NetworkChannelPacketSendEvent} should be
+   * called when sending this packet. Packets which are sent very often can disable it to skip the event call.
+   *
+   * @return if the send event should be called for this packet
+   */
+  default boolean isCallSendEvent() {
+    return true;
+  }
+
+  /**
+   * Returns how this packet should be handled if the channel it is sent to is not writable.
+   *
+   * @return the write policy of this packet
+   */
+  default PacketWritePolicy getWritePolicy() {
+    return PacketWritePolicy.ALWAYS;
+  }
+
+  /**
+   * Returns the key used to identify packets which replace each other if the write policy is {@link
+   * PacketWritePolicy#LATEST_VALUE_WINS}. Packets with equal keys are replaced by the latest one.
+   *
+   * @return the coalesce key of this packet, by default the channel of the packet
+   */
+  default Object getCoalesceKey() {
+    return this.getChannel();
+  }
+
+  /**
+   * Returns the packet which is held back instead of this packet if it replaces a held back packet with the same
+   * coalesce key while the channel is not writable. Packets which depend on the replaced one, like deltas, can return a
+   * packet which doesn't depend on it.
+   *
+   * @param replaced the held back packet which is replaced
+   * @return the packet to hold back, by default this packet
+   * @see PacketWritePolicy#LATEST_VALUE_WINS
+   */
+  default @NotNull IPacket coalesce(@NotNull IPacket replaced) {
+    return this;
+  }
+
+  /**
+   * Returns if the body of this packet may be compressed if it is larger than the compression threshold and the channel
+   * it is sent to has compression enabled. Packets with already compressed bodies should disable it.
+   *
+   * @return if the body of this packet may be compressed
+   */
+  default boolean isCompressible() {
+    return true;
+  }
+
   /**
    * @return if there should be debug messages for this type of packet
    */
@@ -24,6 +24,38 @@
  */
 public interface IPacketSender {
 
+  /**
+   * Sends the given packet to all given senders. If the body of the packet is released on write, the packet is retained
+   * for each sender, so it is released after the last sender wrote it.
+   *
+   * @param senders the senders to send the packet with
+   * @param packet  the packet to send
+   * @param sync    if the packet should be sent synchronously by each sender
+   * @see IPacket#isReleaseOnWrite()
+   */
+  static void sendPacketToAll(@NotNull Iterable<? extends IPacketSender> senders, @NotNull IPacket packet,
+    boolean sync) {
+    boolean releaseOnWrite = packet.isReleaseOnWrite();
+
+    try {
+      for (IPacketSender sender : senders) {
+        if (releaseOnWrite) {
+          packet.retain();
+        }
+
+        if (sync) {
+          sender.sendPacketSync(packet);
+        } else {
+          sender.sendPacket(packet);
+        }
+      }
+    } finally {
+      if (releaseOnWrite) {
+        packet.release();
+      }
+    }
+  }
+
   /**
    * Transport a packet instance into the network to the receiver. The receiver will handle the packet if he knows the
    * channel and has listeners for the channel
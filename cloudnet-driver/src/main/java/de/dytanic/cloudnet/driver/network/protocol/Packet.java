@@ -103,6 +103,21 @@ public static Packet createResponseFor(IPacket packet) {
     return new Packet(-1, packet.getUniqueId(), JsonDocument.EMPTY);
   }
 
+  /**
+   * Creates a packet with the channel, unique id, header and body of the given received packet to send it to other
+   * channels. The body of a received packet is released once it was handled, but the other channels are writing it
+   * later on their own event loops, so the new packet keeps a reference to the body until it was written. Like a packet
+   * with a pooled body, it has to be retained for every additional channel it is sent to.
+   *
+   * @param packet the received packet to forward
+   * @return the packet to send instead of the received one
+   * @see IPacketSender#sendPacketToAll(Iterable, IPacket, boolean)
+   */
+  public static Packet forward(IPacket packet) {
+    return new Packet(packet.getChannel(), packet.getUniqueId(), packet.getHeader(),
+      packet.getBuffer() == null ? null : packet.getBuffer().retainedSliceForWrite());
+  }
+
   public int getChannel() {
     return this.channel;
   }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.protocol;
+
+/**
+ * Defines how a packet is handled when it should be sent to a channel which is not writable, because the receiver is
+ * slower than the sender and the outbound buffer of the channel exceeded its high water mark.
+ *
+ * @see IPacket#getWritePolicy()
+ */
+public enum PacketWritePolicy {
+
+  /**
+   * The packet is always written, even if the channel is not writable. If other packets are held back, the packet is
+   * queued behind them to keep the order and is never dropped.
+   */
+  ALWAYS,
+  /**
+   * The packet is dropped if the channel is not writable. This is useful for packets which are only informational and
+   * become useless if they arrive too late.
+   */
+  DROP_IF_UNWRITABLE,
+  /**
+   * The packet is held back while the channel is not writable and replaced by newer packets with the same coalesce key,
+   * so only the latest value is written once the channel is writable again.
+   *
+   * @see IPacket#getCoalesceKey()
+   */
+  LATEST_VALUE_WINS
+
+}
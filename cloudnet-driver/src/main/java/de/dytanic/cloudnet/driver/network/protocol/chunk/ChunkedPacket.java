@@ -58,7 +58,9 @@ public ChunkedPacket fillBuffer() {
       return this;
     }
 
-    super.body = ProtocolBuffer.create().writeVarInt(this.chunkId);
+    // the chunk id followed by either the chunk size, the chunk amount or the data
+    super.body = ProtocolBuffer.createPooled(this.chunkId == 0 || this.end ? 11 : 10 + this.dataLength)
+      .writeVarInt(this.chunkId);
     if (this.chunkId == 0) {
       super.body.writeInt(this.chunkSize);
       return this;
@@ -115,11 +117,7 @@ public byte[] getData() {
   }
 
   public void clearData() {
-    if (super.body != null) {
-      while (super.body.refCnt() > 0) {
-        super.body.release();
-      }
-    }
+    this.release();
 
     this.data = null;
   }
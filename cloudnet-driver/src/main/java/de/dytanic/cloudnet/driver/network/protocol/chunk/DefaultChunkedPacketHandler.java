@@ -24,22 +24,29 @@ public class DefaultChunkedPacketHandler {
 
   public static Consumer<ChunkedPacket> createHandler(Collection<INetworkChannel> channels) {
     return packet -> {
-      for (INetworkChannel channel : channels) {
-        if (!channel.isActive()) {
-          if (noneActive(channels)) {
-            throw ChunkInterrupt.INSTANCE;
+      boolean releaseOnWrite = packet.fillBuffer().isReleaseOnWrite();
+      try {
+        for (INetworkChannel channel : channels) {
+          if (!channel.isActive()) {
+            if (noneActive(channels)) {
+              throw ChunkInterrupt.INSTANCE;
+            }
+            continue;
           }
-          continue;
-        }
 
-        if (!waitWritable(channel)) {
-          continue;
-        }
+          if (!waitWritable(channel)) {
+            continue;
+          }
 
-        channel.sendPacketSync(packet.fillBuffer());
+          if (releaseOnWrite) {
+            // the chunk is released by each channel after writing it and by clearing the data once all channels got it
+            packet.retain();
+          }
+          channel.sendPacketSync(packet);
+        }
+      } finally {
+        packet.clearData();
       }
-
-      packet.clearData();
     };
   }
 
@@ -22,6 +22,7 @@
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacket;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -51,6 +52,24 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
     }
   }
 
+  /**
+   * Abandons all sessions received from the given channel, which was closed and can't complete them anymore.
+   *
+   * @param channel the closed channel
+   */
+  public void handleChannelClose(@NotNull INetworkChannel channel) {
+    this.lock.lock();
+    try {
+      for (ChunkedPacketSession session : new ArrayList<>(this.sessions.values())) {
+        if (session.getChannel() == channel) {
+          session.abandon();
+        }
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
   public @NotNull Map<UUID, ChunkedPacketSession> getSessions() {
     return this.sessions;
   }
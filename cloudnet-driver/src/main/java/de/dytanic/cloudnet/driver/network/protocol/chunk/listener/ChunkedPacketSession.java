@@ -56,7 +56,6 @@ public ChunkedPacketSession(INetworkChannel channel, ChunkedPacketListener liste
 
   public void handleIncomingChunk(@NotNull ChunkedPacket packet) throws IOException {
     if (this.closed) {
-      packet.clearData();
       throw new IllegalStateException(
         String.format("Session is already closed but received packet %d, %b", packet.getChunkId(), packet.isEnd()));
     }
@@ -71,13 +70,21 @@ public void handleIncomingChunk(@NotNull ChunkedPacket packet) throws IOExceptio
     }
 
     try {
-      if (this.chunkId != packet.getChunkId()) {
-        this.pendingPackets.add(packet);
-      } else {
-        this.storeChunk(packet);
+      try {
+        if (this.chunkId != packet.getChunkId()) {
+          // the body of the packet is released after the handling, keep it until the chunk gets stored
+          packet.retain();
+          this.pendingPackets.add(packet);
+        } else {
+          this.storeChunk(packet);
+        }
+      } finally {
+        this.checkPendingPackets();
       }
-    } finally {
-      this.checkPendingPackets();
+    } catch (IOException | RuntimeException exception) {
+      // the session can't be completed anymore
+      this.abandon();
+      throw exception;
     }
   }
 
@@ -102,7 +109,6 @@ private void storeChunk(ChunkedPacket packet) throws IOException {
       packet.readData(this.outputStream);
     } finally {
       this.outputStream.flush();
-      packet.clearData();
     }
   }
 
@@ -113,7 +119,12 @@ private void checkPendingPackets() throws IOException {
         ChunkedPacket pending = iterator.next();
         if (this.chunkId == pending.getChunkId() || (pending.isEnd() && this.chunkId - 1 == pending.getChunks())) {
           iterator.remove();
-          this.storeChunk(pending);
+
+          try {
+            this.storeChunk(pending);
+          } finally {
+            pending.clearData();
+          }
         }
       }
     }
@@ -123,8 +134,10 @@ protected void close() throws IOException {
     if (!this.pendingPackets.isEmpty()) {
       String packets = this.pendingPackets.stream().map(ChunkedPacket::getChunkId).map(String::valueOf)
         .collect(Collectors.joining(", "));
-      throw new IllegalStateException(
-        String.format("Closing with %d pending packets: %s", this.pendingPackets.size(), packets));
+      int pendingPackets = this.pendingPackets.size();
+
+      this.abandon();
+      throw new IllegalStateException(String.format("Closing with %d pending packets: %s", pendingPackets, packets));
     }
 
     this.closed = true;
@@ -136,6 +149,28 @@ protected void close() throws IOException {
     this.listener.handleComplete(this);
   }
 
+  /**
+   * Closes this session without completing it, for example because the channel it was received from was closed. The
+   * chunks waiting for their predecessors are released, the output stream is closed and the session is removed from its
+   * listener.
+   */
+  public void abandon() {
+    this.closed = true;
+
+    for (ChunkedPacket pendingPacket : this.pendingPackets) {
+      pendingPacket.clearData();
+    }
+    this.pendingPackets.clear();
+
+    try {
+      this.outputStream.close();
+    } catch (IOException exception) {
+      exception.printStackTrace();
+    }
+
+    this.listener.getSessions().remove(this.sessionUniqueId);
+  }
+
   public INetworkChannel getChannel() {
     return this.channel;
   }
@@ -29,6 +29,8 @@
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -186,6 +188,24 @@ public ITask<Queue<String>> getCachedLogMessagesAsync() {
     );
   }
 
+  @Override
+  public Collection<ThreadSnapshot> getThreads() {
+    return this.getThreadsAsync().get(5, TimeUnit.SECONDS, null);
+  }
+
+  @Override
+  @NotNull
+  public ITask<Collection<ThreadSnapshot>> getThreadsAsync() {
+    return this.executeDriverAPIMethod(
+      DriverAPIRequestType.GET_THREADS_FROM_CLOUD_SERVICE,
+      this::writeDefaults,
+      packet -> {
+        ProtocolBuffer buffer = this.readDefaults(packet.getBuffer());
+        return buffer.readBoolean() ? buffer.readObjectCollection(ThreadSnapshot.class) : null;
+      }
+    );
+  }
+
   @Override
   public void setCloudServiceLifeCycle(@NotNull ServiceLifeCycle lifeCycle) {
     this.setCloudServiceLifeCycleAsync(lifeCycle).get(5, TimeUnit.SECONDS, null);
@@ -22,6 +22,8 @@
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
+import java.util.Collection;
 import java.util.Queue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -89,6 +91,16 @@ public interface SpecificCloudServiceProvider {
    */
   Queue<String> getCachedLogMessages();
 
+  /**
+   * Requests the threads currently running in this service. The process snapshot in the {@link ServiceInfoSnapshot}
+   * only contains the amount of threads, the threads themselves are only collected when this method is called.
+   *
+   * @return the running threads or {@code null} if the service is not connected
+   * @throws IllegalArgumentException if no uniqueId/name/serviceInfo was given on creating this provider
+   */
+  @Nullable
+  Collection<ThreadSnapshot> getThreads();
+
   /**
    * Stops this service by executing the "stop" and "end" commands in its console if it is running.
    */
@@ -234,6 +246,16 @@ default void deployResources() {
   @NotNull
   ITask<Queue<String>> getCachedLogMessagesAsync();
 
+  /**
+   * Requests the threads currently running in this service. The process snapshot in the {@link ServiceInfoSnapshot}
+   * only contains the amount of threads, the threads themselves are only collected when this method is called.
+   *
+   * @return the running threads or {@code null} if the service is not connected
+   * @throws IllegalArgumentException if no uniqueId/name/serviceInfo was given on creating this provider
+   */
+  @NotNull
+  ITask<Collection<ThreadSnapshot>> getThreadsAsync();
+
   /**
    * Stops this service by executing the "stop" and "end" commands in its console if it is running.
    */
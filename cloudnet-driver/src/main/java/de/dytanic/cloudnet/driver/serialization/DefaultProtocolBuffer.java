@@ -30,8 +30,6 @@
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
@@ -43,15 +41,27 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class DefaultProtocolBuffer extends ProtocolBuffer {
 
   private final ByteBuf wrapped;
+  private final boolean releaseOnWrite;
 
   public DefaultProtocolBuffer(ByteBuf wrapped) {
+    this(wrapped, false);
+  }
+
+  public DefaultProtocolBuffer(ByteBuf wrapped, boolean releaseOnWrite) {
     this.wrapped = wrapped;
+    this.releaseOnWrite = releaseOnWrite;
+  }
+
+  @Override
+  public boolean isReleaseOnWrite() {
+    return this.releaseOnWrite;
   }
 
   @Override
@@ -248,12 +258,7 @@ public ProtocolBuffer writeOptionalJsonDocument(@Nullable JsonDocument document)
 
   @Override
   public <T extends SerializableObject> @NotNull T readObject(@NotNull Class<T> objectClass) {
-    try {
-      T t = objectClass.getDeclaredConstructor().newInstance();
-      return this.readObject(t);
-    } catch (InstantiationException | IllegalAccessException | InvocationTargetException | NoSuchMethodException exception) {
-      throw new Error(exception);
-    }
+    return this.readObject(SerializableObjectFactories.newInstance(objectClass));
   }
 
   @Override
@@ -292,13 +297,9 @@ public ProtocolBuffer writeOptionalObject(@Nullable SerializableObject object) {
     int size = this.readVarInt();
     Collection<T> result = new ArrayList<>(size);
 
-    try {
-      Constructor<T> constructor = objectClass.getDeclaredConstructor();
-      for (int i = 0; i < size; i++) {
-        result.add(this.readObject(constructor.newInstance()));
-      }
-    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException exception) {
-      throw new Error(exception);
+    Supplier<T> factory = SerializableObjectFactories.getFactory(objectClass);
+    for (int i = 0; i < size; i++) {
+      result.add(this.readObject(factory.get()));
     }
 
     return result;
@@ -317,18 +318,14 @@ public ProtocolBuffer writeObjectCollection(@NotNull Collection<? extends Serial
   @SuppressWarnings("unchecked")
   public @NotNull <T extends SerializableObject> T[] readObjectArray(@NotNull Class<T> objectClass) {
     int size = this.readVarInt();
-    Object result = Array.newInstance(objectClass, size);
-
-    try {
-      Constructor<T> constructor = objectClass.getDeclaredConstructor();
-      for (int i = 0; i < size; i++) {
-        Array.set(result, i, this.readObject(constructor.newInstance()));
-      }
-    } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException exception) {
-      throw new Error(exception);
+    T[] result = (T[]) Array.newInstance(objectClass, size);
+
+    Supplier<T> factory = SerializableObjectFactories.getFactory(objectClass);
+    for (int i = 0; i < size; i++) {
+      result[i] = this.readObject(factory.get());
     }
 
-    return (T[]) result;
+    return result;
   }
 
   @Override
@@ -1341,11 +1338,18 @@ public int refCnt() {
 
   @Override
   public boolean release() {
-    return this.wrapped.release();
+    return this.handleRelease(this.wrapped.release());
   }
 
   @Override
   public boolean release(int decrement) {
-    return this.wrapped.release(decrement);
+    return this.handleRelease(this.wrapped.release(decrement));
+  }
+
+  private boolean handleRelease(boolean deallocated) {
+    if (deallocated && this.releaseOnWrite) {
+      POOLED_BUFFERS_IN_USE.decrementAndGet();
+    }
+    return deallocated;
   }
 }
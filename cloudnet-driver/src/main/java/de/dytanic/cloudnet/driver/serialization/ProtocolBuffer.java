@@ -19,10 +19,12 @@
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.common.io.FileUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -30,10 +32,47 @@ public abstract class ProtocolBuffer extends ByteBuf {
 
   public static final ProtocolBuffer EMPTY = create();
 
+  static final AtomicLong POOLED_BUFFERS_IN_USE = new AtomicLong();
+
   public static ProtocolBuffer create() {
     return wrap(Unpooled.buffer());
   }
 
+  /**
+   * Creates a new heap buffer which has an initial capacity of the given size hint, to prevent resizing the buffer
+   * while writing to it.
+   *
+   * @param sizeHint the expected amount of bytes which will be written into the buffer
+   * @return the new buffer
+   */
+  public static ProtocolBuffer create(int sizeHint) {
+    return wrap(Unpooled.buffer(sizeHint));
+  }
+
+  /**
+   * Creates a new buffer which is allocated from the pooled allocator, using direct memory if possible. The buffer is
+   * released by the packet encoder after a packet using it as body was written, so a packet using a pooled body can
+   * only be sent once. When sending it to multiple channels, the packet has to be retained for every additional
+   * receiver, the network components are doing that already.
+   * <p>
+   * Buffers which are never written have to be released manually, unreleased buffers can be found using {@link
+   * #getPooledBuffersInUse()} or netty's leak detection.
+   *
+   * @param sizeHint the expected amount of bytes which will be written into the buffer
+   * @return the new buffer
+   */
+  public static ProtocolBuffer createPooled(int sizeHint) {
+    POOLED_BUFFERS_IN_USE.incrementAndGet();
+    return new DefaultProtocolBuffer(PooledByteBufAllocator.DEFAULT.ioBuffer(sizeHint), true);
+  }
+
+  /**
+   * @return the amount of buffers created by {@link #createPooled(int)} which were not released yet
+   */
+  public static long getPooledBuffersInUse() {
+    return POOLED_BUFFERS_IN_USE.get();
+  }
+
   public static ProtocolBuffer readAll(InputStream inputStream) {
     return wrap(FileUtils.toByteArray(inputStream));
   }
@@ -47,6 +86,23 @@ public static ProtocolBuffer wrap(ByteBuf buf) {
   }
 
 
+  /**
+   * @return if this buffer should be released after a packet using it as body was written to a channel
+   */
+  public abstract boolean isReleaseOnWrite();
+
+  /**
+   * Creates a slice of the readable bytes of this buffer which holds its own reference to the memory of this buffer,
+   * released by the packet encoder like the one of a pooled buffer. The body of a received packet is released as soon
+   * as the packet was handled, so it has to be sliced this way to send it to another channel.
+   *
+   * @return the new buffer, which has to be released if it is never written
+   */
+  public ProtocolBuffer retainedSliceForWrite() {
+    POOLED_BUFFERS_IN_USE.incrementAndGet();
+    return new DefaultProtocolBuffer(this.retainedSlice(), true);
+  }
+
   @NotNull
   public abstract String readString();
 
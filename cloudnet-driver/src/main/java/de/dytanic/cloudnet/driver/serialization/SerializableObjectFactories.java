@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.serialization;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Caches a factory for every class which is read from a {@link ProtocolBuffer}, so the no-args constructor is not
+ * looked up and invoked reflectively for every read object. Public classes with a public constructor which are visible
+ * to the class loader of the driver get a factory generated by the {@link LambdaMetafactory}, all other classes use a
+ * cached constructor.
+ */
+@ApiStatus.Internal
+public final class SerializableObjectFactories {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+  private static final MethodType SUPPLIER_TYPE = MethodType.methodType(Supplier.class);
+
+  // a class value doesn't prevent the classes of unloaded modules from being garbage collected
+  private static final ClassValue<Supplier<?>> FACTORIES = new ClassValue<Supplier<?>>() {
+    @Override
+    protected Supplier<?> computeValue(Class<?> type) {
+      return createFactory(type);
+    }
+  };
+
+  private SerializableObjectFactories() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Gets the cached factory for the given class.
+   *
+   * @param objectClass the class to get the factory for
+   * @param <T>         the type of the class
+   * @return a factory creating new instances of the class using its no-args constructor
+   * @throws Error if the class has no no-args constructor
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> @NotNull Supplier<T> getFactory(@NotNull Class<T> objectClass) {
+    return (Supplier<T>) FACTORIES.get(objectClass);
+  }
+
+  public static <T> @NotNull T newInstance(@NotNull Class<T> objectClass) {
+    return getFactory(objectClass).get();
+  }
+
+  private static Supplier<?> createFactory(Class<?> type) {
+    Constructor<?> constructor;
+    try {
+      constructor = type.getDeclaredConstructor();
+    } catch (NoSuchMethodException exception) {
+      throw new Error(exception);
+    }
+
+    if (isLinkable(type, constructor)) {
+      try {
+        MethodHandle handle = LOOKUP.unreflectConstructor(constructor);
+        CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, "get", SUPPLIER_TYPE,
+          MethodType.methodType(Object.class), handle, MethodType.methodType(type));
+        return (Supplier<?>) callSite.getTarget().invokeExact();
+      } catch (Throwable ignored) {
+        // fall back to the reflective factory
+      }
+    }
+
+    return () -> {
+      try {
+        return constructor.newInstance();
+      } catch (InstantiationException | IllegalAccessException | InvocationTargetException exception) {
+        throw new Error(exception);
+      }
+    };
+  }
+
+  private static boolean isLinkable(Class<?> type, Constructor<?> constructor) {
+    if (!Modifier.isPublic(constructor.getModifiers()) || Modifier.isAbstract(type.getModifiers())) {
+      return false;
+    }
+
+    for (Class<?> declaringClass = type; declaringClass != null; declaringClass = declaringClass.getDeclaringClass()) {
+      if (!Modifier.isPublic(declaringClass.getModifiers())) {
+        return false;
+      }
+    }
+
+    // the generated class references the type by its name, so it has to be resolvable from the driver
+    try {
+      return Class.forName(type.getName(), false, SerializableObjectFactories.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException exception) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.serialization.json;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+import de.dytanic.cloudnet.driver.network.exception.SilentDecoderException;
+import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
+import io.netty.buffer.ByteBuf;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads and writes json elements in a compact type-tagged binary format. Every element starts with a type byte, strings
+ * and collections are prefixed with their var int length, integral numbers are written as zig-zag var longs and
+ * doubles as raw 8 bytes. Numbers of other types keep their exact textual representation.
+ * <p>
+ * Object keys are either written as plain strings or, if a key dictionary is used, as a var int which is 0 for a new
+ * key followed by the key itself or the index of an already written key plus one. This makes repeated keys, like in
+ * arrays of objects, cost only one or two bytes.
+ * <p>
+ * The read data may come from any peer, so every length is checked against the remaining bytes before anything is
+ * allocated for it and the nesting of objects and arrays is limited to {@link #MAX_DEPTH}. The limit is checked when
+ * writing as well, so that nothing is written which couldn't be read again.
+ */
+@ApiStatus.Internal
+public final class BinaryJsonCodec {
+
+  public static final int MAX_DEPTH = 128;
+
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_TRUE = 1;
+  private static final byte TYPE_FALSE = 2;
+  private static final byte TYPE_LONG = 3;
+  private static final byte TYPE_DOUBLE = 4;
+  private static final byte TYPE_STRING = 5;
+  private static final byte TYPE_NUMBER = 6;
+  private static final byte TYPE_OBJECT = 7;
+  private static final byte TYPE_ARRAY = 8;
+
+  private static final int NEW_KEY = 0;
+
+  private static final SilentDecoderException UNKNOWN_TYPE = new SilentDecoderException("Unknown json value type");
+  private static final SilentDecoderException UNKNOWN_KEY = new SilentDecoderException("Unknown json key index");
+  private static final SilentDecoderException BAD_LENGTH = new SilentDecoderException("Bad json length");
+  private static final SilentDecoderException TOO_DEEP = new SilentDecoderException("Json nested too deep");
+
+  private BinaryJsonCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Writes all entries of the given object.
+   *
+   * @param byteBuf    the buffer to write the object to
+   * @param object     the object to write
+   * @param dictionary if the keys should be written using a key dictionary
+   */
+  public static void writeObject(ByteBuf byteBuf, JsonObject object, boolean dictionary) {
+    writeObject(byteBuf, object, dictionary ? new HashMap<>() : null, 0);
+  }
+
+  /**
+   * Reads all entries of an object into the given object.
+   *
+   * @param byteBuf    the buffer to read the object from
+   * @param target     the object to add the read entries to
+   * @param dictionary if the keys were written using a key dictionary
+   * @return the given target object
+   */
+  public static JsonObject readObject(ByteBuf byteBuf, JsonObject target, boolean dictionary) {
+    return readObject(byteBuf, target, dictionary ? new ArrayList<>() : null, 0);
+  }
+
+  private static void writeElement(ByteBuf byteBuf, JsonElement element, @Nullable Map<String, Integer> keys,
+    int depth) {
+    if (element == null || element.isJsonNull()) {
+      byteBuf.writeByte(TYPE_NULL);
+    } else if (element.isJsonObject()) {
+      byteBuf.writeByte(TYPE_OBJECT);
+      writeObject(byteBuf, element.getAsJsonObject(), keys, depth + 1);
+    } else if (element.isJsonArray()) {
+      JsonArray array = element.getAsJsonArray();
+      Preconditions.checkArgument(depth + 1 <= MAX_DEPTH, "Json nested deeper than %s", MAX_DEPTH);
+
+      byteBuf.writeByte(TYPE_ARRAY);
+      NettyUtils.writeVarInt(byteBuf, array.size());
+      for (JsonElement arrayElement : array) {
+        writeElement(byteBuf, arrayElement, keys, depth + 1);
+      }
+    } else {
+      JsonPrimitive primitive = element.getAsJsonPrimitive();
+      if (primitive.isBoolean()) {
+        byteBuf.writeByte(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+      } else if (primitive.isNumber()) {
+        writeNumber(byteBuf, primitive.getAsNumber());
+      } else {
+        byteBuf.writeByte(TYPE_STRING);
+        NettyUtils.writeString(byteBuf, primitive.getAsString());
+      }
+    }
+  }
+
+  private static void writeNumber(ByteBuf byteBuf, Number number) {
+    if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+      long value = number.longValue();
+
+      byteBuf.writeByte(TYPE_LONG);
+      NettyUtils.writeVarLong(byteBuf, (value << 1) ^ (value >> 63));
+    } else if (number instanceof Double) {
+      byteBuf.writeByte(TYPE_DOUBLE);
+      byteBuf.writeDouble(number.doubleValue());
+    } else {
+      // lazily parsed numbers, floats and big numbers keep their exact textual representation
+      byteBuf.writeByte(TYPE_NUMBER);
+      NettyUtils.writeString(byteBuf, number.toString());
+    }
+  }
+
+  private static void writeObject(ByteBuf byteBuf, JsonObject object, @Nullable Map<String, Integer> keys,
+    int depth) {
+    Preconditions.checkArgument(depth <= MAX_DEPTH, "Json nested deeper than %s", MAX_DEPTH);
+
+    NettyUtils.writeVarInt(byteBuf, object.size());
+    for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+      writeKey(byteBuf, entry.getKey(), keys);
+      writeElement(byteBuf, entry.getValue(), keys, depth);
+    }
+  }
+
+  private static void writeKey(ByteBuf byteBuf, String key, @Nullable Map<String, Integer> keys) {
+    if (keys != null) {
+      Integer index = keys.get(key);
+      if (index != null) {
+        NettyUtils.writeVarInt(byteBuf, index + 1);
+        return;
+      }
+
+      keys.put(key, keys.size());
+      NettyUtils.writeVarInt(byteBuf, NEW_KEY);
+    }
+
+    NettyUtils.writeString(byteBuf, key);
+  }
+
+  private static JsonElement readElement(ByteBuf byteBuf, @Nullable List<String> keys, int depth) {
+    byte type = byteBuf.readByte();
+    switch (type) {
+      case TYPE_NULL:
+        return JsonNull.INSTANCE;
+      case TYPE_TRUE:
+        return new JsonPrimitive(true);
+      case TYPE_FALSE:
+        return new JsonPrimitive(false);
+      case TYPE_LONG:
+        long value = NettyUtils.readVarLong(byteBuf);
+        return new JsonPrimitive((value >>> 1) ^ -(value & 1));
+      case TYPE_DOUBLE:
+        return new JsonPrimitive(byteBuf.readDouble());
+      case TYPE_STRING:
+        return new JsonPrimitive(readString(byteBuf));
+      case TYPE_NUMBER:
+        return new JsonPrimitive(new LazilyParsedNumber(readString(byteBuf)));
+      case TYPE_OBJECT:
+        return readObject(byteBuf, new JsonObject(), keys, depth + 1);
+      case TYPE_ARRAY:
+        checkDepth(depth + 1);
+        // every element takes at least its type byte
+        int size = readLength(byteBuf, 1);
+        JsonArray array = new JsonArray(size);
+        for (int i = 0; i < size; i++) {
+          array.add(readElement(byteBuf, keys, depth + 1));
+        }
+        return array;
+      default:
+        throw UNKNOWN_TYPE;
+    }
+  }
+
+  private static JsonObject readObject(ByteBuf byteBuf, JsonObject target, @Nullable List<String> keys, int depth) {
+    checkDepth(depth);
+    // every entry takes at least one byte for its key and one for the type of its value
+    int size = readLength(byteBuf, 2);
+    for (int i = 0; i < size; i++) {
+      target.add(readKey(byteBuf, keys), readElement(byteBuf, keys, depth));
+    }
+    return target;
+  }
+
+  private static void checkDepth(int depth) {
+    if (depth > MAX_DEPTH) {
+      throw TOO_DEEP;
+    }
+  }
+
+  /**
+   * @param minimumBytesPerEntry the least amount of bytes one of the counted entries takes
+   * @return the read length, which is never more than the remaining bytes are able to hold
+   */
+  private static int readLength(ByteBuf byteBuf, int minimumBytesPerEntry) {
+    int length = NettyUtils.readVarInt(byteBuf);
+    if (length < 0 || length > byteBuf.readableBytes() / minimumBytesPerEntry) {
+      throw BAD_LENGTH;
+    }
+    return length;
+  }
+
+  private static String readKey(ByteBuf byteBuf, @Nullable List<String> keys) {
+    if (keys == null) {
+      return readString(byteBuf);
+    }
+
+    int index = NettyUtils.readVarInt(byteBuf);
+    if (index == NEW_KEY) {
+      String key = readString(byteBuf);
+      keys.add(key);
+      return key;
+    } else if (index < 0 || index > keys.size()) {
+      throw UNKNOWN_KEY;
+    } else {
+      return keys.get(index - 1);
+    }
+  }
+
+  /**
+   * Reads a string with the given length without copying its bytes into an intermediate array.
+   *
+   * @param byteBuf the buffer to read the string from
+   * @param length  the length of the string in bytes
+   * @return the read string
+   */
+  public static String readString(ByteBuf byteBuf, int length) {
+    if (length < 0 || length > byteBuf.readableBytes()) {
+      throw BAD_LENGTH;
+    }
+    return byteBuf.readCharSequence(length, StandardCharsets.UTF_8).toString();
+  }
+
+  private static String readString(ByteBuf byteBuf) {
+    return readString(byteBuf, NettyUtils.readVarInt(byteBuf));
+  }
+}
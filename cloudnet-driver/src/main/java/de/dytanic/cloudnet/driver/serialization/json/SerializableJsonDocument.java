@@ -26,8 +26,23 @@
 import java.util.Properties;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * A json document which can be written to a {@link ProtocolBuffer}. A document is written as a var int which is either
+ * {@link #EMPTY_DOCUMENT} for an empty document, {@link #BINARY_DOCUMENT} for a document in the binary format of the
+ * {@link BinaryJsonCodec} or the length of the json string following it. A json object string is always at least two
+ * bytes long, so reading accepts both formats. Documents are written as json unless the system property {@code
+ * cloudnet.protocol.json.binary} is set to {@code true}. A document is written before it's known which channels it is
+ * sent to, so the binary format can't be negotiated per channel and must only be enabled if every component of the
+ * network is able to read it.
+ */
 public class SerializableJsonDocument extends JsonDocument implements SerializableObject {
 
+  public static final int EMPTY_DOCUMENT = 0;
+  public static final int BINARY_DOCUMENT = 1;
+
+  private static final boolean BINARY_ENCODING = Boolean
+    .parseBoolean(System.getProperty("cloudnet.protocol.json.binary", "false"));
+
   private SerializableJsonDocument(JsonDocument document) {
     super(document.toJsonObject());
   }
@@ -137,12 +152,29 @@ public JsonDocument clone() {
 
   @Override
   public void write(@NotNull ProtocolBuffer buffer) {
-    buffer.writeString(super.toJson());
+    this.write(buffer, BINARY_ENCODING);
+  }
+
+  void write(@NotNull ProtocolBuffer buffer, boolean binary) {
+    if (!binary) {
+      buffer.writeString(super.toJson());
+    } else if (super.isEmpty()) {
+      buffer.writeVarInt(EMPTY_DOCUMENT);
+    } else {
+      buffer.writeVarInt(BINARY_DOCUMENT);
+      BinaryJsonCodec.writeObject(buffer, super.jsonObject, true);
+    }
   }
 
   @Override
   public void read(@NotNull ProtocolBuffer buffer) {
     super.clear();
-    super.append(JsonParser.parseString(buffer.readString()).getAsJsonObject());
+
+    int length = buffer.readVarInt();
+    if (length == BINARY_DOCUMENT) {
+      BinaryJsonCodec.readObject(buffer, super.jsonObject, true);
+    } else if (length != EMPTY_DOCUMENT) {
+      super.append(JsonParser.parseString(BinaryJsonCodec.readString(buffer, length)).getAsJsonObject());
+    }
   }
 }
@@ -16,29 +16,42 @@
 
 package de.dytanic.cloudnet.driver.service;
 
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.common.unsafe.CPUUsageResolver;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.serialization.SerializableObject;
 import java.lang.management.ClassLoadingMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
- * A snapshot of a process in the Cloud which provides information about the cpu and memory usage, the running threads
- * and the pid.
+ * A snapshot of a process in the Cloud which provides information about the cpu and memory usage, the thread and class
+ * counts and the pid. Snapshots created by {@link #self()} don't contain the running threads, they can be requested
+ * with {@link de.dytanic.cloudnet.driver.provider.service.SpecificCloudServiceProvider#getThreads()} when they are
+ * needed.
  */
 @ToString
 @EqualsAndHashCode
 public class ProcessSnapshot implements SerializableObject {
 
   private static final ProcessSnapshot EMPTY = new ProcessSnapshot(-1, -1, -1, -1, -1, -1, Collections.emptyList(), -1,
-    -1);
+    -1, -1);
+
+  /**
+   * The thread count isn't part of the binary format of this snapshot as older versions couldn't read the objects
+   * written after it anymore, it's carried in the properties of the snapshot containing this process snapshot instead.
+   */
+  private static final String THREAD_COUNT_PROPERTY = "cloudnet:processThreadCount";
 
   private static final int ownPID;
 
@@ -72,8 +85,17 @@ public class ProcessSnapshot implements SerializableObject {
 
   private int pid;
 
+  private int threadCount;
+
   public ProcessSnapshot(long heapUsageMemory, long noHeapUsageMemory, long maxHeapMemory, int currentLoadedClassCount,
     long totalLoadedClassCount, long unloadedClassCount, Collection<ThreadSnapshot> threads, double cpuUsage, int pid) {
+    this(heapUsageMemory, noHeapUsageMemory, maxHeapMemory, currentLoadedClassCount, totalLoadedClassCount,
+      unloadedClassCount, threads, cpuUsage, pid, threads.size());
+  }
+
+  public ProcessSnapshot(long heapUsageMemory, long noHeapUsageMemory, long maxHeapMemory, int currentLoadedClassCount,
+    long totalLoadedClassCount, long unloadedClassCount, Collection<ThreadSnapshot> threads, double cpuUsage, int pid,
+    int threadCount) {
     this.heapUsageMemory = heapUsageMemory;
     this.noHeapUsageMemory = noHeapUsageMemory;
     this.maxHeapMemory = maxHeapMemory;
@@ -83,6 +105,7 @@ public ProcessSnapshot(long heapUsageMemory, long noHeapUsageMemory, long maxHea
     this.threads = threads;
     this.cpuUsage = cpuUsage;
     this.pid = pid;
+    this.threadCount = threadCount;
   }
 
   public ProcessSnapshot() {
@@ -98,31 +121,57 @@ public static ProcessSnapshot empty() {
   }
 
   /**
-   * Creates a new snapshot with information about the current process.
+   * Creates a new snapshot with information about the current process. The snapshot only contains the amount of running
+   * threads, use {@link #selfThreads()} to get the threads themselves.
    *
    * @return a new {@link ProcessSnapshot}
    */
   public static ProcessSnapshot self() {
     MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
     ClassLoadingMXBean classLoadingMXBean = ManagementFactory.getClassLoadingMXBean();
+    MemoryUsage heapMemoryUsage = memoryMXBean.getHeapMemoryUsage();
 
     return new ProcessSnapshot(
-      memoryMXBean.getHeapMemoryUsage().getUsed(),
+      heapMemoryUsage.getUsed(),
       memoryMXBean.getNonHeapMemoryUsage().getUsed(),
-      memoryMXBean.getHeapMemoryUsage().getMax(),
+      heapMemoryUsage.getMax(),
       classLoadingMXBean.getLoadedClassCount(),
       classLoadingMXBean.getTotalLoadedClassCount(),
       classLoadingMXBean.getUnloadedClassCount(),
-      Thread.getAllStackTraces().keySet()
-        .stream().map(
-        thread -> new ThreadSnapshot(thread.getId(), thread.getName(), thread.getState(), thread.isDaemon(),
-          thread.getPriority()))
-        .collect(Collectors.toList()),
+      Collections.emptyList(),
       CPUUsageResolver.getProcessCPUUsage(),
-      getOwnPID()
+      getOwnPID(),
+      ManagementFactory.getThreadMXBean().getThreadCount()
     );
   }
 
+  /**
+   * Creates a snapshot of every thread running in the current process.
+   *
+   * @return the snapshots of all running threads
+   */
+  public static Collection<ThreadSnapshot> selfThreads() {
+    ThreadGroup rootGroup = Thread.currentThread().getThreadGroup();
+    while (rootGroup.getParent() != null) {
+      rootGroup = rootGroup.getParent();
+    }
+
+    // the array has to be larger than the amount of threads, otherwise some threads may be missing
+    Thread[] threads = new Thread[rootGroup.activeCount() + 16];
+    int threadCount;
+    while ((threadCount = rootGroup.enumerate(threads, true)) == threads.length) {
+      threads = new Thread[threads.length * 2];
+    }
+
+    List<ThreadSnapshot> threadSnapshots = new ArrayList<>(threadCount);
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread = threads[i];
+      threadSnapshots.add(new ThreadSnapshot(thread.getId(), thread.getName(), thread.getState(), thread.isDaemon(),
+        thread.getPriority()));
+    }
+    return threadSnapshots;
+  }
+
   /**
    * Gets the PID of the current process or -1 if it couldn't be fetched.
    */
@@ -154,10 +203,28 @@ public long getUnloadedClassCount() {
     return this.unloadedClassCount;
   }
 
+  /**
+   * Gets the threads of the process. Snapshots created by {@link #self()} don't contain any threads.
+   *
+   * @return the threads of the process, empty if the snapshot was created without them
+   * @deprecated the threads are no longer collected for every snapshot, use {@link #getThreadCount()} for the amount
+   * of threads or {@link de.dytanic.cloudnet.driver.provider.service.SpecificCloudServiceProvider#getThreads()} to
+   * request the threads of a service
+   */
+  @Deprecated
   public Collection<ThreadSnapshot> getThreads() {
     return this.threads;
   }
 
+  /**
+   * Gets the amount of threads running in the process, even if the snapshot doesn't contain the threads.
+   *
+   * @return the amount of running threads
+   */
+  public int getThreadCount() {
+    return this.threadCount;
+  }
+
   public double getCpuUsage() {
     return this.cpuUsage;
   }
@@ -190,5 +257,41 @@ public void read(@NotNull ProtocolBuffer buffer) {
     this.threads = buffer.readObjectCollection(ThreadSnapshot.class);
     this.cpuUsage = buffer.readDouble();
     this.pid = buffer.readInt();
+    // snapshots written by older versions don't carry a thread count, see readThreadCount
+    this.threadCount = this.threads.size();
+  }
+
+  /**
+   * Copies the given properties of the snapshot containing the given process snapshot and appends the thread count of
+   * the process snapshot to them, older versions keep it as an unknown property.
+   *
+   * @param properties      the properties of the containing snapshot
+   * @param processSnapshot the process snapshot of the containing snapshot
+   * @return the properties to write
+   */
+  @ApiStatus.Internal
+  public static @NotNull JsonDocument appendThreadCount(@NotNull JsonDocument properties,
+    @Nullable ProcessSnapshot processSnapshot) {
+    if (processSnapshot == null) {
+      return properties;
+    }
+    return JsonDocument.newDocument().append(properties).append(THREAD_COUNT_PROPERTY, processSnapshot.threadCount);
+  }
+
+  /**
+   * Reads the thread count appended by {@link #appendThreadCount(JsonDocument, ProcessSnapshot)} into the given process
+   * snapshot and removes it from the read properties. Without the property the size of the threads is kept.
+   *
+   * @param properties      the read properties of the containing snapshot
+   * @param processSnapshot the read process snapshot of the containing snapshot
+   */
+  @ApiStatus.Internal
+  public static void readThreadCount(@NotNull JsonDocument properties, @Nullable ProcessSnapshot processSnapshot) {
+    if (properties.contains(THREAD_COUNT_PROPERTY)) {
+      if (processSnapshot != null) {
+        processSnapshot.threadCount = properties.getInt(THREAD_COUNT_PROPERTY);
+      }
+      properties.remove(THREAD_COUNT_PROPERTY);
+    }
   }
 }
@@ -166,8 +166,7 @@ public void write(@NotNull ProtocolBuffer buffer) {
     buffer.writeEnumConstant(this.lifeCycle);
     buffer.writeObject(this.processSnapshot);
     buffer.writeObject(this.configuration);
-
-    super.write(buffer);
+    buffer.writeJsonDocument(ProcessSnapshot.appendThreadCount(this.properties, this.processSnapshot));
   }
 
   @Override
@@ -181,5 +180,6 @@ public void read(@NotNull ProtocolBuffer buffer) {
     this.configuration = buffer.readObject(ServiceConfiguration.class);
 
     super.read(buffer);
+    ProcessSnapshot.readThreadCount(this.properties, this.processSnapshot);
   }
 }
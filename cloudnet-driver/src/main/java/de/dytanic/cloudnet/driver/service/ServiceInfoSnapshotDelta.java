@@ -0,0 +1,332 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Writes the fields which changed between two {@link ServiceInfoSnapshot}s of the same service and rebuilds the newer
+ * snapshot from the older one and the written delta.
+ * <p>
+ * A delta starts with a var int bitmask of the changed fields, followed by the new values of these fields. Properties
+ * are written as the removed keys followed by a document of the added or changed entries, the process snapshot as the
+ * changed values and the threads which were removed, added or changed. The threads of a rebuilt process snapshot keep
+ * the order of the older snapshot, new threads are appended.
+ */
+@ApiStatus.Internal
+public final class ServiceInfoSnapshotDelta {
+
+  private static final int CREATION_TIME = 1;
+  private static final int ADDRESS = 1 << 1;
+  private static final int CONNECT_ADDRESS = 1 << 2;
+  private static final int CONNECTED_TIME = 1 << 3;
+  private static final int LIFE_CYCLE = 1 << 4;
+  private static final int PROCESS_SNAPSHOT = 1 << 5;
+  private static final int CONFIGURATION = 1 << 6;
+  private static final int PROPERTIES = 1 << 7;
+
+  private static final int MEMORY = 1;
+  private static final int CLASS_COUNTS = 1 << 1;
+  private static final int THREADS = 1 << 2;
+  private static final int CPU_USAGE = 1 << 3;
+  private static final int PID = 1 << 4;
+  private static final int THREAD_COUNT = 1 << 5;
+
+  private ServiceInfoSnapshotDelta() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Writes the changes from the previous to the current snapshot of a service into the given buffer.
+   *
+   * @param buffer   the buffer to write the delta to
+   * @param previous the snapshot the receiver of the delta already knows
+   * @param current  the new snapshot of the service
+   */
+  public static void write(@NotNull ProtocolBuffer buffer, @NotNull ServiceInfoSnapshot previous,
+    @NotNull ServiceInfoSnapshot current) {
+    int changes = 0;
+    if (previous.getCreationTime() != current.getCreationTime()) {
+      changes |= CREATION_TIME;
+    }
+    if (!Objects.equals(previous.getAddress(), current.getAddress())) {
+      changes |= ADDRESS;
+    }
+    if (!Objects.equals(previous.getConnectAddress(), current.getConnectAddress())) {
+      changes |= CONNECT_ADDRESS;
+    }
+    if (previous.getConnectedTime() != current.getConnectedTime()) {
+      changes |= CONNECTED_TIME;
+    }
+    if (previous.getLifeCycle() != current.getLifeCycle()) {
+      changes |= LIFE_CYCLE;
+    }
+    if (!Objects.equals(previous.getProcessSnapshot(), current.getProcessSnapshot())) {
+      changes |= PROCESS_SNAPSHOT;
+    }
+    if (!Objects.equals(previous.getConfiguration(), current.getConfiguration())) {
+      changes |= CONFIGURATION;
+    }
+    if (!previous.getProperties().toJsonObject().equals(current.getProperties().toJsonObject())) {
+      changes |= PROPERTIES;
+    }
+
+    buffer.writeVarInt(changes);
+    if ((changes & CREATION_TIME) != 0) {
+      buffer.writeLong(current.getCreationTime());
+    }
+    if ((changes & ADDRESS) != 0) {
+      buffer.writeObject(current.getAddress());
+    }
+    if ((changes & CONNECT_ADDRESS) != 0) {
+      buffer.writeObject(current.getConnectAddress());
+    }
+    if ((changes & CONNECTED_TIME) != 0) {
+      buffer.writeLong(current.getConnectedTime());
+    }
+    if ((changes & LIFE_CYCLE) != 0) {
+      buffer.writeEnumConstant(current.getLifeCycle());
+    }
+    if ((changes & PROCESS_SNAPSHOT) != 0) {
+      writeProcessSnapshot(buffer, previous.getProcessSnapshot(), current.getProcessSnapshot());
+    }
+    if ((changes & CONFIGURATION) != 0) {
+      buffer.writeObject(current.getConfiguration());
+    }
+    if ((changes & PROPERTIES) != 0) {
+      writeProperties(buffer, previous.getProperties().toJsonObject(), current.getProperties().toJsonObject());
+    }
+  }
+
+  /**
+   * Reads a delta written by {@link #write(ProtocolBuffer, ServiceInfoSnapshot, ServiceInfoSnapshot)} and applies it to
+   * the previous snapshot. The previous snapshot is not modified, the new snapshot has its own properties and shares
+   * all other unchanged values with it.
+   *
+   * @param buffer   the buffer to read the delta from
+   * @param previous the snapshot the delta was created for
+   * @return the new snapshot of the service
+   */
+  @NotNull
+  public static ServiceInfoSnapshot apply(@NotNull ProtocolBuffer buffer, @NotNull ServiceInfoSnapshot previous) {
+    int changes = buffer.readVarInt();
+
+    long creationTime = (changes & CREATION_TIME) != 0 ? buffer.readLong() : previous.getCreationTime();
+    HostAndPort address = (changes & ADDRESS) != 0 ? buffer.readObject(HostAndPort.class) : previous.getAddress();
+    HostAndPort connectAddress = (changes & CONNECT_ADDRESS) != 0
+      ? buffer.readObject(HostAndPort.class)
+      : previous.getConnectAddress();
+    long connectedTime = (changes & CONNECTED_TIME) != 0 ? buffer.readLong() : previous.getConnectedTime();
+    ServiceLifeCycle lifeCycle = (changes & LIFE_CYCLE) != 0
+      ? buffer.readEnumConstant(ServiceLifeCycle.class)
+      : previous.getLifeCycle();
+    ProcessSnapshot processSnapshot = (changes & PROCESS_SNAPSHOT) != 0
+      ? readProcessSnapshot(buffer, previous.getProcessSnapshot())
+      : previous.getProcessSnapshot();
+    ServiceConfiguration configuration = (changes & CONFIGURATION) != 0
+      ? buffer.readObject(ServiceConfiguration.class)
+      : previous.getConfiguration();
+    JsonObject properties = (changes & PROPERTIES) != 0
+      ? readProperties(buffer, previous.getProperties().toJsonObject())
+      : copy(previous.getProperties().toJsonObject());
+
+    return new ServiceInfoSnapshot(creationTime, address, connectAddress, connectedTime, lifeCycle, processSnapshot,
+      new JsonDocument(properties), configuration);
+  }
+
+  /**
+   * Creates a copy of the given snapshot which has its own properties. All other values are shared with the given
+   * snapshot.
+   *
+   * @param snapshot the snapshot to copy
+   * @return the copy of the snapshot
+   */
+  @NotNull
+  public static ServiceInfoSnapshot copyOf(@NotNull ServiceInfoSnapshot snapshot) {
+    return new ServiceInfoSnapshot(snapshot.getCreationTime(), snapshot.getAddress(), snapshot.getConnectAddress(),
+      snapshot.getConnectedTime(), snapshot.getLifeCycle(), snapshot.getProcessSnapshot(),
+      new JsonDocument(copy(snapshot.getProperties().toJsonObject())), snapshot.getConfiguration());
+  }
+
+  @SuppressWarnings("deprecation") // the threads of snapshots created by older versions are still kept
+  private static void writeProcessSnapshot(ProtocolBuffer buffer, ProcessSnapshot previous, ProcessSnapshot current) {
+    int changes = 0;
+    if (previous.getHeapUsageMemory() != current.getHeapUsageMemory()
+      || previous.getNoHeapUsageMemory() != current.getNoHeapUsageMemory()
+      || previous.getMaxHeapMemory() != current.getMaxHeapMemory()) {
+      changes |= MEMORY;
+    }
+    if (previous.getCurrentLoadedClassCount() != current.getCurrentLoadedClassCount()
+      || previous.getTotalLoadedClassCount() != current.getTotalLoadedClassCount()
+      || previous.getUnloadedClassCount() != current.getUnloadedClassCount()) {
+      changes |= CLASS_COUNTS;
+    }
+    if (!Objects.equals(previous.getThreads(), current.getThreads())) {
+      changes |= THREADS;
+    }
+    if (Double.compare(previous.getCpuUsage(), current.getCpuUsage()) != 0) {
+      changes |= CPU_USAGE;
+    }
+    if (previous.getPid() != current.getPid()) {
+      changes |= PID;
+    }
+    if (previous.getThreadCount() != current.getThreadCount()) {
+      changes |= THREAD_COUNT;
+    }
+
+    buffer.writeVarInt(changes);
+    if ((changes & MEMORY) != 0) {
+      buffer.writeLong(current.getHeapUsageMemory());
+      buffer.writeLong(current.getNoHeapUsageMemory());
+      buffer.writeLong(current.getMaxHeapMemory());
+    }
+    if ((changes & CLASS_COUNTS) != 0) {
+      buffer.writeInt(current.getCurrentLoadedClassCount());
+      buffer.writeLong(current.getTotalLoadedClassCount());
+      buffer.writeLong(current.getUnloadedClassCount());
+    }
+    if ((changes & THREADS) != 0) {
+      writeThreads(buffer, previous.getThreads(), current.getThreads());
+    }
+    if ((changes & CPU_USAGE) != 0) {
+      buffer.writeDouble(current.getCpuUsage());
+    }
+    if ((changes & PID) != 0) {
+      buffer.writeInt(current.getPid());
+    }
+    if ((changes & THREAD_COUNT) != 0) {
+      buffer.writeInt(current.getThreadCount());
+    }
+  }
+
+  @SuppressWarnings("deprecation") // the threads of snapshots created by older versions are still kept
+  private static ProcessSnapshot readProcessSnapshot(ProtocolBuffer buffer, ProcessSnapshot previous) {
+    int changes = buffer.readVarInt();
+
+    boolean memory = (changes & MEMORY) != 0;
+    long heapUsageMemory = memory ? buffer.readLong() : previous.getHeapUsageMemory();
+    long noHeapUsageMemory = memory ? buffer.readLong() : previous.getNoHeapUsageMemory();
+    long maxHeapMemory = memory ? buffer.readLong() : previous.getMaxHeapMemory();
+
+    boolean classCounts = (changes & CLASS_COUNTS) != 0;
+    int currentLoadedClassCount = classCounts ? buffer.readInt() : previous.getCurrentLoadedClassCount();
+    long totalLoadedClassCount = classCounts ? buffer.readLong() : previous.getTotalLoadedClassCount();
+    long unloadedClassCount = classCounts ? buffer.readLong() : previous.getUnloadedClassCount();
+
+    Collection<ThreadSnapshot> threads = (changes & THREADS) != 0
+      ? readThreads(buffer, previous.getThreads())
+      : previous.getThreads();
+    double cpuUsage = (changes & CPU_USAGE) != 0 ? buffer.readDouble() : previous.getCpuUsage();
+    int pid = (changes & PID) != 0 ? buffer.readInt() : previous.getPid();
+    int threadCount = (changes & THREAD_COUNT) != 0 ? buffer.readInt() : previous.getThreadCount();
+
+    return new ProcessSnapshot(heapUsageMemory, noHeapUsageMemory, maxHeapMemory, currentLoadedClassCount,
+      totalLoadedClassCount, unloadedClassCount, threads, cpuUsage, pid, threadCount);
+  }
+
+  private static void writeThreads(ProtocolBuffer buffer, Collection<ThreadSnapshot> previous,
+    Collection<ThreadSnapshot> current) {
+    Map<Long, ThreadSnapshot> previousThreads = mapThreads(previous);
+
+    Collection<ThreadSnapshot> changedThreads = new ArrayList<>();
+    for (ThreadSnapshot thread : current) {
+      if (!thread.equals(previousThreads.remove(thread.getId()))) {
+        changedThreads.add(thread);
+      }
+    }
+
+    // all threads which are left were removed
+    buffer.writeVarInt(previousThreads.size());
+    for (long threadId : previousThreads.keySet()) {
+      buffer.writeVarLong(threadId);
+    }
+    buffer.writeObjectCollection(changedThreads);
+  }
+
+  private static Collection<ThreadSnapshot> readThreads(ProtocolBuffer buffer, Collection<ThreadSnapshot> previous) {
+    Map<Long, ThreadSnapshot> threads = mapThreads(previous);
+
+    int removedThreads = buffer.readVarInt();
+    for (int i = 0; i < removedThreads; i++) {
+      threads.remove(buffer.readVarLong());
+    }
+    for (ThreadSnapshot thread : buffer.readObjectCollection(ThreadSnapshot.class)) {
+      threads.put(thread.getId(), thread);
+    }
+
+    return new ArrayList<>(threads.values());
+  }
+
+  private static Map<Long, ThreadSnapshot> mapThreads(Collection<ThreadSnapshot> threads) {
+    Map<Long, ThreadSnapshot> threadMap = new LinkedHashMap<>();
+    for (ThreadSnapshot thread : threads == null ? Collections.<ThreadSnapshot>emptyList() : threads) {
+      threadMap.put(thread.getId(), thread);
+    }
+    return threadMap;
+  }
+
+  private static void writeProperties(ProtocolBuffer buffer, JsonObject previous, JsonObject current) {
+    Collection<String> removedKeys = new ArrayList<>();
+    for (Map.Entry<String, JsonElement> entry : previous.entrySet()) {
+      if (!current.has(entry.getKey())) {
+        removedKeys.add(entry.getKey());
+      }
+    }
+
+    JsonObject changedEntries = new JsonObject();
+    for (Map.Entry<String, JsonElement> entry : current.entrySet()) {
+      if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+        changedEntries.add(entry.getKey(), entry.getValue());
+      }
+    }
+
+    buffer.writeStringCollection(removedKeys);
+    buffer.writeJsonDocument(new JsonDocument(changedEntries));
+  }
+
+  private static JsonObject readProperties(ProtocolBuffer buffer, JsonObject previous) {
+    JsonObject properties = copy(previous);
+    for (String removedKey : buffer.readStringCollection()) {
+      properties.remove(removedKey);
+    }
+    for (Map.Entry<String, JsonElement> entry : buffer.readJsonDocument().toJsonObject().entrySet()) {
+      properties.add(entry.getKey(), entry.getValue());
+    }
+    return properties;
+  }
+
+  private static JsonObject copy(JsonObject object) {
+    JsonObject copy = new JsonObject();
+    for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+      copy.add(entry.getKey(), entry.getValue());
+    }
+    return copy;
+  }
+}
@@ -0,0 +1,534 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.service;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Holds the snapshots of all services in the cluster, mapped by their unique id. Next to the unique id the snapshots
+ * are indexed by their name, task, groups, environment and life cycle so that lookups by one of them don't have to
+ * iterate over all services. The indexes are maintained with every put and remove on this map and are updated together
+ * with the snapshot under a write lock, readers will never see a snapshot which is only partially indexed.
+ * <p>
+ * Names and task names are indexed case insensitive, groups case sensitive. A snapshot which was changed in place has
+ * to be put into this map again to update its indexes.
+ * <p>
+ * All modifying methods of {@link Map}, including the compute and merge methods, are atomic and update the indexes. The
+ * functions given to them are called while holding the write lock, they must not access this registry.
+ */
+@ApiStatus.Internal
+public final class ServiceInfoSnapshotRegistry extends AbstractMap<UUID, ServiceInfoSnapshot> {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<UUID, IndexedSnapshot> snapshots = new HashMap<>();
+
+  private final Index<String> nameIndex = new Index<>();
+  private final Index<String> taskIndex = new Index<>();
+  private final Index<String> groupIndex = new Index<>();
+  private final Index<ServiceEnvironmentType> environmentIndex = new Index<>();
+  private final Index<ServiceLifeCycle> lifeCycleIndex = new Index<>();
+
+  private final Set<Entry<UUID, ServiceInfoSnapshot>> entrySet = new EntrySet();
+
+  private static String lowerCase(String input) {
+    return input == null ? null : input.toLowerCase(Locale.ROOT);
+  }
+
+  @Override
+  public int size() {
+    this.lock.readLock().lock();
+    try {
+      return this.snapshots.size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    this.lock.readLock().lock();
+    try {
+      return this.snapshots.containsKey(key);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot get(Object key) {
+    this.lock.readLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      return indexed == null ? null : indexed.snapshot;
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot put(@NotNull UUID key, @NotNull ServiceInfoSnapshot value) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(value);
+
+    this.lock.writeLock().lock();
+    try {
+      return this.doPut(key, value);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot replace(@NotNull UUID key, @NotNull ServiceInfoSnapshot value) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(value);
+
+    this.lock.writeLock().lock();
+    try {
+      return this.snapshots.containsKey(key) ? this.doPut(key, value) : null;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot putIfAbsent(@NotNull UUID key, @NotNull ServiceInfoSnapshot value) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(value);
+
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      if (indexed != null) {
+        return indexed.snapshot;
+      }
+
+      this.doPut(key, value);
+      return null;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean replace(@NotNull UUID key, @NotNull ServiceInfoSnapshot oldValue,
+    @NotNull ServiceInfoSnapshot newValue) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(newValue);
+
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      if (indexed == null || !indexed.snapshot.equals(oldValue)) {
+        return false;
+      }
+
+      this.doPut(key, newValue);
+      return true;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void replaceAll(
+    @NotNull BiFunction<? super UUID, ? super ServiceInfoSnapshot, ? extends ServiceInfoSnapshot> function) {
+    Preconditions.checkNotNull(function);
+
+    this.lock.writeLock().lock();
+    try {
+      for (IndexedSnapshot indexed : new ArrayList<>(this.snapshots.values())) {
+        this.doPut(indexed.uniqueId, Preconditions.checkNotNull(function.apply(indexed.uniqueId, indexed.snapshot)));
+      }
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot computeIfAbsent(@NotNull UUID key,
+    @NotNull Function<? super UUID, ? extends ServiceInfoSnapshot> mappingFunction) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(mappingFunction);
+
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      if (indexed != null) {
+        return indexed.snapshot;
+      }
+
+      ServiceInfoSnapshot value = mappingFunction.apply(key);
+      if (value != null) {
+        this.doPut(key, value);
+      }
+      return value;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot computeIfPresent(@NotNull UUID key,
+    @NotNull BiFunction<? super UUID, ? super ServiceInfoSnapshot, ? extends ServiceInfoSnapshot> remappingFunction) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(remappingFunction);
+
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      return indexed == null ? null : this.doCompute(key, remappingFunction.apply(key, indexed.snapshot));
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot compute(@NotNull UUID key,
+    @NotNull BiFunction<? super UUID, ? super ServiceInfoSnapshot, ? extends ServiceInfoSnapshot> remappingFunction) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(remappingFunction);
+
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      return this.doCompute(key, remappingFunction.apply(key, indexed == null ? null : indexed.snapshot));
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot merge(@NotNull UUID key, @NotNull ServiceInfoSnapshot value,
+    @NotNull BiFunction<? super ServiceInfoSnapshot, ? super ServiceInfoSnapshot,
+      ? extends ServiceInfoSnapshot> remappingFunction) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(value);
+    Preconditions.checkNotNull(remappingFunction);
+
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      return this.doCompute(key, indexed == null ? value : remappingFunction.apply(indexed.snapshot, value));
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ServiceInfoSnapshot remove(Object key) {
+    this.lock.writeLock().lock();
+    try {
+      return this.doRemove(key);
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    this.lock.writeLock().lock();
+    try {
+      IndexedSnapshot indexed = this.snapshots.get(key);
+      if (indexed == null || !indexed.snapshot.equals(value)) {
+        return false;
+      }
+
+      this.doRemove(key);
+      return true;
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void clear() {
+    this.lock.writeLock().lock();
+    try {
+      this.snapshots.clear();
+      this.nameIndex.clear();
+      this.taskIndex.clear();
+      this.groupIndex.clear();
+      this.environmentIndex.clear();
+      this.lifeCycleIndex.clear();
+    } finally {
+      this.lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns a view of the entries in this registry. Iterating over the view iterates over a copy of the entries which
+   * was taken when the iteration started.
+   */
+  @Override
+  public @NotNull Set<Entry<UUID, ServiceInfoSnapshot>> entrySet() {
+    return this.entrySet;
+  }
+
+  /**
+   * Returns an unmodifiable copy of the snapshots in this registry.
+   */
+  @Override
+  public @NotNull Collection<ServiceInfoSnapshot> values() {
+    this.lock.readLock().lock();
+    try {
+      Collection<ServiceInfoSnapshot> result = new ArrayList<>(this.snapshots.size());
+      for (IndexedSnapshot indexed : this.snapshots.values()) {
+        result.add(indexed.snapshot);
+      }
+      return Collections.unmodifiableCollection(result);
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @Nullable
+  public ServiceInfoSnapshot getByName(@NotNull String name) {
+    Preconditions.checkNotNull(name);
+
+    this.lock.readLock().lock();
+    try {
+      Map<UUID, ServiceInfoSnapshot> services = this.nameIndex.get(lowerCase(name));
+      return services.isEmpty() ? null : services.values().iterator().next();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  @NotNull
+  public Collection<ServiceInfoSnapshot> getByTask(@NotNull String taskName) {
+    Preconditions.checkNotNull(taskName);
+    return this.collect(this.taskIndex, lowerCase(taskName));
+  }
+
+  @NotNull
+  public Collection<ServiceInfoSnapshot> getByGroup(@NotNull String group) {
+    Preconditions.checkNotNull(group);
+    return this.collect(this.groupIndex, group);
+  }
+
+  @NotNull
+  public Collection<ServiceInfoSnapshot> getByEnvironment(@NotNull ServiceEnvironmentType environment) {
+    Preconditions.checkNotNull(environment);
+    return this.collect(this.environmentIndex, environment);
+  }
+
+  @NotNull
+  public Collection<ServiceInfoSnapshot> getByLifeCycle(@NotNull ServiceLifeCycle lifeCycle) {
+    Preconditions.checkNotNull(lifeCycle);
+    return this.collect(this.lifeCycleIndex, lifeCycle);
+  }
+
+  public int countByTask(@NotNull String taskName) {
+    Preconditions.checkNotNull(taskName);
+    return this.count(this.taskIndex, lowerCase(taskName));
+  }
+
+  public int countByGroup(@NotNull String group) {
+    Preconditions.checkNotNull(group);
+    return this.count(this.groupIndex, group);
+  }
+
+  private ServiceInfoSnapshot doPut(UUID key, ServiceInfoSnapshot value) {
+    IndexedSnapshot indexed = new IndexedSnapshot(key, value);
+    IndexedSnapshot previous = this.snapshots.put(key, indexed);
+    if (previous != null) {
+      this.unindex(previous);
+    }
+
+    this.nameIndex.add(indexed.name, indexed);
+    this.taskIndex.add(indexed.taskName, indexed);
+    for (String group : indexed.groups) {
+      this.groupIndex.add(group, indexed);
+    }
+    this.environmentIndex.add(indexed.environment, indexed);
+    this.lifeCycleIndex.add(indexed.lifeCycle, indexed);
+
+    return previous == null ? null : previous.snapshot;
+  }
+
+  private ServiceInfoSnapshot doRemove(Object key) {
+    IndexedSnapshot indexed = this.snapshots.remove(key);
+    if (indexed == null) {
+      return null;
+    }
+
+    this.unindex(indexed);
+    return indexed.snapshot;
+  }
+
+  private ServiceInfoSnapshot doCompute(UUID key, ServiceInfoSnapshot value) {
+    // like in the default implementations of map a null value removes the mapping
+    if (value == null) {
+      this.doRemove(key);
+    } else {
+      this.doPut(key, value);
+    }
+    return value;
+  }
+
+  private void unindex(IndexedSnapshot indexed) {
+    // the keys are taken from the indexed snapshot as the snapshot itself may have been changed in place since
+    this.nameIndex.remove(indexed.name, indexed.uniqueId);
+    this.taskIndex.remove(indexed.taskName, indexed.uniqueId);
+    for (String group : indexed.groups) {
+      this.groupIndex.remove(group, indexed.uniqueId);
+    }
+    this.environmentIndex.remove(indexed.environment, indexed.uniqueId);
+    this.lifeCycleIndex.remove(indexed.lifeCycle, indexed.uniqueId);
+  }
+
+  private <K> Collection<ServiceInfoSnapshot> collect(Index<K> index, K key) {
+    this.lock.readLock().lock();
+    try {
+      return new ArrayList<>(index.get(key).values());
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private <K> int count(Index<K> index, K key) {
+    this.lock.readLock().lock();
+    try {
+      return index.get(key).size();
+    } finally {
+      this.lock.readLock().unlock();
+    }
+  }
+
+  private static final class IndexedSnapshot {
+
+    private final UUID uniqueId;
+    private final ServiceInfoSnapshot snapshot;
+
+    private final String name;
+    private final String taskName;
+    private final String[] groups;
+    private final ServiceEnvironmentType environment;
+    private final ServiceLifeCycle lifeCycle;
+
+    public IndexedSnapshot(UUID uniqueId, ServiceInfoSnapshot snapshot) {
+      this.uniqueId = uniqueId;
+      this.snapshot = snapshot;
+
+      this.name = lowerCase(snapshot.getServiceId().getName());
+      this.taskName = lowerCase(snapshot.getServiceId().getTaskName());
+      this.groups = snapshot.getConfiguration() == null || snapshot.getConfiguration().getGroups() == null
+        ? new String[0]
+        : snapshot.getConfiguration().getGroups().clone();
+      this.environment = snapshot.getServiceId().getEnvironment();
+      this.lifeCycle = snapshot.getLifeCycle();
+    }
+  }
+
+  private static final class Index<K> {
+
+    private final Map<K, Map<UUID, ServiceInfoSnapshot>> entries = new HashMap<>();
+
+    public void add(K key, IndexedSnapshot indexed) {
+      if (key != null) {
+        this.entries.computeIfAbsent(key, k -> new HashMap<>()).put(indexed.uniqueId, indexed.snapshot);
+      }
+    }
+
+    public void remove(K key, UUID uniqueId) {
+      if (key != null) {
+        Map<UUID, ServiceInfoSnapshot> services = this.entries.get(key);
+        if (services != null && services.remove(uniqueId) != null && services.isEmpty()) {
+          this.entries.remove(key);
+        }
+      }
+    }
+
+    public Map<UUID, ServiceInfoSnapshot> get(K key) {
+      return this.entries.getOrDefault(key, Collections.emptyMap());
+    }
+
+    public void clear() {
+      this.entries.clear();
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Entry<UUID, ServiceInfoSnapshot>> {
+
+    @Override
+    public @NotNull Iterator<Entry<UUID, ServiceInfoSnapshot>> iterator() {
+      Collection<Entry<UUID, ServiceInfoSnapshot>> entries;
+
+      ServiceInfoSnapshotRegistry.this.lock.readLock().lock();
+      try {
+        entries = new ArrayList<>(ServiceInfoSnapshotRegistry.this.snapshots.size());
+        for (IndexedSnapshot indexed : ServiceInfoSnapshotRegistry.this.snapshots.values()) {
+          entries.add(new SimpleImmutableEntry<>(indexed.uniqueId, indexed.snapshot));
+        }
+      } finally {
+        ServiceInfoSnapshotRegistry.this.lock.readLock().unlock();
+      }
+
+      Iterator<Entry<UUID, ServiceInfoSnapshot>> iterator = entries.iterator();
+      return new Iterator<Entry<UUID, ServiceInfoSnapshot>>() {
+        private Entry<UUID, ServiceInfoSnapshot> current;
+
+        @Override
+        public boolean hasNext() {
+          return iterator.hasNext();
+        }
+
+        @Override
+        public Entry<UUID, ServiceInfoSnapshot> next() {
+          return this.current = iterator.next();
+        }
+
+        @Override
+        public void remove() {
+          Preconditions.checkState(this.current != null, "next() was not called");
+          ServiceInfoSnapshotRegistry.this.remove(this.current.getKey());
+          this.current = null;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return ServiceInfoSnapshotRegistry.this.size();
+    }
+
+    @Override
+    public void clear() {
+      ServiceInfoSnapshotRegistry.this.clear();
+    }
+  }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.service;
+
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoDelta;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher.PublisherType;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps the last published snapshot of every service together with its version, so updates of a service can be
+ * published as {@link PacketClientServerServiceInfoDelta}s instead of full snapshots.
+ * <p>
+ * The node running a service assigns the versions. Its first update of a service is published as a full snapshot with
+ * its version, all following updates as deltas to the previous update. A receiver applies a delta only if it knows the
+ * version the delta is based on, otherwise it requests the full snapshot from the sender of the delta. Publications of
+ * lifecycle changes are full snapshots without a version, they don't change the base of the next delta.
+ * <p>
+ * The snapshots kept here are copies, so changes to published snapshots don't change the base of the next delta. Delta
+ * updates can be disabled by setting the system property {@code cloudnet.service.delta.updates} to {@code false}.
+ */
+@ApiStatus.Internal
+public final class ServiceInfoSnapshotVersions {
+
+  private static final boolean DELTA_UPDATES = Boolean
+    .parseBoolean(System.getProperty("cloudnet.service.delta.updates", "true"));
+  private static final long RESYNC_INTERVAL_MILLIS = Long.getLong("cloudnet.service.delta.resync.interval", 5000);
+
+  private final Map<UUID, VersionedSnapshot> snapshots = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the packet publishing an update of a service running on this component and remembers the snapshot as the
+   * base of the next delta.
+   *
+   * @param snapshot the updated snapshot of the service
+   * @return a delta to the previous version or a full snapshot if there is no previous version
+   * @see #createFullUpdatePacket(UUID)
+   */
+  @NotNull
+  public IPacket createUpdatePacket(@NotNull ServiceInfoSnapshot snapshot) {
+    IPacket[] packet = new IPacket[1];
+    this.snapshots.compute(snapshot.getServiceId().getUniqueId(), (uniqueId, previous) -> {
+      long version = previous == null ? 1 : previous.version + 1;
+      ServiceInfoSnapshot copy;
+
+      if (DELTA_UPDATES && previous != null && previous.snapshot != null) {
+        packet[0] = new PacketClientServerServiceInfoDelta(previous.snapshot, previous.version, snapshot, version,
+          () -> this.createFullUpdatePacket(uniqueId));
+        copy = this.readCopy(packet[0].getBuffer(), previous.snapshot);
+      } else {
+        packet[0] = new PacketClientServerServiceInfoPublisher(snapshot, PublisherType.UPDATE, version);
+        copy = this.readCopy(packet[0].getBuffer(), null);
+      }
+
+      return new VersionedSnapshot(copy, version);
+    });
+    return packet[0];
+  }
+
+  /**
+   * Creates the full update packet of the latest known version of a service, used to answer a resync request.
+   *
+   * @param uniqueId the unique id of the service
+   * @return the full update packet or null if there is no known version of the service
+   */
+  @Nullable
+  public IPacket createFullUpdatePacket(@NotNull UUID uniqueId) {
+    IPacket[] packet = new IPacket[1];
+    this.snapshots.computeIfPresent(uniqueId, (id, current) -> {
+      if (current.snapshot != null) {
+        packet[0] = new PacketClientServerServiceInfoPublisher(current.snapshot, PublisherType.UPDATE, current.version);
+      }
+      return current;
+    });
+    return packet[0];
+  }
+
+  /**
+   * Applies a received delta to the known snapshot of the service.
+   *
+   * @param uniqueId        the unique id of the service
+   * @param previousVersion the version the delta is based on
+   * @param version         the version of the snapshot after applying the delta
+   * @param buffer          the buffer to read the delta from
+   * @return the new snapshot or null if the version the delta is based on is unknown
+   * @see #shouldRequestResync(UUID)
+   */
+  @Nullable
+  public ServiceInfoSnapshot applyDelta(@NotNull UUID uniqueId, long previousVersion, long version,
+    @NotNull ProtocolBuffer buffer) {
+    ServiceInfoSnapshot[] snapshot = new ServiceInfoSnapshot[1];
+    this.snapshots.computeIfPresent(uniqueId, (id, current) -> {
+      if (current.snapshot == null || current.version != previousVersion) {
+        // a newer delta means that at least one version was missed, older deltas are outdated
+        return current.snapshot != null && version > current.version
+          ? new VersionedSnapshot(null, current.version)
+          : current;
+      }
+
+      snapshot[0] = ServiceInfoSnapshotDelta.apply(buffer, current.snapshot);
+      return new VersionedSnapshot(ServiceInfoSnapshotDelta.copyOf(snapshot[0]), version);
+    });
+    return snapshot[0];
+  }
+
+  /**
+   * Checks if the full snapshot of a service should be requested after a delta could not be applied. Requests are
+   * limited to one per service in {@code cloudnet.service.delta.resync.interval} milliseconds.
+   *
+   * @param uniqueId the unique id of the service
+   * @return if the full snapshot of the service should be requested now
+   */
+  public boolean shouldRequestResync(@NotNull UUID uniqueId) {
+    long now = System.currentTimeMillis();
+    boolean[] request = new boolean[1];
+
+    this.snapshots.compute(uniqueId, (id, current) -> {
+      if (current == null) {
+        current = new VersionedSnapshot(null, 0);
+      }
+      if (current.snapshot == null && now - current.resyncRequestTime >= RESYNC_INTERVAL_MILLIS) {
+        current.resyncRequestTime = now;
+        request[0] = true;
+      }
+      return current;
+    });
+    return request[0];
+  }
+
+  /**
+   * Remembers a received full snapshot of a service as the base of the next delta.
+   *
+   * @param snapshot the received snapshot
+   * @param version  the version of the snapshot, versions below 1 invalidate the known snapshot
+   */
+  public void update(@NotNull ServiceInfoSnapshot snapshot, long version) {
+    if (version <= 0) {
+      this.invalidate(snapshot.getServiceId().getUniqueId());
+      return;
+    }
+
+    this.snapshots.put(snapshot.getServiceId().getUniqueId(),
+      new VersionedSnapshot(ServiceInfoSnapshotDelta.copyOf(snapshot), version));
+  }
+
+  /**
+   * Forgets the known snapshot of a service but keeps its version. The next update created for the service is a full
+   * snapshot, the next received delta of the service can't be applied.
+   *
+   * @param uniqueId the unique id of the service
+   */
+  public void invalidate(@NotNull UUID uniqueId) {
+    this.snapshots.computeIfPresent(uniqueId, (id, current) -> new VersionedSnapshot(null, current.version));
+  }
+
+  /**
+   * Forgets everything known about a service.
+   *
+   * @param uniqueId the unique id of the service
+   */
+  public void remove(@NotNull UUID uniqueId) {
+    this.snapshots.remove(uniqueId);
+  }
+
+  private ServiceInfoSnapshot readCopy(ProtocolBuffer buffer, @Nullable ServiceInfoSnapshot previous) {
+    int readerIndex = buffer.readerIndex();
+    try {
+      if (previous == null) {
+        return buffer.readObject(ServiceInfoSnapshot.class);
+      }
+
+      // skip the type, the unique id and both versions
+      buffer.readEnumConstant(PacketClientServerServiceInfoDelta.Type.class);
+      buffer.readUUID();
+      buffer.readVarLong();
+      buffer.readVarLong();
+      return ServiceInfoSnapshotDelta.apply(buffer, previous);
+    } finally {
+      buffer.readerIndex(readerIndex);
+    }
+  }
+
+  private static final class VersionedSnapshot {
+
+    private final ServiceInfoSnapshot snapshot;
+    private final long version;
+
+    private long resyncRequestTime;
+
+    public VersionedSnapshot(@Nullable ServiceInfoSnapshot snapshot, long version) {
+      this.snapshot = snapshot;
+      this.version = version;
+    }
+  }
+}
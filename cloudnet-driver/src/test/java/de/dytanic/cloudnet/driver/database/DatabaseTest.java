@@ -0,0 +1,241 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.database;
+
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DatabaseTest {
+
+  @Test
+  public void testDefaultBatchOperations() throws Exception {
+    Database database = new MapDatabase();
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 5; i++) {
+      documents.put("key-" + i, JsonDocument.newDocument("value", i));
+    }
+
+    Assert.assertTrue(database.insertAll(documents));
+    Assert.assertEquals(5, database.getDocumentsCount());
+
+    Assert.assertTrue(database.deleteAllAsync(Arrays.asList("key-1", "key-3")).get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(Arrays.asList("key-0", "key-2", "key-4"), new ArrayList<>(database.keys()));
+
+    // indexes aren't supported by the default implementation
+    Assert.assertFalse(database.createIndex("value"));
+  }
+
+  @Test
+  public void testDefaultPagedIteration() throws Exception {
+    Database database = new MapDatabase();
+    for (int i = 0; i < 5; i++) {
+      database.insert("key-" + i, JsonDocument.newDocument("value", i));
+    }
+
+    List<String> keys = new ArrayList<>();
+    String cursor = database.iterate(null, 2, (key, document) -> keys.add(key));
+    Assert.assertEquals("key-1", cursor);
+
+    cursor = database.iterate(cursor, 2, (key, document) -> keys.add(key));
+    Assert.assertEquals("key-3", cursor);
+
+    Assert.assertNull(database.iterateAsync(cursor, 2, (key, document) -> keys.add(key)).get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(Arrays.asList("key-0", "key-1", "key-2", "key-3", "key-4"), keys);
+
+    List<String> allKeys = new ArrayList<>();
+    database.iterate(2, (key, document) -> allKeys.add(key));
+    Assert.assertEquals(keys, allKeys);
+  }
+
+  /**
+   * A database which only implements the methods every database had to implement before the batch operations, the
+   * indexes and the paged iteration were added
+   */
+  private static final class MapDatabase implements Database {
+
+    private final Map<String, JsonDocument> documents = new TreeMap<>();
+
+    @Override
+    public boolean insert(String key, JsonDocument document) {
+      this.documents.put(key, document);
+      return true;
+    }
+
+    @Override
+    public boolean update(String key, JsonDocument document) {
+      return this.documents.replace(key, document) != null;
+    }
+
+    @Override
+    public boolean contains(String key) {
+      return this.documents.containsKey(key);
+    }
+
+    @Override
+    public boolean delete(String key) {
+      return this.documents.remove(key) != null;
+    }
+
+    @Override
+    public JsonDocument get(String key) {
+      return this.documents.get(key);
+    }
+
+    @Override
+    public List<JsonDocument> get(String fieldName, Object fieldValue) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<JsonDocument> get(JsonDocument filters) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Collection<String> keys() {
+      return new ArrayList<>(this.documents.keySet());
+    }
+
+    @Override
+    public Collection<JsonDocument> documents() {
+      return new ArrayList<>(this.documents.values());
+    }
+
+    @Override
+    public Map<String, JsonDocument> entries() {
+      return new TreeMap<>(this.documents);
+    }
+
+    @Override
+    public Map<String, JsonDocument> filter(BiPredicate<String, JsonDocument> predicate) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void iterate(BiConsumer<String, JsonDocument> consumer) {
+      this.documents.forEach(consumer);
+    }
+
+    @Override
+    public void clear() {
+      this.documents.clear();
+    }
+
+    @Override
+    public long getDocumentsCount() {
+      return this.documents.size();
+    }
+
+    @Override
+    public boolean isSynced() {
+      return false;
+    }
+
+    @Override
+    public @NotNull ITask<Boolean> insertAsync(String key, JsonDocument document) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Boolean> updateAsync(String key, JsonDocument document) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Boolean> containsAsync(String key) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Boolean> deleteAsync(String key) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<JsonDocument> getAsync(String key) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<List<JsonDocument>> getAsync(String fieldName, Object fieldValue) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<List<JsonDocument>> getAsync(JsonDocument filters) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Collection<String>> keysAsync() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Collection<JsonDocument>> documentsAsync() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Map<String, JsonDocument>> entriesAsync() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Map<String, JsonDocument>> filterAsync(BiPredicate<String, JsonDocument> predicate) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Void> clearAsync() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public @NotNull ITask<Long> getDocumentsCountAsync() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String getName() {
+      return "map";
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
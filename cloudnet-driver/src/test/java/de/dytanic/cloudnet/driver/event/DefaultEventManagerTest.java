@@ -16,6 +16,15 @@
 
 package de.dytanic.cloudnet.driver.event;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
@@ -75,6 +84,256 @@ public void testEventPriority() {
     Assert.assertEquals("value_789", testEvent.value);
   }
 
+  @Test
+  public void testEventHierarchy() {
+    IEventManager eventManager = new DefaultEventManager();
+    CountingListener countingListener = new CountingListener();
+
+    eventManager.registerListener(countingListener);
+    eventManager.callEvent(new TestEvent("value"));
+    eventManager.callEvent(new Event() {
+    });
+
+    Assert.assertEquals(2, countingListener.events.get());
+    Assert.assertEquals(1, countingListener.testEvents.get());
+
+    eventManager.unregisterListener(countingListener);
+    eventManager.callEvent(new TestEvent("value"));
+
+    Assert.assertEquals(2, countingListener.events.get());
+  }
+
+  @Test
+  public void testConcurrentRegistration() throws Exception {
+    IEventManager eventManager = new DefaultEventManager();
+    CountingListener countingListener = new CountingListener();
+    eventManager.registerListener(countingListener);
+
+    int threads = 8;
+    int iterations = 500;
+
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    Collection<Future<?>> futures = new ArrayList<>();
+
+    try {
+      for (int thread = 0; thread < threads; thread++) {
+        boolean registering = thread % 2 == 0;
+        futures.add(executorService.submit(() -> {
+          startLatch.await();
+          for (int i = 0; i < iterations; i++) {
+            if (registering) {
+              CountingListener listener = new CountingListener();
+              eventManager.registerListener(listener);
+              eventManager.unregisterListener(listener);
+            } else {
+              eventManager.callEvent(new TestEvent("value"));
+            }
+          }
+          return null;
+        }));
+      }
+
+      startLatch.countDown();
+      for (Future<?> future : futures) {
+        future.get(1, TimeUnit.MINUTES);
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    // the listener which stayed registered the whole time has to receive every event exactly once
+    Assert.assertEquals(threads / 2 * iterations, countingListener.events.get());
+    Assert.assertEquals(threads / 2 * iterations, countingListener.testEvents.get());
+  }
+
+  @Test
+  public void testListenerExecutor() throws Exception {
+    IEventManager eventManager = new DefaultEventManager();
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    try {
+      eventManager.registerExecutor("test", executorService);
+
+      QueuedListener queuedListener = new QueuedListener();
+      eventManager.registerListener(queuedListener);
+
+      for (int i = 0; i < 100; i++) {
+        eventManager.callEvent(new TestEvent(String.valueOf(i)));
+      }
+      // the caller doesn't wait for the listener
+      Assert.assertTrue(queuedListener.values.size() < 100);
+
+      queuedListener.blocker.countDown();
+      Assert.assertTrue(queuedListener.latch.await(1, TimeUnit.MINUTES));
+
+      for (int i = 0; i < 100; i++) {
+        Assert.assertEquals(String.valueOf(i), queuedListener.values.get(i));
+      }
+      Assert.assertNotEquals(Thread.currentThread(), queuedListener.thread);
+
+      // the statistics are updated after the listener returned
+      executorService.shutdown();
+      Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+      EventListenerStatistics statistics = eventManager.getListenerStatistics().iterator().next();
+      Assert.assertEquals("test", statistics.getExecutor());
+      Assert.assertEquals("handleTestEvent", statistics.getMethodName());
+      Assert.assertEquals(100, statistics.getInvocations());
+      Assert.assertEquals(0, statistics.getQueueSize());
+      Assert.assertEquals(0, statistics.getRejectedEvents());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testFullListenerQueue() throws Exception {
+    IEventManager eventManager = new DefaultEventManager(16);
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    try {
+      eventManager.registerExecutor("test", executorService);
+
+      CountingQueuedListener queuedListener = new CountingQueuedListener();
+      eventManager.registerListener(queuedListener);
+
+      // the caller doesn't wait for the blocked listener, the events which don't fit into the queue are rejected
+      int events = 100;
+      for (int i = 0; i < events; i++) {
+        eventManager.callEvent(new TestEvent(String.valueOf(i)));
+      }
+
+      queuedListener.blocker.countDown();
+      executorService.shutdown();
+      Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+      EventListenerStatistics statistics = eventManager.getListenerStatistics().iterator().next();
+      Assert.assertEquals(16, statistics.getQueueCapacity());
+      Assert.assertTrue(statistics.getRejectedEvents() >= events - 16 - 1);
+      Assert.assertEquals(events, statistics.getInvocations() + statistics.getRejectedEvents());
+      Assert.assertEquals(statistics.getInvocations(), queuedListener.events.get());
+      Assert.assertEquals(1, queuedListener.maxConcurrentCalls.get());
+
+      // events for an executor which was shut down are handled by the caller
+      eventManager.callEvent(new TestEvent("shutdown"));
+      Assert.assertEquals(statistics.getInvocations() + 1, queuedListener.events.get());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testUnboundedListenerQueue() throws Exception {
+    IEventManager eventManager = new DefaultEventManager(0);
+    ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+    try {
+      eventManager.registerExecutor("test", executorService);
+
+      CountingQueuedListener queuedListener = new CountingQueuedListener();
+      eventManager.registerListener(queuedListener);
+
+      // the caller doesn't wait for the blocked listener and no event is rejected
+      int events = 5000;
+      for (int i = 0; i < events; i++) {
+        eventManager.callEvent(new TestEvent(String.valueOf(i)));
+      }
+
+      queuedListener.blocker.countDown();
+      executorService.shutdown();
+      Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+
+      EventListenerStatistics statistics = eventManager.getListenerStatistics().iterator().next();
+      Assert.assertEquals(-1, statistics.getQueueCapacity());
+      Assert.assertEquals(0, statistics.getRejectedEvents());
+      Assert.assertEquals(events, statistics.getInvocations());
+      Assert.assertEquals(events, queuedListener.events.get());
+      Assert.assertEquals(1, queuedListener.maxConcurrentCalls.get());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCancelableListenerExecutor() {
+    new DefaultEventManager().registerListener(new CancelableListener());
+  }
+
+  public static final class QueuedListener {
+
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final CountDownLatch latch = new CountDownLatch(100);
+    private final List<String> values = new CopyOnWriteArrayList<>();
+    private volatile Thread thread;
+
+    @EventListener(executor = "test")
+    public void handleTestEvent(TestEvent event) throws InterruptedException {
+      this.blocker.await();
+
+      this.thread = Thread.currentThread();
+      this.values.add(event.value);
+      this.latch.countDown();
+    }
+  }
+
+  public static final class CountingQueuedListener {
+
+    private final CountDownLatch blocker = new CountDownLatch(1);
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final AtomicInteger maxConcurrentCalls = new AtomicInteger();
+
+    @EventListener(executor = "test")
+    public void handleTestEvent(TestEvent event) throws InterruptedException {
+      this.maxConcurrentCalls.accumulateAndGet(this.concurrentCalls.incrementAndGet(), Math::max);
+      try {
+        this.blocker.await();
+        this.events.incrementAndGet();
+      } finally {
+        this.concurrentCalls.decrementAndGet();
+      }
+    }
+  }
+
+  public static final class CancelableListener {
+
+    @EventListener(executor = "test")
+    public void handleCancelableEvent(CancelableEvent event) {
+    }
+  }
+
+  public static final class CancelableEvent extends Event implements ICancelable {
+
+    private boolean cancelled;
+
+    @Override
+    public boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean value) {
+      this.cancelled = value;
+    }
+  }
+
+  public static final class CountingListener {
+
+    private final AtomicInteger events = new AtomicInteger();
+    private final AtomicInteger testEvents = new AtomicInteger();
+
+    @EventListener
+    public void handleEvent(Event event) {
+      this.events.incrementAndGet();
+    }
+
+    @EventListener
+    public void handleTestEvent(TestEvent event) {
+      this.testEvents.incrementAndGet();
+    }
+  }
+
   public static final class TestEvent extends Event {
 
     public String value;
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NettyFlushConsolidationHandlerTest {
+
+  @Test
+  public void testFlushesAreDelayed() throws InterruptedException {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidationHandler(3, 50_000));
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[]{1}));
+    channel.pipeline().flush();
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[]{2}));
+    channel.pipeline().flush();
+
+    // both flushes are delayed until the maximum delay passed
+    Assert.assertTrue(channel.outboundMessages().isEmpty());
+    Thread.sleep(100);
+    channel.runScheduledPendingTasks();
+    Assert.assertEquals(2, channel.outboundMessages().size());
+
+    Assert.assertTrue(channel.releaseOutbound());
+    Assert.assertFalse(channel.finish());
+  }
+
+  @Test
+  public void testMaxBatchFlushesImmediately() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidationHandler(2, 50_000));
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[]{1}));
+    channel.pipeline().flush();
+    Assert.assertTrue(channel.outboundMessages().isEmpty());
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[]{2}));
+    channel.pipeline().flush();
+    Assert.assertEquals(2, channel.outboundMessages().size());
+
+    Assert.assertTrue(channel.releaseOutbound());
+    Assert.assertFalse(channel.finish());
+  }
+
+  @Test
+  public void testPendingFlushOnClose() {
+    EmbeddedChannel channel = new EmbeddedChannel(new NettyFlushConsolidationHandler(64, 50_000));
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[]{1}));
+    channel.pipeline().flush();
+    Assert.assertTrue(channel.outboundMessages().isEmpty());
+
+    channel.close();
+    Assert.assertEquals(1, channel.outboundMessages().size());
+    Assert.assertTrue(channel.releaseOutbound());
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NettyNetworkChannelTest {
+
+  @Test
+  public void testWritePoliciesWhileUnwritable() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+
+    NettyNetworkChannel networkChannel = new NettyNetworkChannel(channel, null, null, null, null, false);
+
+    // exceed the high water mark without flushing
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[32]));
+    Assert.assertFalse(channel.isWritable());
+
+    networkChannel.sendPacket(new TestPacket(1, PacketWritePolicy.LATEST_VALUE_WINS));
+    networkChannel.sendPacket(new TestPacket(2, PacketWritePolicy.LATEST_VALUE_WINS));
+    networkChannel.sendPacket(new TestPacket(3, PacketWritePolicy.DROP_IF_UNWRITABLE));
+
+    Assert.assertEquals(1, networkChannel.getPendingPackets());
+    Assert.assertEquals(1, networkChannel.getCoalescedPackets());
+    Assert.assertEquals(1, networkChannel.getDroppedPackets());
+
+    channel.pipeline().flush();
+    Assert.assertTrue(channel.isWritable());
+    networkChannel.handleWritabilityChange();
+
+    Assert.assertEquals(0, networkChannel.getPendingPackets());
+    Assert.assertEquals(2, channel.outboundMessages().size());
+    ReferenceCountUtil.release(channel.readOutbound());
+
+    // only the latest value was written after the channel became writable again
+    Packet packet = channel.readOutbound();
+    Assert.assertEquals(2, packet.getBuffer().readVarInt());
+    Assert.assertFalse(channel.finish());
+  }
+
+  @Test
+  public void testAlwaysPacketsBehindPendingPackets() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+
+    NettyNetworkChannel networkChannel = new NettyNetworkChannel(channel, null, null, null, null, false);
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[32]));
+    Assert.assertFalse(channel.isWritable());
+
+    networkChannel.sendPacket(new TestPacket(1, PacketWritePolicy.LATEST_VALUE_WINS));
+    networkChannel.sendPacket(new TestPacket(2, PacketWritePolicy.ALWAYS));
+    networkChannel.sendPacket(new TestPacket(3, PacketWritePolicy.ALWAYS));
+
+    // the packets which have to be written always are queued behind the held back packet and don't replace each other
+    Assert.assertEquals(3, networkChannel.getPendingPackets());
+
+    channel.pipeline().flush();
+    networkChannel.handleWritabilityChange();
+
+    Assert.assertEquals(0, networkChannel.getPendingPackets());
+    ReferenceCountUtil.release(channel.readOutbound());
+
+    for (int i = 1; i <= 3; i++) {
+      Packet packet = channel.readOutbound();
+      Assert.assertEquals(i, packet.getBuffer().readVarInt());
+    }
+    Assert.assertFalse(channel.finish());
+  }
+
+  @Test
+  public void testFullPendingPacketQueue() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+
+    NettyNetworkChannel networkChannel = new NettyNetworkChannel(channel, null, null, null, null, false);
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[32]));
+    Assert.assertFalse(channel.isWritable());
+
+    // the packets use different channels, so they don't replace each other
+    ProtocolBuffer oldestBody = null;
+    for (int i = 0; i <= 1024; i++) {
+      TestPacket packet = new TestPacket(i, ProtocolBuffer.createPooled(4).writeVarInt(i));
+      if (i == 0) {
+        oldestBody = packet.getBuffer();
+      }
+      networkChannel.sendPacket(packet);
+    }
+
+    // the oldest packet is dropped and released instead of being written while the channel is not writable
+    Assert.assertEquals(1024, networkChannel.getPendingPackets());
+    Assert.assertEquals(1, networkChannel.getDroppedPackets());
+    Assert.assertEquals(0, oldestBody.refCnt());
+
+    networkChannel.releasePendingPackets();
+    channel.finishAndReleaseAll();
+  }
+
+  @Test
+  public void testCoalesceReplacement() {
+    EmbeddedChannel channel = new EmbeddedChannel();
+    channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+
+    NettyNetworkChannel networkChannel = new NettyNetworkChannel(channel, null, null, null, null, false);
+
+    channel.pipeline().write(Unpooled.wrappedBuffer(new byte[32]));
+    Assert.assertFalse(channel.isWritable());
+
+    TestPacket replacement = new TestPacket(3, PacketWritePolicy.LATEST_VALUE_WINS);
+    networkChannel.sendPacket(new TestPacket(1, PacketWritePolicy.LATEST_VALUE_WINS));
+    networkChannel.sendPacket(new TestPacket(2, PacketWritePolicy.LATEST_VALUE_WINS) {
+      @Override
+      public @NotNull IPacket coalesce(@NotNull IPacket replaced) {
+        return replacement;
+      }
+    });
+
+    Assert.assertEquals(1, networkChannel.getPendingPackets());
+    Assert.assertEquals(1, networkChannel.getCoalescedPackets());
+
+    channel.pipeline().flush();
+    networkChannel.handleWritabilityChange();
+    ReferenceCountUtil.release(channel.readOutbound());
+
+    // the packet returned by the replacing packet is written instead of it
+    Assert.assertSame(replacement, channel.readOutbound());
+    Assert.assertFalse(channel.finish());
+  }
+
+  private static class TestPacket extends Packet {
+
+    private final PacketWritePolicy writePolicy;
+
+    public TestPacket(int value, PacketWritePolicy writePolicy) {
+      super(1, ProtocolBuffer.create().writeVarInt(value));
+      this.writePolicy = writePolicy;
+    }
+
+    public TestPacket(int channel, ProtocolBuffer body) {
+      super(channel, body);
+      this.writePolicy = PacketWritePolicy.LATEST_VALUE_WINS;
+    }
+
+    @Override
+    public PacketWritePolicy getWritePolicy() {
+      return this.writePolicy;
+    }
+  }
+}
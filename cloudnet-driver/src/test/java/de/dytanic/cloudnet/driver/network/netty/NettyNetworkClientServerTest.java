@@ -26,7 +26,15 @@
 import de.dytanic.cloudnet.driver.network.netty.server.NettyNetworkServer;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -76,6 +84,53 @@ public void testNettyConnectorServer() throws Throwable {
     Assert.assertEquals(0, networkServer.getChannels().size());
   }
 
+  @Test
+  public void testForwardReceivedPacket() throws Throwable {
+    INetworkServer networkServer = new NettyNetworkServer(NetworkChannelServerHandler::new);
+    INetworkClient sendingClient = new NettyNetworkClient(NetworkChannelClientHandler::new);
+    INetworkClient receivingClient = new NettyNetworkClient(NetworkChannelClientHandler::new);
+
+    // the server forwards the received packets to all other channels, after the packets were handled their bodies
+    // are released and the pooled memory of the inbound buffers is reused by the following reads
+    networkServer.getPacketRegistry().addListener(7, (channel, packet) -> IPacketSender.sendPacketToAll(
+      networkServer.getChannels().stream().filter(other -> other != channel).collect(Collectors.toList()),
+      Packet.forward(packet), false));
+
+    Collection<String> received = new ConcurrentLinkedQueue<>();
+    receivingClient.getPacketRegistry()
+      .addListener(7, (channel, packet) -> received.add(packet.getBuffer().readString()));
+
+    HostAndPort address = new HostAndPort("127.0.0.1", NettyTestUtil.generateRandomPort());
+
+    Assert.assertTrue(networkServer.addListener(address));
+    Assert.assertTrue(sendingClient.connect(address));
+    Assert.assertTrue(receivingClient.connect(address));
+
+    Thread.sleep(500);
+    Assert.assertEquals(2, networkServer.getChannels().size());
+
+    long pooledBuffersInUse = ProtocolBuffer.getPooledBuffersInUse();
+
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      String value = i + ":" + String.join("", Collections.nCopies(64, String.valueOf(i)));
+      expected.add(value);
+      sendingClient.sendPacket(new Packet(7, ProtocolBuffer.create().writeString(value)));
+    }
+
+    for (int i = 0; i < 100 && received.size() < expected.size(); i++) {
+      Thread.sleep(50);
+    }
+
+    Assert.assertEquals(expected, new ArrayList<>(received));
+    // every forwarded body was released after it was written
+    Assert.assertEquals(pooledBuffersInUse, ProtocolBuffer.getPooledBuffersInUse());
+
+    sendingClient.close();
+    receivingClient.close();
+    networkServer.close();
+  }
+
   private final class NetworkChannelClientHandler implements INetworkChannelHandler {
 
     @Override
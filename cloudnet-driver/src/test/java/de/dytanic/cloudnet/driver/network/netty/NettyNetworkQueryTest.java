@@ -16,6 +16,7 @@
 
 package de.dytanic.cloudnet.driver.network.netty;
 
+import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.HostAndPort;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
@@ -29,6 +30,7 @@
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -57,10 +59,12 @@ public void testNettyConnectorServer() throws Throwable {
     Assert.assertEquals(1, networkClient.getChannels().size());
     Assert.assertEquals(1, networkServer.getChannels().size());
 
+    long completedQueries = InternalSyncPacketChannel.getCompletedQueries();
     IPacket result = networkClient.getFirstChannel()
       .sendQuery(new Packet(6, JsonDocument.newDocument("TestKey", "TestValue")));
 
     Assert.assertEquals("val", result.getHeader().getString("test"));
+    Assert.assertEquals(completedQueries + 1, InternalSyncPacketChannel.getCompletedQueries());
 
     Assert.assertEquals(50, result.getBuffer().readInt());
 
@@ -71,6 +75,64 @@ public void testNettyConnectorServer() throws Throwable {
     Assert.assertEquals(0, networkServer.getChannels().size());
   }
 
+  @Test
+  public void testPendingQueryCompletedOnChannelClose() throws Throwable {
+    INetworkServer networkServer = new NettyNetworkServer(NetworkChannelServerHandler::new);
+    INetworkClient networkClient = new NettyNetworkClient(NetworkChannelClientHandler::new);
+
+    HostAndPort address = new HostAndPort("127.0.0.1", NettyTestUtil.generateRandomPort());
+
+    Assert.assertTrue(networkServer.addListener(address));
+    Assert.assertTrue(networkClient.connect(address));
+
+    Thread.sleep(50);
+    Assert.assertEquals(1, networkClient.getChannels().size());
+
+    // nobody listens to the channel on the server, so the query will never be answered
+    ITask<IPacket> task = networkClient.getFirstChannel().sendQueryAsync(new Packet(7, new JsonDocument()));
+    Assert.assertFalse(task.isDone());
+
+    networkServer.close();
+
+    IPacket result = task.get(5, TimeUnit.SECONDS, null);
+    Assert.assertSame(Packet.EMPTY, result);
+
+    networkClient.close();
+  }
+
+  @Test
+  public void testSyncQueryFromListenerOfSameChannel() throws Throwable {
+    INetworkServer networkServer = new NettyNetworkServer(NetworkChannelServerHandler::new);
+    INetworkClient networkClient = new NettyNetworkClient(NetworkChannelClientHandler::new);
+
+    // the listener of the server waits for the response of the client while it blocks the queue of the channel
+    networkServer.getPacketRegistry().addListener(8, (channel, packet) -> {
+      IPacket response = channel.sendQuery(new Packet(9, JsonDocument.newDocument("TestKey", "TestValue")));
+      channel.sendPacket(Packet.createResponseFor(packet, JsonDocument.newDocument("test",
+        response.getHeader().getString("test"))));
+    });
+    networkClient.getPacketRegistry().addListener(9, new PacketListenerImpl());
+
+    HostAndPort address = new HostAndPort("127.0.0.1", NettyTestUtil.generateRandomPort());
+
+    Assert.assertTrue(networkServer.addListener(address));
+    Assert.assertTrue(networkClient.connect(address));
+
+    Thread.sleep(50);
+    Assert.assertEquals(1, networkClient.getChannels().size());
+
+    long timedOutQueries = InternalSyncPacketChannel.getTimedOutQueries();
+    IPacket result = networkClient.getFirstChannel().sendQueryAsync(new Packet(8, new JsonDocument()))
+      .get(3, TimeUnit.SECONDS, null);
+
+    Assert.assertNotNull(result);
+    Assert.assertEquals("val", result.getHeader().getString("test"));
+    Assert.assertEquals(timedOutQueries, InternalSyncPacketChannel.getTimedOutQueries());
+
+    networkClient.close();
+    networkServer.close();
+  }
+
   private static final class PacketListenerImpl implements IPacketListener {
 
     @Override
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
+import de.dytanic.cloudnet.driver.network.INetworkClient;
+import de.dytanic.cloudnet.driver.network.INetworkServer;
+import de.dytanic.cloudnet.driver.network.netty.client.NettyNetworkClient;
+import de.dytanic.cloudnet.driver.network.netty.server.NettyNetworkServer;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NettyPacketBroadcasterTest {
+
+  private final Collection<String> received = new ConcurrentLinkedQueue<>();
+
+  @Test
+  public void testBroadcastToMixedHeaderFormats() throws Throwable {
+    INetworkServer networkServer = new NettyNetworkServer(EmptyChannelHandler::new);
+    INetworkClient firstClient = new NettyNetworkClient(ReceivingChannelHandler::new);
+    INetworkClient secondClient = new NettyNetworkClient(ReceivingChannelHandler::new);
+
+    HostAndPort address = new HostAndPort("127.0.0.1", NettyTestUtil.generateRandomPort());
+
+    Assert.assertTrue(networkServer.addListener(address));
+    Assert.assertTrue(firstClient.connect(address));
+    Assert.assertTrue(secondClient.connect(address));
+
+    Thread.sleep(500);
+    Assert.assertEquals(2, networkServer.getChannels().size());
+
+    // one of the receivers negotiated binary headers, the other one still expects json headers
+    firstClient.getChannels().forEach(channel -> channel.setAcceptingBinaryHeaders(true));
+    secondClient.getChannels().forEach(channel -> channel.setAcceptingBinaryHeaders(true));
+    networkServer.getChannels().iterator().next().setBinaryHeaders(true);
+
+    networkServer.broadcastPacket(
+      new ArrayList<>(networkServer.getChannels()),
+      new Packet(6, JsonDocument.newDocument("value", "Header"), "First".getBytes()),
+      new Packet(6, JsonDocument.newDocument("value", "Header"), "Second".getBytes())
+    );
+
+    Thread.sleep(500);
+
+    Assert.assertEquals(4, this.received.size());
+    Assert.assertEquals(2, this.received.stream().filter("Header:First"::equals).count());
+    Assert.assertEquals(2, this.received.stream().filter("Header:Second"::equals).count());
+
+    firstClient.close();
+    secondClient.close();
+    networkServer.close();
+  }
+
+  private static final class EmptyChannelHandler implements INetworkChannelHandler {
+
+    @Override
+    public void handleChannelInitialize(INetworkChannel channel) {
+    }
+
+    @Override
+    public boolean handlePacketReceive(INetworkChannel channel, Packet packet) {
+      return true;
+    }
+
+    @Override
+    public void handleChannelClose(INetworkChannel channel) {
+    }
+  }
+
+  private final class ReceivingChannelHandler implements INetworkChannelHandler {
+
+    @Override
+    public void handleChannelInitialize(INetworkChannel channel) {
+    }
+
+    @Override
+    public boolean handlePacketReceive(INetworkChannel channel, Packet packet) {
+      NettyPacketBroadcasterTest.this.received
+        .add(packet.getHeader().getString("value") + ":" + new String(packet.getBodyAsArray()));
+      return false;
+    }
+
+    @Override
+    public void handleChannelClose(INetworkChannel channel) {
+    }
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NettyPacketDispatcherTest {
+
+  @Test
+  public void testPacketsOfOneChannelAreHandledInOrder() throws InterruptedException {
+    NettyPacketDispatcher dispatcher = new NettyPacketDispatcher(4, 10_000,
+      NettyPacketDispatcher.OverflowPolicy.PAUSE_READING);
+
+    Executor executor = dispatcher.newChannelExecutor(new EmbeddedChannel());
+    List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch latch = new CountDownLatch(1000);
+
+    for (int i = 0; i < 1000; i++) {
+      int value = i;
+      executor.execute(() -> {
+        handled.add(value);
+        latch.countDown();
+      });
+    }
+
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(IntStream.range(0, 1000).boxed().collect(Collectors.toList()), handled);
+    Assert.assertEquals(1000, dispatcher.getProcessedPackets());
+    Assert.assertEquals(0, dispatcher.getQueuedPackets());
+
+    dispatcher.shutdown();
+  }
+
+  @Test
+  public void testOverflowPolicies() throws InterruptedException {
+    NettyPacketDispatcher discarding = new NettyPacketDispatcher(1, 1, NettyPacketDispatcher.OverflowPolicy.DISCARD);
+    NettyPacketDispatcher pausing = new NettyPacketDispatcher(1, 1, NettyPacketDispatcher.OverflowPolicy.PAUSE_READING);
+
+    CountDownLatch blocker = new CountDownLatch(1);
+    EmbeddedChannel channel = new EmbeddedChannel();
+
+    Executor discardingExecutor = discarding.newChannelExecutor(new EmbeddedChannel());
+    discardingExecutor.execute(this.await(blocker));
+    try {
+      discardingExecutor.execute(() -> {
+      });
+      Assert.fail("Packet was not discarded");
+    } catch (RejectedExecutionException ignored) {
+    }
+    Assert.assertEquals(1, discarding.getDiscardedPackets());
+
+    Executor pausingExecutor = pausing.newChannelExecutor(channel);
+    pausingExecutor.execute(this.await(blocker));
+    pausingExecutor.execute(() -> {
+    });
+    Assert.assertFalse(channel.config().isAutoRead());
+
+    blocker.countDown();
+    discarding.shutdown();
+    pausing.shutdown();
+    Assert.assertTrue(pausing.awaitTermination(10, TimeUnit.SECONDS));
+
+    Assert.assertTrue(channel.config().isAutoRead());
+    Assert.assertEquals(2, pausing.getProcessedPackets());
+  }
+
+  private Runnable await(CountDownLatch latch) {
+    return () -> {
+      try {
+        latch.await();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+    };
+  }
+}
@@ -18,11 +18,13 @@
 
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -58,4 +60,92 @@ public void testEncoderDecoder() {
     Assert
       .assertEquals("Test_Nachricht", new String(((Packet) packets.get(1)).getBodyAsArray(), StandardCharsets.UTF_8));
   }
+
+  @Test
+  public void testBodyIsRetainedSlice() {
+    ByteBuf byteBuf = Unpooled.buffer();
+    new NettyPacketEncoder().encode(null, new Packet(5, JsonDocument.EMPTY, "Body".getBytes()), byteBuf);
+
+    List<Object> packets = new ArrayList<>();
+    new NettyPacketDecoder().decode(null, byteBuf, packets);
+
+    Assert.assertEquals(1, packets.size());
+    Packet packet = (Packet) packets.get(0);
+
+    // the body shares the memory of the inbound buffer instead of copying it
+    Assert.assertEquals(2, byteBuf.refCnt());
+    Assert.assertEquals("Body", new String(packet.getBodyAsArray(), StandardCharsets.UTF_8));
+
+    Assert.assertFalse(packet.release());
+    Assert.assertEquals(1, byteBuf.refCnt());
+    Assert.assertTrue(byteBuf.release());
+  }
+
+  @Test
+  public void testPooledBodyIsReleasedOnWrite() {
+    long pooledBuffers = ProtocolBuffer.getPooledBuffersInUse();
+
+    Packet pooled = new Packet(5, JsonDocument.EMPTY, ProtocolBuffer.createPooled(16).writeString("Body"));
+    Packet unpooled = new Packet(5, JsonDocument.EMPTY, ProtocolBuffer.create(16).writeString("Body"));
+    Assert.assertEquals(pooledBuffers + 1, ProtocolBuffer.getPooledBuffersInUse());
+
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyPacketEncoder encoder = new NettyPacketEncoder();
+    encoder.encode(null, pooled, byteBuf);
+    encoder.encode(null, unpooled, byteBuf);
+
+    Assert.assertEquals(0, pooled.getBuffer().refCnt());
+    Assert.assertEquals(1, unpooled.getBuffer().refCnt());
+    Assert.assertEquals(pooledBuffers, ProtocolBuffer.getPooledBuffersInUse());
+
+    List<Object> packets = new ArrayList<>();
+    NettyPacketDecoder decoder = new NettyPacketDecoder();
+    decoder.decode(null, byteBuf, packets);
+    decoder.decode(null, byteBuf, packets);
+
+    Assert.assertEquals(2, packets.size());
+    for (Object packet : packets) {
+      Assert.assertEquals("Body", ((Packet) packet).getBuffer().readString());
+      ((Packet) packet).release();
+    }
+  }
+
+  @Test
+  public void testCompressedBody() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 4096; i++) {
+      builder.append("service-").append(i % 16).append(';');
+    }
+
+    byte[] compressible = builder.toString().getBytes(StandardCharsets.UTF_8);
+    byte[] incompressible = new byte[compressible.length];
+    new Random(1).nextBytes(incompressible);
+
+    NettyPacketEncoder encoder = new NettyPacketEncoder();
+    encoder.setCompression(true);
+
+    for (byte[] body : new byte[][]{compressible, incompressible}) {
+      ByteBuf byteBuf = Unpooled.buffer();
+      encoder.encode(null, new Packet(5, JsonDocument.EMPTY, body), byteBuf);
+
+      if (body == compressible) {
+        Assert.assertTrue(byteBuf.readableBytes() < body.length / 4);
+      } else {
+        // the body is written uncompressed if compressing doesn't make it smaller
+        Assert.assertTrue(byteBuf.readableBytes() > body.length);
+      }
+
+      List<Object> packets = new ArrayList<>();
+      new NettyPacketDecoder().decode(null, byteBuf, packets);
+
+      Assert.assertEquals(1, packets.size());
+      Assert.assertFalse(byteBuf.isReadable());
+
+      Packet packet = (Packet) packets.get(0);
+      Assert.assertArrayEquals(body, packet.getBodyAsArray());
+
+      packet.release();
+      byteBuf.release();
+    }
+  }
 }
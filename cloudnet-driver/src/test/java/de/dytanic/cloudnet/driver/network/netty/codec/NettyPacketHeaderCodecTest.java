@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.network.netty.codec;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NettyPacketHeaderCodecTest {
+
+  private static JsonDocument createHeader() {
+    return new JsonDocument()
+      .append("string", "Hello World äöü")
+      .append("int", 17)
+      .append("negative", -123456789L)
+      .append("double", 0.25D)
+      .append("float", 1.1F)
+      .append("boolean", true)
+      .append("uuid", UUID.randomUUID())
+      .append("list", Arrays.asList("a", "b", "c"))
+      .append("document", new JsonDocument("nested", new JsonDocument("value", Long.MAX_VALUE)))
+      .appendNull("null");
+  }
+
+  @Test
+  public void testBinaryHeaderRoundTrip() {
+    JsonDocument header = createHeader();
+
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyPacketHeaderCodec.writeHeader(byteBuf, header, true);
+
+    JsonDocument decoded = NettyPacketHeaderCodec.readHeader(byteBuf, true);
+    Assert.assertFalse(byteBuf.isReadable());
+
+    Assert.assertEquals(header.toJson(), decoded.toJson());
+    Assert.assertEquals(17, decoded.getInt("int"));
+    Assert.assertEquals(-123456789L, decoded.getLong("negative"));
+    Assert.assertEquals(0.25D, decoded.getDouble("double"), 0D);
+    Assert.assertEquals(1.1F, decoded.getFloat("float"), 0F);
+    Assert.assertEquals(header.get("uuid", UUID.class), decoded.get("uuid", UUID.class));
+    Assert.assertEquals(Long.MAX_VALUE, decoded.getDocument("document").getDocument("nested").getLong("value"));
+  }
+
+  @Test
+  public void testLegacyHeaderCompatibility() {
+    JsonDocument header = createHeader();
+
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyPacketHeaderCodec.writeHeader(byteBuf, header, false);
+
+    Assert.assertEquals(header.toJson(), NettyPacketHeaderCodec.readHeader(byteBuf, true).toJson());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testBinaryHeaderRejectedBeforeNegotiation() {
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyPacketHeaderCodec.writeHeader(byteBuf, createHeader(), true);
+
+    NettyPacketHeaderCodec.readHeader(byteBuf, false);
+  }
+
+  @Test
+  public void testEmptyHeader() {
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyPacketHeaderCodec.writeHeader(byteBuf, JsonDocument.EMPTY, true);
+    NettyPacketHeaderCodec.writeHeader(byteBuf, null, false);
+
+    Assert.assertEquals(2, byteBuf.readableBytes());
+    Assert.assertTrue(NettyPacketHeaderCodec.readHeader(byteBuf, true).isEmpty());
+    Assert.assertTrue(NettyPacketHeaderCodec.readHeader(byteBuf, true).isEmpty());
+  }
+
+  @Test
+  public void testBinaryHeaderIsSmaller() {
+    JsonDocument header = createHeader();
+
+    ByteBuf binary = Unpooled.buffer();
+    NettyPacketHeaderCodec.writeHeader(binary, header, true);
+    ByteBuf json = Unpooled.buffer();
+    NettyPacketHeaderCodec.writeHeader(json, header, false);
+
+    Assert.assertTrue(binary.readableBytes() < json.readableBytes());
+  }
+
+  @Test
+  public void testMixedHeaderFormats() {
+    NettyPacketEncoder encoder = new NettyPacketEncoder();
+    NettyPacketDecoder decoder = new NettyPacketDecoder();
+    decoder.setBinaryHeaders(true);
+
+    ByteBuf byteBuf = Unpooled.buffer();
+    encoder.encode(null, new Packet(1, new JsonDocument("legacy", true), "legacy".getBytes()), byteBuf);
+    encoder.setBinaryHeaders(true);
+    encoder.encode(null, new Packet(2, new JsonDocument("binary", true), "binary".getBytes()), byteBuf);
+
+    List<Object> packets = new ArrayList<>();
+    decoder.decode(null, byteBuf, packets);
+    decoder.decode(null, byteBuf, packets);
+
+    Assert.assertEquals(2, packets.size());
+    Assert.assertTrue(((Packet) packets.get(0)).getHeader().getBoolean("legacy"));
+    Assert.assertEquals("legacy", new String(((Packet) packets.get(0)).getBodyAsArray()));
+    Assert.assertTrue(((Packet) packets.get(1)).getHeader().getBoolean("binary"));
+    Assert.assertEquals("binary", new String(((Packet) packets.get(1)).getBodyAsArray()));
+  }
+}
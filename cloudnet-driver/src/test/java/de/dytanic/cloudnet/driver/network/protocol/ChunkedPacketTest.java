@@ -19,6 +19,7 @@
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacketBuilder;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.listener.ChunkedPacketListener;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -57,6 +58,7 @@ public void testChunkedPacket() throws IOException {
     JsonDocument header = JsonDocument.newDocument("test", "test");
 
     Assert.assertEquals(0, listener.getSessions().size());
+    long pooledBuffers = ProtocolBuffer.getPooledBuffersInUse();
 
     try (InputStream inputStream = Files.newInputStream(input)) {
       ChunkedPacketBuilder.newBuilder(1, inputStream).header(header).target(packet -> {
@@ -64,11 +66,14 @@ public void testChunkedPacket() throws IOException {
           listener.handle(null, packet.fillBuffer());
         } catch (Exception exception) {
           exception.printStackTrace();
+        } finally {
+          packet.clearData();
         }
       }).complete();
     }
 
     Assert.assertEquals(0, listener.getSessions().size());
+    Assert.assertEquals(pooledBuffers, ProtocolBuffer.getPooledBuffersInUse());
 
     Assert.assertTrue(Files.exists(input));
     Assert.assertTrue(Files.exists(output));
@@ -91,6 +96,65 @@ public void testChunkedPacket() throws IOException {
     Assert.assertFalse(Files.exists(output));
   }
 
+  @Test
+  public void testOutOfOrderSessionClosedEarly() throws Exception {
+    Path output = Paths.get("build/chunked_packet_out_of_order");
+    TestChunkedPacketListener listener = new TestChunkedPacketListener(output);
+    UUID sessionUniqueId = UUID.randomUUID();
+
+    this.handleChunk(listener, sessionUniqueId, ProtocolBuffer.createPooled(16).writeVarInt(0).writeInt(4));
+
+    ProtocolBuffer pendingChunk = ProtocolBuffer.createPooled(16).writeVarInt(2).writeBoolean(false)
+      .writeInt(4).writeInt(42);
+    this.handleChunk(listener, sessionUniqueId, pendingChunk);
+    Assert.assertEquals(1, pendingChunk.refCnt());
+
+    try {
+      // the end packet arrives before the first data chunk
+      this.handleChunk(listener, sessionUniqueId, ProtocolBuffer.createPooled(16).writeVarInt(1).writeBoolean(true)
+        .writeVarInt(2));
+      Assert.fail("The session shouldn't be completed with a pending chunk");
+    } catch (IllegalStateException expected) {
+    }
+
+    Assert.assertEquals(0, pendingChunk.refCnt());
+    Assert.assertEquals(0, listener.getSessions().size());
+
+    Files.deleteIfExists(output);
+  }
+
+  @Test
+  public void testAbandonedSession() throws Exception {
+    Path output = Paths.get("build/chunked_packet_abandoned");
+    TestChunkedPacketListener listener = new TestChunkedPacketListener(output);
+    UUID sessionUniqueId = UUID.randomUUID();
+
+    this.handleChunk(listener, sessionUniqueId, ProtocolBuffer.createPooled(16).writeVarInt(0).writeInt(4));
+
+    ProtocolBuffer pendingChunk = ProtocolBuffer.createPooled(16).writeVarInt(2).writeBoolean(false)
+      .writeInt(4).writeInt(42);
+    this.handleChunk(listener, sessionUniqueId, pendingChunk);
+    Assert.assertEquals(1, pendingChunk.refCnt());
+
+    // the channel of the session was closed before the remaining chunks arrived
+    listener.getSessions().get(sessionUniqueId).abandon();
+
+    Assert.assertEquals(0, pendingChunk.refCnt());
+    Assert.assertEquals(0, listener.getSessions().size());
+
+    Files.deleteIfExists(output);
+  }
+
+  private void handleChunk(ChunkedPacketListener listener, UUID sessionUniqueId, ProtocolBuffer body)
+    throws Exception {
+    try {
+      listener.handle(null, new Packet(1, sessionUniqueId, JsonDocument.newDocument("test", "test"), body));
+    } finally {
+      // the body is released after the handling like in the network handler
+      body.release();
+    }
+  }
+
   private long getUnequalIndex(Path expected, Path actual) throws IOException {
     try (InputStream expectedStream = Files.newInputStream(expected);
       InputStream actualStream = Files.newInputStream(actual)) {
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.serialization;
+
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SerializableObjectFactoriesTest {
+
+  @Test
+  public void testFactoriesAreCached() {
+    Supplier<ThreadSnapshot> factory = SerializableObjectFactories.getFactory(ThreadSnapshot.class);
+
+    Assert.assertSame(factory, SerializableObjectFactories.getFactory(ThreadSnapshot.class));
+    Assert.assertNotSame(factory.get(), factory.get());
+  }
+
+  @Test
+  public void testNonPublicClass() {
+    Assert.assertNotNull(SerializableObjectFactories.newInstance(PackagePrivateObject.class));
+  }
+
+  @Test(expected = Error.class)
+  public void testMissingConstructor() {
+    SerializableObjectFactories.newInstance(NoDefaultConstructorObject.class);
+  }
+
+  static final class PackagePrivateObject {
+
+  }
+
+  public static final class NoDefaultConstructorObject {
+
+    public NoDefaultConstructorObject(String value) {
+    }
+  }
+}
@@ -30,6 +30,7 @@
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.UUID;
 import org.junit.Assert;
 import org.junit.Test;
@@ -84,4 +85,63 @@ public void serializeServiceInfoSnapshot() {
     Assert.assertEquals(original, deserialized);
   }
 
+  @Test
+  public void serializeThreadCount() {
+    ServiceInfoSnapshot original = new ServiceInfoSnapshot(
+      12345L,
+      new HostAndPort("127.0.0.1", 25565),
+      54321L,
+      ServiceLifeCycle.RUNNING,
+      new ProcessSnapshot(6789L, 9876L, 512_000_000, 123987, 12345L, 54321L, Collections.emptyList(), 50.4D, 456987,
+        81),
+      JsonDocument.newDocument("key", "val"),
+      new ServiceConfiguration(
+        new ServiceId(UUID.fromString("fdef0011-1c58-40c8-bfef-0bdcb1495938"), "Node-1", "Lobby", 1,
+          ServiceEnvironmentType.MINECRAFT_SERVER),
+        "jvm", true, false, new String[0], new ServiceRemoteInclusion[0], new ServiceTemplate[0],
+        new ServiceDeployment[0], new String[0],
+        new ProcessConfiguration(ServiceEnvironmentType.MINECRAFT_SERVER, 512, Collections.emptyList()),
+        JsonDocument.newDocument(),
+        6789876
+      )
+    );
+
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    buffer.writeObject(original);
+
+    ServiceInfoSnapshot deserialized = buffer.readObject(ServiceInfoSnapshot.class);
+
+    // the thread count is carried in the properties, but only the process snapshot exposes it
+    Assert.assertEquals(original, deserialized);
+    Assert.assertEquals(81, deserialized.getProcessSnapshot().getThreadCount());
+    Assert.assertEquals(JsonDocument.newDocument("key", "val"), deserialized.getProperties());
+    Assert.assertEquals(JsonDocument.newDocument("key", "val"), original.getProperties());
+  }
+
+  @Test
+  public void serializeProcessSnapshotInOldFormat() {
+    ProcessSnapshot original = new ProcessSnapshot(6789L, 9876L, 512_000_000, 123987, 12345L, 54321L,
+      Collections.singletonList(new ThreadSnapshot(1, "snapshot1", Thread.State.BLOCKED, false, -1)), 50.4D, 456987,
+      81);
+
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    buffer.writeObject(original);
+
+    // older versions read the process snapshot up to the pid, nothing may be written after it
+    Assert.assertEquals(6789L, buffer.readLong());
+    Assert.assertEquals(9876L, buffer.readLong());
+    Assert.assertEquals(512_000_000, buffer.readLong());
+    Assert.assertEquals(123987, buffer.readInt());
+    Assert.assertEquals(12345L, buffer.readLong());
+    Assert.assertEquals(54321L, buffer.readLong());
+    Assert.assertEquals(1, buffer.readObjectCollection(ThreadSnapshot.class).size());
+    Assert.assertEquals(50.4D, buffer.readDouble(), 0);
+    Assert.assertEquals(456987, buffer.readInt());
+    Assert.assertEquals(0, buffer.readableBytes());
+
+    // without the properties of a containing snapshot the amount of the written threads is used
+    buffer.resetReaderIndex();
+    Assert.assertEquals(1, buffer.readObject(ProcessSnapshot.class).getThreadCount());
+  }
+
 }
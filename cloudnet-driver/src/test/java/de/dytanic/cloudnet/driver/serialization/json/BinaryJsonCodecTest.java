@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.driver.serialization.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import de.dytanic.cloudnet.driver.network.exception.SilentDecoderException;
+import de.dytanic.cloudnet.driver.network.netty.NettyUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BinaryJsonCodecTest {
+
+  // the type bytes of the binary format
+  private static final int TYPE_NULL = 0;
+  private static final int TYPE_ARRAY = 8;
+
+  private static ByteBuf createObjectWithKey() {
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyUtils.writeVarInt(byteBuf, 1);
+    NettyUtils.writeString(byteBuf, "key");
+    return byteBuf;
+  }
+
+  private static JsonObject createNested(int depth) {
+    JsonElement element = new JsonObject();
+    for (int i = 1; i < depth; i++) {
+      JsonArray array = new JsonArray();
+      array.add(element);
+      element = array;
+    }
+
+    JsonObject object = new JsonObject();
+    object.add("key", element);
+    return object;
+  }
+
+  @Test(expected = SilentDecoderException.class)
+  public void testArrayLengthLargerThanBuffer() {
+    ByteBuf byteBuf = createObjectWithKey();
+    byteBuf.writeByte(TYPE_ARRAY);
+    NettyUtils.writeVarInt(byteBuf, Integer.MAX_VALUE);
+
+    BinaryJsonCodec.readObject(byteBuf, new JsonObject(), false);
+  }
+
+  @Test(expected = SilentDecoderException.class)
+  public void testObjectLengthLargerThanBuffer() {
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyUtils.writeVarInt(byteBuf, 1000);
+    NettyUtils.writeString(byteBuf, "key");
+    byteBuf.writeByte(TYPE_NULL);
+
+    BinaryJsonCodec.readObject(byteBuf, new JsonObject(), false);
+  }
+
+  @Test(expected = SilentDecoderException.class)
+  public void testStringLengthLargerThanBuffer() {
+    ByteBuf byteBuf = Unpooled.buffer();
+    NettyUtils.writeVarInt(byteBuf, 1);
+    NettyUtils.writeVarInt(byteBuf, Integer.MAX_VALUE);
+
+    BinaryJsonCodec.readObject(byteBuf, new JsonObject(), false);
+  }
+
+  @Test(expected = SilentDecoderException.class)
+  public void testReadNestedTooDeep() {
+    ByteBuf byteBuf = createObjectWithKey();
+    for (int i = 0; i <= BinaryJsonCodec.MAX_DEPTH; i++) {
+      byteBuf.writeByte(TYPE_ARRAY);
+      NettyUtils.writeVarInt(byteBuf, 1);
+    }
+    byteBuf.writeByte(TYPE_NULL);
+
+    BinaryJsonCodec.readObject(byteBuf, new JsonObject(), false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWriteNestedTooDeep() {
+    BinaryJsonCodec.writeObject(Unpooled.buffer(), createNested(BinaryJsonCodec.MAX_DEPTH + 1), true);
+  }
+
+  @Test
+  public void testMaximumDepth() {
+    JsonObject object = createNested(BinaryJsonCodec.MAX_DEPTH);
+
+    ByteBuf byteBuf = Unpooled.buffer();
+    BinaryJsonCodec.writeObject(byteBuf, object, true);
+
+    Assert.assertEquals(object, BinaryJsonCodec.readObject(byteBuf, new JsonObject(), true));
+    Assert.assertFalse(byteBuf.isReadable());
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.serialization.json;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SerializableJsonDocumentTest {
+
+  private static ProtocolBuffer writeBinary(JsonDocument document) {
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    SerializableJsonDocument.asSerializable(document).write(buffer, true);
+    return buffer;
+  }
+
+  private static JsonDocument roundTrip(ProtocolBuffer buffer) {
+    JsonDocument result = buffer.readJsonDocument();
+
+    Assert.assertFalse(buffer.isReadable());
+    return result;
+  }
+
+  private static void assertRoundTrip(JsonDocument document) {
+    Assert.assertEquals(document.toJson(), roundTrip(writeBinary(document)).toJson());
+    Assert.assertEquals(document.toJson(), roundTrip(ProtocolBuffer.create().writeJsonDocument(document)).toJson());
+  }
+
+  @Test
+  public void testEmptyDocument() {
+    ProtocolBuffer buffer = writeBinary(JsonDocument.newDocument());
+
+    Assert.assertEquals(1, buffer.readableBytes());
+    Assert.assertTrue(buffer.readJsonDocument().isEmpty());
+  }
+
+  @Test
+  public void testWritesJsonFormatByDefault() {
+    // components which don't know the binary format have to be able to read the document
+    JsonDocument document = JsonDocument.newDocument("key", "value");
+    ProtocolBuffer buffer = ProtocolBuffer.create().writeJsonDocument(document);
+
+    Assert.assertEquals(document.toJson(), buffer.readString());
+  }
+
+  @Test
+  public void testPrimitives() {
+    assertRoundTrip(JsonDocument.newDocument()
+      .append("true", true)
+      .append("false", false)
+      .append("int", 42)
+      .append("negative", -42)
+      .append("longMax", Long.MAX_VALUE)
+      .append("longMin", Long.MIN_VALUE)
+      .append("double", 12.5D)
+      .append("float", 0.1F)
+      .append("bigInteger", new BigInteger("123456789012345678901234567890"))
+      .append("bigDecimal", new BigDecimal("0.1000000000000000000001"))
+      .append("string", "Hello World")
+      .append("unicode", "äöü ☃ 😀")
+      .append("emptyString", "")
+      .append("uuid", UUID.fromString("fdef0011-1c58-40c8-bfef-0bdcb1495938")));
+  }
+
+  @Test
+  public void testNestedStructures() {
+    JsonArray players = new JsonArray();
+    for (int i = 0; i < 10; i++) {
+      JsonObject player = new JsonObject();
+      player.addProperty("uniqueId", UUID.randomUUID().toString());
+      player.addProperty("name", "Player" + i);
+      player.add("nested", new JsonObject());
+      players.add(player);
+    }
+
+    JsonArray mixed = new JsonArray();
+    mixed.add(1);
+    mixed.add("two");
+    mixed.add(3.5D);
+    mixed.add((String) null);
+    mixed.add(new JsonArray());
+
+    assertRoundTrip(JsonDocument.newDocument()
+      .append("Players", players)
+      .append("Mixed", mixed)
+      .append("Plugins", Arrays.asList("CloudNet-Bridge", "LuckPerms"))
+      .append("Nested",
+        JsonDocument.newDocument("a", JsonDocument.newDocument("b", JsonDocument.newDocument("c", 1)))));
+  }
+
+  @Test
+  public void testParsedNumbersKeepTheirRepresentation() {
+    assertRoundTrip(JsonDocument.newDocument(JsonParser
+      .parseString("{\"a\":1.0,\"b\":1e10,\"c\":-0.0,\"d\":12345678901234567890123}").getAsJsonObject()));
+  }
+
+  @Test
+  public void testKeyDictionary() {
+    JsonArray array = new JsonArray();
+    for (int i = 0; i < 100; i++) {
+      JsonObject object = new JsonObject();
+      object.addProperty("someRatherLongPropertyName", i);
+      array.add(object);
+    }
+
+    JsonDocument document = JsonDocument.newDocument("values", array);
+    ProtocolBuffer buffer = writeBinary(document);
+
+    // every repeated key is written as a one byte index instead of the key itself
+    Assert.assertTrue(buffer.readableBytes() < document.toJson().length() / 4);
+    Assert.assertEquals(document.toJson(), buffer.readJsonDocument().toJson());
+  }
+
+  @Test
+  public void testReadsJsonFormat() {
+    JsonDocument document = JsonDocument.newDocument("key", "value").append("number", 5);
+    ProtocolBuffer buffer = ProtocolBuffer.create().writeString(document.toJson());
+
+    Assert.assertEquals(document.toJson(), buffer.readJsonDocument().toJson());
+  }
+}
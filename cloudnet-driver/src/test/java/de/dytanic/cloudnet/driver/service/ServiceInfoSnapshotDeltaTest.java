@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.service;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoDelta;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceInfoSnapshotDeltaTest {
+
+  private static final UUID UNIQUE_ID = UUID.fromString("fdef0011-1c58-40c8-bfef-0bdcb1495938");
+
+  @Test
+  public void testUnchangedSnapshot() {
+    ServiceInfoSnapshot snapshot = this.createSnapshot(ServiceLifeCycle.RUNNING, 12.5D, this.createThreads(),
+      JsonDocument.newDocument("Online-Count", 5));
+
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    ServiceInfoSnapshotDelta.write(buffer, snapshot, snapshot);
+    Assert.assertEquals(1, buffer.readableBytes());
+
+    ServiceInfoSnapshot applied = ServiceInfoSnapshotDelta.apply(buffer, snapshot);
+    Assert.assertEquals(snapshot, applied);
+    Assert.assertNotSame(snapshot.getProperties(), applied.getProperties());
+  }
+
+  @Test
+  public void testChangedSnapshot() {
+    ServiceInfoSnapshot previous = this.createSnapshot(ServiceLifeCycle.PREPARED, 12.5D, this.createThreads(),
+      JsonDocument.newDocument("Online-Count", 5).append("Motd", "A CloudNet Server").append("Version", "1.16.5"));
+
+    List<ThreadSnapshot> threads = this.createThreads();
+    threads.remove(3);
+    threads.set(4, new ThreadSnapshot(5, "Server thread-5", Thread.State.BLOCKED, false, 5));
+    threads.add(new ThreadSnapshot(100, "Async Chat Thread", Thread.State.RUNNABLE, true, 5));
+    ServiceInfoSnapshot current = this.createSnapshot(ServiceLifeCycle.RUNNING, 42D, threads,
+      JsonDocument.newDocument("Online-Count", 6).append("Motd", "A CloudNet Server")
+        .append("Players", Arrays.asList("derklaro", "0utplay")));
+
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    ServiceInfoSnapshotDelta.write(buffer, previous, current);
+
+    Assert.assertTrue(buffer.readableBytes() < ProtocolBuffer.create().writeObject(current).readableBytes() / 4);
+    Assert.assertEquals(current, ServiceInfoSnapshotDelta.apply(buffer, previous));
+    Assert.assertEquals(ServiceLifeCycle.PREPARED, previous.getLifeCycle());
+    Assert.assertEquals("1.16.5", previous.getProperties().getString("Version"));
+  }
+
+  @Test
+  public void testVersions() {
+    ServiceInfoSnapshotVersions sender = new ServiceInfoSnapshotVersions();
+    ServiceInfoSnapshotVersions receiver = new ServiceInfoSnapshotVersions();
+
+    ServiceInfoSnapshot first = this.createSnapshot(ServiceLifeCycle.RUNNING, 1D, this.createThreads(),
+      JsonDocument.newDocument("Online-Count", 1));
+    IPacket fullUpdate = sender.createUpdatePacket(first);
+    Assert.assertTrue(fullUpdate instanceof PacketClientServerServiceInfoPublisher);
+
+    ServiceInfoSnapshot received = fullUpdate.getBuffer().readObject(ServiceInfoSnapshot.class);
+    fullUpdate.getBuffer().readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
+    receiver.update(received, PacketClientServerServiceInfoPublisher.readVersion(fullUpdate.getBuffer()));
+    fullUpdate.release();
+
+    // changes to the published snapshot must not change the base of the next delta
+    first.getProperties().append("Online-Count", 2);
+    IPacket delta = sender.createUpdatePacket(first);
+    Assert.assertTrue(delta instanceof PacketClientServerServiceInfoDelta);
+    Assert.assertEquals(2, this.applyDelta(receiver, delta).getProperties().getInt("Online-Count"));
+
+    // the receiver misses a version and has to request the full snapshot once
+    sender.createUpdatePacket(this.createSnapshot(ServiceLifeCycle.RUNNING, 3D, this.createThreads(),
+      JsonDocument.newDocument("Online-Count", 3))).release();
+    IPacket missedDelta = sender.createUpdatePacket(this.createSnapshot(ServiceLifeCycle.RUNNING, 4D,
+      this.createThreads(), JsonDocument.newDocument("Online-Count", 4)));
+    Assert.assertNull(this.applyDelta(receiver, missedDelta));
+    Assert.assertTrue(receiver.shouldRequestResync(UNIQUE_ID));
+    Assert.assertFalse(receiver.shouldRequestResync(UNIQUE_ID));
+    Assert.assertNull(receiver.createFullUpdatePacket(UNIQUE_ID));
+
+    IPacket resync = sender.createFullUpdatePacket(UNIQUE_ID);
+    Assert.assertNotNull(resync);
+    ServiceInfoSnapshot resynced = resync.getBuffer().readObject(ServiceInfoSnapshot.class);
+    resync.getBuffer().readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
+    Assert.assertEquals(4, resynced.getProperties().getInt("Online-Count"));
+    receiver.update(resynced, PacketClientServerServiceInfoPublisher.readVersion(resync.getBuffer()));
+    resync.release();
+
+    IPacket nextDelta = sender.createUpdatePacket(this.createSnapshot(ServiceLifeCycle.RUNNING, 5D,
+      this.createThreads(), JsonDocument.newDocument("Online-Count", 5)));
+    Assert.assertEquals(5, this.applyDelta(receiver, nextDelta).getProperties().getInt("Online-Count"));
+  }
+
+  @Test
+  public void testCoalescedDelta() {
+    ServiceInfoSnapshotVersions sender = new ServiceInfoSnapshotVersions();
+
+    sender.createUpdatePacket(this.createSnapshot(ServiceLifeCycle.RUNNING, 1D, this.createThreads(),
+      JsonDocument.newDocument("Online-Count", 1))).release();
+    IPacket heldBack = sender.createUpdatePacket(this.createSnapshot(ServiceLifeCycle.RUNNING, 2D,
+      this.createThreads(), JsonDocument.newDocument("Online-Count", 2)));
+    IPacket delta = sender.createUpdatePacket(this.createSnapshot(ServiceLifeCycle.RUNNING, 3D,
+      this.createThreads(), JsonDocument.newDocument("Online-Count", 3)));
+
+    // the receiver would miss the version of the replaced delta, so the full snapshot is held back instead
+    IPacket replacement = delta.coalesce(heldBack);
+    Assert.assertTrue(replacement instanceof PacketClientServerServiceInfoPublisher);
+    Assert.assertEquals(3, replacement.getBuffer().readObject(ServiceInfoSnapshot.class).getProperties()
+      .getInt("Online-Count"));
+    replacement.getBuffer().readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
+    Assert.assertEquals(3, PacketClientServerServiceInfoPublisher.readVersion(replacement.getBuffer()));
+
+    replacement.release();
+    heldBack.release();
+    delta.release();
+  }
+
+  private ServiceInfoSnapshot applyDelta(ServiceInfoSnapshotVersions versions, IPacket packet) {
+    try {
+      ProtocolBuffer buffer = packet.getBuffer();
+      Assert.assertEquals(PacketClientServerServiceInfoDelta.Type.DELTA,
+        buffer.readEnumConstant(PacketClientServerServiceInfoDelta.Type.class));
+      return versions.applyDelta(buffer.readUUID(), buffer.readVarLong(), buffer.readVarLong(), buffer);
+    } finally {
+      packet.release();
+    }
+  }
+
+  private List<ThreadSnapshot> createThreads() {
+    List<ThreadSnapshot> threads = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      threads.add(new ThreadSnapshot(i, "Server thread-" + i, Thread.State.WAITING, false, 5));
+    }
+    return threads;
+  }
+
+  private ServiceInfoSnapshot createSnapshot(ServiceLifeCycle lifeCycle, double cpuUsage, List<ThreadSnapshot> threads,
+    JsonDocument properties) {
+    return new ServiceInfoSnapshot(
+      12345L,
+      new HostAndPort("127.0.0.1", 25565),
+      54321L,
+      lifeCycle,
+      new ProcessSnapshot(6789L, 9876L, 512_000_000, 123987, 12345L, 54321L, threads, cpuUsage, 456987),
+      properties,
+      new ServiceConfiguration(
+        new ServiceId(UNIQUE_ID, "Node-1", "Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER),
+        "jvm",
+        true,
+        false,
+        new String[]{"Lobby", "Global-Server"},
+        new ServiceRemoteInclusion[0],
+        new ServiceTemplate[]{new ServiceTemplate("Lobby", "default", "local", true)},
+        new ServiceDeployment[0],
+        new String[0],
+        new ProcessConfiguration(ServiceEnvironmentType.MINECRAFT_SERVER, 512, Arrays.asList("-XX:+UseG1GC")),
+        JsonDocument.newDocument(),
+        25565
+      )
+    );
+  }
+}
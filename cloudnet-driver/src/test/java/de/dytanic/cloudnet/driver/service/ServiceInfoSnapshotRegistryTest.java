@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.driver.service;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceInfoSnapshotRegistryTest {
+
+  @Test
+  public void testIndexes() {
+    ServiceInfoSnapshotRegistry registry = new ServiceInfoSnapshotRegistry();
+
+    ServiceInfoSnapshot lobby = this.createSnapshot("Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER,
+      ServiceLifeCycle.RUNNING, "Lobby", "Global-Server");
+    ServiceInfoSnapshot proxy = this.createSnapshot("Proxy", 1, ServiceEnvironmentType.BUNGEECORD,
+      ServiceLifeCycle.PREPARED, "Proxy");
+    registry.put(lobby.getServiceId().getUniqueId(), lobby);
+    registry.put(proxy.getServiceId().getUniqueId(), proxy);
+
+    Assert.assertEquals(2, registry.size());
+    Assert.assertSame(lobby, registry.getByName("lobby-1"));
+    Assert.assertEquals(Collections.singletonList(lobby), registry.getByTask("LOBBY"));
+    Assert.assertEquals(1, registry.countByTask("Lobby"));
+    Assert.assertEquals(Collections.singletonList(lobby), registry.getByGroup("Global-Server"));
+    Assert.assertEquals(0, registry.countByGroup("global-server"));
+    Assert.assertEquals(Collections.singletonList(proxy), registry.getByEnvironment(ServiceEnvironmentType.BUNGEECORD));
+    Assert.assertEquals(Collections.singletonList(lobby), registry.getByLifeCycle(ServiceLifeCycle.RUNNING));
+
+    // the new snapshot replaces the old one in all indexes
+    ServiceInfoSnapshot stoppedLobby = this.createSnapshot("Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER,
+      ServiceLifeCycle.STOPPED, "Lobby");
+    Assert.assertSame(lobby, registry.put(lobby.getServiceId().getUniqueId(), stoppedLobby));
+    Assert.assertTrue(registry.getByLifeCycle(ServiceLifeCycle.RUNNING).isEmpty());
+    Assert.assertTrue(registry.getByGroup("Global-Server").isEmpty());
+    Assert.assertSame(stoppedLobby, registry.getByName("Lobby-1"));
+
+    // a snapshot changed in place is moved to its new index entries when put again
+    proxy.setLifeCycle(ServiceLifeCycle.RUNNING);
+    Assert.assertTrue(registry.getByLifeCycle(ServiceLifeCycle.RUNNING).isEmpty());
+    registry.replace(proxy.getServiceId().getUniqueId(), proxy);
+    Assert.assertEquals(Collections.singletonList(proxy), registry.getByLifeCycle(ServiceLifeCycle.RUNNING));
+    Assert.assertTrue(registry.getByLifeCycle(ServiceLifeCycle.PREPARED).isEmpty());
+
+    Assert.assertSame(proxy, registry.remove(proxy.getServiceId().getUniqueId()));
+    Assert.assertNull(registry.getByName("Proxy-1"));
+    Assert.assertTrue(registry.getByEnvironment(ServiceEnvironmentType.BUNGEECORD).isEmpty());
+    Assert.assertNull(registry.replace(proxy.getServiceId().getUniqueId(), proxy));
+    Assert.assertEquals(1, registry.size());
+  }
+
+  @Test
+  public void testEntryIteration() {
+    ServiceInfoSnapshotRegistry registry = new ServiceInfoSnapshotRegistry();
+    for (int i = 1; i <= 10; i++) {
+      ServiceInfoSnapshot snapshot = this.createSnapshot("Lobby", i, ServiceEnvironmentType.MINECRAFT_SERVER,
+        ServiceLifeCycle.RUNNING, "Lobby");
+      registry.put(snapshot.getServiceId().getUniqueId(), snapshot);
+    }
+
+    // changes to the registry while iterating must not break the iteration
+    int iterated = 0;
+    Iterator<Map.Entry<UUID, ServiceInfoSnapshot>> iterator = registry.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<UUID, ServiceInfoSnapshot> entry = iterator.next();
+      if (entry.getValue().getServiceId().getTaskServiceId() % 2 == 0) {
+        iterator.remove();
+      } else {
+        registry.put(entry.getKey(), entry.getValue());
+      }
+      iterated++;
+    }
+
+    Assert.assertEquals(10, iterated);
+    Assert.assertEquals(5, registry.size());
+    Assert.assertEquals(5, registry.countByTask("Lobby"));
+    Assert.assertEquals(5, registry.getByLifeCycle(ServiceLifeCycle.RUNNING).size());
+
+    registry.clear();
+    Assert.assertTrue(registry.isEmpty());
+    Assert.assertEquals(0, registry.countByGroup("Lobby"));
+  }
+
+  @Test
+  public void testComputeMethods() {
+    ServiceInfoSnapshotRegistry registry = new ServiceInfoSnapshotRegistry();
+
+    ServiceInfoSnapshot lobby = this.createSnapshot("Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER,
+      ServiceLifeCycle.PREPARED, "Lobby");
+    UUID uniqueId = lobby.getServiceId().getUniqueId();
+
+    Assert.assertSame(lobby, registry.computeIfAbsent(uniqueId, key -> lobby));
+    Assert.assertEquals(Collections.singletonList(lobby), registry.getByLifeCycle(ServiceLifeCycle.PREPARED));
+
+    ServiceInfoSnapshot runningLobby = this.createSnapshot("Lobby", 1, ServiceEnvironmentType.MINECRAFT_SERVER,
+      ServiceLifeCycle.RUNNING, "Lobby", "Global-Server");
+    Assert.assertSame(runningLobby, registry.computeIfPresent(uniqueId, (key, value) -> runningLobby));
+    Assert.assertTrue(registry.getByLifeCycle(ServiceLifeCycle.PREPARED).isEmpty());
+    Assert.assertEquals(Collections.singletonList(runningLobby), registry.getByGroup("Global-Server"));
+
+    Assert.assertSame(lobby, registry.merge(uniqueId, lobby, (oldValue, value) -> value));
+    Assert.assertTrue(registry.getByGroup("Global-Server").isEmpty());
+
+    registry.replaceAll((key, value) -> runningLobby);
+    Assert.assertEquals(Collections.singletonList(runningLobby), registry.getByLifeCycle(ServiceLifeCycle.RUNNING));
+
+    Assert.assertFalse(registry.remove(uniqueId, lobby));
+    Assert.assertNull(registry.compute(uniqueId, (key, value) -> null));
+    Assert.assertTrue(registry.isEmpty());
+    Assert.assertNull(registry.getByName("Lobby-1"));
+    Assert.assertEquals(0, registry.countByTask("Lobby"));
+
+    Assert.assertNull(registry.putIfAbsent(uniqueId, lobby));
+    Assert.assertSame(lobby, registry.putIfAbsent(uniqueId, runningLobby));
+    Assert.assertTrue(registry.replace(uniqueId, lobby, runningLobby));
+    Assert.assertEquals(1, registry.countByGroup("Global-Server"));
+  }
+
+  private ServiceInfoSnapshot createSnapshot(String task, int taskServiceId, ServiceEnvironmentType environment,
+    ServiceLifeCycle lifeCycle, String... groups) {
+    UUID uniqueId = UUID.nameUUIDFromBytes((task + taskServiceId).getBytes());
+    return new ServiceInfoSnapshot(
+      System.currentTimeMillis(),
+      new HostAndPort("127.0.0.1", 25565),
+      -1,
+      lifeCycle,
+      ProcessSnapshot.empty(),
+      JsonDocument.newDocument(),
+      new ServiceConfiguration(
+        new ServiceId(uniqueId, "Node-1", task, taskServiceId, environment),
+        "jvm",
+        true,
+        false,
+        groups,
+        new ServiceRemoteInclusion[0],
+        new ServiceTemplate[0],
+        new ServiceDeployment[0],
+        new ProcessConfiguration(environment, 512, Collections.emptyList()),
+        25565
+      )
+    );
+  }
+}
@@ -67,12 +67,19 @@ public void handleServiceConnected(CloudServiceConnectNetworkEvent event) {
     processSnapshot.getHeapUsageMemory();
     processSnapshot.getMaxHeapMemory();
 
-    for (ThreadSnapshot threadSnapshot : processSnapshot.getThreads()) {
-      threadSnapshot.getName();
-      threadSnapshot.isDaemon();
-      threadSnapshot.getPriority();
-      threadSnapshot.getThreadState();
-    }
+    processSnapshot.getThreadCount();
+
+    // the threads of a service are only fetched when they are requested
+    serviceInfoSnapshot.provider().getThreadsAsync().onComplete(threads -> {
+      if (threads != null) {
+        for (ThreadSnapshot threadSnapshot : threads) {
+          threadSnapshot.getName();
+          threadSnapshot.isDaemon();
+          threadSnapshot.getPriority();
+          threadSnapshot.getThreadState();
+        }
+      }
+    });
 
     processSnapshot.getCurrentLoadedClassCount();
     processSnapshot.getUnloadedClassCount();
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import de.dytanic.cloudnet.command.ITabCompleter;
+import de.dytanic.cloudnet.common.concurrent.CompletedTask;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.console.IConsole;
+import de.dytanic.cloudnet.console.animation.AbstractConsoleAnimation;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A console without a terminal for the node of the load test, the node only writes into its log files and the load
+ * test reports are printed to the original standard output.
+ */
+final class HeadlessConsole implements IConsole {
+
+  private String prompt = "";
+  private String screenName = "";
+
+  @Override
+  public @NotNull Collection<AbstractConsoleAnimation> getRunningAnimations() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public void startAnimation(@NotNull AbstractConsoleAnimation animation) {
+  }
+
+  @Override
+  public boolean isAnimationRunning() {
+    return false;
+  }
+
+  @Override
+  public void togglePrinting(boolean enabled) {
+  }
+
+  @Override
+  public boolean isPrintingEnabled() {
+    return false;
+  }
+
+  @Override
+  public @NotNull List<String> getCommandHistory() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public void setCommandHistory(@Nullable List<String> history) {
+  }
+
+  @Override
+  public void setCommandInputValue(@NotNull String commandInputValue) {
+  }
+
+  @Override
+  public @NotNull ITask<String> readLine() {
+    return CompletedTask.create(null);
+  }
+
+  @Override
+  public void enableAllHandlers() {
+  }
+
+  @Override
+  public void disableAllHandlers() {
+  }
+
+  @Override
+  public void enableAllTabCompletionHandlers() {
+  }
+
+  @Override
+  public void disableAllTabCompletionHandlers() {
+  }
+
+  @Override
+  public void enableAllCommandHandlers() {
+  }
+
+  @Override
+  public void disableAllCommandHandlers() {
+  }
+
+  @Override
+  public void addCommandHandler(@NotNull UUID uniqueId, @NotNull Consumer<String> inputConsumer) {
+  }
+
+  @Override
+  public void removeCommandHandler(@NotNull UUID uniqueId) {
+  }
+
+  @Override
+  public void addTabCompletionHandler(@NotNull UUID uniqueId, @NotNull ITabCompleter completer) {
+  }
+
+  @Override
+  public void removeTabCompletionHandler(@NotNull UUID uniqueId) {
+  }
+
+  @Override
+  public @NotNull IConsole writeRaw(@NotNull String rawText) {
+    return this;
+  }
+
+  @Override
+  public @NotNull IConsole forceWrite(@NotNull String text) {
+    return this;
+  }
+
+  @Override
+  public @NotNull IConsole forceWriteLine(@NotNull String text) {
+    return this;
+  }
+
+  @Override
+  public @NotNull IConsole write(@NotNull String text) {
+    return this;
+  }
+
+  @Override
+  public @NotNull IConsole writeLine(@NotNull String text) {
+    return this;
+  }
+
+  @Override
+  public boolean hasColorSupport() {
+    return false;
+  }
+
+  @Override
+  public boolean isUsingMatchingHistoryComplete() {
+    return false;
+  }
+
+  @Override
+  public void setUsingMatchingHistoryComplete(boolean matchingHistoryComplete) {
+  }
+
+  @Override
+  public @NotNull String getPrompt() {
+    return this.prompt;
+  }
+
+  @Override
+  public void setPrompt(@NotNull String prompt) {
+    this.prompt = prompt;
+  }
+
+  @Override
+  public void resetPrompt() {
+    this.prompt = "";
+  }
+
+  @Override
+  public void removePrompt() {
+    this.prompt = "";
+  }
+
+  @Override
+  public void emptyPrompt() {
+    this.prompt = "";
+  }
+
+  @Override
+  public void clearScreen() {
+  }
+
+  @Override
+  public @NotNull String getScreenName() {
+    return this.screenName;
+  }
+
+  @Override
+  public void setScreenName(@NotNull String name) {
+    this.screenName = name;
+  }
+
+  @Override
+  public void close() {
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of latencies in microseconds. Values below 64 are counted exactly, larger values in buckets
+ * with a relative width of 1/64, so a reported percentile is at most ~1.6% lower than the real one.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+
+  static int indexOf(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) Math.max(0, value);
+    }
+
+    int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return SUB_BUCKET_COUNT + shift * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+  }
+
+  static long valueOf(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+
+    int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_COUNT;
+    return (long) (SUB_BUCKET_COUNT + (index - SUB_BUCKET_COUNT) % SUB_BUCKET_COUNT) << shift;
+  }
+
+  void record(long micros) {
+    this.counts.incrementAndGet(indexOf(micros));
+    this.totalCount.increment();
+    this.totalValue.add(micros);
+  }
+
+  /**
+   * Moves all recorded values of this histogram into a new one, used to report the values of one interval.
+   *
+   * @return a histogram with all values recorded since the last call
+   */
+  LatencyHistogram drain() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    // a value recorded concurrently might end up in the next interval with its count or its latency, not with both
+    histogram.totalCount.add(this.totalCount.sumThenReset());
+    histogram.totalValue.add(this.totalValue.sumThenReset());
+
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      histogram.counts.set(i, this.counts.getAndSet(i, 0));
+    }
+
+    return histogram;
+  }
+
+  long getCount() {
+    return this.totalCount.sum();
+  }
+
+  double getMean() {
+    long count = this.getCount();
+    return count == 0 ? 0 : (double) this.totalValue.sum() / count;
+  }
+
+  long getPercentile(double percentile) {
+    long count = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      count += this.counts.get(i);
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+
+    long target = Math.max(1, (long) Math.ceil(count * percentile / 100D));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += this.counts.get(i);
+      if (seen >= target) {
+        return valueOf(i);
+      }
+    }
+
+    return this.getMax();
+  }
+
+  long getMax() {
+    for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+      if (this.counts.get(i) != 0) {
+        return valueOf(i);
+      }
+    }
+
+    return 0;
+  }
+}
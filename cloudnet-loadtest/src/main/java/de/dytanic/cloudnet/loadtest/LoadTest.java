@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.network.netty.client.NettyNetworkClient;
+import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
+import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
+import de.dytanic.cloudnet.service.ICloudService;
+import de.dytanic.cloudnet.service.defaults.DefaultCloudServiceFactory;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts a node in this process, creates the configured amount of services for it and connects a simulated wrapper for
+ * each service over the loopback interface. The wrappers then send the configured traffic mix to the node until the
+ * configured duration is over, the throughput, the latency of the queries and the resource usage of the process are
+ * printed once per report interval and as a summary, which is also written to {@code loadtest-results.json}.
+ */
+public final class LoadTest {
+
+  private static final String TASK_NAME = "LoadTest";
+  private static final int TRAFFIC_THREADS = 4;
+  private static final long MAIN_THREAD_PROBE_MILLIS = 100;
+
+  private LoadTest() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfiguration configuration = LoadTestConfiguration.fromArguments(args);
+    // the node redirects the standard output into its log files
+    PrintStream out = System.out;
+
+    out.println("Starting the node, its output is written to local/logs");
+    LoadTestNode node = new LoadTestNode(configuration.getListener(), configuration.getHttpListener());
+
+    try {
+      run(node.start(new HeadlessConsole(), TimeUnit.MINUTES.toMillis(2)), configuration, out);
+    } finally {
+      node.stop();
+    }
+
+    System.exit(0);
+  }
+
+  private static void run(CloudNet cloudNet, LoadTestConfiguration configuration, PrintStream out) throws Exception {
+    out.println("Running the load test with " + configuration);
+    LoadTestStatistics statistics = new LoadTestStatistics();
+
+    List<SimulatedCloudService> services = createServices(cloudNet, configuration, out);
+    out.println("Started " + services.size() + " services");
+
+    Queue<SimulatedWrapper> connectingWrappers = new ConcurrentLinkedQueue<>();
+    NettyNetworkClient networkClient = new NettyNetworkClient(connectingWrappers::poll);
+
+    List<SimulatedWrapper> wrappers = new ArrayList<>(services.size());
+    for (SimulatedCloudService service : services) {
+      SimulatedWrapper wrapper = new SimulatedWrapper(service, services, configuration, statistics);
+      // the handler of the channel is taken from the queue, one connection is made for each queued wrapper
+      connectingWrappers.offer(wrapper);
+
+      if (networkClient.connect(configuration.getListener())) {
+        wrappers.add(wrapper);
+      } else {
+        connectingWrappers.remove(wrapper);
+      }
+    }
+
+    for (SimulatedWrapper wrapper : wrappers) {
+      wrapper.getAuthorization().await(30, TimeUnit.SECONDS);
+    }
+    wrappers.removeIf(wrapper -> !wrapper.isAuthorized());
+    out.println("Authorized " + wrappers.size() + " of " + services.size() + " wrappers");
+
+    if (wrappers.isEmpty()) {
+      networkClient.close();
+      return;
+    }
+
+    ScheduledExecutorService executor = Executors.newScheduledThreadPool(TRAFFIC_THREADS,
+      new DefaultThreadFactory("loadtest-traffic", true));
+    long periodNanos = TimeUnit.SECONDS.toNanos(1) / configuration.getPacketsPerSecond();
+
+    for (SimulatedWrapper wrapper : wrappers) {
+      executor.scheduleAtFixedRate(() -> {
+        try {
+          wrapper.sendTraffic();
+        } catch (Throwable throwable) {
+          throwable.printStackTrace(out);
+        }
+      }, ThreadLocalRandom.current().nextLong(periodNanos), periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    executor.scheduleAtFixedRate(() -> {
+      long start = System.nanoTime();
+      cloudNet.runTask(() -> statistics.recordMainThreadWait(System.nanoTime() - start));
+    }, 0, MAIN_THREAD_PROBE_MILLIS, TimeUnit.MILLISECONDS);
+
+    long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(configuration.getQueryTimeoutMillis());
+    long reportMillis = TimeUnit.SECONDS.toMillis(configuration.getReportIntervalSeconds());
+    executor.scheduleAtFixedRate(() -> {
+      int pendingQueries = 0;
+      for (SimulatedWrapper wrapper : wrappers) {
+        wrapper.expireQueries(timeoutNanos);
+        pendingQueries += wrapper.getPendingQueries();
+      }
+
+      statistics.printInterval(out, pendingQueries);
+    }, reportMillis, reportMillis, TimeUnit.MILLISECONDS);
+
+    TimeUnit.SECONDS.sleep(configuration.getDurationSeconds());
+    executor.shutdownNow();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    JsonDocument summary = statistics.printSummary(out);
+    Path resultsPath = Paths.get("loadtest-results.json");
+    summary.append("configuration", configuration.toString()).write(resultsPath);
+    out.println("Wrote the results to " + resultsPath.toAbsolutePath());
+
+    networkClient.close();
+  }
+
+  private static List<SimulatedCloudService> createServices(CloudNet cloudNet, LoadTestConfiguration configuration,
+    PrintStream out) throws Exception {
+    cloudNet.getCloudServiceManager().addCloudServiceFactory(
+      new DefaultCloudServiceFactory(SimulatedCloudService.RUNTIME, SimulatedCloudService::new));
+
+    List<ITask<ICloudService>> tasks = new ArrayList<>(configuration.getWrappers());
+    for (int i = 1; i <= configuration.getWrappers(); i++) {
+      ITask<ICloudService> task = cloudNet.getCloudServiceManager().createCloudService(ServiceConfiguration.builder()
+        .task(TASK_NAME)
+        .taskId(i)
+        .groups(TASK_NAME)
+        .environment(ServiceEnvironmentType.BUNGEECORD)
+        .node(cloudNet.getComponentName())
+        .runtime(SimulatedCloudService.RUNTIME)
+        .autoDeleteOnStop()
+        .maxHeapMemory(1)
+        .startPort(40000)
+        .build());
+      tasks.add(task.onFailure(throwable -> throwable.printStackTrace(out)));
+    }
+
+    List<SimulatedCloudService> services = new ArrayList<>(tasks.size());
+    for (ITask<ICloudService> task : tasks) {
+      ICloudService service = task.get(30, TimeUnit.SECONDS);
+      if (service instanceof SimulatedCloudService) {
+        service.start();
+        services.add((SimulatedCloudService) service);
+      }
+    }
+
+    return services;
+  }
+}
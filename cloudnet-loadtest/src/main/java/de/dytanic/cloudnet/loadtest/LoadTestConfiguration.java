@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.common.Properties;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The options of a load test run, parsed from the command line arguments like {@code --wrappers=200 --duration=60}:
+ * <ul>
+ *   <li>{@code wrappers} the amount of simulated wrappers, 200 by default</li>
+ *   <li>{@code rate} the packets each wrapper sends per second, 10 by default</li>
+ *   <li>{@code duration} the duration of the run in seconds, 60 by default</li>
+ *   <li>{@code report} the report interval in seconds, 5 by default</li>
+ *   <li>{@code players} the players each wrapper keeps logged in at most, 50 by default</li>
+ *   <li>{@code queryTimeout} the milliseconds after which a query counts as timed out, 30000 by default</li>
+ *   <li>{@code host}, {@code port} and {@code httpPort} the listeners of the node, 127.0.0.1, 1410 and 2812 by
+ *   default</li>
+ *   <li>{@code mix} the weights of the {@link TrafficType}s, like {@code serviceInfo:10,database:90}</li>
+ * </ul>
+ */
+final class LoadTestConfiguration {
+
+  private static final String DEFAULT_MIX = "serviceInfo:10,channelMessage:30,driverApi:25,database:25,player:10";
+
+  private final int wrappers;
+  private final int packetsPerSecond;
+  private final int durationSeconds;
+  private final int reportIntervalSeconds;
+  private final int maxPlayersPerWrapper;
+  private final long queryTimeoutMillis;
+  private final HostAndPort listener;
+  private final HostAndPort httpListener;
+  private final Map<TrafficType, Integer> mix;
+  private final int totalWeight;
+
+  private LoadTestConfiguration(int wrappers, int packetsPerSecond, int durationSeconds, int reportIntervalSeconds,
+    int maxPlayersPerWrapper, long queryTimeoutMillis, HostAndPort listener, HostAndPort httpListener,
+    Map<TrafficType, Integer> mix) {
+    this.wrappers = wrappers;
+    this.packetsPerSecond = packetsPerSecond;
+    this.durationSeconds = durationSeconds;
+    this.reportIntervalSeconds = reportIntervalSeconds;
+    this.maxPlayersPerWrapper = maxPlayersPerWrapper;
+    this.queryTimeoutMillis = queryTimeoutMillis;
+    this.listener = listener;
+    this.httpListener = httpListener;
+    this.mix = mix;
+    this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  static LoadTestConfiguration fromArguments(String[] args) {
+    Properties properties = Properties.parseLine(args);
+
+    int wrappers = getInt(properties, "wrappers", 200);
+    int packetsPerSecond = getInt(properties, "rate", 10);
+    int durationSeconds = getInt(properties, "duration", 60);
+    int reportIntervalSeconds = getInt(properties, "report", 5);
+    int maxPlayers = getInt(properties, "players", 50);
+    long queryTimeoutMillis = getInt(properties, "queryTimeout", 30_000);
+
+    Preconditions.checkArgument(wrappers > 0, "At least one wrapper is required");
+    Preconditions.checkArgument(packetsPerSecond > 0, "The rate has to be positive");
+    Preconditions.checkArgument(durationSeconds > 0, "The duration has to be positive");
+    Preconditions.checkArgument(reportIntervalSeconds > 0, "The report interval has to be positive");
+
+    String host = properties.getOrDefault("host", "127.0.0.1");
+    HostAndPort listener = new HostAndPort(host, getInt(properties, "port", 1410));
+    HostAndPort httpListener = new HostAndPort(host, getInt(properties, "httpPort", 2812));
+
+    Map<TrafficType, Integer> mix = new EnumMap<>(TrafficType.class);
+    for (String entry : properties.getOrDefault("mix", DEFAULT_MIX).split(",")) {
+      String[] parts = entry.split(":");
+      Preconditions.checkArgument(parts.length == 2, "Invalid traffic mix entry %s, expected <type>:<weight>", entry);
+
+      int weight = Integer.parseInt(parts[1].trim());
+      Preconditions.checkArgument(weight >= 0, "The weight of %s has to be positive", parts[0]);
+      mix.put(TrafficType.fromKey(parts[0].trim()), weight);
+    }
+    Preconditions.checkArgument(mix.values().stream().anyMatch(weight -> weight > 0), "The traffic mix is empty");
+
+    return new LoadTestConfiguration(wrappers, packetsPerSecond, durationSeconds, reportIntervalSeconds, maxPlayers,
+      queryTimeoutMillis, listener, httpListener, mix);
+  }
+
+  private static int getInt(Properties properties, String key, int def) {
+    String value = properties.get(key);
+    return value == null ? def : Integer.parseInt(value);
+  }
+
+  TrafficType nextTrafficType() {
+    int value = ThreadLocalRandom.current().nextInt(this.totalWeight);
+    for (Map.Entry<TrafficType, Integer> entry : this.mix.entrySet()) {
+      value -= entry.getValue();
+      if (value < 0) {
+        return entry.getKey();
+      }
+    }
+
+    throw new IllegalStateException("The traffic mix has no positive weight");
+  }
+
+  int getWrappers() {
+    return this.wrappers;
+  }
+
+  int getPacketsPerSecond() {
+    return this.packetsPerSecond;
+  }
+
+  int getDurationSeconds() {
+    return this.durationSeconds;
+  }
+
+  int getReportIntervalSeconds() {
+    return this.reportIntervalSeconds;
+  }
+
+  int getMaxPlayersPerWrapper() {
+    return this.maxPlayersPerWrapper;
+  }
+
+  long getQueryTimeoutMillis() {
+    return this.queryTimeoutMillis;
+  }
+
+  HostAndPort getListener() {
+    return this.listener;
+  }
+
+  HostAndPort getHttpListener() {
+    return this.httpListener;
+  }
+
+  @Override
+  public String toString() {
+    return this.wrappers + " wrappers, " + this.packetsPerSecond + " packets/s per wrapper, " + this.durationSeconds
+      + "s, mix " + this.mix;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.Main;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.common.language.LanguageManager;
+import de.dytanic.cloudnet.common.logging.DefaultAsyncLogger;
+import de.dytanic.cloudnet.common.logging.DefaultFileLogHandler;
+import de.dytanic.cloudnet.common.logging.ILogger;
+import de.dytanic.cloudnet.common.logging.LogLevel;
+import de.dytanic.cloudnet.common.logging.LogOutputStream;
+import de.dytanic.cloudnet.console.IConsole;
+import de.dytanic.cloudnet.driver.event.EventListener;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.cluster.NetworkClusterNode;
+import de.dytanic.cloudnet.event.CloudNetNodePostInitializationEvent;
+import java.io.PrintStream;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Runs a node inside of the load test process. The node is configured without any setup questions, listens only on
+ * the given addresses and writes all of its output into the log files instead of the console.
+ */
+public final class LoadTestNode {
+
+  private final CountDownLatch initialized = new CountDownLatch(1);
+  private final HostAndPort listener;
+  private final HostAndPort httpListener;
+
+  private CloudNet cloudNet;
+  private volatile Exception startFailure;
+
+  LoadTestNode(@NotNull HostAndPort listener, @NotNull HostAndPort httpListener) {
+    this.listener = listener;
+    this.httpListener = httpListener;
+  }
+
+  CloudNet start(@NotNull IConsole console, long timeoutMillis) throws Exception {
+    LanguageManager.setLanguage(System.getProperty("cloudnet.messages.language", "english"));
+    LanguageManager
+      .addLanguageFile("english", Main.class.getClassLoader().getResourceAsStream("lang/english.properties"));
+
+    this.writeConfiguration();
+
+    ILogger logger = new DefaultAsyncLogger();
+    logger.addLogHandler(new DefaultFileLogHandler(Paths.get("local", "logs"), "cloudnet.%d.log",
+      DefaultFileLogHandler.SIZE_8MB).setEnableErrorLog(true));
+
+    System.setOut(new PrintStream(new LogOutputStream(logger, LogLevel.INFO), true, StandardCharsets.UTF_8.name()));
+    System.setErr(new PrintStream(new LogOutputStream(logger, LogLevel.ERROR), true, StandardCharsets.UTF_8.name()));
+
+    // the constructor is only visible for the Main class of the node, the load test can't be in the package of the
+    // node as the package would be defined without the manifest of the node then
+    Constructor<CloudNet> constructor = CloudNet.class
+      .getDeclaredConstructor(List.class, ILogger.class, IConsole.class);
+    constructor.setAccessible(true);
+
+    this.cloudNet = constructor.newInstance(Collections.emptyList(), logger, console);
+    this.cloudNet.getEventManager().registerListener(this);
+
+    // the node runs its main loop in the start method, CloudNet#isMainThread depends on the name of the thread
+    Thread thread = new Thread(() -> {
+      try {
+        this.cloudNet.start();
+      } catch (Exception exception) {
+        exception.printStackTrace();
+        this.startFailure = exception;
+        this.initialized.countDown();
+        this.cloudNet.stop();
+      }
+    }, "Application-Thread");
+    thread.setDaemon(true);
+    thread.start();
+
+    if (!this.initialized.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+      throw new TimeoutException("The node did not start within " + timeoutMillis + "ms, see local/logs");
+    }
+
+    if (this.startFailure != null) {
+      throw new IllegalStateException("The node failed to start, see local/logs", this.startFailure);
+    }
+
+    return this.cloudNet;
+  }
+
+  void stop() {
+    if (this.cloudNet != null) {
+      this.cloudNet.stop();
+    }
+  }
+
+  @EventListener
+  public void handle(CloudNetNodePostInitializationEvent event) {
+    this.initialized.countDown();
+  }
+
+  private void writeConfiguration() {
+    // an existing tasks directory prevents the node from asking for the default tasks
+    FileUtils.createDirectoryReported(
+      Paths.get(System.getProperty("cloudnet.config.tasks.directory.path", "local/tasks")));
+
+    Path configPath = Paths.get(System.getProperty("cloudnet.config.json.path", "config.json"));
+    JsonDocument.newDocument(configPath)
+      .append("identity", new NetworkClusterNode("LoadTest", new HostAndPort[]{this.listener}))
+      .append("ipWhitelist", Collections.singleton(this.listener.getHost()))
+      .append("maxMemory", Integer.MAX_VALUE)
+      .append("maxCPUUsageToStartServices", 100D)
+      .append("parallelServiceStartSequence", true)
+      .append("hostAddress", this.listener.getHost())
+      .append("httpListeners", Collections.singletonList(this.httpListener))
+      .write(configPath);
+  }
+}
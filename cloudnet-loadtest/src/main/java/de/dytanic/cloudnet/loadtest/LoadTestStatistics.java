@@ -0,0 +1,188 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.common.unsafe.CPUUsageResolver;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the traffic of all simulated wrappers and prints it once per report interval and as a summary of the whole
+ * run. The cpu and heap usage are the ones of the whole process, which contains the node and the simulated wrappers.
+ * <p>
+ * The main thread wait is the time until a task scheduled on the main thread of the node is executed, the main thread
+ * runs its tasks once per tick, so values above one tick (100ms) mean that the node falls behind.
+ */
+final class LoadTestStatistics {
+
+  private final Map<TrafficType, TrafficStatistics> traffic = new EnumMap<>(TrafficType.class);
+  private final LongAdder receivedPackets = new LongAdder();
+  private final LatencyHistogram mainThreadWait = new LatencyHistogram();
+  private final LatencyHistogram totalMainThreadWait = new LatencyHistogram();
+
+  private final long startNanos = System.nanoTime();
+  private long lastReportNanos = this.startNanos;
+  private long lastReceivedPackets;
+  private double maxProcessCpuUsage;
+  private long maxUsedHeap;
+
+  LoadTestStatistics() {
+    for (TrafficType type : TrafficType.values()) {
+      this.traffic.put(type, new TrafficStatistics());
+    }
+  }
+
+  void recordSent(TrafficType type) {
+    this.traffic.get(type).sent.increment();
+  }
+
+  void recordResponse(TrafficType type, long latencyNanos) {
+    TrafficStatistics statistics = this.traffic.get(type);
+    statistics.responses.increment();
+    statistics.intervalLatency.record(latencyNanos / 1000);
+    statistics.totalLatency.record(latencyNanos / 1000);
+  }
+
+  void recordTimeout(TrafficType type) {
+    this.traffic.get(type).timeouts.increment();
+  }
+
+  void recordReceived() {
+    this.receivedPackets.increment();
+  }
+
+  void recordMainThreadWait(long latencyNanos) {
+    this.mainThreadWait.record(latencyNanos / 1000);
+    this.totalMainThreadWait.record(latencyNanos / 1000);
+  }
+
+  synchronized void printInterval(PrintStream out, int pendingQueries) {
+    long now = System.nanoTime();
+    double seconds = (now - this.lastReportNanos) / 1e9;
+    this.lastReportNanos = now;
+
+    double cpuUsage = CPUUsageResolver.getProcessCPUUsage();
+    MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+    this.maxProcessCpuUsage = Math.max(this.maxProcessCpuUsage, cpuUsage);
+    this.maxUsedHeap = Math.max(this.maxUsedHeap, heap.getUsed());
+
+    long received = this.receivedPackets.sum();
+    LatencyHistogram mainThread = this.mainThreadWait.drain();
+
+    out.printf("[%6.1fs] received %8.0f/s | pending %5d | cpu %5.1f%% | heap %5d/%5d MB"
+        + " | main thread wait p50 %s p99 %s%n",
+      (now - this.startNanos) / 1e9, (received - this.lastReceivedPackets) / seconds, pendingQueries, cpuUsage,
+      heap.getUsed() >> 20, heap.getMax() >> 20,
+      formatMicros(mainThread.getPercentile(50)), formatMicros(mainThread.getPercentile(99)));
+    this.lastReceivedPackets = received;
+
+    for (Map.Entry<TrafficType, TrafficStatistics> entry : this.traffic.entrySet()) {
+      TrafficStatistics statistics = entry.getValue();
+      long sent = statistics.sent.sum();
+      LatencyHistogram latency = statistics.intervalLatency.drain();
+
+      if (sent == 0) {
+        continue;
+      }
+
+      out.printf("    %-15s sent %8.0f/s", entry.getKey().getKey(), (sent - statistics.lastSent) / seconds);
+      if (entry.getKey().isQuery()) {
+        out.printf(" | answered %8.0f/s | p50 %s p99 %s | timeouts %d", latency.getCount() / seconds,
+          formatMicros(latency.getPercentile(50)), formatMicros(latency.getPercentile(99)), statistics.timeouts.sum());
+      }
+      out.println();
+
+      statistics.lastSent = sent;
+    }
+  }
+
+  synchronized JsonDocument printSummary(PrintStream out) {
+    double seconds = (System.nanoTime() - this.startNanos) / 1e9;
+    JsonDocument summary = JsonDocument.newDocument()
+      .append("durationSeconds", seconds)
+      .append("receivedPacketsPerSecond", this.receivedPackets.sum() / seconds)
+      .append("maxProcessCpuUsage", this.maxProcessCpuUsage)
+      .append("maxUsedHeapBytes", this.maxUsedHeap)
+      .append("mainThreadWaitMicros", this.toDocument(this.totalMainThreadWait));
+
+    out.printf("Summary after %.1fs: received %.0f packets/s, max cpu %.1f%%, max heap %d MB"
+        + ", main thread wait p50 %s p99 %s%n",
+      seconds, this.receivedPackets.sum() / seconds, this.maxProcessCpuUsage, this.maxUsedHeap >> 20,
+      formatMicros(this.totalMainThreadWait.getPercentile(50)),
+      formatMicros(this.totalMainThreadWait.getPercentile(99)));
+
+    JsonDocument traffic = JsonDocument.newDocument();
+    for (Map.Entry<TrafficType, TrafficStatistics> entry : this.traffic.entrySet()) {
+      TrafficStatistics statistics = entry.getValue();
+      long sent = statistics.sent.sum();
+
+      JsonDocument document = JsonDocument.newDocument().append("sentPerSecond", sent / seconds);
+      traffic.append(entry.getKey().getKey(), document);
+
+      if (sent == 0) {
+        continue;
+      }
+
+      out.printf("    %-15s sent %8.0f/s", entry.getKey().getKey(), sent / seconds);
+
+      if (entry.getKey().isQuery()) {
+        LatencyHistogram latency = statistics.totalLatency;
+        document
+          .append("answeredPerSecond", statistics.responses.sum() / seconds)
+          .append("timeouts", statistics.timeouts.sum())
+          .append("latencyMicros", this.toDocument(latency));
+
+        out.printf(" | answered %8.0f/s | p50 %s p99 %s max %s | timeouts %d", statistics.responses.sum() / seconds,
+          formatMicros(latency.getPercentile(50)), formatMicros(latency.getPercentile(99)),
+          formatMicros(latency.getMax()), statistics.timeouts.sum());
+      }
+      out.println();
+    }
+
+    return summary.append("traffic", traffic);
+  }
+
+  private JsonDocument toDocument(LatencyHistogram histogram) {
+    return JsonDocument.newDocument()
+      .append("count", histogram.getCount())
+      .append("mean", histogram.getMean())
+      .append("p50", histogram.getPercentile(50))
+      .append("p99", histogram.getPercentile(99))
+      .append("max", histogram.getMax());
+  }
+
+  private static String formatMicros(long micros) {
+    return micros < 10_000 ? String.format("%.2fms", micros / 1000D) : String.format("%dms", micros / 1000);
+  }
+
+  private static final class TrafficStatistics {
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final LatencyHistogram totalLatency = new LatencyHistogram();
+
+    private long lastSent;
+  }
+}
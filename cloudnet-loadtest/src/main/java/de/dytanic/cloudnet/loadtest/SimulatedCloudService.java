@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.service.ICloudServiceManager;
+import de.dytanic.cloudnet.service.IServiceConsoleLogCache;
+import de.dytanic.cloudnet.service.defaults.DefaultServiceConsoleLogCache;
+import de.dytanic.cloudnet.service.defaults.DefaultTemplateCloudService;
+import de.dytanic.cloudnet.service.handler.DefaultCloudServiceHandler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A service of the node without a process, the wrapper of the service is simulated by a {@link SimulatedWrapper}
+ * which authorizes with the connection key of this service. Everything else, like the templates, the lifecycle and the
+ * service info snapshots, is handled like for a real service.
+ */
+final class SimulatedCloudService extends DefaultTemplateCloudService {
+
+  static final String RUNTIME = "loadtest";
+
+  private final IServiceConsoleLogCache serviceConsoleLogCache = new DefaultServiceConsoleLogCache(this);
+
+  SimulatedCloudService(ICloudServiceManager cloudServiceManager, ServiceConfiguration serviceConfiguration) {
+    super(RUNTIME, cloudServiceManager, serviceConfiguration, DefaultCloudServiceHandler.INSTANCE);
+  }
+
+  @Override
+  public void runCommand(@NotNull String commandLine) {
+  }
+
+  @Override
+  public void restart() throws Exception {
+    this.stop();
+    this.start();
+  }
+
+  @Override
+  protected int shutdownNow(boolean force) {
+    try {
+      this.lifeCycleLock.lock();
+      return this.stop0();
+    } finally {
+      this.lifeCycleLock.unlock();
+    }
+  }
+
+  private int stop0() {
+    if (this.lifeCycle != ServiceLifeCycle.RUNNING || !super.preStop()) {
+      return -1;
+    }
+
+    if (this.getNetworkChannel() != null) {
+      try {
+        this.getNetworkChannel().close();
+      } catch (Exception exception) {
+        exception.printStackTrace();
+      }
+    }
+
+    super.postStop(0);
+    return 0;
+  }
+
+  @Override
+  public void delete(boolean sendUpdate) {
+    try {
+      this.lifeCycleLock.lock();
+
+      if (this.lifeCycle != ServiceLifeCycle.DELETED) {
+        this.stop0();
+        super.deleteFiles(sendUpdate);
+      }
+    } finally {
+      this.lifeCycleLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isAlive() {
+    return this.lifeCycle == ServiceLifeCycle.DEFINED || this.lifeCycle == ServiceLifeCycle.PREPARED
+      || this.lifeCycle == ServiceLifeCycle.RUNNING;
+  }
+
+  @Override
+  protected void writeConfiguration() {
+    // the simulated wrapper gets the connection key directly from this service
+  }
+
+  @Override
+  protected void startProcess() {
+  }
+
+  @Override
+  public @NotNull IServiceConsoleLogCache getServiceConsoleLogCache() {
+    return this.serviceConsoleLogCache;
+  }
+
+  @Override
+  public Process getProcess() {
+    return null;
+  }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.DriverEnvironment;
+import de.dytanic.cloudnet.driver.api.DriverAPIRequestType;
+import de.dytanic.cloudnet.driver.api.RemoteDatabaseRequestType;
+import de.dytanic.cloudnet.driver.channel.ChannelMessage;
+import de.dytanic.cloudnet.driver.channel.ChannelMessageSender;
+import de.dytanic.cloudnet.driver.network.HostAndPort;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.INetworkChannelHandler;
+import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientAuthorization;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientDriverAPI;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerChannelMessage;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.ext.bridge.BridgeConstants;
+import de.dytanic.cloudnet.ext.bridge.player.NetworkConnectionInfo;
+import de.dytanic.cloudnet.ext.bridge.player.NetworkServiceInfo;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * The network side of a wrapper for a {@link SimulatedCloudService}. It authorizes like a real wrapper and sends the
+ * packets a real wrapper would send for the chosen kind of traffic.
+ * <p>
+ * The node runs in the same process and completes all queries registered in the static query map of the driver with
+ * the request itself, so the responses are matched with the queries of this wrapper here.
+ */
+final class SimulatedWrapper implements INetworkChannelHandler {
+
+  private static final String DATABASE_NAME = "loadtest_players";
+  private static final ProcessSnapshot PROCESS_SNAPSHOT = ProcessSnapshot.self();
+  private static final DriverAPIRequestType[] DRIVER_API_REQUESTS = {
+    DriverAPIRequestType.GET_CLOUD_SERVICES_BY_SERVICE_TASK,
+    DriverAPIRequestType.GET_SERVICES_COUNT,
+    DriverAPIRequestType.GET_CLOUD_SERVICES,
+    DriverAPIRequestType.GET_NODE_INFO_SNAPSHOTS
+  };
+  private static final RemoteDatabaseRequestType[] DATABASE_REQUESTS = {
+    RemoteDatabaseRequestType.DATABASE_GET_BY_KEY,
+    RemoteDatabaseRequestType.DATABASE_CONTAINS,
+    RemoteDatabaseRequestType.DATABASE_INSERT,
+    RemoteDatabaseRequestType.DATABASE_UPDATE
+  };
+
+  private final Map<UUID, PendingQuery> pendingQueries = new ConcurrentHashMap<>();
+  private final Deque<NetworkConnectionInfo> onlinePlayers = new ConcurrentLinkedDeque<>();
+  private final CountDownLatch authorization = new CountDownLatch(1);
+
+  private final SimulatedCloudService service;
+  private final List<SimulatedCloudService> services;
+  private final LoadTestConfiguration configuration;
+  private final LoadTestStatistics statistics;
+  private final ChannelMessageSender sender;
+  private final NetworkServiceInfo networkServiceInfo;
+
+  private volatile INetworkChannel channel;
+  private volatile boolean authorized;
+
+  SimulatedWrapper(SimulatedCloudService service, List<SimulatedCloudService> services,
+    LoadTestConfiguration configuration, LoadTestStatistics statistics) {
+    this.service = service;
+    this.services = services;
+    this.configuration = configuration;
+    this.statistics = statistics;
+    this.sender = new ChannelMessageSender(service.getServiceId().getName(), DriverEnvironment.WRAPPER);
+    this.networkServiceInfo = new NetworkServiceInfo(service.getServiceId(),
+      service.getServiceConfiguration().getGroups());
+  }
+
+  @Override
+  public void handleChannelInitialize(INetworkChannel channel) {
+    this.channel = channel;
+    channel.setAcceptingBinaryHeaders(true);
+    channel.sendPacket(new PacketClientAuthorization(
+      PacketClientAuthorization.PacketAuthorizationType.WRAPPER_TO_NODE,
+      JsonDocument.newDocument()
+        .append("connectionKey", this.service.getConnectionKey())
+        .append("serviceId", this.service.getServiceId())
+    ));
+  }
+
+  @Override
+  public boolean handlePacketReceive(INetworkChannel channel, Packet packet) {
+    this.statistics.recordReceived();
+
+    if (packet.getChannel() == PacketConstants.INTERNAL_AUTHORIZATION_CHANNEL
+      && packet.getHeader().contains("access")) {
+      if (packet.getHeader().getBoolean("access")) {
+        channel.setBinaryHeaders(packet.getHeader().getBoolean("binaryHeaders"));
+        channel.setCompression(packet.getHeader().getBoolean("compression"));
+        this.authorized = true;
+      }
+
+      this.authorization.countDown();
+    } else if (packet.getChannel() == -1) {
+      PendingQuery query = this.pendingQueries.remove(packet.getUniqueId());
+      if (query != null) {
+        this.statistics.recordResponse(query.type, System.nanoTime() - query.sendNanos);
+        if (query.responseHandler != null) {
+          query.responseHandler.accept(packet);
+        }
+      }
+    }
+
+    // everything else, like the service updates published by the node, is only counted
+    return false;
+  }
+
+  @Override
+  public void handleChannelClose(INetworkChannel channel) {
+    this.authorized = false;
+    this.authorization.countDown();
+  }
+
+  CountDownLatch getAuthorization() {
+    return this.authorization;
+  }
+
+  boolean isAuthorized() {
+    return this.authorized;
+  }
+
+  int getPendingQueries() {
+    return this.pendingQueries.size();
+  }
+
+  void expireQueries(long timeoutNanos) {
+    long now = System.nanoTime();
+    Iterator<PendingQuery> iterator = this.pendingQueries.values().iterator();
+
+    while (iterator.hasNext()) {
+      PendingQuery query = iterator.next();
+      if (now - query.sendNanos > timeoutNanos) {
+        iterator.remove();
+        this.statistics.recordTimeout(query.type);
+      }
+    }
+  }
+
+  void sendTraffic() {
+    if (!this.authorized) {
+      return;
+    }
+
+    TrafficType type = this.configuration.nextTrafficType();
+    switch (type) {
+      case SERVICE_INFO_UPDATE:
+        this.sendServiceInfoUpdate();
+        break;
+      case CHANNEL_MESSAGE:
+        this.sendChannelMessage();
+        break;
+      case DRIVER_API:
+        this.sendDriverApiQuery();
+        break;
+      case DATABASE:
+        this.sendDatabaseRequest();
+        break;
+      case PLAYER:
+        this.sendPlayerTraffic();
+        break;
+      default:
+        throw new IllegalStateException("Unhandled traffic type " + type);
+    }
+  }
+
+  private void sendServiceInfoUpdate() {
+    ServiceInfoSnapshot current = this.service.getServiceInfoSnapshot();
+    ServiceInfoSnapshot snapshot = new ServiceInfoSnapshot(
+      current.getCreationTime(),
+      current.getAddress(),
+      current.getConnectAddress(),
+      current.getConnectedTime(),
+      ServiceLifeCycle.RUNNING,
+      PROCESS_SNAPSHOT,
+      JsonDocument.newDocument()
+        .append("Online", true)
+        .append("Motd", "A load test service")
+        .append("Version", "LoadTest")
+        .append("Online-Count", this.onlinePlayers.size())
+        .append("Max-Players", this.configuration.getMaxPlayersPerWrapper()),
+      current.getConfiguration()
+    );
+
+    this.send(TrafficType.SERVICE_INFO_UPDATE, new ServiceInfoUpdatePacket(snapshot));
+  }
+
+  private void sendChannelMessage() {
+    SimulatedCloudService target = this.services.get(ThreadLocalRandom.current().nextInt(this.services.size()));
+    ChannelMessage message = ChannelMessage.builder(this.sender)
+      .channel("loadtest")
+      .message("ping")
+      .json(JsonDocument.newDocument("time", System.currentTimeMillis()))
+      .targetService(target.getServiceId().getName())
+      .build();
+
+    this.send(TrafficType.CHANNEL_MESSAGE, new PacketClientServerChannelMessage(message, false));
+  }
+
+  private void sendDriverApiQuery() {
+    DriverAPIRequestType type = DRIVER_API_REQUESTS[ThreadLocalRandom.current().nextInt(DRIVER_API_REQUESTS.length)];
+    this.sendQuery(TrafficType.DRIVER_API, new PacketClientDriverAPI(type, buffer -> {
+      if (type == DriverAPIRequestType.GET_CLOUD_SERVICES_BY_SERVICE_TASK) {
+        buffer.writeString(this.service.getServiceId().getTaskName());
+      }
+    }), null);
+  }
+
+  private void sendDatabaseRequest() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    RemoteDatabaseRequestType type = DATABASE_REQUESTS[random.nextInt(DATABASE_REQUESTS.length)];
+    String key = this.service.getServiceId().getName() + "-" + random.nextInt(100);
+
+    ProtocolBuffer buffer = ProtocolBuffer.create()
+      .writeEnumConstant(type)
+      .writeString(DATABASE_NAME)
+      .writeString(key);
+    if (type == RemoteDatabaseRequestType.DATABASE_INSERT || type == RemoteDatabaseRequestType.DATABASE_UPDATE) {
+      buffer.writeJsonDocument(JsonDocument.newDocument()
+        .append("name", key)
+        .append("coins", random.nextInt(100_000))
+        .append("lastLogin", System.currentTimeMillis())
+        .append("service", this.service.getServiceId().getName()));
+    }
+
+    this.sendQuery(TrafficType.DATABASE, new Packet(PacketConstants.INTERNAL_DATABASE_API_CHANNEL, buffer), null);
+  }
+
+  private void sendPlayerTraffic() {
+    boolean full = this.onlinePlayers.size() >= this.configuration.getMaxPlayersPerWrapper();
+    if (full || (!this.onlinePlayers.isEmpty() && ThreadLocalRandom.current().nextBoolean())) {
+      NetworkConnectionInfo player = this.onlinePlayers.pollFirst();
+      if (player != null) {
+        this.send(TrafficType.PLAYER, new PacketClientServerChannelMessage(
+          this.playerMessage(BridgeConstants.BRIDGE_EVENT_CHANNEL_MESSAGE_NAME_PROXY_DISCONNECT, player), false));
+      }
+      return;
+    }
+
+    UUID uniqueId = UUID.randomUUID();
+    NetworkConnectionInfo player = new NetworkConnectionInfo(
+      uniqueId,
+      "LoadTest_" + uniqueId.toString().substring(0, 6),
+      754,
+      new HostAndPort("127.0.0.1", ThreadLocalRandom.current().nextInt(1024, 65535)),
+      new HostAndPort("127.0.0.1", 25565),
+      true,
+      false,
+      this.networkServiceInfo
+    );
+
+    ChannelMessage loginRequest = ChannelMessage.builder(this.sender)
+      .channel(BridgeConstants.BRIDGE_CUSTOM_CHANNEL_MESSAGING_CHANNEL)
+      .message(BridgeConstants.BRIDGE_EVENT_CHANNEL_MESSAGE_NAME_PROXY_LOGIN_REQUEST)
+      .buffer(ProtocolBuffer.create().writeObject(player))
+      .targetNode(this.service.getServiceId().getNodeUniqueId())
+      .build();
+
+    this.sendQuery(TrafficType.PLAYER, new PacketClientServerChannelMessage(loginRequest, true), response -> {
+      if (this.authorized) {
+        this.onlinePlayers.addLast(player);
+        this.send(TrafficType.PLAYER, new PacketClientServerChannelMessage(
+          this.playerMessage(BridgeConstants.BRIDGE_EVENT_CHANNEL_MESSAGE_NAME_PROXY_LOGIN_SUCCESS, player), false));
+      }
+    });
+  }
+
+  private ChannelMessage playerMessage(String message, NetworkConnectionInfo player) {
+    return ChannelMessage.builder(this.sender)
+      .channel(BridgeConstants.BRIDGE_CUSTOM_CHANNEL_MESSAGING_CHANNEL)
+      .message(message)
+      .buffer(ProtocolBuffer.create().writeObject(player))
+      .targetAll()
+      .build();
+  }
+
+  private void send(TrafficType type, IPacket packet) {
+    this.statistics.recordSent(type);
+    this.channel.sendPacket(packet);
+  }
+
+  private void sendQuery(TrafficType type, IPacket packet, Consumer<IPacket> responseHandler) {
+    this.pendingQueries.put(packet.getUniqueId(), new PendingQuery(type, System.nanoTime(), responseHandler));
+    this.send(type, packet);
+  }
+
+  /**
+   * The same packet as the one of the wrapper, which isn't on the classpath of the load test.
+   */
+  private static final class ServiceInfoUpdatePacket extends Packet {
+
+    private ServiceInfoUpdatePacket(ServiceInfoSnapshot serviceInfoSnapshot) {
+      super(PacketConstants.INTERNAL_WRAPPER_TO_NODE_INFO_CHANNEL,
+        ProtocolBuffer.createPooled(2048).writeObject(serviceInfoSnapshot));
+    }
+
+    @Override
+    public PacketWritePolicy getWritePolicy() {
+      return PacketWritePolicy.LATEST_VALUE_WINS;
+    }
+  }
+
+  private static final class PendingQuery {
+
+    private final TrafficType type;
+    private final long sendNanos;
+    private final Consumer<IPacket> responseHandler;
+
+    private PendingQuery(TrafficType type, long sendNanos, Consumer<IPacket> responseHandler) {
+      this.type = type;
+      this.sendNanos = sendNanos;
+      this.responseHandler = responseHandler;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.loadtest;
+
+/**
+ * The kinds of traffic a simulated wrapper sends to the node. Each kind is chosen with the weight configured in the
+ * traffic mix, the latency is recorded for the kinds which are answered by the node.
+ */
+enum TrafficType {
+
+  /**
+   * An update of the service info snapshot of the service, which the node publishes to all other services.
+   */
+  SERVICE_INFO_UPDATE("serviceInfo", false),
+  /**
+   * A channel message to another service, routed through the node.
+   */
+  CHANNEL_MESSAGE("channelMessage", false),
+  /**
+   * A query of the driver api, like the services of a task or the count of all services.
+   */
+  DRIVER_API("driverApi", true),
+  /**
+   * A read or a write of a document in a database of the node.
+   */
+  DATABASE("database", true),
+  /**
+   * The login request, login and disconnect messages of the bridge for a player joining or leaving a proxy, the latency
+   * is the one of the login request.
+   */
+  PLAYER("player", true);
+
+  private final String key;
+  private final boolean query;
+
+  TrafficType(String key, boolean query) {
+    this.key = key;
+    this.query = query;
+  }
+
+  static TrafficType fromKey(String key) {
+    for (TrafficType type : values()) {
+      if (type.key.equalsIgnoreCase(key)) {
+        return type;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown traffic type " + key);
+  }
+
+  String getKey() {
+    return this.key;
+  }
+
+  boolean isQuery() {
+    return this.query;
+  }
+}
@@ -162,7 +162,7 @@ protected String replaceServiceInfo(@NotNull String input, @Nullable String grou
     input = input.replace("%port%", String.valueOf(serviceInfoSnapshot.getConfiguration().getPort()));
     input = input.replace("%cpu_usage%",
       CPUUsageResolver.CPU_USAGE_OUTPUT_FORMAT.format(serviceInfoSnapshot.getProcessSnapshot().getCpuUsage()));
-    input = input.replace("%threads%", String.valueOf(serviceInfoSnapshot.getProcessSnapshot().getThreads().size()));
+    input = input.replace("%threads%", String.valueOf(serviceInfoSnapshot.getProcessSnapshot().getThreadCount()));
 
     input = input.replace("%online%",
       (serviceInfoSnapshot.getProperties().contains("Online") && serviceInfoSnapshot.getProperties()
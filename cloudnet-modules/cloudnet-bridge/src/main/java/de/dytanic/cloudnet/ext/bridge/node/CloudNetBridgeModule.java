@@ -87,6 +87,9 @@ public void writeConfiguration(BridgeConfiguration bridgeConfiguration) {
 
   @ModuleTask(order = 36, event = ModuleLifeCycle.STARTED)
   public void initNodePlayerManager() {
+    // the offline players are looked up by their names
+    this.nodePlayerManager.getDatabase().createIndex("name");
+
     super.getCloudNet().getServicesRegistry()
       .registerService(IPlayerManager.class, "NodePlayerManager", this.nodePlayerManager);
 
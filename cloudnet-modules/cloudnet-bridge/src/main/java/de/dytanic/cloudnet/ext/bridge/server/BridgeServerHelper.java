@@ -89,6 +89,8 @@ public static void changeToIngame() {
   public static void changeToIngame(boolean autoStartService) {
     BridgeServerHelper.state = "INGAME";
     BridgeHelper.updateServiceInfo();
+    // the ingame state must not wait for the update interval
+    Wrapper.getInstance().flushServiceInfoUpdate();
 
     if (!autoStartService) {
       return;
@@ -39,7 +39,7 @@ public CloudflareStartAndStopListener(CloudFlareAPI cloudFlareAPI) {
     this.cloudFlareAPI = cloudFlareAPI;
   }
 
-  @EventListener
+  @EventListener(executor = "cloudflare")
   public void handle(CloudServicePostStartEvent event) {
     this.handle0(event.getCloudService(), (entry, configuration) -> {
       DnsRecordDetail recordDetail = this.cloudFlareAPI.createRecord(
@@ -59,7 +59,7 @@ public void handle(CloudServicePostStartEvent event) {
     });
   }
 
-  @EventListener
+  @EventListener(executor = "cloudflare")
   public void handle(CloudServicePostStopEvent event) {
     this.handle0(event.getCloudService(), (entry, configuration) -> {
       for (DnsRecordDetail detail : this.cloudFlareAPI.deleteAllRecords(event.getCloudService())) {
@@ -17,6 +17,9 @@
 package de.dytanic.cloudnet.ext.database.mysql;
 
 import de.dytanic.cloudnet.database.sql.SQLDatabase;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
 public final class MySQLDatabase extends SQLDatabase {
@@ -25,6 +28,26 @@ public MySQLDatabase(MySQLDatabaseProvider databaseProvider, String name, Execut
     super(databaseProvider, name, executorService);
   }
 
+  @Override
+  protected String createUpsertStatement(List<String> columns) {
+    StringBuilder updates = new StringBuilder();
+    for (String column : columns.subList(1, columns.size())) {
+      updates.append(updates.length() == 0 ? "" : ", ").append(column).append(" = VALUES(").append(column).append(')');
+    }
+
+    return String.format("INSERT INTO `%s` (%s) VALUES (%s) ON DUPLICATE KEY UPDATE %s", this.name,
+      String.join(", ", columns), createPlaceholders(columns.size()), updates);
+  }
+
+  @Override
+  protected Collection<String> createIndexStatements(String column) {
+    // mysql has no "ADD COLUMN IF NOT EXISTS", so the statement is only executed after the table was checked for the
+    // column. The column and the index are added in one statement, so there is never a column without its index
+    return Collections.singletonList(String.format(
+      "ALTER TABLE `%s` ADD COLUMN `%s` VARCHAR(%d), ADD INDEX `%s` (`%s`)",
+      this.name, column, INDEX_VALUE_LENGTH, column, column));
+  }
+
   @Override
   public boolean isSynced() {
     return true;
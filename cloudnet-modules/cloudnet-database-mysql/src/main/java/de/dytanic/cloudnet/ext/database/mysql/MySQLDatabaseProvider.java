@@ -57,7 +57,9 @@ public boolean init() {
     this.hikariDataSource.setJdbcUrl(
       "jdbc:mysql://" + endpoint.getAddress().getHost() + ":" + endpoint.getAddress().getPort() + "/" + endpoint
         .getDatabase() +
-        String.format("?useSSL=%b&trustServerCertificate=%b", endpoint.isUseSsl(), endpoint.isUseSsl())
+        String.format("?useSSL=%b&trustServerCertificate=%b", endpoint.isUseSsl(), endpoint.isUseSsl()) +
+        // sends the statements of a batch as one multi-row statement
+        "&rewriteBatchedStatements=true"
     );
 
     //base configuration
@@ -95,6 +97,7 @@ public boolean deleteDatabase(String name) {
     Preconditions.checkNotNull(name);
 
     this.cachedDatabaseInstances.remove(name);
+    this.cachedIndexColumns.remove(name);
 
     if (this.containsDatabase(name)) {
       try (Connection connection = this.getConnection();
@@ -159,7 +162,7 @@ public int executeUpdate(String query, Object... objects) {
       PreparedStatement preparedStatement = connection.prepareStatement(query)) {
       int i = 1;
       for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
+        preparedStatement.setString(i++, object == null ? null : object.toString());
       }
 
       return preparedStatement.executeUpdate();
@@ -180,7 +183,7 @@ public <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callbac
       PreparedStatement preparedStatement = connection.prepareStatement(query)) {
       int i = 1;
       for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
+        preparedStatement.setString(i++, object == null ? null : object.toString());
       }
 
       try (ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -194,4 +197,41 @@ public <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callbac
     return null;
   }
 
+  @Override
+  public boolean executeBatch(String query, Collection<Object[]> parameters) {
+    Preconditions.checkNotNull(query);
+    Preconditions.checkNotNull(parameters);
+
+    if (parameters.isEmpty()) {
+      return true;
+    }
+
+    try (Connection connection = this.getConnection();
+      PreparedStatement preparedStatement = connection.prepareStatement(query)) {
+      connection.setAutoCommit(false);
+      try {
+        for (Object[] objects : parameters) {
+          int i = 1;
+          for (Object object : objects) {
+            preparedStatement.setString(i++, object == null ? null : object.toString());
+          }
+          preparedStatement.addBatch();
+        }
+
+        preparedStatement.executeBatch();
+        connection.commit();
+        return true;
+      } catch (SQLException exception) {
+        connection.rollback();
+        throw exception;
+      } finally {
+        connection.setAutoCommit(true);
+      }
+    } catch (SQLException exception) {
+      exception.printStackTrace();
+    }
+
+    return false;
+  }
+
 }
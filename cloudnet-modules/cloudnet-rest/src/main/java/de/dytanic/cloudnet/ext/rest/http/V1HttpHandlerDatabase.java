@@ -28,6 +28,8 @@
 
 public final class V1HttpHandlerDatabase extends V1HttpHandler {
 
+  private static final int MAX_PAGE_SIZE = 1000;
+
   public V1HttpHandlerDatabase(String permission) {
     super(permission);
   }
@@ -59,6 +61,8 @@ public void handleGet(String path, IHttpContext context) {
             new JsonDocument().toJson()
         );
 
+    } else if (context.request().queryParameters().containsKey("pageSize")) {
+      this.sendPage(context, database);
     } else {
       Map<String, String> queryFilters = new HashMap<>();
 
@@ -75,6 +79,37 @@ public void handleGet(String path, IHttpContext context) {
     }
   }
 
+  private void sendPage(IHttpContext context, Database database) {
+    Map<String, List<String>> queryParameters = context.request().queryParameters();
+    context.closeAfter(true).cancelNext();
+
+    int pageSize;
+    try {
+      pageSize = Integer.parseInt(queryParameters.get("pageSize").get(0));
+    } catch (NumberFormatException exception) {
+      pageSize = -1;
+    }
+
+    if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE || queryParameters.keySet().stream()
+      .anyMatch(parameter -> !parameter.equals("pageSize") && !parameter.equals("cursor"))) {
+      context
+        .response()
+        .statusCode(HttpResponseCode.HTTP_BAD_REQUEST)
+        .body(new JsonDocument("reason", "The page size has to be between 1 and " + MAX_PAGE_SIZE
+          + " and can't be combined with filters").toJson());
+      return;
+    }
+
+    String cursor = queryParameters.containsKey("cursor") ? queryParameters.get("cursor").get(0) : null;
+
+    JsonDocument documents = new JsonDocument();
+    String nextCursor = database.iterate(cursor, pageSize, documents::append);
+
+    context
+      .response()
+      .body(new JsonDocument("documents", documents).append("cursor", nextCursor).toJson());
+  }
+
   @Override
   public void handlePost(String path, IHttpContext context) {
     Database database = this.getDatabaseProvider().getDatabase(context.request().pathParameters().get("name"));
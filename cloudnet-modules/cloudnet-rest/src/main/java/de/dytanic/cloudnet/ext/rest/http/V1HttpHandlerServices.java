@@ -20,7 +20,9 @@
 import de.dytanic.cloudnet.driver.network.http.HttpResponseCode;
 import de.dytanic.cloudnet.driver.network.http.IHttpContext;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
 import de.dytanic.cloudnet.http.V1HttpHandler;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.stream.Collectors;
 
@@ -134,6 +136,17 @@ public void handleGet(String path, IHttpContext context) {
             ;
           }
           break;
+          case "threads": {
+            Collection<ThreadSnapshot> threads = serviceInfoSnapshot.provider().getThreads();
+
+            context
+              .response()
+              .statusCode(threads == null ? HttpResponseCode.HTTP_NOT_FOUND : HttpResponseCode.HTTP_OK)
+              .header("Content-Type", "application/json")
+              .body(GSON.toJson(threads))
+            ;
+          }
+          break;
           default:
             break;
         }
@@ -34,6 +34,7 @@
 import de.dytanic.cloudnet.driver.network.def.packet.PacketServerSetGlobalLogLevel;
 import de.dytanic.cloudnet.driver.network.netty.client.NettyNetworkClient;
 import de.dytanic.cloudnet.driver.network.ssl.SSLConfiguration;
+import de.dytanic.cloudnet.driver.provider.service.GeneralCloudServiceProvider;
 import de.dytanic.cloudnet.driver.provider.service.RemoteCloudServiceFactory;
 import de.dytanic.cloudnet.driver.provider.service.RemoteSpecificCloudServiceProvider;
 import de.dytanic.cloudnet.driver.provider.service.SpecificCloudServiceProvider;
@@ -41,6 +42,7 @@
 import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
 import de.dytanic.cloudnet.driver.service.ServiceId;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotVersions;
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.driver.template.RemoteTemplateStorage;
@@ -53,8 +55,10 @@
 import de.dytanic.cloudnet.wrapper.event.ApplicationPreStartEvent;
 import de.dytanic.cloudnet.wrapper.event.service.ServiceInfoSnapshotConfigureEvent;
 import de.dytanic.cloudnet.wrapper.network.NetworkClientChannelHandler;
+import de.dytanic.cloudnet.wrapper.network.ServiceInfoUpdatePublisher;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerAuthorizationResponseListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerChannelMessageListener;
+import de.dytanic.cloudnet.wrapper.network.listener.PacketServerServiceInfoDeltaListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerServiceInfoPublisherListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerSetGlobalLogLevelListener;
 import de.dytanic.cloudnet.wrapper.network.listener.PacketServerUpdatePermissionsListener;
@@ -66,6 +70,7 @@
 import de.dytanic.cloudnet.wrapper.provider.WrapperNodeInfoProvider;
 import de.dytanic.cloudnet.wrapper.provider.WrapperServiceTaskProvider;
 import de.dytanic.cloudnet.wrapper.provider.service.WrapperGeneralCloudServiceProvider;
+import de.dytanic.cloudnet.wrapper.provider.service.WrapperServiceInfoSnapshotCache;
 import java.io.File;
 import java.lang.reflect.Method;
 import java.nio.file.Path;
@@ -90,6 +95,11 @@
  */
 public final class Wrapper extends CloudNetDriver implements DriverAPIUser {
 
+  /**
+   * The lifecycle of the snapshots created by {@link #createServiceInfoSnapshot()}
+   */
+  private static final ServiceLifeCycle CREATED_SNAPSHOT_LIFE_CYCLE = ServiceLifeCycle.RUNNING;
+
   /**
    * The configuration of the wrapper, which was created from the CloudNet node. The properties are mirrored from the
    * configuration file.
@@ -118,6 +128,23 @@ public final class Wrapper extends CloudNetDriver implements DriverAPIUser {
    * The single task thread of the scheduler of the wrapper application
    */
   private final Thread mainThread = Thread.currentThread();
+  /**
+   * The last received snapshots of all services, the base of the received service info deltas
+   */
+  private final ServiceInfoSnapshotVersions serviceInfoSnapshotVersions = new ServiceInfoSnapshotVersions();
+  /**
+   * The replicated snapshots of all services, used to answer the queries of the service provider
+   */
+  private final WrapperServiceInfoSnapshotCache serviceInfoSnapshotCache = new WrapperServiceInfoSnapshotCache();
+  /**
+   * The service provider which sends every query to the node
+   */
+  private final GeneralCloudServiceProvider remoteCloudServiceProvider = new WrapperGeneralCloudServiceProvider(this);
+  /**
+   * Coalesces the service info updates of this process
+   */
+  private final ServiceInfoUpdatePublisher serviceInfoUpdatePublisher = new ServiceInfoUpdatePublisher(this.scheduler,
+    this::sendServiceInfoUpdate, () -> CREATED_SNAPSHOT_LIFE_CYCLE);
   private IDatabaseProvider databaseProvider = new DefaultWrapperDatabaseProvider();
   /**
    * The ServiceInfoSnapshot instances. The current ServiceInfoSnapshot instance is the last send object snapshot from
@@ -131,7 +158,7 @@ public final class Wrapper extends CloudNetDriver implements DriverAPIUser {
     setInstance(this);
 
     super.cloudServiceFactory = new RemoteCloudServiceFactory(this::getNetworkChannel);
-    super.generalCloudServiceProvider = new WrapperGeneralCloudServiceProvider(this);
+    super.generalCloudServiceProvider = new WrapperGeneralCloudServiceProvider(this, this.serviceInfoSnapshotCache);
     super.serviceTaskProvider = new WrapperServiceTaskProvider(this);
     super.groupConfigurationProvider = new WrapperGroupConfigurationProvider(this);
     super.nodeInfoProvider = new WrapperNodeInfoProvider(this);
@@ -161,6 +188,8 @@ public final class Wrapper extends CloudNetDriver implements DriverAPIUser {
     //- Packet client registry
     this.networkClient.getPacketRegistry()
       .addListener(PacketConstants.SERVICE_INFO_PUBLISH_CHANNEL, new PacketServerServiceInfoPublisherListener());
+    this.networkClient.getPacketRegistry()
+      .addListener(PacketConstants.SERVICE_INFO_DELTA_CHANNEL, new PacketServerServiceInfoDeltaListener());
     this.networkClient.getPacketRegistry()
       .addListener(PacketConstants.PERMISSIONS_PUBLISH_CHANNEL, new PacketServerUpdatePermissionsListener());
     this.networkClient.getPacketRegistry()
@@ -212,6 +241,11 @@ public synchronized void start() throws Exception {
       throw new IllegalStateException("authorization response is: denied");
     }
 
+    if (WrapperServiceInfoSnapshotCache.ENABLED) {
+      this.serviceInfoSnapshotCache.beginLoad();
+      this.serviceInfoSnapshotCache.completeLoad(this.remoteCloudServiceProvider.getCloudServices());
+    }
+
     Runtime.getRuntime().addShutdownHook(new Thread(this::stop));
 
     if (!this.startApplication()) {
@@ -222,6 +256,7 @@ public synchronized void start() throws Exception {
   @Override
   public void stop() {
     try {
+      this.serviceInfoUpdatePublisher.publishPendingUpdate();
       this.networkClient.close();
       this.logger.close();
     } catch (Exception exception) {
@@ -358,7 +393,7 @@ public ServiceInfoSnapshot createServiceInfoSnapshot() {
       this.currentServiceInfoSnapshot.getAddress(),
       this.currentServiceInfoSnapshot.getConnectAddress(),
       this.networkClient.getConnectedTime(),
-      ServiceLifeCycle.RUNNING,
+      CREATED_SNAPSHOT_LIFE_CYCLE,
       ProcessSnapshot.self(),
       this.currentServiceInfoSnapshot.getProperties(),
       this.getServiceConfiguration()
@@ -382,19 +417,40 @@ private void configureServiceInfoSnapshot(ServiceInfoSnapshot serviceInfoSnapsho
   /**
    * This method should be used to send the current ServiceInfoSnapshot and all subscribers on the network and to update
    * their information. It calls the ServiceInfoSnapshotConfigureEvent before send the update to the node.
+   * <p>
+   * Updates are coalesced: if the last update was published less than the configured interval ago, the snapshot is
+   * created and published when the interval is over, together with all updates requested until then.
    *
    * @see ServiceInfoSnapshotConfigureEvent
+   * @see ServiceInfoUpdatePublisher
    */
   public void publishServiceInfoUpdate() {
-    this.publishServiceInfoUpdate(this.createServiceInfoSnapshot());
+    this.serviceInfoUpdatePublisher.requestUpdate(null);
   }
 
   public void publishServiceInfoUpdate(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
     if (this.currentServiceInfoSnapshot.getServiceId().equals(serviceInfoSnapshot.getServiceId())) {
-      this.configureServiceInfoSnapshot(serviceInfoSnapshot);
+      this.serviceInfoUpdatePublisher.requestUpdate(serviceInfoSnapshot);
+    } else {
+      this.networkClient.sendPacket(new PacketClientServiceInfoUpdate(serviceInfoSnapshot));
+    }
+  }
+
+  /**
+   * Publishes a service info update which is pending because of the minimum interval between two updates immediately.
+   */
+  public void flushServiceInfoUpdate() {
+    this.serviceInfoUpdatePublisher.publishPendingUpdate();
+  }
+
+  private ServiceInfoSnapshot sendServiceInfoUpdate(ServiceInfoSnapshot serviceInfoSnapshot) {
+    if (serviceInfoSnapshot == null) {
+      serviceInfoSnapshot = this.createServiceInfoSnapshot();
     }
 
+    this.configureServiceInfoSnapshot(serviceInfoSnapshot);
     this.networkClient.sendPacket(new PacketClientServiceInfoUpdate(serviceInfoSnapshot));
+    return serviceInfoSnapshot;
   }
 
 
@@ -495,6 +551,36 @@ public Thread getMainThread() {
     return this.mainThread;
   }
 
+  @NotNull
+  @ApiStatus.Internal
+  public ServiceInfoUpdatePublisher getServiceInfoUpdatePublisher() {
+    return this.serviceInfoUpdatePublisher;
+  }
+
+  @NotNull
+  @ApiStatus.Internal
+  public ServiceInfoSnapshotVersions getServiceInfoSnapshotVersions() {
+    return this.serviceInfoSnapshotVersions;
+  }
+
+  @NotNull
+  @ApiStatus.Internal
+  public WrapperServiceInfoSnapshotCache getServiceInfoSnapshotCache() {
+    return this.serviceInfoSnapshotCache;
+  }
+
+  /**
+   * Gets a service provider which sends every query to the node instead of answering it from the replicated snapshots
+   * of the services in this wrapper. It should only be used if the result has to reflect the state of the node at the
+   * time the query is answered.
+   *
+   * @return the service provider which always queries the node
+   */
+  @NotNull
+  public GeneralCloudServiceProvider getRemoteCloudServiceProvider() {
+    return this.remoteCloudServiceProvider;
+  }
+
   @NotNull
   public ServiceInfoSnapshot getLastServiceInfoSnapShot() {
     return this.lastServiceInfoSnapShot;
@@ -16,10 +16,11 @@
 
 package de.dytanic.cloudnet.wrapper.database.defaults;
 
+import de.dytanic.cloudnet.common.concurrent.CompletableTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
-import de.dytanic.cloudnet.common.concurrent.ListenableTask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.api.RemoteDatabaseRequestType;
+import de.dytanic.cloudnet.driver.database.DatabaseException;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.wrapper.database.IDatabase;
 import java.util.ArrayList;
@@ -28,13 +29,18 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public class WrapperDatabase implements IDatabase {
 
+  private static final int ITERATE_PAGE_SIZE = Integer.getInteger("cloudnet.wrapper.database.iterate.pageSize", 500);
+
   private final String name;
   private final DefaultWrapperDatabaseProvider databaseProvider;
 
@@ -72,6 +78,21 @@ public boolean delete(String key) {
     return this.deleteAsync(key).getDef(false);
   }
 
+  @Override
+  public boolean insertAll(Map<String, JsonDocument> documents) {
+    return this.insertAllAsync(documents).getDef(false);
+  }
+
+  @Override
+  public boolean deleteAll(Collection<String> keys) {
+    return this.deleteAllAsync(keys).getDef(false);
+  }
+
+  @Override
+  public boolean createIndex(String fieldPath) {
+    return this.createIndexAsync(fieldPath).getDef(false);
+  }
+
   @Override
   public JsonDocument get(String key) {
     return this.getAsync(key).getDef(null);
@@ -104,12 +125,39 @@ public Map<String, JsonDocument> entries() {
 
   @Override
   public Map<String, JsonDocument> filter(BiPredicate<String, JsonDocument> predicate) {
-    return this.filterAsync(predicate).get(5, TimeUnit.SECONDS, Collections.emptyMap());
+    Map<String, JsonDocument> result = new HashMap<>();
+    this.iterate(ITERATE_PAGE_SIZE, (key, document) -> {
+      if (predicate.test(key, document)) {
+        result.put(key, document);
+      }
+    });
+    return result;
   }
 
   @Override
   public void iterate(BiConsumer<String, JsonDocument> consumer) {
-    this.iterateAsync(consumer).getDef(null);
+    this.iterate(ITERATE_PAGE_SIZE, consumer);
+  }
+
+  @Override
+  public @Nullable String iterate(@Nullable String cursor, int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    try {
+      return this.iterateAsync(cursor, pageSize, consumer).get(5, TimeUnit.SECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new DatabaseException("Interrupted while reading a page of the database " + this.name, exception);
+    } catch (ExecutionException | TimeoutException exception) {
+      throw new DatabaseException("Unable to read a page of the database " + this.name, exception);
+    }
+  }
+
+  @Override
+  public void iterate(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    // every page is requested on its own, so the timeout applies to a single page instead of the whole database
+    String cursor = null;
+    do {
+      cursor = this.iterate(cursor, pageSize, consumer);
+    } while (cursor != null);
   }
 
   @Override
@@ -164,6 +212,36 @@ public ITask<Boolean> deleteAsync(String key) {
     ).map(packet -> packet.getBuffer().readBoolean());
   }
 
+  @Override
+  @NotNull
+  public ITask<Boolean> insertAllAsync(Map<String, JsonDocument> documents) {
+    return this.databaseProvider.executeQuery(
+      RemoteDatabaseRequestType.DATABASE_INSERT_ALL,
+      buffer -> {
+        this.writeDefaults(buffer).writeVarInt(documents.size());
+        documents.forEach((key, document) -> buffer.writeString(key).writeJsonDocument(document));
+      }
+    ).map(packet -> packet.getBuffer().readBoolean());
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> deleteAllAsync(Collection<String> keys) {
+    return this.databaseProvider.executeQuery(
+      RemoteDatabaseRequestType.DATABASE_DELETE_ALL,
+      buffer -> this.writeDefaults(buffer).writeStringCollection(keys)
+    ).map(packet -> packet.getBuffer().readBoolean());
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> createIndexAsync(String fieldPath) {
+    return this.databaseProvider.executeQuery(
+      RemoteDatabaseRequestType.DATABASE_CREATE_INDEX,
+      buffer -> this.writeDefaults(buffer).writeString(fieldPath)
+    ).map(packet -> packet.getBuffer().readBoolean());
+  }
+
   @Override
   @NotNull
   public ITask<JsonDocument> getAsync(String key) {
@@ -236,32 +314,58 @@ public ITask<Map<String, JsonDocument>> entriesAsync() {
 
   @Override
   public @NotNull ITask<Map<String, JsonDocument>> filterAsync(BiPredicate<String, JsonDocument> predicate) {
-    return this.entriesAsync().map(map -> {
-      Map<String, JsonDocument> result = new HashMap<>();
-      map.forEach((key, document) -> {
-        if (predicate.test(key, document)) {
-          result.put(key, document);
-        }
-      });
-      return result;
-    });
+    Map<String, JsonDocument> result = new HashMap<>();
+    return this.iterateAsync(ITERATE_PAGE_SIZE, (key, document) -> {
+      if (predicate.test(key, document)) {
+        result.put(key, document);
+      }
+    }).map(unused -> result);
   }
 
   @Override
   @NotNull
   public ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer) {
-    ITask<Void> task = new ListenableTask<>(() -> null);
-    this.entriesAsync().onComplete(response -> {
-      response.forEach(consumer);
-      try {
-        task.call();
-      } catch (Exception exception) {
-        exception.printStackTrace();
+    return this.iterateAsync(ITERATE_PAGE_SIZE, consumer);
+  }
+
+  @Override
+  @NotNull
+  public ITask<String> iterateAsync(@Nullable String cursor, int pageSize,
+    BiConsumer<String, JsonDocument> consumer) {
+    return this.databaseProvider.executeQuery(
+      RemoteDatabaseRequestType.DATABASE_ITERATE,
+      buffer -> this.writeDefaults(buffer).writeOptionalString(cursor).writeVarInt(pageSize)
+    ).map(packet -> {
+      ProtocolBuffer buffer = packet.getBuffer();
+      int size = buffer.readVarInt();
+      for (int i = 0; i < size; i++) {
+        consumer.accept(buffer.readString(), buffer.readJsonDocument());
       }
+      return buffer.readOptionalString();
     });
+  }
+
+  @Override
+  @NotNull
+  public ITask<Void> iterateAsync(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    CompletableTask<Void> task = new CompletableTask<>();
+    this.iteratePages(null, pageSize, consumer, task);
     return task;
   }
 
+  private void iteratePages(String cursor, int pageSize, BiConsumer<String, JsonDocument> consumer,
+    CompletableTask<Void> task) {
+    this.iterateAsync(cursor, pageSize, consumer)
+      .onComplete(nextCursor -> {
+        if (nextCursor == null) {
+          task.complete(null);
+        } else {
+          this.iteratePages(nextCursor, pageSize, consumer, task);
+        }
+      })
+      .onFailure(task::fail);
+  }
+
   @Override
   @NotNull
   public ITask<Void> clearAsync() {
@@ -45,6 +45,8 @@ public void handleChannelInitialize(INetworkChannel channel) {
       return;
     }
 
+    // the authorization announces binary headers, the node may answer with them
+    networkChannelInitEvent.getChannel().setAcceptingBinaryHeaders(true);
     networkChannelInitEvent.getChannel().sendPacket(new PacketClientAuthorization(
       PacketClientAuthorization.PacketAuthorizationType.WRAPPER_TO_NODE,
       new JsonDocument()
@@ -65,6 +67,8 @@ public boolean handlePacketReceive(INetworkChannel channel, Packet packet) {
 
   @Override
   public void handleChannelClose(INetworkChannel channel) {
+    Wrapper.getInstance().getServiceInfoSnapshotCache().invalidate();
+
     CloudNetDriver.getInstance().getEventManager()
       .callEvent(new NetworkChannelCloseEvent(channel, ChannelType.CLIENT_CHANNEL));
   }
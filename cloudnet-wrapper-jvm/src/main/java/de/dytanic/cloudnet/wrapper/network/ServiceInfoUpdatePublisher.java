@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.wrapper.network;
+
+import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Coalesces the service info updates of the wrapper. An update which is requested less than {@code
+ * cloudnet.wrapper.service.update.interval} milliseconds (250 by default) after the last published update only marks
+ * the service info as changed and is published when the interval is over. Until then, every further request replaces
+ * the pending one, so only the latest service info is published. An update with a different lifecycle than the last
+ * published one is published immediately, for requests without a snapshot the lifecycle the created snapshot will have
+ * is compared. An interval of 0 or less publishes every update immediately.
+ */
+@ApiStatus.Internal
+public final class ServiceInfoUpdatePublisher {
+
+  private static final long MIN_INTERVAL_MILLIS = Long.getLong("cloudnet.wrapper.service.update.interval", 250);
+
+  private final ScheduledExecutorService scheduler;
+  private final UnaryOperator<ServiceInfoSnapshot> publisher;
+  private final Supplier<ServiceLifeCycle> lifeCycleSupplier;
+
+  private final Object publishLock = new Object();
+  private final Object stateLock = new Object();
+
+  private final AtomicLong requestedUpdates = new AtomicLong();
+  private final AtomicLong publishedUpdates = new AtomicLong();
+  private final AtomicLong coalescedUpdates = new AtomicLong();
+
+  private boolean dirty;
+  private ServiceInfoSnapshot pendingSnapshot;
+  private ScheduledFuture<?> scheduledPublish;
+
+  private long lastPublishTime;
+  private ServiceLifeCycle lastLifeCycle;
+
+  /**
+   * Creates a new update publisher.
+   *
+   * @param scheduler         the scheduler to publish delayed updates on
+   * @param publisher         publishes the given snapshot or creates and publishes the current snapshot if the given
+   *                          one is null, returns the published snapshot
+   * @param lifeCycleSupplier supplies the lifecycle of the snapshot the publisher would create at the moment
+   */
+  public ServiceInfoUpdatePublisher(@NotNull ScheduledExecutorService scheduler,
+    @NotNull UnaryOperator<ServiceInfoSnapshot> publisher, @NotNull Supplier<ServiceLifeCycle> lifeCycleSupplier) {
+    this.scheduler = Preconditions.checkNotNull(scheduler, "scheduler");
+    this.publisher = Preconditions.checkNotNull(publisher, "publisher");
+    this.lifeCycleSupplier = Preconditions.checkNotNull(lifeCycleSupplier, "lifeCycleSupplier");
+  }
+
+  /**
+   * Requests the publication of a service info update.
+   *
+   * @param snapshot the snapshot to publish or null to create the snapshot when the update is published
+   */
+  public void requestUpdate(@Nullable ServiceInfoSnapshot snapshot) {
+    this.requestedUpdates.incrementAndGet();
+    ServiceLifeCycle lifeCycle = snapshot == null ? this.lifeCycleSupplier.get() : snapshot.getLifeCycle();
+    boolean publishNow;
+
+    synchronized (this.stateLock) {
+      if (this.dirty) {
+        this.coalescedUpdates.incrementAndGet();
+      }
+      this.dirty = true;
+      this.pendingSnapshot = snapshot;
+
+      long delay = this.lastPublishTime + MIN_INTERVAL_MILLIS - System.currentTimeMillis();
+      publishNow = delay <= 0 || lifeCycle != this.lastLifeCycle;
+
+      if (!publishNow && this.scheduledPublish == null) {
+        try {
+          this.scheduledPublish = this.scheduler.schedule(this::publishPendingUpdate, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException exception) {
+          // the wrapper is shutting down
+          publishNow = true;
+        }
+      }
+    }
+
+    if (publishNow) {
+      this.publishPendingUpdate();
+    }
+  }
+
+  /**
+   * Publishes the pending update immediately, if there is one.
+   */
+  public void publishPendingUpdate() {
+    synchronized (this.publishLock) {
+      ServiceInfoSnapshot snapshot;
+
+      synchronized (this.stateLock) {
+        if (!this.dirty) {
+          return;
+        }
+
+        snapshot = this.pendingSnapshot;
+        this.dirty = false;
+        this.pendingSnapshot = null;
+        this.lastPublishTime = System.currentTimeMillis();
+
+        if (this.scheduledPublish != null) {
+          this.scheduledPublish.cancel(false);
+          this.scheduledPublish = null;
+        }
+      }
+
+      ServiceLifeCycle lifeCycle = this.publisher.apply(snapshot).getLifeCycle();
+      this.publishedUpdates.incrementAndGet();
+
+      synchronized (this.stateLock) {
+        this.lastLifeCycle = lifeCycle;
+      }
+    }
+  }
+
+  /**
+   * @return the amount of requested updates
+   */
+  public long getRequestedUpdates() {
+    return this.requestedUpdates.get();
+  }
+
+  /**
+   * @return the amount of published updates
+   */
+  public long getPublishedUpdates() {
+    return this.publishedUpdates.get();
+  }
+
+  /**
+   * @return the amount of requested updates which were replaced by a later request before they were published
+   */
+  public long getCoalescedUpdates() {
+    return this.coalescedUpdates.get();
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.wrapper.network.listener;
+
+import de.dytanic.cloudnet.driver.CloudNetDriver;
+import de.dytanic.cloudnet.driver.event.events.service.CloudServiceInfoUpdateEvent;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoDelta;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotVersions;
+import de.dytanic.cloudnet.wrapper.Wrapper;
+import java.util.UUID;
+
+public final class PacketServerServiceInfoDeltaListener implements IPacketListener {
+
+  @Override
+  public void handle(INetworkChannel channel, IPacket packet) {
+    PacketClientServerServiceInfoDelta.Type type = packet.getBuffer()
+      .readEnumConstant(PacketClientServerServiceInfoDelta.Type.class);
+    if (type != PacketClientServerServiceInfoDelta.Type.DELTA) {
+      return;
+    }
+
+    UUID uniqueId = packet.getBuffer().readUUID();
+    long previousVersion = packet.getBuffer().readVarLong();
+    long version = packet.getBuffer().readVarLong();
+
+    ServiceInfoSnapshotVersions versions = Wrapper.getInstance().getServiceInfoSnapshotVersions();
+    ServiceInfoSnapshot serviceInfoSnapshot = versions.applyDelta(uniqueId, previousVersion, version,
+      packet.getBuffer());
+
+    if (serviceInfoSnapshot != null) {
+      Wrapper.getInstance().getServiceInfoSnapshotCache()
+        .handleServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.UPDATE, serviceInfoSnapshot);
+      CloudNetDriver.getInstance().getEventManager().callEvent(new CloudServiceInfoUpdateEvent(serviceInfoSnapshot));
+    } else if (versions.shouldRequestResync(uniqueId)) {
+      channel.sendPacket(new PacketClientServerServiceInfoDelta(uniqueId));
+    }
+  }
+}
@@ -30,6 +30,7 @@
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.wrapper.Wrapper;
 
 public final class PacketServerServiceInfoPublisherListener implements IPacketListener {
 
@@ -39,8 +40,12 @@ public void handle(INetworkChannel channel, IPacket packet) {
     PacketClientServerServiceInfoPublisher.PublisherType publisherType = packet.getBuffer()
       .readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
 
+    Wrapper.getInstance().getServiceInfoSnapshotCache().handleServiceUpdate(publisherType, serviceInfoSnapshot);
+
     switch (publisherType) {
       case UPDATE:
+        Wrapper.getInstance().getServiceInfoSnapshotVersions().update(serviceInfoSnapshot,
+          PacketClientServerServiceInfoPublisher.readVersion(packet.getBuffer()));
         this.invoke0(new CloudServiceInfoUpdateEvent(serviceInfoSnapshot));
         break;
       case REGISTER:
@@ -50,6 +55,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
         this.invoke0(new CloudServiceConnectNetworkEvent(serviceInfoSnapshot));
         break;
       case UNREGISTER:
+        Wrapper.getInstance().getServiceInfoSnapshotVersions().remove(serviceInfoSnapshot.getServiceId().getUniqueId());
         this.invoke0(new CloudServiceUnregisterEvent(serviceInfoSnapshot));
         break;
       case DISCONNECTED:
@@ -22,6 +22,7 @@
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
+import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.wrapper.Wrapper;
 
@@ -34,6 +35,9 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
     if (requestType == DriverAPIRequestType.FORCE_UPDATE_SERVICE) {
       ServiceInfoSnapshot serviceInfoSnapshot = Wrapper.getInstance().configureServiceInfoSnapshot();
       channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeObject(serviceInfoSnapshot)));
+    } else if (requestType == DriverAPIRequestType.GET_THREADS_FROM_CLOUD_SERVICE) {
+      channel.sendPacket(Packet.createResponseFor(packet,
+        ProtocolBuffer.create().writeObjectCollection(ProcessSnapshot.selfThreads())));
     }
   }
 
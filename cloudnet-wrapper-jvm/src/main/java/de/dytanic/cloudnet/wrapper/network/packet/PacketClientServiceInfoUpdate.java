@@ -18,13 +18,21 @@
 
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 
 public final class PacketClientServiceInfoUpdate extends Packet {
 
+  private static final int SIZE_HINT = 2048;
+
   public PacketClientServiceInfoUpdate(ServiceInfoSnapshot serviceInfoSnapshot) {
     super(PacketConstants.INTERNAL_WRAPPER_TO_NODE_INFO_CHANNEL,
-      ProtocolBuffer.create().writeObject(serviceInfoSnapshot));
+      ProtocolBuffer.createPooled(SIZE_HINT).writeObject(serviceInfoSnapshot));
+  }
+
+  @Override
+  public PacketWritePolicy getWritePolicy() {
+    return PacketWritePolicy.LATEST_VALUE_WINS;
   }
 }
@@ -17,26 +17,80 @@
 package de.dytanic.cloudnet.wrapper.provider.service;
 
 import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.common.concurrent.CompletedTask;
 import de.dytanic.cloudnet.common.concurrent.ITask;
 import de.dytanic.cloudnet.driver.api.DriverAPIRequestType;
 import de.dytanic.cloudnet.driver.api.DriverAPIUser;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.provider.service.GeneralCloudServiceProvider;
+import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.wrapper.Wrapper;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * The service provider of the wrapper. If a {@link WrapperServiceInfoSnapshotCache} is given and available, all methods
+ * are answered from the replicated snapshots of the cache without sending a query to the node. The returned snapshots
+ * are copies of the replicated ones in this case, like the snapshots received from the node they can be modified by
+ * the caller without affecting the provider.
+ */
 public class WrapperGeneralCloudServiceProvider implements GeneralCloudServiceProvider, DriverAPIUser {
 
   private final Wrapper wrapper;
+  private final WrapperServiceInfoSnapshotCache cache;
 
+  /**
+   * Creates a new provider which sends a query to the node for every request.
+   *
+   * @param wrapper the wrapper instance
+   */
   public WrapperGeneralCloudServiceProvider(Wrapper wrapper) {
+    this(wrapper, null);
+  }
+
+  /**
+   * Creates a new provider which answers the requests from the given cache as long as it's available.
+   *
+   * @param wrapper the wrapper instance
+   * @param cache   the cache to use, null to always send a query to the node
+   */
+  public WrapperGeneralCloudServiceProvider(Wrapper wrapper, @Nullable WrapperServiceInfoSnapshotCache cache) {
     this.wrapper = wrapper;
+    this.cache = cache;
+  }
+
+  @Nullable
+  private static ServiceInfoSnapshot copy(@Nullable ServiceInfoSnapshot snapshot) {
+    if (snapshot == null) {
+      return null;
+    }
+
+    ProtocolBuffer buffer = ProtocolBuffer.create();
+    try {
+      return buffer.writeObject(snapshot).readObject(ServiceInfoSnapshot.class);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  @NotNull
+  private static Collection<ServiceInfoSnapshot> copy(@NotNull Collection<ServiceInfoSnapshot> snapshots) {
+    Collection<ServiceInfoSnapshot> copies = new ArrayList<>(snapshots.size());
+    for (ServiceInfoSnapshot snapshot : snapshots) {
+      copies.add(copy(snapshot));
+    }
+    return copies;
+  }
+
+  private boolean isCacheAvailable() {
+    return this.cache != null && this.cache.isAvailable();
   }
 
   @Override
@@ -100,6 +154,10 @@ public int getServicesCountByTask(@NotNull String taskName) {
   @Override
   @NotNull
   public ITask<Collection<UUID>> getServicesAsUniqueIdAsync() {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(new ArrayList<>(this.cache.getRegistry().keySet()));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_AS_UNIQUE_ID,
       packet -> packet.getBuffer().readUUIDCollection()
@@ -109,6 +167,10 @@ public ITask<Collection<UUID>> getServicesAsUniqueIdAsync() {
   @Override
   @NotNull
   public ITask<ServiceInfoSnapshot> getCloudServiceByNameAsync(@NotNull String name) {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().getByName(name)));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICE_BY_NAME,
       buffer -> buffer.writeString(name),
@@ -119,6 +181,10 @@ public ITask<ServiceInfoSnapshot> getCloudServiceByNameAsync(@NotNull String nam
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync() {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().values()));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES,
       packet -> packet.getBuffer().readObjectCollection(ServiceInfoSnapshot.class)
@@ -128,6 +194,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync() {
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getStartedCloudServicesAsync() {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().getByLifeCycle(ServiceLifeCycle.RUNNING)));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_STARTED_CLOUD_SERVICES,
       packet -> packet.getBuffer().readObjectCollection(ServiceInfoSnapshot.class)
@@ -137,6 +207,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getStartedCloudServicesAsync() {
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull String taskName) {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().getByTask(taskName)));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES_BY_SERVICE_TASK,
       buffer -> buffer.writeString(taskName),
@@ -149,6 +223,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull Str
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull ServiceEnvironmentType environment) {
     Preconditions.checkNotNull(environment);
 
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().getByEnvironment(environment)));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES_BY_ENVIRONMENT,
       buffer -> buffer.writeEnumConstant(environment),
@@ -159,6 +237,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesAsync(@NotNull Ser
   @Override
   @NotNull
   public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesByGroupAsync(@NotNull String group) {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().getByGroup(group)));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICES_BY_GROUP,
       buffer -> buffer.writeString(group),
@@ -169,6 +251,10 @@ public ITask<Collection<ServiceInfoSnapshot>> getCloudServicesByGroupAsync(@NotN
   @Override
   @NotNull
   public ITask<Integer> getServicesCountAsync() {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(this.cache.getRegistry().size());
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_COUNT,
       packet -> packet.getBuffer().readInt()
@@ -178,6 +264,10 @@ public ITask<Integer> getServicesCountAsync() {
   @Override
   @NotNull
   public ITask<Integer> getServicesCountByGroupAsync(@NotNull String group) {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(this.cache.getRegistry().countByGroup(group));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_COUNT_BY_GROUP,
       buffer -> buffer.writeString(group),
@@ -188,6 +278,10 @@ public ITask<Integer> getServicesCountByGroupAsync(@NotNull String group) {
   @Override
   @NotNull
   public ITask<Integer> getServicesCountByTaskAsync(@NotNull String taskName) {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(this.cache.getRegistry().countByTask(taskName));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_SERVICES_COUNT_BY_TASK,
       buffer -> buffer.writeString(taskName),
@@ -198,6 +292,10 @@ public ITask<Integer> getServicesCountByTaskAsync(@NotNull String taskName) {
   @Override
   @NotNull
   public ITask<ServiceInfoSnapshot> getCloudServiceAsync(@NotNull UUID uniqueId) {
+    if (this.isCacheAvailable()) {
+      return CompletedTask.create(copy(this.cache.getRegistry().get(uniqueId)));
+    }
+
     return this.executeDriverAPIMethod(
       DriverAPIRequestType.GET_CLOUD_SERVICE_BY_UNIQUE_ID,
       buffer -> buffer.writeUUID(uniqueId),
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.wrapper.provider.service;
+
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotRegistry;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.UUID;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A replica of the snapshots of all services in the cluster, kept up to date from the service info publications and
+ * deltas the node sends to every service. The replica is loaded with all services once the wrapper is authorized and
+ * dropped when the connection to the node is closed, it's only available between these two points.
+ * <p>
+ * Publications which are received while the replica gets loaded are newer than the loaded snapshots and are therefore
+ * preferred, services unregistered while loading are not added by the load.
+ */
+@ApiStatus.Internal
+public final class WrapperServiceInfoSnapshotCache {
+
+  /**
+   * If the replica should be used to answer the read-only methods of the service provider
+   */
+  public static final boolean ENABLED = Boolean
+    .parseBoolean(System.getProperty("cloudnet.wrapper.service.cache.enabled", "true"));
+
+  private final Object lock = new Object();
+  private final ServiceInfoSnapshotRegistry registry = new ServiceInfoSnapshotRegistry();
+  private final Collection<UUID> unregisteredWhileLoading = new HashSet<>();
+
+  private volatile boolean available;
+  private boolean loading;
+
+  /**
+   * Gets if the replica is loaded and can be used to answer queries.
+   *
+   * @return if the replica is available
+   */
+  public boolean isAvailable() {
+    return this.available;
+  }
+
+  /**
+   * Gets the registry holding the replicated snapshots, it should only be used when this cache is available.
+   *
+   * @return the registry of the replicated snapshots
+   */
+  @NotNull
+  public ServiceInfoSnapshotRegistry getRegistry() {
+    return this.registry;
+  }
+
+  /**
+   * Clears the replica and starts recording the publications which are received until {@link #completeLoad(Collection)}
+   * is called.
+   */
+  public void beginLoad() {
+    synchronized (this.lock) {
+      this.available = false;
+      this.loading = true;
+
+      this.registry.clear();
+      this.unregisteredWhileLoading.clear();
+    }
+  }
+
+  /**
+   * Completes a load started by {@link #beginLoad()} with all services received from the node.
+   *
+   * @param snapshots the snapshots of all services or null if they couldn't be retrieved
+   */
+  public void completeLoad(@Nullable Collection<ServiceInfoSnapshot> snapshots) {
+    synchronized (this.lock) {
+      if (!this.loading) {
+        return;
+      }
+
+      this.loading = false;
+      if (snapshots == null) {
+        this.registry.clear();
+      } else {
+        for (ServiceInfoSnapshot snapshot : snapshots) {
+          UUID uniqueId = snapshot.getServiceId().getUniqueId();
+          if (!this.unregisteredWhileLoading.contains(uniqueId) && !this.registry.containsKey(uniqueId)) {
+            this.registry.put(uniqueId, snapshot);
+          }
+        }
+        this.available = true;
+      }
+
+      this.unregisteredWhileLoading.clear();
+    }
+  }
+
+  /**
+   * Drops the replica, queries have to be sent to the node until it is loaded again.
+   */
+  public void invalidate() {
+    synchronized (this.lock) {
+      this.available = false;
+      this.loading = false;
+
+      this.registry.clear();
+      this.unregisteredWhileLoading.clear();
+    }
+  }
+
+  /**
+   * Applies a service info publication of the node to the replica.
+   *
+   * @param type     the type of the publication
+   * @param snapshot the published snapshot
+   */
+  public void handleServiceUpdate(@NotNull PacketClientServerServiceInfoPublisher.PublisherType type,
+    @NotNull ServiceInfoSnapshot snapshot) {
+    UUID uniqueId = snapshot.getServiceId().getUniqueId();
+
+    synchronized (this.lock) {
+      if (!this.loading && !this.available) {
+        return;
+      }
+
+      if (type == PacketClientServerServiceInfoPublisher.PublisherType.UNREGISTER) {
+        this.registry.remove(uniqueId);
+        if (this.loading) {
+          this.unregisteredWhileLoading.add(uniqueId);
+        }
+      } else if (type == PacketClientServerServiceInfoPublisher.PublisherType.REGISTER) {
+        this.registry.put(uniqueId, snapshot);
+        this.unregisteredWhileLoading.remove(uniqueId);
+      } else if (this.loading) {
+        // the service may not be known yet as the load is still running, but this snapshot is newer in any case
+        if (!this.unregisteredWhileLoading.contains(uniqueId)) {
+          this.registry.put(uniqueId, snapshot);
+        }
+      } else {
+        // like the node, only update services which were registered
+        this.registry.replace(uniqueId, snapshot);
+      }
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.wrapper.network;
+
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceInfoUpdatePublisherTest {
+
+  private final ManualScheduler scheduler = new ManualScheduler();
+  private final List<ServiceInfoSnapshot> published = new ArrayList<>();
+
+  private volatile ServiceLifeCycle currentLifeCycle = ServiceLifeCycle.RUNNING;
+
+  private final ServiceInfoUpdatePublisher publisher = new ServiceInfoUpdatePublisher(this.scheduler, snapshot -> {
+    ServiceInfoSnapshot publishedSnapshot = snapshot == null ? this.createSnapshot(this.currentLifeCycle) : snapshot;
+    this.published.add(publishedSnapshot);
+    return publishedSnapshot;
+  }, () -> this.currentLifeCycle);
+
+  @Test
+  public void testCoalescing() {
+    // the first update is published immediately as there was no publication before
+    this.publisher.requestUpdate(null);
+    Assert.assertEquals(1, this.published.size());
+
+    for (int i = 0; i < 3; i++) {
+      this.publisher.requestUpdate(null);
+    }
+    ServiceInfoSnapshot latest = this.createSnapshot(ServiceLifeCycle.RUNNING);
+    this.publisher.requestUpdate(latest);
+
+    // the updates within the interval are published once together by one scheduled task
+    Assert.assertEquals(1, this.published.size());
+    Assert.assertEquals(1, this.scheduler.tasks.size());
+
+    this.scheduler.runAll();
+    Assert.assertEquals(2, this.published.size());
+    Assert.assertSame(latest, this.published.get(1));
+
+    Assert.assertEquals(5, this.publisher.getRequestedUpdates());
+    Assert.assertEquals(2, this.publisher.getPublishedUpdates());
+    Assert.assertEquals(3, this.publisher.getCoalescedUpdates());
+  }
+
+  @Test
+  public void testLifeCycleChange() {
+    this.publisher.requestUpdate(null);
+    Assert.assertEquals(1, this.published.size());
+
+    // a given snapshot with a new lifecycle is published without waiting for the interval
+    this.publisher.requestUpdate(this.createSnapshot(ServiceLifeCycle.STOPPED));
+    Assert.assertEquals(2, this.published.size());
+    Assert.assertEquals(ServiceLifeCycle.STOPPED, this.published.get(1).getLifeCycle());
+
+    // so is a snapshot created by the publisher which will have a new lifecycle
+    this.publisher.requestUpdate(null);
+    Assert.assertEquals(3, this.published.size());
+    Assert.assertEquals(ServiceLifeCycle.RUNNING, this.published.get(2).getLifeCycle());
+
+    // without a change the update has to wait for the interval again
+    this.publisher.requestUpdate(null);
+    Assert.assertEquals(3, this.published.size());
+    Assert.assertEquals(1, this.scheduler.tasks.size());
+  }
+
+  @Test
+  public void testPublishWithoutPendingUpdate() {
+    this.publisher.publishPendingUpdate();
+    Assert.assertTrue(this.published.isEmpty());
+
+    this.publisher.requestUpdate(null);
+    this.publisher.publishPendingUpdate();
+    Assert.assertEquals(1, this.published.size());
+
+    // the flush publishes the pending update and cancels the scheduled task
+    this.publisher.requestUpdate(null);
+    this.publisher.publishPendingUpdate();
+    Assert.assertEquals(2, this.published.size());
+    Assert.assertTrue(this.scheduler.tasks.get(0).isCancelled());
+
+    this.scheduler.runAll();
+    Assert.assertEquals(2, this.published.size());
+  }
+
+  @Test
+  public void testRejectedSchedule() {
+    this.publisher.requestUpdate(null);
+    Assert.assertEquals(1, this.published.size());
+
+    // when the scheduler is shut down the update is published immediately instead of being lost
+    this.scheduler.shutdown();
+    this.publisher.requestUpdate(null);
+    Assert.assertEquals(2, this.published.size());
+    Assert.assertTrue(this.scheduler.tasks.isEmpty());
+  }
+
+  private ServiceInfoSnapshot createSnapshot(ServiceLifeCycle lifeCycle) {
+    ServiceInfoSnapshot snapshot = new ServiceInfoSnapshot();
+    snapshot.setLifeCycle(lifeCycle);
+    return snapshot;
+  }
+
+  /**
+   * A scheduler which only runs the scheduled tasks when the test asks for it
+   */
+  private static final class ManualScheduler extends ScheduledThreadPoolExecutor {
+
+    private final List<ManualFuture> tasks = new ArrayList<>();
+
+    public ManualScheduler() {
+      super(1);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      if (this.isShutdown()) {
+        throw new RejectedExecutionException();
+      }
+
+      ManualFuture future = new ManualFuture(command);
+      this.tasks.add(future);
+      return future;
+    }
+
+    public void runAll() {
+      for (ManualFuture task : new ArrayList<>(this.tasks)) {
+        if (!task.isCancelled()) {
+          task.command.run();
+        }
+      }
+      this.tasks.clear();
+    }
+  }
+
+  private static final class ManualFuture implements ScheduledFuture<Object> {
+
+    private final Runnable command;
+    private volatile boolean cancelled;
+
+    public ManualFuture(Runnable command) {
+      this.command = command;
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return 0;
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+      return 0;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      this.cancelled = true;
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return this.cancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+      return this.cancelled;
+    }
+
+    @Override
+    public Object get() {
+      return null;
+    }
+
+    @Override
+    public Object get(long timeout, TimeUnit unit) {
+      return null;
+    }
+  }
+}
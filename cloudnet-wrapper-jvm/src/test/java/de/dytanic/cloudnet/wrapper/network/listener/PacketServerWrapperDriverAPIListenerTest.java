@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.wrapper.network.listener;
+
+import de.dytanic.cloudnet.driver.api.DriverAPIRequestType;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientDriverAPI;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PacketServerWrapperDriverAPIListenerTest {
+
+  @Test
+  public void testGetThreads() throws Exception {
+    List<IPacket> sentPackets = new ArrayList<>();
+    INetworkChannel channel = (INetworkChannel) Proxy.newProxyInstance(this.getClass().getClassLoader(),
+      new Class<?>[]{INetworkChannel.class}, (proxy, method, args) -> {
+        if (method.getName().equals("sendPacket") && args[0] instanceof IPacket) {
+          sentPackets.add((IPacket) args[0]);
+          return null;
+        }
+        throw new UnsupportedOperationException(method.getName());
+      });
+
+    IPacket request = new PacketClientDriverAPI(DriverAPIRequestType.GET_THREADS_FROM_CLOUD_SERVICE);
+    new PacketServerWrapperDriverAPIListener().handle(channel, request);
+
+    // the wrapper answers the query of the node with the threads running in its own process
+    Assert.assertEquals(1, sentPackets.size());
+    IPacket response = sentPackets.get(0);
+    Assert.assertEquals(request.getUniqueId(), response.getUniqueId());
+
+    Collection<ThreadSnapshot> threads = response.getBuffer().readObjectCollection(ThreadSnapshot.class);
+    Assert.assertEquals(0, response.getBuffer().readableBytes());
+    Assert.assertTrue(threads.stream().anyMatch(thread -> thread.getId() == Thread.currentThread().getId()
+      && thread.getName().equals(Thread.currentThread().getName())));
+  }
+
+}
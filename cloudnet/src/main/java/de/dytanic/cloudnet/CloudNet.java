@@ -28,6 +28,7 @@
 import de.dytanic.cloudnet.command.commands.CommandCluster;
 import de.dytanic.cloudnet.command.commands.CommandCopy;
 import de.dytanic.cloudnet.command.commands.CommandCreate;
+import de.dytanic.cloudnet.command.commands.CommandDatabase;
 import de.dytanic.cloudnet.command.commands.CommandDebug;
 import de.dytanic.cloudnet.command.commands.CommandExit;
 import de.dytanic.cloudnet.command.commands.CommandGroups;
@@ -61,7 +62,9 @@
 import de.dytanic.cloudnet.console.util.HeaderReader;
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
 import de.dytanic.cloudnet.database.DefaultDatabaseHandler;
+import de.dytanic.cloudnet.database.LocalDatabaseProvider;
 import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
+import de.dytanic.cloudnet.database.mvstore.MVStoreDatabaseProvider;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.DriverEnvironment;
 import de.dytanic.cloudnet.driver.database.Database;
@@ -74,6 +77,7 @@
 import de.dytanic.cloudnet.driver.network.cluster.NetworkClusterNode;
 import de.dytanic.cloudnet.driver.network.cluster.NetworkClusterNodeInfoSnapshot;
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoDelta;
 import de.dytanic.cloudnet.driver.network.def.packet.PacketServerSetGlobalLogLevel;
 import de.dytanic.cloudnet.driver.network.http.IHttpServer;
 import de.dytanic.cloudnet.driver.network.netty.client.NettyNetworkClient;
@@ -81,6 +85,7 @@
 import de.dytanic.cloudnet.driver.network.netty.server.NettyNetworkServer;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListenerRegistry;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
 import de.dytanic.cloudnet.driver.permission.IPermissionGroup;
 import de.dytanic.cloudnet.driver.permission.IPermissionManagement;
 import de.dytanic.cloudnet.driver.permission.IPermissionUser;
@@ -88,6 +93,7 @@
 import de.dytanic.cloudnet.driver.service.GroupConfiguration;
 import de.dytanic.cloudnet.driver.service.ProcessSnapshot;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotVersions;
 import de.dytanic.cloudnet.driver.service.ServiceTask;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import de.dytanic.cloudnet.driver.template.TemplateStorage;
@@ -109,6 +115,7 @@
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerClusterNodeInfoUpdateListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerDeployLocalTemplateListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerH2DatabaseListener;
+import de.dytanic.cloudnet.network.listener.cluster.PacketServerServiceInfoDeltaListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerServiceInfoPublisherListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetGlobalServiceInfoListListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSetGroupConfigurationListListener;
@@ -150,6 +157,7 @@
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
@@ -168,6 +176,8 @@
 public final class CloudNet extends CloudNetDriver {
 
   public static final int TPS = 10;
+  private static final int DATABASE_SYNC_PAGE_SIZE = Integer.getInteger("cloudnet.cluster.database.sync.pageSize",
+    1000);
   private static CloudNet instance;
 
   private final long startupMillis = System.currentTimeMillis();
@@ -640,25 +650,60 @@ public void updateGroupConfigurationsInCluster(Collection<GroupConfiguration> gr
   public void sendAllSync(@NotNull IPacket... packets) {
     Preconditions.checkNotNull(packets);
 
-    this.getClusterNodeServerProvider().sendPacketSync(packets);
-
-    for (ICloudService cloudService : this.getCloudServiceManager().getCloudServices().values()) {
-      if (cloudService.getNetworkChannel() != null) {
-        cloudService.getNetworkChannel().sendPacketSync(packets);
-      }
+    Collection<INetworkChannel> channels = this.getAllChannels();
+    for (IPacket packet : packets) {
+      IPacketSender.sendPacketToAll(channels, packet, true);
     }
   }
 
   public void sendAll(@NotNull IPacket... packets) {
     Preconditions.checkNotNull(packets);
 
-    this.getClusterNodeServerProvider().sendPacket(packets);
+    this.networkServer.broadcastPacket(this.getAllChannels(), packets);
+  }
+
+  /**
+   * Publishes an update of a service running on this node to all nodes and services. The update is sent as a delta to
+   * the previous update to all channels which support deltas, the other channels receive the full snapshot.
+   *
+   * @param serviceInfoSnapshot the updated snapshot of the service
+   * @see INetworkChannel#isServiceInfoDeltaSupported()
+   */
+  @ApiStatus.Internal
+  public void publishServiceInfoUpdate(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
+    Preconditions.checkNotNull(serviceInfoSnapshot);
+
+    ServiceInfoSnapshotVersions versions = this.getCloudServiceManager().getServiceInfoSnapshotVersions();
+    IPacket packet = versions.createUpdatePacket(serviceInfoSnapshot);
+    if (!(packet instanceof PacketClientServerServiceInfoDelta)) {
+      this.sendAll(packet);
+      return;
+    }
+
+    Collection<INetworkChannel> deltaChannels = new ArrayList<>();
+    Collection<INetworkChannel> fullUpdateChannels = new ArrayList<>();
+    for (INetworkChannel channel : this.getAllChannels()) {
+      (channel.isServiceInfoDeltaSupported() ? deltaChannels : fullUpdateChannels).add(channel);
+    }
+
+    this.networkServer.broadcastPacket(deltaChannels, packet);
+    if (!fullUpdateChannels.isEmpty()) {
+      IPacket fullUpdate = versions.createFullUpdatePacket(serviceInfoSnapshot.getServiceId().getUniqueId());
+      if (fullUpdate != null) {
+        this.networkServer.broadcastPacket(fullUpdateChannels, fullUpdate);
+      }
+    }
+  }
 
+  private Collection<INetworkChannel> getAllChannels() {
+    Collection<INetworkChannel> channels = new ArrayList<>(this.getClusterNodeServerProvider().getConnectedChannels());
     for (ICloudService cloudService : this.getCloudServiceManager().getCloudServices().values()) {
       if (cloudService.getNetworkChannel() != null) {
-        cloudService.getNetworkChannel().sendPacket(packets);
+        channels.add(cloudService.getNetworkChannel());
       }
     }
+
+    return channels;
   }
 
   public NetworkClusterNodeInfoSnapshot createClusterNodeInfoSnapshot() {
@@ -839,17 +884,53 @@ public void publishPermissionGroupUpdates(Collection<IPermissionGroup> permissio
   }
 
   public void publishH2DatabaseDataToCluster(INetworkChannel channel) {
+    this.publishH2DatabaseDataToCluster(channel, false);
+  }
+
+  /**
+   * @param paged if the other node announced that it can receive the documents page by page, otherwise all documents
+   *              are sent in one packet which older nodes would expect
+   */
+  public void publishH2DatabaseDataToCluster(INetworkChannel channel, boolean paged) {
     if (channel != null) {
-      if (this.databaseProvider instanceof H2DatabaseProvider) {
-        Map<String, Map<String, JsonDocument>> map = this.allocateDatabaseData();
+      if (this.databaseProvider instanceof LocalDatabaseProvider) {
+        if (!paged) {
+          Map<String, Map<String, JsonDocument>> map = this.allocateDatabaseData();
+
+          channel.sendPacket(new PacketServerSetH2DatabaseData(map, NetworkUpdateType.ADD));
+
+          for (Map.Entry<String, Map<String, JsonDocument>> entry : map.entrySet()) {
+            entry.getValue().clear();
+          }
 
-        channel.sendPacket(new PacketServerSetH2DatabaseData(map, NetworkUpdateType.ADD));
+          map.clear();
+          return;
+        }
 
-        for (Map.Entry<String, Map<String, JsonDocument>> entry : map.entrySet()) {
-          entry.getValue().clear();
+        // the first packet replaces the databases of the other node, the documents follow page by page so that only
+        // one page of them is held in memory at once
+        Map<String, Map<String, JsonDocument>> databases = new HashMap<>();
+        for (String name : this.databaseProvider.getDatabaseNames()) {
+          databases.put(name, new HashMap<>());
         }
 
-        map.clear();
+        channel.sendPacketSync(new PacketServerSetH2DatabaseData(databases, NetworkUpdateType.ADD, false));
+
+        for (String name : databases.keySet()) {
+          Database database = this.databaseProvider.getDatabase(name);
+
+          String cursor = null;
+          do {
+            Map<String, JsonDocument> page = new HashMap<>();
+            cursor = database.iterate(cursor, DATABASE_SYNC_PAGE_SIZE, page::put);
+
+            if (!page.isEmpty()) {
+              // waits until the page is written, so a slow node doesn't let the pages pile up in memory
+              channel.sendPacketSync(new PacketServerSetH2DatabaseData(Collections.singletonMap(name, page),
+                NetworkUpdateType.ADD, true));
+            }
+          } while (cursor != null);
+        }
       }
     }
   }
@@ -858,11 +939,7 @@ private Map<String, Map<String, JsonDocument>> allocateDatabaseData() {
     Map<String, Map<String, JsonDocument>> map = new HashMap<>();
 
     for (String name : this.databaseProvider.getDatabaseNames()) {
-      if (!map.containsKey(name)) {
-        map.put(name, new HashMap<>());
-      }
-      Database database = this.databaseProvider.getDatabase(name);
-      map.get(name).putAll(database.entries());
+      map.put(name, this.databaseProvider.getDatabase(name).entries());
     }
 
     return map;
@@ -875,6 +952,7 @@ public void registerClusterPacketRegistryListeners(IPacketListenerRegistry regis
     }
 
     registry.addListener(PacketConstants.SERVICE_INFO_PUBLISH_CHANNEL, new PacketServerServiceInfoPublisherListener());
+    registry.addListener(PacketConstants.SERVICE_INFO_DELTA_CHANNEL, new PacketServerServiceInfoDeltaListener());
     registry.addListener(PacketConstants.PERMISSIONS_PUBLISH_CHANNEL, new PacketServerUpdatePermissionsListener());
     registry.addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, new PacketServerChannelMessageListener(false));
 
@@ -967,7 +1045,8 @@ private void registerDefaultCommands() {
       new CommandScreen(),
       new CommandPermissions(),
       new CommandCopy(),
-      new CommandDebug()
+      new CommandDebug(),
+      new CommandDatabase()
     );
   }
 
@@ -1025,6 +1104,14 @@ private void registerDefaultServices() {
       new H2DatabaseProvider(System.getProperty("cloudnet.database.h2.path", "local/database/h2"),
         !this.config.getClusterConfig().getNodes().isEmpty())
     );
+
+    this.servicesRegistry.registerService(
+      AbstractDatabaseProvider.class,
+      "mvstore",
+      new MVStoreDatabaseProvider(
+        System.getProperty("cloudnet.database.mvstore.path", "local/database/mvstore/database.mv.db"),
+        !this.config.getClusterConfig().getNodes().isEmpty())
+    );
   }
 
   private void runConsole() {
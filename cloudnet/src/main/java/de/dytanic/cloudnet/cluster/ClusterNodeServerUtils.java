@@ -20,7 +20,7 @@
 import de.dytanic.cloudnet.common.language.LanguageManager;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
-import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.service.ICloudService;
 import java.util.ArrayList;
@@ -33,7 +33,7 @@ private ClusterNodeServerUtils() {
   }
 
   public static void handleNodeServerClose(INetworkChannel channel, IClusterNodeServer server) {
-    Collection<Packet> removed = new ArrayList<>();
+    Collection<IPacket> removed = new ArrayList<>();
 
     for (ServiceInfoSnapshot snapshot : CloudNet.getInstance().getCloudServiceProvider().getCloudServices()) {
       if (snapshot.getServiceId().getNodeUniqueId().equalsIgnoreCase(server.getNodeInfo().getUniqueId())) {
@@ -44,14 +44,15 @@ public static void handleNodeServerClose(INetworkChannel channel, IClusterNodeSe
       }
     }
 
+    Collection<INetworkChannel> channels = new ArrayList<>();
     for (ICloudService cloudService : CloudNet.getInstance().getCloudServiceManager().getCloudServices().values()) {
       if (cloudService.getNetworkChannel() != null) {
-        for (Packet packet : removed) {
-          cloudService.getNetworkChannel().sendPacket(packet);
-        }
+        channels.add(cloudService.getNetworkChannel());
       }
     }
 
+    CloudNet.getInstance().getNetworkServer().broadcastPacket(channels, removed.toArray(new IPacket[0]));
+
     System.out.println(LanguageManager.getMessage("cluster-server-networking-disconnected")
       .replace("%id%", server.getNodeInfo().getUniqueId())
       .replace("%serverAddress%", channel.getServerAddress().getHost() + ":" + channel.getServerAddress().getPort())
@@ -39,6 +39,7 @@ public class DefaultClusterNodeServer extends DefaultNodeServer implements IClus
   private final CloudServiceFactory cloudServiceFactory;
 
   private INetworkChannel channel;
+  private volatile boolean databaseBatchSupported;
 
   protected DefaultClusterNodeServer(DefaultClusterNodeServerProvider provider, NetworkClusterNode nodeInfo) {
     this.provider = provider;
@@ -139,6 +140,16 @@ public void setChannel(@NotNull INetworkChannel channel) {
     this.channel = channel;
   }
 
+  @Override
+  public boolean isDatabaseBatchSupported() {
+    return this.databaseBatchSupported;
+  }
+
+  @Override
+  public void setDatabaseBatchSupported(boolean databaseBatchSupported) {
+    this.databaseBatchSupported = databaseBatchSupported;
+  }
+
   @Override
   public INetworkChannel getNetworkChannel() {
     return this.channel;
@@ -26,6 +26,7 @@
 import de.dytanic.cloudnet.driver.network.cluster.NetworkClusterNodeInfoSnapshot;
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
 import de.dytanic.cloudnet.driver.network.protocol.chunk.ChunkedPacketBuilder;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
 import java.io.IOException;
@@ -47,8 +48,11 @@ public final class DefaultClusterNodeServerProvider extends DefaultNodeServerPro
   private static final Format TIME_FORMAT = new DecimalFormat("##.###");
   private static final long MAX_NO_UPDATE_MILLIS = Long.getLong("cloudnet.max.node.idle.millis", 30_000);
 
+  private final CloudNet cloudNet;
+
   public DefaultClusterNodeServerProvider(CloudNet cloudNet) {
     super(cloudNet);
+    this.cloudNet = cloudNet;
 
     cloudNet.getTaskExecutor().scheduleAtFixedRate(() -> {
       try {
@@ -103,18 +107,21 @@ public void setClusterServers(@NotNull NetworkCluster networkCluster) {
   public void sendPacket(@NotNull IPacket packet) {
     Preconditions.checkNotNull(packet);
 
-    for (IClusterNodeServer nodeServer : this.nodeServers) {
-      nodeServer.saveSendPacket(packet);
-    }
+    this.cloudNet.getNetworkServer().broadcastPacket(this.getConnectedChannels(), packet);
+  }
+
+  @Override
+  public void sendPacket(@NotNull IPacket... packets) {
+    Preconditions.checkNotNull(packets);
+
+    this.cloudNet.getNetworkServer().broadcastPacket(this.getConnectedChannels(), packets);
   }
 
   @Override
   public void sendPacketSync(@NotNull IPacket packet) {
     Preconditions.checkNotNull(packet);
 
-    for (IClusterNodeServer nodeServer : this.nodeServers) {
-      nodeServer.saveSendPacketSync(packet);
-    }
+    IPacketSender.sendPacketToAll(this.getConnectedChannels(), packet, true);
   }
 
   @Override
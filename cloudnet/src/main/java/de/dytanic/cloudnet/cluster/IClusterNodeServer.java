@@ -35,6 +35,16 @@ public interface IClusterNodeServer extends NodeServer, AutoCloseable {
 
   void setChannel(@NotNull INetworkChannel channel);
 
+  /**
+   * Gets if the connected node handles the batch operations of the h2 database synchronization. Nodes of older versions
+   * only know the operations for single documents, the batches have to be sent to them document by document.
+   *
+   * @return if the batch operations can be sent to the node
+   */
+  boolean isDatabaseBatchSupported();
+
+  void setDatabaseBatchSupported(boolean databaseBatchSupported);
+
   boolean isConnected();
 
   void saveSendPacket(@NotNull IPacket packet);
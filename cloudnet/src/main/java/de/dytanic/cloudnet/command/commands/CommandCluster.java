@@ -301,7 +301,7 @@ private static void displayNode(ICommandSender sender, IClusterNodeServer node)
           .format(node.getNodeInfoSnapshot().getProcessSnapshot().getCpuUsage()) + "%",
         "CPU usage system: " + CPUUsageResolver.CPU_USAGE_OUTPUT_FORMAT
           .format(node.getNodeInfoSnapshot().getSystemCpuUsage()) + "%",
-        "Threads: " + node.getNodeInfoSnapshot().getProcessSnapshot().getThreads().size(),
+        "Threads: " + node.getNodeInfoSnapshot().getProcessSnapshot().getThreadCount(),
         "Heap usage: " + (node.getNodeInfoSnapshot().getProcessSnapshot().getHeapUsageMemory() / 1048576) + "/" +
           (node.getNodeInfoSnapshot().getProcessSnapshot().getMaxHeapMemory() / 1048576) + "MB",
         "Loaded classes: " + node.getNodeInfoSnapshot().getProcessSnapshot().getCurrentLoadedClassCount(),
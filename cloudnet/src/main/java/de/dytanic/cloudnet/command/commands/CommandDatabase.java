@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.command.commands;
+
+import de.dytanic.cloudnet.command.ICommandSender;
+import de.dytanic.cloudnet.command.ITabCompleter;
+import de.dytanic.cloudnet.common.Properties;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.common.language.LanguageManager;
+import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
+import de.dytanic.cloudnet.driver.database.Database;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CommandDatabase extends CommandDefault implements ITabCompleter {
+
+  private static final int MIGRATION_PAGE_SIZE = 1000;
+
+  public CommandDatabase() {
+    super("database", "db");
+  }
+
+  @Override
+  public void execute(ICommandSender sender, String command, String[] args, String commandLine, Properties properties) {
+    if (args.length != 3 || !args[0].equalsIgnoreCase("migrate")) {
+      sender.sendMessage(
+        "database migrate <source> <target> | providers: " + String.join(", ", this.getDatabaseProviderNames()));
+      return;
+    }
+
+    AbstractDatabaseProvider source = this.getDatabaseProvider(sender, args[1]);
+    AbstractDatabaseProvider target = this.getDatabaseProvider(sender, args[2]);
+    if (source == null || target == null) {
+      return;
+    }
+
+    if (source == target) {
+      sender.sendMessage(LanguageManager.getMessage("command-database-migrate-same-provider"));
+      return;
+    }
+
+    // the documents are written without notifying the database handler, which only the provider in use has
+    if (target == this.getCloudNet().getDatabaseProvider()) {
+      sender.sendMessage(LanguageManager.getMessage("command-database-migrate-target-in-use")
+        .replace("%name%", args[2]));
+      return;
+    }
+
+    sender.sendMessage(this.replaceProviders("command-database-migrate-start", args));
+
+    boolean initSource = source != this.getCloudNet().getDatabaseProvider();
+    try {
+      if ((initSource && !source.init()) || !target.init()) {
+        sender.sendMessage(this.replaceProviders("command-database-migrate-failed", args));
+        return;
+      }
+
+      for (String name : source.getDatabaseNames()) {
+        long count = this.migrate(source.getDatabase(name), target.getDatabase(name));
+        if (count == -1) {
+          sender.sendMessage(this.replaceProviders("command-database-migrate-failed", args));
+          return;
+        }
+
+        sender.sendMessage(LanguageManager.getMessage("command-database-migrate-database")
+          .replace("%name%", name)
+          .replace("%count%", String.valueOf(count)));
+      }
+
+      sender.sendMessage(this.replaceProviders("command-database-migrate-success", args));
+    } catch (Exception exception) {
+      exception.printStackTrace();
+      sender.sendMessage(this.replaceProviders("command-database-migrate-failed", args));
+    } finally {
+      this.closeDatabaseProvider(target);
+      if (initSource) {
+        this.closeDatabaseProvider(source);
+      }
+    }
+  }
+
+  /**
+   * @return the amount of copied documents or -1 if the documents couldn't be written to the target
+   */
+  private long migrate(Database source, Database target) {
+    long count = 0;
+    String cursor = null;
+
+    do {
+      Map<String, JsonDocument> page = new LinkedHashMap<>();
+      cursor = source.iterate(cursor, MIGRATION_PAGE_SIZE, page::put);
+
+      if (!page.isEmpty() && !target.insertAll(page)) {
+        return -1;
+      }
+      count += page.size();
+    } while (cursor != null);
+
+    return count;
+  }
+
+  private AbstractDatabaseProvider getDatabaseProvider(ICommandSender sender, String name) {
+    AbstractDatabaseProvider databaseProvider = this.getCloudNet().getServicesRegistry()
+      .getService(AbstractDatabaseProvider.class, name);
+    if (databaseProvider == null) {
+      sender.sendMessage(LanguageManager.getMessage("command-database-provider-not-found").replace("%name%", name));
+    }
+
+    return databaseProvider;
+  }
+
+  private void closeDatabaseProvider(AbstractDatabaseProvider databaseProvider) {
+    try {
+      databaseProvider.close();
+    } catch (Exception exception) {
+      exception.printStackTrace();
+    }
+  }
+
+  private String replaceProviders(String messageKey, String[] args) {
+    return LanguageManager.getMessage(messageKey)
+      .replace("%source%", args[1])
+      .replace("%target%", args[2]);
+  }
+
+  private Collection<String> getDatabaseProviderNames() {
+    return this.getCloudNet().getServicesRegistry().getServices(AbstractDatabaseProvider.class).stream()
+      .map(AbstractDatabaseProvider::getName)
+      .collect(Collectors.toList());
+  }
+
+  @Override
+  public Collection<String> complete(String commandLine, String[] args, Properties properties) {
+    if (args.length <= 1) {
+      return Collections.singletonList("migrate");
+    }
+
+    return args.length <= 3 ? this.getDatabaseProviderNames() : Collections.emptyList();
+  }
+}
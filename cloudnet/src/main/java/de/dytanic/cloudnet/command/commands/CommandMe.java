@@ -19,11 +19,14 @@
 import de.dytanic.cloudnet.command.ICommandSender;
 import de.dytanic.cloudnet.common.Properties;
 import de.dytanic.cloudnet.common.unsafe.CPUUsageResolver;
+import de.dytanic.cloudnet.database.h2.H2ConnectionPoolStatistics;
+import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public final class CommandMe extends CommandDefault {
 
@@ -60,6 +63,20 @@ public void execute(ICommandSender sender, String command, String[] args, String
       "Total loaded classes: " + ManagementFactory.getClassLoadingMXBean().getTotalLoadedClassCount(),
       " "
     ));
+
+    if (this.getCloudNet().getDatabaseProvider() instanceof H2DatabaseProvider) {
+      H2ConnectionPoolStatistics statistics = ((H2DatabaseProvider) this.getCloudNet().getDatabaseProvider())
+        .getConnectionPoolStatistics();
+      long statements = statistics.getStatementCacheHits() + statistics.getStatementCacheMisses();
+
+      messages.add(messages.size() - 1, "H2 database connections (U/M): "
+        + (statistics.getPoolSize() - statistics.getIdleConnections()) + "/" + statistics.getPoolSize()
+        + ", wait (A/M): " + TimeUnit.NANOSECONDS.toMillis(statistics.getAverageWaitNanos()) + "/"
+        + TimeUnit.NANOSECONDS.toMillis(statistics.getMaxWaitNanos()) + " ms"
+        + ", cached statements: " + (statements == 0 ? 0 : statistics.getStatementCacheHits() * 100 / statements)
+        + "%");
+    }
+
     sender.sendMessage(messages.toArray(new String[0]));
   }
 }
@@ -17,15 +17,21 @@
 package de.dytanic.cloudnet.database;
 
 import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.cluster.IClusterNodeServer;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
-import de.dytanic.cloudnet.database.h2.H2Database;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.database.Database;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.event.database.DatabaseClearEntriesEvent;
 import de.dytanic.cloudnet.event.database.DatabaseDeleteEntryEvent;
 import de.dytanic.cloudnet.event.database.DatabaseInsertEntryEvent;
 import de.dytanic.cloudnet.event.database.DatabaseUpdateEntryEvent;
 import de.dytanic.cloudnet.network.packet.PacketServerH2Database;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public final class DefaultDatabaseHandler implements IDatabaseHandler {
 
@@ -34,7 +40,7 @@ public void handleInsert(Database database, String key, JsonDocument document) {
     CloudNetDriver.getInstance().getEventManager()
       .callEvent(new DatabaseInsertEntryEvent((IDatabase) database, key, document));
 
-    if (database instanceof H2Database) {
+    if (database instanceof LocalDatabase) {
       CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
         new PacketServerH2Database(PacketServerH2Database.OperationType.INSERT, database.getName(), key, document)
       );
@@ -46,7 +52,7 @@ public void handleUpdate(Database database, String key, JsonDocument document) {
     CloudNetDriver.getInstance().getEventManager()
       .callEvent(new DatabaseUpdateEntryEvent((IDatabase) database, key, document));
 
-    if (database instanceof H2Database) {
+    if (database instanceof LocalDatabase) {
       CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
         new PacketServerH2Database(PacketServerH2Database.OperationType.UPDATE, database.getName(), key, document)
       );
@@ -57,21 +63,68 @@ public void handleUpdate(Database database, String key, JsonDocument document) {
   public void handleDelete(Database database, String key) {
     CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseDeleteEntryEvent((IDatabase) database, key));
 
-    if (database instanceof H2Database) {
+    if (database instanceof LocalDatabase) {
       CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
         new PacketServerH2Database(PacketServerH2Database.OperationType.DELETE, database.getName(), key, null)
       );
     }
   }
 
+  @Override
+  public void handleInsertAll(Database database, Map<String, JsonDocument> documents) {
+    documents.forEach((key, document) -> CloudNetDriver.getInstance().getEventManager()
+      .callEvent(new DatabaseInsertEntryEvent((IDatabase) database, key, document)));
+
+    if (database instanceof LocalDatabase) {
+      this.sendBatchToCluster(new PacketServerH2Database(database.getName(), documents), () -> documents.entrySet()
+        .stream()
+        .map(entry -> new PacketServerH2Database(PacketServerH2Database.OperationType.INSERT, database.getName(),
+          entry.getKey(), entry.getValue()))
+        .toArray(IPacket[]::new));
+    }
+  }
+
+  @Override
+  public void handleDeleteAll(Database database, Collection<String> keys) {
+    keys.forEach(key -> CloudNetDriver.getInstance().getEventManager()
+      .callEvent(new DatabaseDeleteEntryEvent((IDatabase) database, key)));
+
+    if (database instanceof LocalDatabase) {
+      this.sendBatchToCluster(new PacketServerH2Database(database.getName(), keys), () -> keys.stream()
+        .map(key -> new PacketServerH2Database(PacketServerH2Database.OperationType.DELETE, database.getName(), key,
+          null))
+        .toArray(IPacket[]::new));
+    }
+  }
+
   @Override
   public void handleClear(Database database) {
     CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseClearEntriesEvent((IDatabase) database));
 
-    if (database instanceof H2Database) {
+    if (database instanceof LocalDatabase) {
       CloudNet.getInstance().getClusterNodeServerProvider().sendPacket(
         new PacketServerH2Database(PacketServerH2Database.OperationType.CLEAR, database.getName(), null, null)
       );
     }
   }
+
+  private void sendBatchToCluster(IPacket batch, Supplier<IPacket[]> singleOperations) {
+    Collection<INetworkChannel> batchChannels = new ArrayList<>();
+    Collection<INetworkChannel> singleChannels = new ArrayList<>();
+
+    for (IClusterNodeServer nodeServer : CloudNet.getInstance().getClusterNodeServerProvider().getNodeServers()) {
+      INetworkChannel channel = nodeServer.getChannel();
+      if (channel != null) {
+        (nodeServer.isDatabaseBatchSupported() ? batchChannels : singleChannels).add(channel);
+      }
+    }
+
+    if (!batchChannels.isEmpty()) {
+      CloudNet.getInstance().getNetworkServer().broadcastPacket(batchChannels, batch);
+    }
+    // nodes of older versions don't know the batch operations
+    if (!singleChannels.isEmpty()) {
+      CloudNet.getInstance().getNetworkServer().broadcastPacket(singleChannels, singleOperations.get());
+    }
+  }
 }
@@ -18,6 +18,8 @@
 
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.database.Database;
+import java.util.Collection;
+import java.util.Map;
 
 public interface IDatabaseHandler {
 
@@ -29,4 +31,12 @@ public interface IDatabaseHandler {
 
   void handleClear(Database database);
 
+  default void handleInsertAll(Database database, Map<String, JsonDocument> documents) {
+    documents.forEach((key, document) -> this.handleInsert(database, key, document));
+  }
+
+  default void handleDeleteAll(Database database, Collection<String> keys) {
+    keys.forEach(key -> this.handleDelete(database, key));
+  }
+
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database;
+
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.driver.database.Database;
+import java.util.Collection;
+import java.util.Map;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A database which is only stored on this node. Its changes are sent to the other nodes of the cluster by the
+ * {@link DefaultDatabaseHandler} and applied there by the methods of this interface, which don't notify the handler
+ * again.
+ */
+@ApiStatus.Internal
+public interface LocalDatabase extends Database {
+
+  boolean insertOrUpdate(String key, JsonDocument document);
+
+  boolean delete0(String key);
+
+  void clear0();
+
+  boolean insertAll0(Map<String, JsonDocument> documents);
+
+  boolean deleteAll0(Collection<String> keys);
+
+}
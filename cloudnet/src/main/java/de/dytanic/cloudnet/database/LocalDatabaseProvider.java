@@ -0,0 +1,32 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database;
+
+import de.dytanic.cloudnet.driver.database.DatabaseProvider;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A provider of databases which are only stored on this node, the databases are synchronized with the other nodes of
+ * the cluster.
+ */
+@ApiStatus.Internal
+public interface LocalDatabaseProvider extends DatabaseProvider {
+
+  @Override
+  LocalDatabase getDatabase(String name);
+
+}
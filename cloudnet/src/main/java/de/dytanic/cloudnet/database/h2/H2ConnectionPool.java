@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.database.h2;
+
+import com.google.common.base.Preconditions;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed size pool of connections to the embedded h2 database. Every connection caches the statements prepared on it
+ * by their sql text, so a statement is only prepared once per connection as long as it stays in the cache.
+ */
+final class H2ConnectionPool {
+
+  private final int size;
+  private final int statementCacheSize;
+  private final long acquireTimeoutMillis;
+
+  private final Collection<PooledConnection> connections = new ArrayList<>();
+  private final BlockingQueue<PooledConnection> idleConnections;
+
+  private final AtomicLong acquisitions = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final AtomicLong statementCacheHits = new AtomicLong();
+  private final AtomicLong statementCacheMisses = new AtomicLong();
+
+  private String url;
+  private volatile boolean closed;
+
+  H2ConnectionPool(int size, int statementCacheSize, long acquireTimeoutMillis) {
+    Preconditions.checkArgument(size > 0, "The pool needs at least one connection");
+    Preconditions.checkArgument(statementCacheSize >= 0, "The statement cache size must not be negative");
+    Preconditions.checkArgument(acquireTimeoutMillis > 0, "The acquire timeout must be positive");
+
+    this.size = size;
+    this.statementCacheSize = statementCacheSize;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.idleConnections = new ArrayBlockingQueue<>(size);
+  }
+
+  synchronized void open(String url) throws SQLException {
+    Preconditions.checkState(this.connections.isEmpty(), "The pool is already open");
+    this.url = url;
+    this.closed = false;
+
+    try {
+      for (int i = 0; i < this.size; i++) {
+        PooledConnection connection = new PooledConnection(DriverManager.getConnection(url));
+        this.connections.add(connection);
+        this.idleConnections.add(connection);
+      }
+    } catch (SQLException exception) {
+      this.close();
+      throw exception;
+    }
+  }
+
+  PooledConnection acquire() throws SQLException {
+    if (this.closed) {
+      throw new SQLException("The connection pool of the h2 database is closed");
+    }
+
+    this.acquisitions.incrementAndGet();
+
+    PooledConnection connection = this.idleConnections.poll();
+    if (connection != null) {
+      return connection;
+    }
+
+    long startTime = System.nanoTime();
+    try {
+      connection = this.idleConnections.poll(this.acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a connection of the h2 database", exception);
+    } finally {
+      long waitNanos = System.nanoTime() - startTime;
+
+      this.totalWaitNanos.addAndGet(waitNanos);
+      this.maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    if (connection == null) {
+      this.timeouts.incrementAndGet();
+      throw new SQLException(String.format("No connection of the h2 database became available within %d ms",
+        this.acquireTimeoutMillis));
+    }
+
+    return connection;
+  }
+
+  void release(PooledConnection connection) {
+    if (this.closed) {
+      connection.close();
+    } else {
+      this.idleConnections.offer(connection);
+    }
+  }
+
+  /**
+   * @return a new connection to the database of this pool which is not part of the pool, the caller has to close it
+   */
+  synchronized Connection openConnection() throws SQLException {
+    if (this.closed || this.url == null) {
+      throw new SQLException("The connection pool of the h2 database is closed");
+    }
+
+    return DriverManager.getConnection(this.url);
+  }
+
+  synchronized void close() {
+    this.closed = true;
+
+    for (PooledConnection connection : this.connections) {
+      connection.close();
+    }
+
+    this.connections.clear();
+    this.idleConnections.clear();
+  }
+
+  H2ConnectionPoolStatistics createStatistics() {
+    long acquisitions = this.acquisitions.get();
+    return new H2ConnectionPoolStatistics(
+      this.size,
+      this.idleConnections.size(),
+      this.statementCacheSize,
+      acquisitions,
+      this.timeouts.get(),
+      acquisitions == 0 ? 0 : this.totalWaitNanos.get() / acquisitions,
+      this.maxWaitNanos.get(),
+      this.statementCacheHits.get(),
+      this.statementCacheMisses.get()
+    );
+  }
+
+  private static void closeStatement(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException exception) {
+      exception.printStackTrace();
+    }
+  }
+
+  final class PooledConnection {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new LinkedHashMap<String, PreparedStatement>(16,
+      0.75F, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+        if (this.size() > H2ConnectionPool.this.statementCacheSize) {
+          closeStatement(eldest.getValue());
+          return true;
+        }
+
+        return false;
+      }
+    };
+
+    private PooledConnection(Connection connection) {
+      this.connection = connection;
+    }
+
+    PreparedStatement prepareStatement(String sql) throws SQLException {
+      PreparedStatement statement = this.statements.get(sql);
+      if (statement != null) {
+        H2ConnectionPool.this.statementCacheHits.incrementAndGet();
+        return statement;
+      }
+
+      H2ConnectionPool.this.statementCacheMisses.incrementAndGet();
+
+      statement = this.connection.prepareStatement(sql);
+      if (H2ConnectionPool.this.statementCacheSize > 0) {
+        this.statements.put(sql, statement);
+      }
+
+      return statement;
+    }
+
+    /**
+     * Hands a statement of {@link #prepareStatement(String)} back after it was executed.
+     *
+     * @param sql       the sql text the statement was prepared for
+     * @param statement the statement to hand back
+     * @param failed    if the execution of the statement failed, the statement is not reused then
+     */
+    void releaseStatement(String sql, PreparedStatement statement, boolean failed) {
+      if (this.statements.get(sql) != statement) {
+        closeStatement(statement);
+        return;
+      }
+
+      if (failed) {
+        this.statements.remove(sql);
+        closeStatement(statement);
+        return;
+      }
+
+      try {
+        statement.clearParameters();
+      } catch (SQLException exception) {
+        this.statements.remove(sql);
+        closeStatement(statement);
+      }
+    }
+
+    private void close() {
+      for (PreparedStatement statement : this.statements.values()) {
+        closeStatement(statement);
+      }
+      this.statements.clear();
+
+      try {
+        this.connection.close();
+      } catch (SQLException exception) {
+        exception.printStackTrace();
+      }
+    }
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.database.h2;
+
+/**
+ * A snapshot of the statistics of the connection pool of the {@link H2DatabaseProvider}.
+ *
+ * @see H2DatabaseProvider#getConnectionPoolStatistics()
+ */
+public final class H2ConnectionPoolStatistics {
+
+  private final int poolSize;
+  private final int idleConnections;
+  private final int statementCacheSize;
+
+  private final long acquisitions;
+  private final long timeouts;
+  private final long averageWaitNanos;
+  private final long maxWaitNanos;
+  private final long statementCacheHits;
+  private final long statementCacheMisses;
+
+  public H2ConnectionPoolStatistics(int poolSize, int idleConnections, int statementCacheSize, long acquisitions,
+    long timeouts, long averageWaitNanos, long maxWaitNanos, long statementCacheHits, long statementCacheMisses) {
+    this.poolSize = poolSize;
+    this.idleConnections = idleConnections;
+    this.statementCacheSize = statementCacheSize;
+    this.acquisitions = acquisitions;
+    this.timeouts = timeouts;
+    this.averageWaitNanos = averageWaitNanos;
+    this.maxWaitNanos = maxWaitNanos;
+    this.statementCacheHits = statementCacheHits;
+    this.statementCacheMisses = statementCacheMisses;
+  }
+
+  public int getPoolSize() {
+    return this.poolSize;
+  }
+
+  /**
+   * @return the amount of connections which are currently not used
+   */
+  public int getIdleConnections() {
+    return this.idleConnections;
+  }
+
+  /**
+   * @return the maximum amount of prepared statements cached per connection
+   */
+  public int getStatementCacheSize() {
+    return this.statementCacheSize;
+  }
+
+  /**
+   * @return the amount of times a connection was taken from the pool
+   */
+  public long getAcquisitions() {
+    return this.acquisitions;
+  }
+
+  /**
+   * @return the amount of times no connection became available within the acquire timeout
+   */
+  public long getTimeouts() {
+    return this.timeouts;
+  }
+
+  /**
+   * @return the average time in nanoseconds a caller waited for a connection, including the ones which got a
+   * connection without waiting
+   */
+  public long getAverageWaitNanos() {
+    return this.averageWaitNanos;
+  }
+
+  /**
+   * @return the longest time in nanoseconds a caller waited for a connection
+   */
+  public long getMaxWaitNanos() {
+    return this.maxWaitNanos;
+  }
+
+  /**
+   * @return the amount of statements which were taken from the statement cache of a connection
+   */
+  public long getStatementCacheHits() {
+    return this.statementCacheHits;
+  }
+
+  /**
+   * @return the amount of statements which had to be prepared because they were not cached
+   */
+  public long getStatementCacheMisses() {
+    return this.statementCacheMisses;
+  }
+
+  @Override
+  public String toString() {
+    return "H2ConnectionPoolStatistics{"
+      + "connections=" + (this.poolSize - this.idleConnections) + "/" + this.poolSize
+      + ", statementCacheSize=" + this.statementCacheSize
+      + ", acquisitions=" + this.acquisitions
+      + ", timeouts=" + this.timeouts
+      + ", averageWaitNanos=" + this.averageWaitNanos
+      + ", maxWaitNanos=" + this.maxWaitNanos
+      + ", statementCacheHits=" + this.statementCacheHits
+      + ", statementCacheMisses=" + this.statementCacheMisses
+      + '}';
+  }
+}
@@ -16,15 +16,35 @@
 
 package de.dytanic.cloudnet.database.h2;
 
+import de.dytanic.cloudnet.database.LocalDatabase;
 import de.dytanic.cloudnet.database.sql.SQLDatabase;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 
-public final class H2Database extends SQLDatabase {
+public final class H2Database extends SQLDatabase implements LocalDatabase {
 
   public H2Database(H2DatabaseProvider databaseProvider, String name, ExecutorService executorService) {
     super(databaseProvider, name, executorService);
   }
 
+  @Override
+  protected String createUpsertStatement(List<String> columns) {
+    return String.format("MERGE INTO `%s` (%s) KEY (%s) VALUES (%s)", this.name, String.join(", ", columns),
+      TABLE_COLUMN_KEY, createPlaceholders(columns.size()));
+  }
+
+  @Override
+  protected Collection<String> createIndexStatements(String column) {
+    return Arrays.asList(
+      String.format("ALTER TABLE `%s` ADD COLUMN IF NOT EXISTS `%s` VARCHAR(%d)", this.name, column,
+        INDEX_VALUE_LENGTH),
+      // index names are unique per schema in h2
+      String.format("CREATE INDEX IF NOT EXISTS `%s$%s` ON `%s` (`%s`)", this.name, column, this.name, column)
+    );
+  }
+
   @Override
   public boolean isSynced() {
     return false;
@@ -20,12 +20,13 @@
 import de.dytanic.cloudnet.common.concurrent.IThrowableCallback;
 import de.dytanic.cloudnet.common.io.FileUtils;
 import de.dytanic.cloudnet.common.language.LanguageManager;
+import de.dytanic.cloudnet.database.LocalDatabaseProvider;
+import de.dytanic.cloudnet.database.h2.H2ConnectionPool.PooledConnection;
 import de.dytanic.cloudnet.database.sql.SQLDatabaseProvider;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -33,33 +34,52 @@
 import java.util.Collection;
 import java.util.concurrent.ExecutorService;
 import org.h2.Driver;
+import org.jetbrains.annotations.NotNull;
 
-public final class H2DatabaseProvider extends SQLDatabaseProvider {
+public final class H2DatabaseProvider extends SQLDatabaseProvider implements LocalDatabaseProvider {
 
   private static final long NEW_CREATION_DELAY = 600_000;
 
+  private static final int CONNECTION_POOL_SIZE = Integer.getInteger("cloudnet.database.h2.pool.size", 4);
+  private static final long CONNECTION_POOL_TIMEOUT = Long.getLong("cloudnet.database.h2.pool.timeout", 30_000);
+  private static final boolean MULTI_THREADED = Boolean.getBoolean("cloudnet.database.h2.multiThreaded");
+  private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("cloudnet.database.h2.statementCache.size", 64);
+
   static {
     Driver.load();
   }
 
   protected final Path h2dbFile;
   protected final boolean runsInCluster;
-  protected Connection connection;
+  private final H2ConnectionPool connectionPool;
 
   public H2DatabaseProvider(String h2File, boolean runsInCluster) {
     this(h2File, runsInCluster, null);
   }
 
   public H2DatabaseProvider(String h2File, boolean runsInCluster, ExecutorService executorService) {
+    this(h2File, runsInCluster, executorService, CONNECTION_POOL_SIZE, STATEMENT_CACHE_SIZE);
+  }
+
+  /**
+   * @param connectionPoolSize the amount of connections opened to the database
+   * @param statementCacheSize the maximum amount of prepared statements cached per connection, 0 disables the cache
+   */
+  public H2DatabaseProvider(String h2File, boolean runsInCluster, ExecutorService executorService,
+    int connectionPoolSize, int statementCacheSize) {
     super(executorService);
     this.h2dbFile = Paths.get(h2File);
     this.runsInCluster = runsInCluster;
+    this.connectionPool = new H2ConnectionPool(connectionPoolSize, statementCacheSize, CONNECTION_POOL_TIMEOUT);
   }
 
   @Override
   public boolean init() throws Exception {
     FileUtils.createDirectoryReported(this.h2dbFile.getParent());
-    this.connection = DriverManager.getConnection("jdbc:h2:" + this.h2dbFile.toAbsolutePath());
+    // the mv store isolates the connections of the pool by mvcc, but they still take turns on the lock of the whole
+    // database for each statement unless the multi threaded mode is enabled, which is experimental in this h2 version
+    String url = "jdbc:h2:" + this.h2dbFile.toAbsolutePath();
+    this.connectionPool.open(MULTI_THREADED ? url + ";MULTI_THREADED=TRUE" : url);
 
     if (this.runsInCluster) {
       CloudNetDriver.getInstance().getLogger().warning("============================================");
@@ -71,7 +91,7 @@ public boolean init() throws Exception {
       CloudNetDriver.getInstance().getLogger().warning("============================================");
     }
 
-    return this.connection != null;
+    return true;
   }
 
   @Override
@@ -97,15 +117,9 @@ public boolean deleteDatabase(String name) {
     }
 
     this.cachedDatabaseInstances.remove(name);
+    this.cachedIndexColumns.remove(name);
 
-    try (PreparedStatement preparedStatement = this.connection
-      .prepareStatement("DROP TABLE IF EXISTS `" + name + "`")) {
-      return preparedStatement.executeUpdate() != -1;
-    } catch (SQLException exception) {
-      exception.printStackTrace();
-    }
-
-    return false;
+    return this.executeUpdate("DROP TABLE IF EXISTS `" + name + "`") != -1;
   }
 
   @Override
@@ -132,30 +146,31 @@ public String getName() {
   public void close() throws Exception {
     super.close();
 
-    if (this.connection != null) {
-      this.connection.close();
-    }
+    this.connectionPool.close();
   }
 
+  /**
+   * @return a dedicated connection to the database, so changes to its state like the auto commit don't affect the
+   * connection pool of this provider. The caller has to close it
+   */
   @Override
-  public Connection getConnection() {
-    return this.connection;
+  public Connection getConnection() throws SQLException {
+    return this.connectionPool.openConnection();
+  }
+
+  @NotNull
+  public H2ConnectionPoolStatistics getConnectionPoolStatistics() {
+    return this.connectionPool.createStatistics();
   }
 
   public int executeUpdate(String query, Object... objects) {
     Preconditions.checkNotNull(query);
     Preconditions.checkNotNull(objects);
 
-    try (PreparedStatement preparedStatement = this.getConnection().prepareStatement(query)) {
-      int i = 1;
-      for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
-      }
-
-      return preparedStatement.executeUpdate();
-
-    } catch (SQLException exception) {
-      exception.printStackTrace();
+    try {
+      return this.execute(query, objects, PreparedStatement::executeUpdate);
+    } catch (Throwable throwable) {
+      throwable.printStackTrace();
     }
 
     return -1;
@@ -166,16 +181,12 @@ public <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callbac
     Preconditions.checkNotNull(callback);
     Preconditions.checkNotNull(objects);
 
-    try (PreparedStatement preparedStatement = this.getConnection().prepareStatement(query)) {
-      int i = 1;
-      for (Object object : objects) {
-        preparedStatement.setString(i++, object.toString());
-      }
-
-      try (ResultSet resultSet = preparedStatement.executeQuery()) {
-        return callback.call(resultSet);
-      }
-
+    try {
+      return this.execute(query, objects, preparedStatement -> {
+        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+          return callback.call(resultSet);
+        }
+      });
     } catch (Throwable e) {
       e.printStackTrace();
     }
@@ -183,4 +194,67 @@ public <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callbac
     return null;
   }
 
+  @Override
+  public boolean executeBatch(String query, Collection<Object[]> parameters) {
+    Preconditions.checkNotNull(query);
+    Preconditions.checkNotNull(parameters);
+
+    if (parameters.isEmpty()) {
+      return true;
+    }
+
+    try {
+      return this.execute(query, new Object[0], preparedStatement -> {
+        Connection connection = preparedStatement.getConnection();
+        connection.setAutoCommit(false);
+        try {
+          for (Object[] objects : parameters) {
+            this.setParameters(preparedStatement, objects);
+            preparedStatement.addBatch();
+          }
+
+          preparedStatement.executeBatch();
+          connection.commit();
+          return true;
+        } catch (Throwable throwable) {
+          connection.rollback();
+          throw throwable;
+        } finally {
+          connection.setAutoCommit(true);
+        }
+      });
+    } catch (Throwable throwable) {
+      throwable.printStackTrace();
+    }
+
+    return false;
+  }
+
+  private <T> T execute(String query, Object[] objects, IThrowableCallback<PreparedStatement, T> callback)
+    throws Throwable {
+    PooledConnection connection = this.connectionPool.acquire();
+    try {
+      PreparedStatement preparedStatement = connection.prepareStatement(query);
+      boolean failed = true;
+      try {
+        this.setParameters(preparedStatement, objects);
+
+        T result = callback.call(preparedStatement);
+        failed = false;
+        return result;
+      } finally {
+        connection.releaseStatement(query, preparedStatement, failed);
+      }
+    } finally {
+      this.connectionPool.release(connection);
+    }
+  }
+
+  private void setParameters(PreparedStatement preparedStatement, Object[] objects) throws SQLException {
+    int i = 1;
+    for (Object object : objects) {
+      preparedStatement.setString(i++, object == null ? null : object.toString());
+    }
+  }
+
 }
@@ -0,0 +1,714 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.mvstore;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import de.dytanic.cloudnet.common.concurrent.ITask;
+import de.dytanic.cloudnet.common.concurrent.ListenableTask;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.database.IDatabase;
+import de.dytanic.cloudnet.database.LocalDatabase;
+import de.dytanic.cloudnet.driver.serialization.json.BinaryJsonCodec;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+import org.h2.mvstore.Cursor;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.type.StringDataType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A database stored in a map of a {@link org.h2.mvstore.MVStore} which maps the keys to the documents in the binary
+ * format of the {@link BinaryJsonCodec}. An index is a map of its own whose keys are the compact json value of the
+ * indexed field followed by a null character and the key of the document, so all documents with the same value are
+ * next to each other in the index. Lookups by fields compare the value at the exact path of the field, like the lookups
+ * by an index of a {@link de.dytanic.cloudnet.database.sql.SQLDatabase}.
+ */
+public final class MVStoreDatabase implements IDatabase, LocalDatabase {
+
+  private static final char INDEX_KEY_SEPARATOR = '\0';
+  private static final int ITERATE_PAGE_SIZE = 1000;
+  private static final int LOCK_STRIPES = 64;
+
+  private static final Pattern FIELD_PATH_PATTERN = Pattern.compile("[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*");
+  private static final Pattern FIELD_PATH_SEPARATOR = Pattern.compile("\\.");
+
+  private final MVStoreDatabaseProvider databaseProvider;
+  private final String name;
+  private final MVMap<String, byte[]> documents;
+  private final ExecutorService executorService;
+
+  private final Map<String, MVMap<String, String>> indexes = new ConcurrentHashMap<>();
+  // the document and the index entries of a key are changed together while holding the lock of the key
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  MVStoreDatabase(MVStoreDatabaseProvider databaseProvider, String name, MVMap<String, byte[]> documents,
+    ExecutorService executorService) {
+    this.databaseProvider = databaseProvider;
+    this.name = name;
+    this.documents = documents;
+    this.executorService = executorService;
+
+    for (int i = 0; i < this.locks.length; i++) {
+      this.locks[i] = new Object();
+    }
+
+    String prefix = this.name + INDEX_KEY_SEPARATOR;
+    for (Map.Entry<String, String> entry : this.databaseProvider.getIndexes().entrySet()) {
+      if (entry.getKey().startsWith(prefix)) {
+        this.indexes.put(entry.getKey().substring(prefix.length()), this.openIndexMap(entry.getValue()));
+      }
+    }
+  }
+
+  private static byte[] encode(JsonDocument document) {
+    ByteBuf buffer = Unpooled.buffer();
+    try {
+      BinaryJsonCodec.writeObject(buffer, document.toJsonObject(), true);
+      return ByteBufUtil.getBytes(buffer);
+    } finally {
+      buffer.release();
+    }
+  }
+
+  private static JsonObject decode(byte[] bytes) {
+    return BinaryJsonCodec.readObject(Unpooled.wrappedBuffer(bytes), new JsonObject(), true);
+  }
+
+  /**
+   * @return the value of the field as compact json or null if the document has no such field
+   */
+  private static String readValue(JsonObject document, String fieldPath) {
+    JsonElement element = document;
+    for (String part : FIELD_PATH_SEPARATOR.split(fieldPath)) {
+      if (!element.isJsonObject()) {
+        return null;
+      }
+
+      element = element.getAsJsonObject().get(part);
+      if (element == null) {
+        return null;
+      }
+    }
+
+    return element.toString();
+  }
+
+  private static String createIndexKey(String value, String key) {
+    return value + INDEX_KEY_SEPARATOR + key;
+  }
+
+  @Override
+  public String getName() {
+    return this.name;
+  }
+
+  @Override
+  public MVStoreDatabaseProvider getDatabaseProvider() {
+    return this.databaseProvider;
+  }
+
+  MVMap<String, byte[]> getDocuments() {
+    return this.documents;
+  }
+
+  @Override
+  public void close() {
+    this.databaseProvider.cachedDatabaseInstances.remove(this.name);
+  }
+
+  private Object getLock(String key) {
+    return this.locks[(key.hashCode() & Integer.MAX_VALUE) % this.locks.length];
+  }
+
+  @Override
+  public boolean insert(String key, JsonDocument document) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(document);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleInsert(this, key, document);
+    }
+
+    return this.insertOrUpdate(key, document);
+  }
+
+  @Override
+  public boolean update(String key, JsonDocument document) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(document);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleUpdate(this, key, document);
+    }
+
+    return this.insertOrUpdate(key, document);
+  }
+
+  @Override
+  public boolean insertOrUpdate(String key, JsonDocument document) {
+    Preconditions.checkNotNull(key);
+    Preconditions.checkNotNull(document);
+
+    byte[] value = encode(document);
+    Lock lock = this.databaseProvider.commitLock.readLock();
+    lock.lock();
+    try {
+      this.replace(key, value, document.toJsonObject());
+    } finally {
+      lock.unlock();
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean insertAll(Map<String, JsonDocument> documents) {
+    Preconditions.checkNotNull(documents);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleInsertAll(this, documents);
+    }
+
+    return this.insertAll0(documents);
+  }
+
+  @Override
+  public boolean insertAll0(Map<String, JsonDocument> documents) {
+    Preconditions.checkNotNull(documents);
+
+    // all documents are encoded first, so a document which can't be encoded fails the batch before anything is written
+    List<Map.Entry<String, byte[]>> values = new ArrayList<>(documents.size());
+    try {
+      for (Map.Entry<String, JsonDocument> entry : documents.entrySet()) {
+        values.add(new SimpleImmutableEntry<>(entry.getKey(), encode(entry.getValue())));
+      }
+    } catch (RuntimeException exception) {
+      exception.printStackTrace();
+      return false;
+    }
+
+    return this.replaceAll(values);
+  }
+
+  @Override
+  public boolean contains(String key) {
+    Preconditions.checkNotNull(key);
+
+    return this.documents.containsKey(key);
+  }
+
+  @Override
+  public boolean delete(String key) {
+    Preconditions.checkNotNull(key);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleDelete(this, key);
+    }
+
+    return this.delete0(key);
+  }
+
+  @Override
+  public boolean delete0(String key) {
+    Preconditions.checkNotNull(key);
+
+    Lock lock = this.databaseProvider.commitLock.readLock();
+    lock.lock();
+    try {
+      this.replace(key, null, null);
+    } finally {
+      lock.unlock();
+    }
+
+    return true;
+  }
+
+  @Override
+  public boolean deleteAll(Collection<String> keys) {
+    Preconditions.checkNotNull(keys);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleDeleteAll(this, keys);
+    }
+
+    return this.deleteAll0(keys);
+  }
+
+  @Override
+  public boolean deleteAll0(Collection<String> keys) {
+    Preconditions.checkNotNull(keys);
+
+    List<Map.Entry<String, byte[]>> values = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      values.add(new SimpleImmutableEntry<>(key, null));
+    }
+
+    return this.replaceAll(values);
+  }
+
+  /**
+   * Replaces the documents of all given keys at once. The store isn't committed in the meantime and the documents which
+   * were already replaced are restored if one of them fails, so either all or none of them are replaced.
+   *
+   * @param values the encoded documents mapped by their keys, null to delete the document of the key
+   * @return if all documents were replaced
+   */
+  private boolean replaceAll(List<Map.Entry<String, byte[]>> values) {
+    Lock lock = this.databaseProvider.commitLock.readLock();
+    lock.lock();
+    try {
+      List<Map.Entry<String, byte[]>> previousValues = new ArrayList<>(values.size());
+      try {
+        for (Map.Entry<String, byte[]> entry : values) {
+          previousValues.add(new SimpleImmutableEntry<>(entry.getKey(),
+            this.replace(entry.getKey(), entry.getValue(), null)));
+        }
+
+        return true;
+      } catch (RuntimeException exception) {
+        exception.printStackTrace();
+
+        for (int i = previousValues.size() - 1; i >= 0; i--) {
+          Map.Entry<String, byte[]> entry = previousValues.get(i);
+          this.replace(entry.getKey(), entry.getValue(), null);
+        }
+
+        return false;
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Replaces the document of the key and its index entries, the caller has to hold the read lock of the commit lock.
+   *
+   * @param value    the encoded document or null to delete the document of the key
+   * @param document the decoded document if it's already known, it's only decoded again to update the indexes otherwise
+   * @return the encoded previous document of the key or null if there was none
+   */
+  private byte[] replace(String key, @Nullable byte[] value, @Nullable JsonObject document) {
+    synchronized (this.getLock(key)) {
+      byte[] previous = value == null ? this.documents.remove(key) : this.documents.put(key, value);
+      if ((previous != null || value != null) && !this.indexes.isEmpty()) {
+        this.updateIndexes(key, previous == null ? null : decode(previous),
+          document == null && value != null ? decode(value) : document);
+      }
+
+      return previous;
+    }
+  }
+
+  private void updateIndexes(String key, @Nullable JsonObject previous, @Nullable JsonObject document) {
+    for (Map.Entry<String, MVMap<String, String>> entry : this.indexes.entrySet()) {
+      String previousValue = previous == null ? null : readValue(previous, entry.getKey());
+      String value = document == null ? null : readValue(document, entry.getKey());
+
+      if (!Objects.equals(previousValue, value)) {
+        if (previousValue != null) {
+          entry.getValue().remove(createIndexKey(previousValue, key));
+        }
+        if (value != null) {
+          entry.getValue().put(createIndexKey(value, key), key);
+        }
+      }
+    }
+  }
+
+  @Override
+  public JsonDocument get(String key) {
+    Preconditions.checkNotNull(key);
+
+    byte[] value = this.documents.get(key);
+    return value == null ? null : JsonDocument.newDocument(decode(value));
+  }
+
+  @Override
+  public boolean createIndex(String fieldPath) {
+    Preconditions.checkNotNull(fieldPath);
+    Preconditions.checkArgument(FIELD_PATH_PATTERN.matcher(fieldPath).matches(), "Invalid field path %s", fieldPath);
+
+    synchronized (this.indexes) {
+      if (this.indexes.containsKey(fieldPath)) {
+        return true;
+      }
+
+      // a map left over by an index whose creation was interrupted is filled again from the start
+      String mapName = MVStoreDatabaseProvider.INDEX_MAP_PREFIX + this.name + ':' + fieldPath;
+      MVMap<String, String> index = this.openIndexMap(mapName);
+      index.clear();
+
+      // writes maintain the index from now on, the documents which are already stored are added afterwards
+      this.indexes.put(fieldPath, index);
+
+      for (String key : this.documents.keySet()) {
+        synchronized (this.getLock(key)) {
+          byte[] document = this.documents.get(key);
+          String value = document == null ? null : readValue(decode(document), fieldPath);
+          if (value != null) {
+            index.put(createIndexKey(value, key), key);
+          }
+        }
+      }
+
+      this.databaseProvider.getIndexes().put(this.name + INDEX_KEY_SEPARATOR + fieldPath, mapName);
+    }
+
+    return true;
+  }
+
+  void removeIndexes() {
+    synchronized (this.indexes) {
+      for (Map.Entry<String, MVMap<String, String>> entry : this.indexes.entrySet()) {
+        this.databaseProvider.getIndexes().remove(this.name + INDEX_KEY_SEPARATOR + entry.getKey());
+        this.databaseProvider.getStore().removeMap(entry.getValue());
+      }
+
+      this.indexes.clear();
+    }
+  }
+
+  private MVMap<String, String> openIndexMap(String mapName) {
+    return this.databaseProvider.getStore().openMap(mapName, new MVMap.Builder<String, String>()
+      .keyType(StringDataType.INSTANCE)
+      .valueType(StringDataType.INSTANCE));
+  }
+
+  @Override
+  public List<JsonDocument> get(String fieldName, Object fieldValue) {
+    Preconditions.checkNotNull(fieldName);
+    Preconditions.checkNotNull(fieldValue);
+
+    return this.get(new JsonDocument(fieldName, fieldValue));
+  }
+
+  @Override
+  public List<JsonDocument> get(JsonDocument filters) {
+    Preconditions.checkNotNull(filters);
+
+    Map<String, String> values = new HashMap<>();
+    String indexedField = null;
+    for (String fieldPath : filters) {
+      values.put(fieldPath, filters.get(fieldPath).toString());
+      if (indexedField == null && this.indexes.containsKey(fieldPath)) {
+        indexedField = fieldPath;
+      }
+    }
+
+    List<JsonDocument> result = new ArrayList<>();
+    if (indexedField == null) {
+      for (Map.Entry<String, byte[]> entry : this.documents.entrySet()) {
+        JsonObject document = decode(entry.getValue());
+        if (this.matches(document, values)) {
+          result.add(JsonDocument.newDocument(document));
+        }
+      }
+
+      return result;
+    }
+
+    // the documents are looked up by the first indexed field and checked against the other fields afterwards
+    MVMap<String, String> index = this.indexes.get(indexedField);
+    String prefix = values.get(indexedField) + INDEX_KEY_SEPARATOR;
+    String start = index.ceilingKey(prefix);
+
+    if (start != null) {
+      Cursor<String, String> cursor = index.cursor(start);
+      while (cursor.hasNext() && cursor.next().startsWith(prefix)) {
+        byte[] value = this.documents.get(cursor.getValue());
+        if (value != null) {
+          JsonObject document = decode(value);
+          if (this.matches(document, values)) {
+            result.add(JsonDocument.newDocument(document));
+          }
+        }
+      }
+    }
+
+    return result;
+  }
+
+  private boolean matches(JsonObject document, Map<String, String> values) {
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      if (!entry.getValue().equals(readValue(document, entry.getKey()))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  @Override
+  public Collection<String> keys() {
+    return new ArrayList<>(this.documents.keySet());
+  }
+
+  @Override
+  public Collection<JsonDocument> documents() {
+    Collection<JsonDocument> documents = new ArrayList<>();
+    for (byte[] value : this.documents.values()) {
+      documents.add(JsonDocument.newDocument(decode(value)));
+    }
+
+    return documents;
+  }
+
+  @Override
+  public Map<String, JsonDocument> entries() {
+    Map<String, JsonDocument> entries = new HashMap<>();
+    for (Map.Entry<String, byte[]> entry : this.documents.entrySet()) {
+      entries.put(entry.getKey(), JsonDocument.newDocument(decode(entry.getValue())));
+    }
+
+    return entries;
+  }
+
+  @Override
+  public Map<String, JsonDocument> filter(BiPredicate<String, JsonDocument> predicate) {
+    Preconditions.checkNotNull(predicate);
+
+    Map<String, JsonDocument> map = new HashMap<>();
+    this.iterate(ITERATE_PAGE_SIZE, (key, document) -> {
+      if (predicate.test(key, document)) {
+        map.put(key, document);
+      }
+    });
+
+    return map;
+  }
+
+  @Override
+  public void iterate(BiConsumer<String, JsonDocument> consumer) {
+    this.iterate(ITERATE_PAGE_SIZE, consumer);
+  }
+
+  @Override
+  public @Nullable String iterate(@Nullable String cursor, int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    Preconditions.checkArgument(pageSize > 0, "The page size has to be positive");
+    Preconditions.checkNotNull(consumer);
+
+    String start = cursor == null ? this.documents.firstKey() : this.documents.higherKey(cursor);
+    if (start == null) {
+      return null;
+    }
+
+    // the cursor reads the version of the map from when it was created, so the consumer is able to change the map
+    Cursor<String, byte[]> mapCursor = this.documents.cursor(start);
+    String lastKey = null;
+    for (int i = 0; i < pageSize && mapCursor.hasNext(); i++) {
+      lastKey = mapCursor.next();
+      consumer.accept(lastKey, JsonDocument.newDocument(decode(mapCursor.getValue())));
+    }
+
+    return mapCursor.hasNext() ? lastKey : null;
+  }
+
+  @Override
+  public void iterate(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    String cursor = null;
+    do {
+      cursor = this.iterate(cursor, pageSize, consumer);
+    } while (cursor != null);
+  }
+
+  @Override
+  public void clear() {
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleClear(this);
+    }
+    this.clear0();
+  }
+
+  @Override
+  public void clear0() {
+    Lock lock = this.databaseProvider.commitLock.readLock();
+    lock.lock();
+    try {
+      this.documents.clear();
+      for (MVMap<String, String> index : this.indexes.values()) {
+        index.clear();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getDocumentsCount() {
+    return this.documents.sizeAsLong();
+  }
+
+  @Override
+  public boolean isSynced() {
+    return false;
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> insertAsync(String key, JsonDocument document) {
+    return this.schedule(() -> this.insert(key, document));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> updateAsync(String key, JsonDocument document) {
+    return this.schedule(() -> this.update(key, document));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> containsAsync(String key) {
+    return this.schedule(() -> this.contains(key));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> deleteAsync(String key) {
+    return this.schedule(() -> this.delete(key));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> insertAllAsync(Map<String, JsonDocument> documents) {
+    return this.schedule(() -> this.insertAll(documents));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> deleteAllAsync(Collection<String> keys) {
+    return this.schedule(() -> this.deleteAll(keys));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> createIndexAsync(String fieldPath) {
+    return this.schedule(() -> this.createIndex(fieldPath));
+  }
+
+  @Override
+  @NotNull
+  public ITask<JsonDocument> getAsync(String key) {
+    return this.schedule(() -> this.get(key));
+  }
+
+  @Override
+  @NotNull
+  public ITask<List<JsonDocument>> getAsync(String fieldName, Object fieldValue) {
+    return this.schedule(() -> this.get(fieldName, fieldValue));
+  }
+
+  @Override
+  @NotNull
+  public ITask<List<JsonDocument>> getAsync(JsonDocument filters) {
+    return this.schedule(() -> this.get(filters));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Collection<String>> keysAsync() {
+    return this.schedule(this::keys);
+  }
+
+  @Override
+  @NotNull
+  public ITask<Collection<JsonDocument>> documentsAsync() {
+    return this.schedule(this::documents);
+  }
+
+  @Override
+  @NotNull
+  public ITask<Map<String, JsonDocument>> entriesAsync() {
+    return this.schedule(this::entries);
+  }
+
+  @Override
+  @NotNull
+  public ITask<Map<String, JsonDocument>> filterAsync(BiPredicate<String, JsonDocument> predicate) {
+    return this.schedule(() -> this.filter(predicate));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer) {
+    return this.schedule(() -> {
+      this.iterate(consumer);
+      return null;
+    });
+  }
+
+  @Override
+  @NotNull
+  public ITask<String> iterateAsync(@Nullable String cursor, int pageSize,
+    BiConsumer<String, JsonDocument> consumer) {
+    return this.schedule(() -> this.iterate(cursor, pageSize, consumer));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Void> iterateAsync(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    return this.schedule(() -> {
+      this.iterate(pageSize, consumer);
+      return null;
+    });
+  }
+
+  @Override
+  @NotNull
+  public ITask<Void> clearAsync() {
+    return this.schedule(() -> {
+      this.clear();
+      return null;
+    });
+  }
+
+  @Override
+  @NotNull
+  public ITask<Long> getDocumentsCountAsync() {
+    return this.schedule(this::getDocumentsCount);
+  }
+
+  @NotNull
+  private <T> ITask<T> schedule(Callable<T> callable) {
+    ITask<T> task = new ListenableTask<>(callable);
+    this.executorService.execute(() -> {
+      try {
+        task.call();
+      } catch (Exception exception) {
+        exception.printStackTrace();
+      }
+    });
+    return task;
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.mvstore;
+
+import com.google.common.base.Preconditions;
+import de.dytanic.cloudnet.common.io.FileUtils;
+import de.dytanic.cloudnet.common.language.LanguageManager;
+import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
+import de.dytanic.cloudnet.database.LocalDatabaseProvider;
+import de.dytanic.cloudnet.driver.CloudNetDriver;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.h2.mvstore.type.StringDataType;
+
+/**
+ * A database provider which stores the documents directly in the maps of a {@link MVStore}, the storage engine of h2,
+ * without going through sql and jdbc. Every database is a map from the keys to the documents, the indexes are stored
+ * in maps of their own. Changes are written to the file in the background after at most the auto commit delay.
+ * <p>
+ * The store is only committed while no write is running. A write which changes several documents or a document and
+ * its index entries therefore is stored completely or not at all, even if the node stops in the middle of it.
+ */
+public final class MVStoreDatabaseProvider extends AbstractDatabaseProvider implements LocalDatabaseProvider {
+
+  static final String DATA_MAP_PREFIX = "data:";
+  static final String INDEX_MAP_PREFIX = "index:";
+  static final String INDEXES_MAP_NAME = "meta:indexes";
+
+  private static final int CACHE_SIZE = Integer.getInteger("cloudnet.database.mvstore.cacheSize", 16);
+  private static final boolean COMPRESS = Boolean.getBoolean("cloudnet.database.mvstore.compress");
+  private static final int AUTO_COMMIT_DELAY = Integer.getInteger("cloudnet.database.mvstore.autoCommitDelay", 1000);
+  private static final int COMPACT_FILL_RATE = Integer.getInteger("cloudnet.database.mvstore.compact.fillRate", 50);
+  private static final long COMPACT_INTERVAL = Long.getLong("cloudnet.database.mvstore.compact.interval", 60_000);
+  private static final int COMPACT_WRITE_LIMIT = Integer.getInteger("cloudnet.database.mvstore.compact.writeLimit",
+    16 * 1024 * 1024);
+
+  final Map<String, MVStoreDatabase> cachedDatabaseInstances = new ConcurrentHashMap<>();
+  // writes hold the read lock, so they run concurrently, commits hold the write lock
+  final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+  private final Path file;
+  private final boolean runsInCluster;
+  private final ExecutorService executorService;
+  private final boolean autoShutdownExecutorService;
+
+  private MVStore store;
+  private MVMap<String, String> indexes;
+  private ScheduledExecutorService backgroundExecutor;
+
+  public MVStoreDatabaseProvider(String file, boolean runsInCluster) {
+    this(file, runsInCluster, null);
+  }
+
+  public MVStoreDatabaseProvider(String file, boolean runsInCluster, ExecutorService executorService) {
+    this.file = Paths.get(file);
+    this.runsInCluster = runsInCluster;
+    this.executorService = executorService == null ? Executors.newCachedThreadPool() : executorService;
+    this.autoShutdownExecutorService = executorService == null;
+  }
+
+  @Override
+  public boolean init() throws Exception {
+    FileUtils.createDirectoryReported(this.file.toAbsolutePath().getParent());
+
+    MVStore.Builder builder = new MVStore.Builder()
+      .fileName(this.file.toAbsolutePath().toString())
+      .cacheSize(CACHE_SIZE)
+      .autoCompactFillRate(COMPACT_FILL_RATE)
+      // the store would commit in the middle of a write otherwise
+      .autoCommitDisabled();
+    if (COMPRESS) {
+      builder.compress();
+    }
+
+    this.store = builder.open();
+    this.indexes = this.store.openMap(INDEXES_MAP_NAME, new MVMap.Builder<String, String>()
+      .keyType(StringDataType.INSTANCE)
+      .valueType(StringDataType.INSTANCE));
+
+    this.backgroundExecutor = Executors.newSingleThreadScheduledExecutor(
+      new DefaultThreadFactory("mvstore-background", true));
+    if (AUTO_COMMIT_DELAY > 0) {
+      this.backgroundExecutor.scheduleWithFixedDelay(this::commit, AUTO_COMMIT_DELAY, AUTO_COMMIT_DELAY,
+        TimeUnit.MILLISECONDS);
+    }
+    // the store only compacts on its own while it is idle, which a busy node never is
+    if (COMPACT_INTERVAL > 0) {
+      this.backgroundExecutor.scheduleWithFixedDelay(this::compact, COMPACT_INTERVAL, COMPACT_INTERVAL,
+        TimeUnit.MILLISECONDS);
+    }
+
+    if (this.runsInCluster) {
+      CloudNetDriver.getInstance().getLogger().warning("============================================");
+      CloudNetDriver.getInstance().getLogger().warning(" ");
+
+      CloudNetDriver.getInstance().getLogger().warning(LanguageManager.getMessage("cloudnet-cluster-h2-warning"));
+
+      CloudNetDriver.getInstance().getLogger().warning(" ");
+      CloudNetDriver.getInstance().getLogger().warning("============================================");
+    }
+
+    return true;
+  }
+
+  private void commit() {
+    this.commitLock.writeLock().lock();
+    try {
+      if (!this.store.isClosed() && this.store.hasUnsavedChanges()) {
+        this.store.commit();
+      }
+    } catch (Exception exception) {
+      exception.printStackTrace();
+    } finally {
+      this.commitLock.writeLock().unlock();
+    }
+  }
+
+  private void compact() {
+    // compacting commits the store as well
+    this.commitLock.writeLock().lock();
+    try {
+      if (!this.store.isClosed()) {
+        this.store.compact(COMPACT_FILL_RATE, COMPACT_WRITE_LIMIT);
+      }
+    } catch (Exception exception) {
+      exception.printStackTrace();
+    } finally {
+      this.commitLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public MVStoreDatabase getDatabase(String name) {
+    Preconditions.checkNotNull(name);
+
+    return this.cachedDatabaseInstances.computeIfAbsent(this.normalizeName(name), key -> new MVStoreDatabase(this, key,
+      this.openDocumentsMap(key), this.executorService));
+  }
+
+  @Override
+  public boolean containsDatabase(String name) {
+    Preconditions.checkNotNull(name);
+
+    return this.store.hasMap(DATA_MAP_PREFIX + this.normalizeName(name));
+  }
+
+  @Override
+  public boolean deleteDatabase(String name) {
+    Preconditions.checkNotNull(name);
+
+    if (!this.containsDatabase(name)) {
+      return false;
+    }
+
+    MVStoreDatabase database = this.getDatabase(name);
+    this.cachedDatabaseInstances.remove(database.getName());
+
+    database.removeIndexes();
+    this.store.removeMap(database.getDocuments());
+    return true;
+  }
+
+  @Override
+  public Collection<String> getDatabaseNames() {
+    Collection<String> names = new ArrayList<>();
+    for (String mapName : this.store.getMapNames()) {
+      if (mapName.startsWith(DATA_MAP_PREFIX)) {
+        names.add(mapName.substring(DATA_MAP_PREFIX.length()));
+      }
+    }
+
+    return names;
+  }
+
+  @Override
+  public String getName() {
+    return "mvstore";
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (this.backgroundExecutor != null) {
+      this.backgroundExecutor.shutdownNow();
+    }
+
+    if (this.autoShutdownExecutorService) {
+      this.executorService.shutdownNow();
+    }
+
+    this.cachedDatabaseInstances.clear();
+    if (this.store != null) {
+      // closing commits the store
+      this.commitLock.writeLock().lock();
+      try {
+        this.store.close();
+      } finally {
+        this.commitLock.writeLock().unlock();
+      }
+    }
+  }
+
+  MVStore getStore() {
+    return this.store;
+  }
+
+  /**
+   * @return the map which holds the names of the maps of all completely built indexes, mapped by the name of the
+   * database and the path of the indexed field
+   */
+  MVMap<String, String> getIndexes() {
+    return this.indexes;
+  }
+
+  /**
+   * The names of the tables of the sql databases aren't case sensitive, the names of the maps are, so the names are
+   * normalized to keep the databases the same when migrating between the providers.
+   */
+  private String normalizeName(String name) {
+    return name.toLowerCase(Locale.ROOT);
+  }
+
+  private MVMap<String, byte[]> openDocumentsMap(String name) {
+    return this.store.openMap(DATA_MAP_PREFIX + name, new MVMap.Builder<String, byte[]>()
+      .keyType(StringDataType.INSTANCE));
+  }
+}
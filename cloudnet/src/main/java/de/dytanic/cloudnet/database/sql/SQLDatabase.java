@@ -17,29 +17,37 @@
 package de.dytanic.cloudnet.database.sql;
 
 import com.google.common.base.Preconditions;
+import com.google.gson.JsonObject;
 import de.dytanic.cloudnet.common.concurrent.ITask;
-import de.dytanic.cloudnet.common.concurrent.IThrowableCallback;
 import de.dytanic.cloudnet.common.concurrent.ListenableTask;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.database.IDatabase;
+import de.dytanic.cloudnet.driver.database.DatabaseException;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class SQLDatabase implements IDatabase {
 
   protected static final String TABLE_COLUMN_KEY = "Name";
   protected static final String TABLE_COLUMN_VALUE = "Document";
+  protected static final int INDEX_VALUE_LENGTH = SQLIndexColumns.MAX_VALUE_LENGTH;
+
+  private static final int INDEX_FILL_PAGE_SIZE = 1000;
+  private static final int ITERATE_PAGE_SIZE = Integer.getInteger("cloudnet.database.sql.iterate.pageSize", 1000);
 
   protected final SQLDatabaseProvider databaseProvider;
   protected final String name;
@@ -91,9 +99,13 @@ public boolean insert0(String key, JsonDocument document) {
     Preconditions.checkNotNull(key);
     Preconditions.checkNotNull(document);
 
+    Map<String, String> indexColumns = this.getIndexColumns();
+    List<String> columns = this.createColumnList(indexColumns);
+
     return this.databaseProvider.executeUpdate(
-      "INSERT INTO `" + this.name + "` (" + TABLE_COLUMN_KEY + "," + TABLE_COLUMN_VALUE + ") VALUES (?, ?);",
-      key, document.toString()
+      String.format("INSERT INTO `%s` (%s) VALUES (%s)", this.name, String.join(", ", columns),
+        createPlaceholders(columns.size())),
+      this.createWriteParameters(key, document, indexColumns)
     ) != -1;
   }
 
@@ -110,17 +122,274 @@ public boolean update(String key, JsonDocument document) {
   }
 
   public boolean update0(String key, JsonDocument document) {
-    return this.databaseProvider.executeUpdate(
-      "UPDATE `" + this.name + "` SET " + TABLE_COLUMN_VALUE + "=? WHERE " + TABLE_COLUMN_KEY + "=?",
-      document.toString(), key
-    ) != -1;
+    Map<String, String> indexColumns = this.getIndexColumns();
+
+    StringBuilder builder = new StringBuilder("UPDATE `").append(this.name).append("` SET ")
+      .append(TABLE_COLUMN_VALUE).append(" = ?");
+    for (String column : indexColumns.values()) {
+      builder.append(", `").append(column).append("` = ?");
+    }
+    builder.append(" WHERE ").append(TABLE_COLUMN_KEY).append(" = ?");
+
+    Object[] parameters = this.createWriteParameters(key, document, indexColumns);
+    // the key is the first parameter of the other statements, but the last one of the update
+    System.arraycopy(parameters, 1, parameters, 0, parameters.length - 1);
+    parameters[parameters.length - 1] = key;
+
+    return this.databaseProvider.executeUpdate(builder.toString(), parameters) != -1;
   }
 
   public boolean insertOrUpdate(String key, JsonDocument document) {
     Preconditions.checkNotNull(key);
     Preconditions.checkNotNull(document);
 
-    return this.contains(key) ? this.update0(key, document) : this.insert0(key, document);
+    Map<String, String> indexColumns = this.getIndexColumns();
+    return this.databaseProvider.executeUpdate(
+      this.createUpsertStatement(this.createColumnList(indexColumns)),
+      this.createWriteParameters(key, document, indexColumns)
+    ) != -1;
+  }
+
+  /**
+   * @param columns the columns to write, the key column first, followed by the value column and the index columns
+   * @return the statement which inserts a document or replaces the document of the key if it already exists, with one
+   * parameter per column in the given order
+   */
+  protected abstract String createUpsertStatement(List<String> columns);
+
+  /**
+   * @param column the name of the column which holds the values of the index
+   * @return the statements which add the column and an index on it to the table of this database
+   */
+  protected abstract Collection<String> createIndexStatements(String column);
+
+  protected static String createPlaceholders(int count) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      builder.append(i == 0 ? "?" : ", ?");
+    }
+
+    return builder.toString();
+  }
+
+  private List<String> createColumnList(Map<String, String> indexColumns) {
+    List<String> columns = new ArrayList<>(indexColumns.size() + 2);
+    columns.add(TABLE_COLUMN_KEY);
+    columns.add(TABLE_COLUMN_VALUE);
+    for (String column : indexColumns.values()) {
+      columns.add('`' + column + '`');
+    }
+
+    return columns;
+  }
+
+  private Object[] createWriteParameters(String key, JsonDocument document, Map<String, String> indexColumns) {
+    Object[] parameters = new Object[indexColumns.size() + 2];
+    parameters[0] = key;
+    parameters[1] = document.toString();
+
+    JsonObject jsonObject = document.toJsonObject();
+    int i = 2;
+    for (String fieldPath : indexColumns.keySet()) {
+      parameters[i++] = SQLIndexColumns.readValue(jsonObject, fieldPath);
+    }
+
+    return parameters;
+  }
+
+  /**
+   * @return the columns of the indexes of this database mapped by the paths of the indexed fields
+   */
+  protected Map<String, String> getIndexColumns() {
+    Map<String, String> indexColumns = this.databaseProvider.cachedIndexColumns.get(this.name);
+    if (indexColumns == null) {
+      indexColumns = this.readIndexColumns();
+      if (indexColumns == null) {
+        return Collections.emptyMap();
+      }
+
+      Map<String, String> previous = this.databaseProvider.cachedIndexColumns.putIfAbsent(this.name, indexColumns);
+      if (previous != null) {
+        indexColumns = previous;
+      }
+    }
+
+    return indexColumns;
+  }
+
+  /**
+   * Reads the columns of the indexes from the table instead of the cache and replaces the cached ones, because another
+   * node using the same database may have added a column in the meantime.
+   *
+   * @return the current columns of the indexes or null if the table couldn't be read
+   */
+  private Map<String, String> refreshIndexColumns() {
+    Map<String, String> indexColumns = this.readIndexColumns();
+    if (indexColumns != null) {
+      this.databaseProvider.cachedIndexColumns.put(this.name, indexColumns);
+    }
+
+    return indexColumns;
+  }
+
+  private Map<String, String> readIndexColumns() {
+    return this.databaseProvider.executeQuery(
+      String.format("SELECT * FROM `%s` WHERE 1 = 0", this.name),
+      resultSet -> {
+        Map<String, String> columns = new LinkedHashMap<>();
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+          String fieldPath = SQLIndexColumns.toFieldPath(metaData.getColumnName(i));
+          if (fieldPath != null) {
+            columns.put(fieldPath, SQLIndexColumns.toColumn(fieldPath));
+          }
+        }
+
+        return Collections.unmodifiableMap(columns);
+      }
+    );
+  }
+
+  @Override
+  public boolean createIndex(String fieldPath) {
+    Preconditions.checkNotNull(fieldPath);
+    Preconditions.checkArgument(SQLIndexColumns.isValidFieldPath(fieldPath), "Invalid field path %s", fieldPath);
+
+    String column = SQLIndexColumns.toColumn(fieldPath);
+    Preconditions.checkArgument(column.length() <= SQLIndexColumns.MAX_COLUMN_LENGTH,
+      "The field path %s is too long to be indexed", fieldPath);
+
+    synchronized (this.databaseProvider.cachedIndexColumns) {
+      if (this.getIndexColumns().containsKey(fieldPath)) {
+        return true;
+      }
+
+      // not every database supports creating a column only if it doesn't exist, so the table is checked first
+      Map<String, String> indexColumns = this.refreshIndexColumns();
+      if (indexColumns == null) {
+        return false;
+      }
+
+      if (!indexColumns.containsKey(fieldPath)) {
+        for (String statement : this.createIndexStatements(column)) {
+          if (this.databaseProvider.executeUpdate(statement) == -1) {
+            // another node may have created the column at the same time
+            indexColumns = this.refreshIndexColumns();
+            return indexColumns != null && indexColumns.containsKey(fieldPath);
+          }
+        }
+
+        // writes maintain the new column from now on, the documents which are already stored are filled in afterwards
+        Map<String, String> columns = new LinkedHashMap<>(indexColumns);
+        columns.put(fieldPath, column);
+        this.databaseProvider.cachedIndexColumns.put(this.name, Collections.unmodifiableMap(columns));
+      }
+    }
+
+    return this.fillIndexColumn(fieldPath, column);
+  }
+
+  private boolean fillIndexColumn(String fieldPath, String column) {
+    // the documents are only updated if they were not changed in the meantime, a concurrent write already set the value
+    String updateStatement = String.format("UPDATE `%s` SET `%s` = ? WHERE %s = ? AND %s = ?", this.name, column,
+      TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE);
+    String lastKey = null;
+
+    while (true) {
+      List<Object[]> page = this.databaseProvider.executeQuery(
+        this.createPageQuery(lastKey, INDEX_FILL_PAGE_SIZE),
+        resultSet -> {
+          List<Object[]> parameters = new ArrayList<>();
+          while (resultSet.next()) {
+            String key = resultSet.getString(TABLE_COLUMN_KEY);
+            String document = resultSet.getString(TABLE_COLUMN_VALUE);
+
+            parameters.add(new Object[]{
+              SQLIndexColumns.readValue(JsonDocument.newDocument(document).toJsonObject(), fieldPath),
+              key,
+              document
+            });
+          }
+
+          return parameters;
+        },
+        createPageParameters(lastKey)
+      );
+
+      if (page == null || !this.databaseProvider.executeBatch(updateStatement, page)) {
+        return false;
+      }
+
+      if (page.size() < INDEX_FILL_PAGE_SIZE) {
+        return true;
+      }
+
+      lastKey = (String) page.get(page.size() - 1)[1];
+    }
+  }
+
+  /**
+   * @param cursor   the key after which the page starts, or null to start with the first document
+   * @param pageSize the maximum amount of documents in the page
+   * @return the statement which selects the keys and the documents of a page ordered by the keys, with the cursor as
+   * parameter if it is not null
+   */
+  private String createPageQuery(String cursor, int pageSize) {
+    return String.format("SELECT %s, %s FROM `%s`%s ORDER BY %s LIMIT %d", TABLE_COLUMN_KEY, TABLE_COLUMN_VALUE,
+      this.name, cursor == null ? "" : " WHERE " + TABLE_COLUMN_KEY + " > ?", TABLE_COLUMN_KEY, pageSize);
+  }
+
+  private static Object[] createPageParameters(String cursor) {
+    return cursor == null ? new Object[0] : new Object[]{cursor};
+  }
+
+  @Override
+  public boolean insertAll(Map<String, JsonDocument> documents) {
+    Preconditions.checkNotNull(documents);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleInsertAll(this, documents);
+    }
+
+    return this.insertAll0(documents);
+  }
+
+  public boolean insertAll0(Map<String, JsonDocument> documents) {
+    Preconditions.checkNotNull(documents);
+
+    Map<String, String> indexColumns = this.getIndexColumns();
+    Collection<Object[]> parameters = new ArrayList<>(documents.size());
+    for (Map.Entry<String, JsonDocument> entry : documents.entrySet()) {
+      parameters.add(this.createWriteParameters(entry.getKey(), entry.getValue(), indexColumns));
+    }
+
+    return this.databaseProvider.executeBatch(this.createUpsertStatement(this.createColumnList(indexColumns)),
+      parameters);
+  }
+
+  @Override
+  public boolean deleteAll(Collection<String> keys) {
+    Preconditions.checkNotNull(keys);
+
+    if (this.databaseProvider.getDatabaseHandler() != null) {
+      this.databaseProvider.getDatabaseHandler().handleDeleteAll(this, keys);
+    }
+
+    return this.deleteAll0(keys);
+  }
+
+  public boolean deleteAll0(Collection<String> keys) {
+    Preconditions.checkNotNull(keys);
+
+    Collection<Object[]> parameters = new ArrayList<>(keys.size());
+    for (String key : keys) {
+      parameters.add(new Object[]{key});
+    }
+
+    return this.databaseProvider.executeBatch(
+      String.format("DELETE FROM `%s` WHERE %s = ?", this.name, TABLE_COLUMN_KEY),
+      parameters
+    );
   }
 
   @Override
@@ -168,6 +437,23 @@ public List<JsonDocument> get(String fieldName, Object fieldValue) {
     Preconditions.checkNotNull(fieldName);
     Preconditions.checkNotNull(fieldValue);
 
+    String column = this.getIndexColumns().get(fieldName);
+    String indexValue = SQLIndexColumns.toValue(JsonDocument.GSON.toJsonTree(fieldValue));
+    if (column != null && indexValue != null) {
+      return this.databaseProvider.executeQuery(
+        String.format("SELECT %s FROM `%s` WHERE `%s` = ?", TABLE_COLUMN_VALUE, this.name, column),
+        resultSet -> {
+          List<JsonDocument> jsonDocuments = new ArrayList<>();
+          while (resultSet.next()) {
+            jsonDocuments.add(JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE)));
+          }
+
+          return jsonDocuments;
+        },
+        indexValue
+      );
+    }
+
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s LIKE ?", TABLE_COLUMN_VALUE, this.name, TABLE_COLUMN_VALUE),
       resultSet -> {
@@ -194,14 +480,23 @@ public List<JsonDocument> get(JsonDocument filters) {
     if (filters.size() > 0) {
       stringBuilder.append(" WHERE ");
 
+      Map<String, String> indexColumns = this.getIndexColumns();
       Iterator<String> iterator = filters.iterator();
       String item;
 
       while (iterator.hasNext()) {
         item = iterator.next();
 
-        stringBuilder.append(TABLE_COLUMN_VALUE).append(" LIKE ?");
-        collection.add("%\"" + item + "\":" + filters.get(item).toString() + "%");
+        // fields with an index are compared with their index column, all others are searched in the documents
+        String column = indexColumns.get(item);
+        String indexValue = SQLIndexColumns.toValue(filters.get(item));
+        if (column != null && indexValue != null) {
+          stringBuilder.append('`').append(column).append("` = ?");
+          collection.add(indexValue);
+        } else {
+          stringBuilder.append(TABLE_COLUMN_VALUE).append(" LIKE ?");
+          collection.add("%\"" + item + "\":" + filters.get(item).toString() + "%");
+        }
 
         if (iterator.hasNext()) {
           stringBuilder.append(" and ");
@@ -258,7 +553,7 @@ public Map<String, JsonDocument> entries() {
     return this.databaseProvider.executeQuery(
       String.format("SELECT * FROM `%s`", this.name),
       resultSet -> {
-        Map<String, JsonDocument> map = new WeakHashMap<>();
+        Map<String, JsonDocument> map = new HashMap<>();
         while (resultSet.next()) {
           map.put(resultSet.getString(TABLE_COLUMN_KEY),
             JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE)));
@@ -273,40 +568,61 @@ public Map<String, JsonDocument> entries() {
   public Map<String, JsonDocument> filter(BiPredicate<String, JsonDocument> predicate) {
     Preconditions.checkNotNull(predicate);
 
-    return this.databaseProvider.executeQuery(
-      String.format("SELECT * FROM `%s`", this.name),
-      resultSet -> {
-        Map<String, JsonDocument> map = new HashMap<>();
-        while (resultSet.next()) {
-          String key = resultSet.getString(TABLE_COLUMN_KEY);
-          JsonDocument document = JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE));
-
-          if (predicate.test(key, document)) {
-            map.put(key, document);
-          }
-        }
-
-        return map;
+    Map<String, JsonDocument> map = new HashMap<>();
+    this.iterate(ITERATE_PAGE_SIZE, (key, document) -> {
+      if (predicate.test(key, document)) {
+        map.put(key, document);
       }
-    );
+    });
+
+    return map;
   }
 
   @Override
   public void iterate(BiConsumer<String, JsonDocument> consumer) {
+    this.iterate(ITERATE_PAGE_SIZE, consumer);
+  }
+
+  @Override
+  public @Nullable String iterate(@Nullable String cursor, int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    Preconditions.checkArgument(pageSize > 0, "The page size has to be positive");
     Preconditions.checkNotNull(consumer);
 
-    this.databaseProvider.executeQuery(
-      String.format("SELECT * FROM `%s`", this.name),
-      (IThrowableCallback<ResultSet, Void>) resultSet -> {
+    // the page is read completely before it is passed to the consumer, so no connection is held while the consumer
+    // runs and the consumer is able to write to the database
+    Map<String, JsonDocument> page = this.databaseProvider.executeQuery(
+      this.createPageQuery(cursor, pageSize),
+      resultSet -> {
+        Map<String, JsonDocument> documents = new LinkedHashMap<>();
         while (resultSet.next()) {
-          String key = resultSet.getString(TABLE_COLUMN_KEY);
-          JsonDocument document = JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE));
-          consumer.accept(key, document);
+          documents.put(resultSet.getString(TABLE_COLUMN_KEY),
+            JsonDocument.newDocument(resultSet.getString(TABLE_COLUMN_VALUE)));
         }
 
-        return null;
-      }
+        return documents;
+      },
+      createPageParameters(cursor)
     );
+
+    if (page == null) {
+      throw new DatabaseException("Unable to read a page of the database " + this.name);
+    }
+
+    String lastKey = null;
+    for (Map.Entry<String, JsonDocument> entry : page.entrySet()) {
+      consumer.accept(entry.getKey(), entry.getValue());
+      lastKey = entry.getKey();
+    }
+
+    return page.size() < pageSize ? null : lastKey;
+  }
+
+  @Override
+  public void iterate(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    String cursor = null;
+    do {
+      cursor = this.iterate(cursor, pageSize, consumer);
+    } while (cursor != null);
   }
 
   @Override
@@ -344,6 +660,24 @@ public ITask<Boolean> deleteAsync(String key) {
     return this.schedule(() -> this.delete(key));
   }
 
+  @Override
+  @NotNull
+  public ITask<Boolean> insertAllAsync(Map<String, JsonDocument> documents) {
+    return this.schedule(() -> this.insertAll(documents));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> deleteAllAsync(Collection<String> keys) {
+    return this.schedule(() -> this.deleteAll(keys));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Boolean> createIndexAsync(String fieldPath) {
+    return this.schedule(() -> this.createIndex(fieldPath));
+  }
+
   @Override
   @NotNull
   public ITask<JsonDocument> getAsync(String key) {
@@ -395,6 +729,22 @@ public ITask<Void> iterateAsync(BiConsumer<String, JsonDocument> consumer) {
     });
   }
 
+  @Override
+  @NotNull
+  public ITask<String> iterateAsync(@Nullable String cursor, int pageSize,
+    BiConsumer<String, JsonDocument> consumer) {
+    return this.schedule(() -> this.iterate(cursor, pageSize, consumer));
+  }
+
+  @Override
+  @NotNull
+  public ITask<Void> iterateAsync(int pageSize, BiConsumer<String, JsonDocument> consumer) {
+    return this.schedule(() -> {
+      this.iterate(pageSize, consumer);
+      return null;
+    });
+  }
+
   @Override
   @NotNull
   public ITask<Void> clearAsync() {
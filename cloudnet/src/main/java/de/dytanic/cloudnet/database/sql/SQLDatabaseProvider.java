@@ -24,7 +24,9 @@
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -32,6 +34,7 @@ public abstract class SQLDatabaseProvider extends AbstractDatabaseProvider {
 
   protected final ExecutorService executorService;
   protected final NetorHashMap<String, Long, SQLDatabase> cachedDatabaseInstances = new NetorHashMap<>();
+  protected final Map<String, Map<String, String>> cachedIndexColumns = new ConcurrentHashMap<>();
   private final boolean autoShutdownExecutorService;
 
   public SQLDatabaseProvider(ExecutorService executorService) {
@@ -79,4 +82,24 @@ public void close() throws Exception {
 
   public abstract <T> T executeQuery(String query, IThrowableCallback<ResultSet, T> callback, Object... objects);
 
+  /**
+   * Executes the given statement once for every set of parameters as one batch inside a single transaction. The default
+   * implementation executes the statement for every set of parameters on its own, without a transaction.
+   *
+   * @param query      the statement to execute
+   * @param parameters the parameters for each execution of the statement
+   * @return if the whole batch was executed, the transaction is rolled back otherwise
+   */
+  public boolean executeBatch(String query, Collection<Object[]> parameters) {
+    Preconditions.checkNotNull(query);
+    Preconditions.checkNotNull(parameters);
+
+    boolean success = true;
+    for (Object[] objects : parameters) {
+      success &= this.executeUpdate(query, objects) != -1;
+    }
+
+    return success;
+  }
+
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.database.sql;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the paths of indexed document fields to the columns of a {@link SQLDatabase} which hold the values of the
+ * fields. The column names are case insensitive in sql, so every upper case letter of the path is written as an
+ * underscore followed by the lower case letter and underscores are doubled to keep the mapping reversible.
+ */
+final class SQLIndexColumns {
+
+  static final String COLUMN_PREFIX = "Index$";
+  static final int MAX_COLUMN_LENGTH = 64;
+  static final int MAX_VALUE_LENGTH = 255;
+
+  private static final Pattern FIELD_PATH_PATTERN = Pattern.compile("[A-Za-z0-9_]+(\\.[A-Za-z0-9_]+)*");
+  private static final Pattern FIELD_PATH_SEPARATOR = Pattern.compile("\\.");
+
+  private SQLIndexColumns() {
+    throw new UnsupportedOperationException();
+  }
+
+  static boolean isValidFieldPath(String fieldPath) {
+    return FIELD_PATH_PATTERN.matcher(fieldPath).matches();
+  }
+
+  static String toColumn(String fieldPath) {
+    StringBuilder builder = new StringBuilder(COLUMN_PREFIX);
+    for (char c : fieldPath.toCharArray()) {
+      if (c == '.') {
+        builder.append('$');
+      } else if (c == '_') {
+        builder.append("__");
+      } else if (Character.isUpperCase(c)) {
+        builder.append('_').append(Character.toLowerCase(c));
+      } else {
+        builder.append(c);
+      }
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * @return the field path of the given column or null if the column is no index column
+   */
+  static String toFieldPath(String column) {
+    if (column.length() <= COLUMN_PREFIX.length()
+      || !column.regionMatches(true, 0, COLUMN_PREFIX, 0, COLUMN_PREFIX.length())) {
+      return null;
+    }
+
+    String encoded = column.substring(COLUMN_PREFIX.length()).toLowerCase();
+    StringBuilder builder = new StringBuilder(encoded.length());
+    for (int i = 0; i < encoded.length(); i++) {
+      char c = encoded.charAt(i);
+      if (c == '$') {
+        builder.append('.');
+      } else if (c == '_') {
+        if (++i == encoded.length()) {
+          return null;
+        }
+
+        char next = encoded.charAt(i);
+        builder.append(next == '_' ? '_' : Character.toUpperCase(next));
+      } else {
+        builder.append(c);
+      }
+    }
+
+    return builder.toString();
+  }
+
+  /**
+   * @return the value of the field as compact json, as it is written to the index column, or null if the document has
+   * no such field or the value is too long to be indexed
+   */
+  static String readValue(JsonObject document, String fieldPath) {
+    JsonElement element = document;
+    for (String part : FIELD_PATH_SEPARATOR.split(fieldPath)) {
+      if (!element.isJsonObject()) {
+        return null;
+      }
+
+      element = element.getAsJsonObject().get(part);
+      if (element == null) {
+        return null;
+      }
+    }
+
+    return toValue(element);
+  }
+
+  static String toValue(JsonElement element) {
+    String value = element.toString();
+    return value.length() <= MAX_VALUE_LENGTH ? value : null;
+  }
+}
@@ -31,10 +31,19 @@ public static void sendSetupInformationPackets(INetworkChannel channel) {
   }
 
   public static void sendSetupInformationPackets(INetworkChannel channel, boolean secondNodeConnection) {
+    sendSetupInformationPackets(channel, secondNodeConnection, false);
+  }
+
+  /**
+   * @param pagedDatabaseSync if the other node announced in the authorization that it can receive the databases page by
+   *                          page
+   */
+  public static void sendSetupInformationPackets(INetworkChannel channel, boolean secondNodeConnection,
+    boolean pagedDatabaseSync) {
     channel.sendPacket(new PacketServerSetGlobalServiceInfoList(
       CloudNet.getInstance().getCloudServiceManager().getGlobalServiceInfoSnapshots().values()));
     if (!secondNodeConnection) {
-      CloudNet.getInstance().publishH2DatabaseDataToCluster(channel);
+      CloudNet.getInstance().publishH2DatabaseDataToCluster(channel, pagedDatabaseSync);
     }
   }
 
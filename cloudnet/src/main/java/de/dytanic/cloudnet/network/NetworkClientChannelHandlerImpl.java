@@ -41,11 +41,14 @@ public void handleChannelInitialize(INetworkChannel channel) {
       return;
     }
 
+    // the authorization announces binary headers, the node may answer with them
+    channel.setAcceptingBinaryHeaders(true);
     channel.sendPacket(new PacketClientAuthorization(
       PacketClientAuthorization.PacketAuthorizationType.NODE_TO_NODE,
       new JsonDocument("clusterNode", CloudNet.getInstance().getConfig().getIdentity())
         .append("clusterId", CloudNet.getInstance().getConfig().getClusterConfig().getClusterId())
         .append("secondNodeConnection", connectionWhichSendRequest.incrementAndGet() > 1)
+        .append("pagedDatabaseSync", true)
     ));
 
     CloudNetDriver.optionalInstance().ifPresent(
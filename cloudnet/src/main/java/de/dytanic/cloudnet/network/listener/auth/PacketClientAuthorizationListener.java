@@ -37,6 +37,7 @@
 import de.dytanic.cloudnet.network.listener.PacketClientServiceInfoUpdateListener;
 import de.dytanic.cloudnet.network.listener.PacketServerChannelMessageListener;
 import de.dytanic.cloudnet.network.listener.PacketServerSetGlobalLogLevelListener;
+import de.dytanic.cloudnet.network.listener.cluster.PacketServerServiceInfoDeltaListener;
 import de.dytanic.cloudnet.network.listener.cluster.PacketServerSyncTemplateStorageChunkListener;
 import de.dytanic.cloudnet.network.listener.driver.PacketServerDriverAPIListener;
 import de.dytanic.cloudnet.network.listener.driver.PacketServerRemoteDatabaseActionListener;
@@ -64,9 +65,11 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
               if (clusterNodeServer.isAcceptableConnection(channel, clusterNode.getUniqueId())) {
                 this.getCloudNet().registerClusterPacketRegistryListeners(channel.getPacketRegistry(), false);
 
-                channel.sendPacket(new PacketServerAuthorizationResponse(true, "successful"));
+                this.acceptAuthorization(channel, packet);
                 channel.sendPacket(new PacketServerSetGlobalLogLevel(CloudNet.getInstance().getLogger().getLevel()));
 
+                // the paged database sync was added together with the batch operations of the database sync
+                clusterNodeServer.setDatabaseBatchSupported(credentials.getBoolean("pagedDatabaseSync"));
                 clusterNodeServer.setChannel(channel);
                 CloudNetDriver.getInstance().getEventManager()
                   .callEvent(new NetworkChannelAuthClusterNodeSuccessEvent(clusterNodeServer, channel));
@@ -80,7 +83,8 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
                       channel.getClientAddress().getHost() + ":" + channel.getClientAddress().getPort())
                 );
 
-                ClusterUtils.sendSetupInformationPackets(channel, credentials.getBoolean("secondNodeConnection"));
+                ClusterUtils.sendSetupInformationPackets(channel, credentials.getBoolean("secondNodeConnection"),
+                  credentials.getBoolean("pagedDatabaseSync"));
                 return;
               }
             }
@@ -103,6 +107,8 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
                 .addListener(PacketConstants.CHANNEL_MESSAGING_CHANNEL, new PacketServerChannelMessageListener(true));
               channel.getPacketRegistry().addListener(PacketConstants.INTERNAL_WRAPPER_TO_NODE_INFO_CHANNEL,
                 new PacketClientServiceInfoUpdateListener());
+              channel.getPacketRegistry().addListener(PacketConstants.SERVICE_INFO_DELTA_CHANNEL,
+                new PacketServerServiceInfoDeltaListener());
 
               channel.getPacketRegistry().addListener(PacketConstants.INTERNAL_DEBUGGING_CHANNEL,
                 new PacketServerSetGlobalLogLevelListener(true));
@@ -118,7 +124,7 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
 
               //-
 
-              channel.sendPacket(new PacketServerAuthorizationResponse(true, "successful"));
+              this.acceptAuthorization(channel, packet);
               channel.sendPacket(new PacketServerSetGlobalLogLevel(CloudNet.getInstance().getLogger().getLevel()));
 
               cloudService.setNetworkChannel(channel);
@@ -153,6 +159,21 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
     }
   }
 
+  private void acceptAuthorization(INetworkChannel channel, IPacket packet) {
+    boolean binaryHeaders = packet.getHeader().getBoolean("binaryHeaders");
+    boolean compression = packet.getHeader().getBoolean("compression");
+    // the other side only writes binary headers after it received the response
+    channel.setAcceptingBinaryHeaders(binaryHeaders);
+    // only nodes read the paged database sync, but wrappers ignore the unknown header
+    channel.sendPacket(
+      new PacketServerAuthorizationResponse(true, "successful", binaryHeaders, compression, true, true));
+    // the other side reads both header formats, so it doesn't matter if the response is already written binary
+    channel.setBinaryHeaders(binaryHeaders);
+    channel.setCompression(compression);
+    // older versions don't know the channel of the deltas and only read full snapshots
+    channel.setServiceInfoDeltaSupported(packet.getHeader().getBoolean("serviceInfoDeltas"));
+  }
+
   private CloudNet getCloudNet() {
     return CloudNet.getInstance();
   }
@@ -46,8 +46,14 @@ public void handle(INetworkChannel channel, IPacket packet) {
                 .findFirst().orElse(null);
 
               if (nodeServer != null && nodeServer.isAcceptableConnection(channel, node.getUniqueId())) {
+                channel.setBinaryHeaders(packet.getHeader().getBoolean("binaryHeaders"));
+                channel.setCompression(packet.getHeader().getBoolean("compression"));
+                channel.setServiceInfoDeltaSupported(packet.getHeader().getBoolean("serviceInfoDeltas"));
+                // the paged database sync was added together with the batch operations of the database sync
+                nodeServer.setDatabaseBatchSupported(packet.getHeader().getBoolean("pagedDatabaseSync"));
                 nodeServer.setChannel(channel);
-                ClusterUtils.sendSetupInformationPackets(channel);
+                ClusterUtils.sendSetupInformationPackets(channel, false,
+                  packet.getHeader().getBoolean("pagedDatabaseSync"));
 
                 CloudNetDriver.getInstance().getEventManager()
                   .callEvent(new NetworkChannelAuthClusterNodeSuccessEvent(nodeServer, channel));
@@ -16,9 +16,12 @@
 
 package de.dytanic.cloudnet.network.listener.cluster;
 
+import com.google.gson.reflect.TypeToken;
 import de.dytanic.cloudnet.CloudNet;
-import de.dytanic.cloudnet.database.h2.H2Database;
-import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.database.IDatabase;
+import de.dytanic.cloudnet.database.LocalDatabase;
+import de.dytanic.cloudnet.database.LocalDatabaseProvider;
 import de.dytanic.cloudnet.driver.CloudNetDriver;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
@@ -28,15 +31,24 @@
 import de.dytanic.cloudnet.event.database.DatabaseInsertEntryEvent;
 import de.dytanic.cloudnet.event.database.DatabaseUpdateEntryEvent;
 import de.dytanic.cloudnet.network.packet.PacketServerH2Database;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
 
 public final class PacketServerH2DatabaseListener implements IPacketListener {
 
+  private static final Type DOCUMENTS_TYPE = new TypeToken<Map<String, JsonDocument>>() {
+  }.getType();
+  private static final Type KEYS_TYPE = new TypeToken<Collection<String>>() {
+  }.getType();
+
   @Override
   public void handle(INetworkChannel channel, IPacket packet) {
     if (packet.getHeader().contains("operationType") && packet.getHeader().contains("name")) {
-      if (CloudNet.getInstance().getDatabaseProvider() instanceof H2DatabaseProvider) {
-        H2Database database = (H2Database) CloudNet.getInstance().getDatabaseProvider()
+      if (CloudNet.getInstance().getDatabaseProvider() instanceof LocalDatabaseProvider) {
+        LocalDatabase localDatabase = ((LocalDatabaseProvider) CloudNet.getInstance().getDatabaseProvider())
           .getDatabase(packet.getHeader().getString("name"));
+        IDatabase database = (IDatabase) localDatabase;
 
         switch (packet.getHeader().get("operationType", PacketServerH2Database.OperationType.class)) {
           case INSERT:
@@ -45,7 +57,8 @@ public void handle(INetworkChannel channel, IPacket packet) {
                 new DatabaseInsertEntryEvent(database, packet.getHeader().getString("key"),
                   packet.getHeader().getDocument("document"))
               );
-              database.insertOrUpdate(packet.getHeader().getString("key"), packet.getHeader().getDocument("document"));
+              localDatabase.insertOrUpdate(packet.getHeader().getString("key"),
+                packet.getHeader().getDocument("document"));
             }
             break;
           case UPDATE:
@@ -54,7 +67,8 @@ public void handle(INetworkChannel channel, IPacket packet) {
                 new DatabaseUpdateEntryEvent(database, packet.getHeader().getString("key"),
                   packet.getHeader().getDocument("document"))
               );
-              database.insertOrUpdate(packet.getHeader().getString("key"), packet.getHeader().getDocument("document"));
+              localDatabase.insertOrUpdate(packet.getHeader().getString("key"),
+                packet.getHeader().getDocument("document"));
             }
             break;
           case DELETE:
@@ -62,12 +76,28 @@ public void handle(INetworkChannel channel, IPacket packet) {
               CloudNetDriver.getInstance().getEventManager().callEvent(
                 new DatabaseDeleteEntryEvent(database, packet.getHeader().getString("key"))
               );
-              database.delete0(packet.getHeader().getString("key"));
+              localDatabase.delete0(packet.getHeader().getString("key"));
             }
             break;
           case CLEAR:
             CloudNetDriver.getInstance().getEventManager().callEvent(new DatabaseClearEntriesEvent(database));
-            database.clear0();
+            localDatabase.clear0();
+            break;
+          case INSERT_ALL:
+            if (packet.getHeader().contains("documents")) {
+              Map<String, JsonDocument> documents = packet.getHeader().get("documents", DOCUMENTS_TYPE);
+              documents.forEach((key, document) -> CloudNetDriver.getInstance().getEventManager()
+                .callEvent(new DatabaseInsertEntryEvent(database, key, document)));
+              localDatabase.insertAll0(documents);
+            }
+            break;
+          case DELETE_ALL:
+            if (packet.getHeader().contains("keys")) {
+              Collection<String> keys = packet.getHeader().get("keys", KEYS_TYPE);
+              keys.forEach(key -> CloudNetDriver.getInstance().getEventManager()
+                .callEvent(new DatabaseDeleteEntryEvent(database, key)));
+              localDatabase.deleteAll0(keys);
+            }
             break;
           default:
             break;
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.dytanic.cloudnet.network.listener.cluster;
+
+import de.dytanic.cloudnet.CloudNet;
+import de.dytanic.cloudnet.driver.network.INetworkChannel;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoDelta;
+import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
+import de.dytanic.cloudnet.driver.network.protocol.IPacket;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotVersions;
+import de.dytanic.cloudnet.service.ICloudService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.UUID;
+
+public final class PacketServerServiceInfoDeltaListener implements IPacketListener {
+
+  @Override
+  public void handle(INetworkChannel channel, IPacket packet) {
+    ServiceInfoSnapshotVersions versions = CloudNet.getInstance().getCloudServiceManager()
+      .getServiceInfoSnapshotVersions();
+    packet.getBuffer().markReaderIndex();
+
+    PacketClientServerServiceInfoDelta.Type type = packet.getBuffer()
+      .readEnumConstant(PacketClientServerServiceInfoDelta.Type.class);
+    UUID uniqueId = packet.getBuffer().readUUID();
+
+    if (type == PacketClientServerServiceInfoDelta.Type.RESYNC) {
+      IPacket fullUpdate = versions.createFullUpdatePacket(uniqueId);
+      if (fullUpdate != null) {
+        channel.sendPacket(fullUpdate);
+      }
+      return;
+    }
+
+    long previousVersion = packet.getBuffer().readVarLong();
+    long version = packet.getBuffer().readVarLong();
+
+    ServiceInfoSnapshot serviceInfoSnapshot = versions.applyDelta(uniqueId, previousVersion, version,
+      packet.getBuffer());
+    if (serviceInfoSnapshot == null) {
+      // the local services receive the full snapshot when it's forwarded to them
+      if (versions.shouldRequestResync(uniqueId)) {
+        channel.sendPacket(new PacketClientServerServiceInfoDelta(uniqueId));
+      }
+      return;
+    }
+
+    if (CloudNet.getInstance().getCloudServiceManager()
+      .handleServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.UPDATE, serviceInfoSnapshot)) {
+      packet.getBuffer().resetReaderIndex();
+      this.sendUpdateToAllServices(versions, uniqueId, packet);
+    }
+  }
+
+  private void sendUpdateToAllServices(ServiceInfoSnapshotVersions versions, UUID uniqueId, IPacket packet) {
+    Collection<INetworkChannel> deltaChannels = new ArrayList<>();
+    Collection<INetworkChannel> fullUpdateChannels = new ArrayList<>();
+    for (ICloudService cloudService : CloudNet.getInstance().getCloudServiceManager().getCloudServices().values()) {
+      INetworkChannel channel = cloudService.getNetworkChannel();
+      if (channel != null) {
+        (channel.isServiceInfoDeltaSupported() ? deltaChannels : fullUpdateChannels).add(channel);
+      }
+    }
+
+    if (!deltaChannels.isEmpty()) {
+      // the received body is released after this listener returned, but the channels are writing it later
+      IPacketSender.sendPacketToAll(deltaChannels,
+        new PacketClientServerServiceInfoDelta(packet, uniqueId, () -> versions.createFullUpdatePacket(uniqueId)),
+        false);
+    }
+
+    if (!fullUpdateChannels.isEmpty()) {
+      IPacket fullUpdate = versions.createFullUpdatePacket(uniqueId);
+      if (fullUpdate != null) {
+        IPacketSender.sendPacketToAll(fullUpdateChannels, fullUpdate, false);
+      }
+    }
+  }
+}
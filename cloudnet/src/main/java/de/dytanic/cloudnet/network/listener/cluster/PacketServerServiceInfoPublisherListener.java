@@ -22,8 +22,12 @@
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.service.ICloudService;
+import java.util.ArrayList;
+import java.util.Collection;
 
 public final class PacketServerServiceInfoPublisherListener implements IPacketListener {
 
@@ -36,6 +40,10 @@ public void handle(INetworkChannel channel, IPacket packet) {
       packet.getBuffer().readEnumConstant(PacketClientServerServiceInfoPublisher.PublisherType.class);
 
     if (CloudNet.getInstance().getCloudServiceManager().handleServiceUpdate(publisherType, serviceInfoSnapshot)) {
+      if (publisherType == PacketClientServerServiceInfoPublisher.PublisherType.UPDATE) {
+        CloudNet.getInstance().getCloudServiceManager().getServiceInfoSnapshotVersions().update(serviceInfoSnapshot,
+          PacketClientServerServiceInfoPublisher.readVersion(packet.getBuffer()));
+      }
       this.publishMessageIfNecessary(publisherType, serviceInfoSnapshot);
 
       packet.getBuffer().resetReaderIndex();
@@ -66,10 +74,14 @@ private void publishMessageIfNecessary(PacketClientServerServiceInfoPublisher.Pu
   }
 
   private void sendUpdateToAllServices(IPacket packet) {
+    Collection<INetworkChannel> channels = new ArrayList<>();
     for (ICloudService cloudService : CloudNet.getInstance().getCloudServiceManager().getCloudServices().values()) {
       if (cloudService.getNetworkChannel() != null) {
-        cloudService.getNetworkChannel().sendPacket(packet);
+        channels.add(cloudService.getNetworkChannel());
       }
     }
+
+    // the received body is released after this listener returned, but the channels are writing it later
+    IPacketSender.sendPacketToAll(channels, Packet.forward(packet), false);
   }
 }
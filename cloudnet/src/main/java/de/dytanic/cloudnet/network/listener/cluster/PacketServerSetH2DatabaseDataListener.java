@@ -19,8 +19,8 @@
 import com.google.gson.reflect.TypeToken;
 import de.dytanic.cloudnet.CloudNet;
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
-import de.dytanic.cloudnet.database.h2.H2Database;
-import de.dytanic.cloudnet.database.h2.H2DatabaseProvider;
+import de.dytanic.cloudnet.database.LocalDatabase;
+import de.dytanic.cloudnet.database.LocalDatabaseProvider;
 import de.dytanic.cloudnet.driver.network.INetworkChannel;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
@@ -34,33 +34,33 @@ public final class PacketServerSetH2DatabaseDataListener implements IPacketListe
 
   @Override
   public void handle(INetworkChannel channel, IPacket packet) {
-    if (CloudNet.getInstance().getDatabaseProvider() instanceof H2DatabaseProvider && packet.getHeader()
-      .contains("set_h2db")) {
+    boolean append = packet.getHeader().contains("append_h2db");
+    if (CloudNet.getInstance().getDatabaseProvider() instanceof LocalDatabaseProvider && (append || packet.getHeader()
+      .contains("set_h2db"))) {
       Map<String, Map<String, JsonDocument>> documents = packet.getHeader().get("documents", TYPE);
 
-      H2DatabaseProvider databaseProvider = this.getH2DatabaseProvider();
+      LocalDatabaseProvider databaseProvider = this.getLocalDatabaseProvider();
 
-      for (String name : databaseProvider.getDatabaseNames()) {
-        if (!documents.containsKey(name)) {
-          databaseProvider.deleteDatabase(name);
-          continue;
-        }
+      if (!append) {
+        for (String name : databaseProvider.getDatabaseNames()) {
+          if (!documents.containsKey(name)) {
+            databaseProvider.deleteDatabase(name);
+            continue;
+          }
 
-        H2Database database = databaseProvider.getDatabase(name);
+          LocalDatabase database = databaseProvider.getDatabase(name);
 
-        try {
-          database.clear0();
-        } catch (Exception exception) {
-          exception.printStackTrace();
+          try {
+            database.clear0();
+          } catch (Exception exception) {
+            exception.printStackTrace();
+          }
         }
       }
 
       for (Map.Entry<String, Map<String, JsonDocument>> db : documents.entrySet()) {
-        H2Database database = databaseProvider.getDatabase(db.getKey());
-
-        for (Map.Entry<String, JsonDocument> entry : documents.get(db.getKey()).entrySet()) {
-          database.insertOrUpdate(entry.getKey(), entry.getValue());
-        }
+        LocalDatabase database = databaseProvider.getDatabase(db.getKey());
+        database.insertAll0(db.getValue());
       }
 
       for (Map.Entry<String, Map<String, JsonDocument>> entry : documents.entrySet()) {
@@ -71,7 +71,7 @@ public void handle(INetworkChannel channel, IPacket packet) {
     }
   }
 
-  public H2DatabaseProvider getH2DatabaseProvider() {
-    return (H2DatabaseProvider) CloudNet.getInstance().getDatabaseProvider();
+  public LocalDatabaseProvider getLocalDatabaseProvider() {
+    return (LocalDatabaseProvider) CloudNet.getInstance().getDatabaseProvider();
   }
 }
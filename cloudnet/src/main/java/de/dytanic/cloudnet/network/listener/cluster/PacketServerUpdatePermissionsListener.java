@@ -31,6 +31,8 @@
 import de.dytanic.cloudnet.driver.network.def.packet.PacketServerUpdatePermissions;
 import de.dytanic.cloudnet.driver.network.protocol.IPacket;
 import de.dytanic.cloudnet.driver.network.protocol.IPacketListener;
+import de.dytanic.cloudnet.driver.network.protocol.IPacketSender;
+import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.permission.IPermissionGroup;
 import de.dytanic.cloudnet.driver.permission.IPermissionManagement;
 import de.dytanic.cloudnet.driver.permission.IPermissionUser;
@@ -38,6 +40,7 @@
 import de.dytanic.cloudnet.driver.permission.PermissionUser;
 import de.dytanic.cloudnet.permission.ClusterSynchronizedPermissionManagement;
 import de.dytanic.cloudnet.service.ICloudService;
+import java.util.ArrayList;
 import java.util.Collection;
 
 public final class PacketServerUpdatePermissionsListener implements IPacketListener {
@@ -181,10 +184,14 @@ private ClusterSynchronizedPermissionManagement getPermissionManagement() {
   }
 
   private void sendUpdateToAllServices(IPacket packet) {
+    Collection<INetworkChannel> channels = new ArrayList<>();
     for (ICloudService cloudService : CloudNet.getInstance().getCloudServiceManager().getCloudServices().values()) {
       if (cloudService.getNetworkChannel() != null) {
-        cloudService.getNetworkChannel().sendPacket(packet);
+        channels.add(cloudService.getNetworkChannel());
       }
     }
+
+    // the received body is released after this listener returned, but the channels are writing it later
+    IPacketSender.sendPacketToAll(channels, Packet.forward(packet), false);
   }
 }
@@ -27,6 +27,8 @@
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.UUID;
 import java.util.function.BiConsumer;
@@ -79,6 +81,14 @@ public DriverSpecificServiceListener() {
         Queue<String> messages = provider.getCachedLogMessages();
         buffer.writeStringCollection(messages);
       }));
+    super.registerHandler(DriverAPIRequestType.GET_THREADS_FROM_CLOUD_SERVICE,
+      (channel, packet, input) -> this.provider(packet, (buffer, provider) -> {
+        Collection<ThreadSnapshot> threads = provider.getThreads();
+        buffer.writeBoolean(threads != null);
+        if (threads != null) {
+          buffer.writeObjectCollection(threads);
+        }
+      }));
 
   }
 
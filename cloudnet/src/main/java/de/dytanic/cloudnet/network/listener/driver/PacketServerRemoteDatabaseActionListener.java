@@ -27,10 +27,14 @@
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class PacketServerRemoteDatabaseActionListener implements IPacketListener {
 
+  private static final int MAX_ITERATE_PAGE_SIZE = 1000;
+
   @Override
   public void handle(INetworkChannel channel, IPacket packet) throws Exception {
     ProtocolBuffer buffer = packet.getBuffer();
@@ -98,6 +102,31 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
       }
       break;
 
+      case DATABASE_INSERT_ALL: {
+        int size = buffer.readVarInt();
+        // the size is sent by the client, every entry takes at least two bytes of the buffer
+        Map<String, JsonDocument> documents = new HashMap<>(Math.max(0, Math.min(size, buffer.readableBytes() / 2)));
+        for (int i = 0; i < size; i++) {
+          documents.put(buffer.readString(), buffer.readJsonDocument());
+        }
+
+        boolean success = database.insertAll(documents);
+        channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(success)));
+      }
+      break;
+
+      case DATABASE_DELETE_ALL: {
+        boolean success = database.deleteAll(buffer.readStringCollection());
+        channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(success)));
+      }
+      break;
+
+      case DATABASE_CREATE_INDEX: {
+        boolean success = database.createIndex(buffer.readString());
+        channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(success)));
+      }
+      break;
+
       case DATABASE_ENTRIES: {
         Map<String, JsonDocument> entries = database.entries();
         ProtocolBuffer response = ProtocolBuffer.create();
@@ -110,6 +139,25 @@ public void handle(INetworkChannel channel, IPacket packet) throws Exception {
       }
       break;
 
+      case DATABASE_ITERATE: {
+        String cursor = buffer.readOptionalString();
+        // the page size is sent by the service, it can't make the node read the whole database at once
+        int pageSize = Math.max(1, Math.min(MAX_ITERATE_PAGE_SIZE, buffer.readVarInt()));
+
+        Map<String, JsonDocument> page = new LinkedHashMap<>();
+        String nextCursor = database.iterate(cursor, pageSize, page::put);
+
+        ProtocolBuffer response = ProtocolBuffer.create();
+        response.writeVarInt(page.size());
+        page.forEach((key, value) -> {
+          response.writeString(key);
+          response.writeJsonDocument(value);
+        });
+        response.writeOptionalString(nextCursor);
+        channel.sendPacket(Packet.createResponseFor(packet, response));
+      }
+      break;
+
       case DATABASE_CONTAINS: {
         boolean contains = database.contains(buffer.readString());
         channel.sendPacket(Packet.createResponseFor(packet, ProtocolBuffer.create().writeBoolean(contains)));
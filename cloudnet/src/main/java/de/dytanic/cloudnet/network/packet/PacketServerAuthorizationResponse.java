@@ -23,7 +23,29 @@
 public final class PacketServerAuthorizationResponse extends Packet {
 
   public PacketServerAuthorizationResponse(boolean access, String text) {
-    super(PacketConstants.INTERNAL_AUTHORIZATION_CHANNEL, new JsonDocument("access", access).append("text", text),
-      Packet.EMPTY_PACKET_BYTE_ARRAY);
+    this(access, text, false);
+  }
+
+  public PacketServerAuthorizationResponse(boolean access, String text, boolean binaryHeaders) {
+    this(access, text, binaryHeaders, false);
+  }
+
+  public PacketServerAuthorizationResponse(boolean access, String text, boolean binaryHeaders, boolean compression) {
+    this(access, text, binaryHeaders, compression, false);
+  }
+
+  public PacketServerAuthorizationResponse(boolean access, String text, boolean binaryHeaders, boolean compression,
+    boolean pagedDatabaseSync) {
+    this(access, text, binaryHeaders, compression, pagedDatabaseSync, false);
+  }
+
+  public PacketServerAuthorizationResponse(boolean access, String text, boolean binaryHeaders, boolean compression,
+    boolean pagedDatabaseSync, boolean serviceInfoDeltas) {
+    super(PacketConstants.INTERNAL_AUTHORIZATION_CHANNEL, new JsonDocument("access", access)
+      .append("text", text)
+      .append("binaryHeaders", binaryHeaders)
+      .append("compression", compression)
+      .append("pagedDatabaseSync", pagedDatabaseSync)
+      .append("serviceInfoDeltas", serviceInfoDeltas), Packet.EMPTY_PACKET_BYTE_ARRAY);
   }
 }
@@ -19,6 +19,7 @@
 import de.dytanic.cloudnet.driver.network.cluster.NetworkClusterNodeInfoSnapshot;
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import de.dytanic.cloudnet.driver.network.protocol.PacketWritePolicy;
 import de.dytanic.cloudnet.driver.serialization.ProtocolBuffer;
 
 public final class PacketServerClusterNodeInfoUpdate extends Packet {
@@ -33,4 +34,9 @@ public boolean isShowDebug() {
     return false;
   }
 
+  @Override
+  public PacketWritePolicy getWritePolicy() {
+    return PacketWritePolicy.LATEST_VALUE_WINS;
+  }
+
 }
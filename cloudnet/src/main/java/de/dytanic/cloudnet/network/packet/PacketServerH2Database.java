@@ -19,6 +19,8 @@
 import de.dytanic.cloudnet.common.document.gson.JsonDocument;
 import de.dytanic.cloudnet.driver.network.def.PacketConstants;
 import de.dytanic.cloudnet.driver.network.protocol.Packet;
+import java.util.Collection;
+import java.util.Map;
 
 public final class PacketServerH2Database extends Packet {
 
@@ -30,10 +32,28 @@ public PacketServerH2Database(OperationType operationType, String name, String k
       new byte[0]);
   }
 
+  public PacketServerH2Database(String name, Map<String, JsonDocument> documents) {
+    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE,
+      new JsonDocument("operationType", OperationType.INSERT_ALL)
+        .append("name", name)
+        .append("documents", documents),
+      new byte[0]);
+  }
+
+  public PacketServerH2Database(String name, Collection<String> keys) {
+    super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE,
+      new JsonDocument("operationType", OperationType.DELETE_ALL)
+        .append("name", name)
+        .append("keys", keys),
+      new byte[0]);
+  }
+
   public enum OperationType {
     INSERT,
     UPDATE,
     DELETE,
-    CLEAR
+    CLEAR,
+    INSERT_ALL,
+    DELETE_ALL
   }
 }
@@ -25,7 +25,18 @@
 public final class PacketServerSetH2DatabaseData extends Packet {
 
   public PacketServerSetH2DatabaseData(Map<String, Map<String, JsonDocument>> documents, NetworkUpdateType updateType) {
+    this(documents, updateType, false);
+  }
+
+  /**
+   * @param append if the documents are added to the databases of the receiving node, otherwise the databases of the
+   *               receiving node are replaced by the given ones. Appending packets use their own header key, because
+   *               older nodes would read them as a replacement of all their databases
+   */
+  public PacketServerSetH2DatabaseData(Map<String, Map<String, JsonDocument>> documents, NetworkUpdateType updateType,
+    boolean append) {
     super(PacketConstants.INTERNAL_H2_DATABASE_UPDATE_MODULE,
-      new JsonDocument("set_h2db", true).append("documents", documents).append("updateType", updateType), new byte[0]);
+      new JsonDocument(append ? "append_h2db" : "set_h2db", true).append("documents", documents)
+        .append("updateType", updateType), new byte[0]);
   }
 }
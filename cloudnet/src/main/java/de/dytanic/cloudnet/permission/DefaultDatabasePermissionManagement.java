@@ -68,6 +68,9 @@ public DefaultDatabasePermissionManagement(Callable<AbstractDatabaseProvider> da
   public void init() {
     FileUtils.createDirectoryReported(this.file.getParent());
     this.loadGroups();
+
+    // the users are looked up by their names
+    this.getDatabase().createIndex("name");
   }
 
   @Override
@@ -36,7 +36,9 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 
 public class NodeMessenger extends DefaultMessenger implements CloudMessenger {
@@ -84,23 +86,24 @@ public Collection<ChannelMessageTargetChannel> getTargetChannels(ChannelMessageS
         if (target.getName() == null) {
           return this.getAll(sender, serviceOnly);
         }
-        Collection<ServiceInfoSnapshot> services = this.cloudNet.getCloudServiceProvider()
-          .getCloudServices(target.getName());
+        Collection<ServiceInfoSnapshot> services = this.cloudNet.getCloudServiceManager()
+          .getServiceInfoSnapshotRegistry().getByTask(target.getName());
         return this.getSendersFromServices(services, serviceOnly);
       }
       case GROUP: {
         if (target.getName() == null) {
           return this.getAll(sender, serviceOnly);
         }
-        Collection<ServiceInfoSnapshot> services = this.cloudNet.getCloudServiceProvider()
-          .getCloudServicesByGroup(target.getName());
+        Collection<ServiceInfoSnapshot> services = this.cloudNet.getCloudServiceManager()
+          .getServiceInfoSnapshotRegistry().getByGroup(target.getName());
         return this.getSendersFromServices(services, serviceOnly);
       }
       case SERVICE: {
         if (target.getName() == null) {
           return this.getAll(sender, serviceOnly);
         }
-        ServiceInfoSnapshot service = this.cloudNet.getCloudServiceProvider().getCloudServiceByName(target.getName());
+        ServiceInfoSnapshot service = this.cloudNet.getCloudServiceManager().getServiceInfoSnapshotRegistry()
+          .getByName(target.getName());
         if (service == null) {
           return null;
         }
@@ -119,8 +122,8 @@ public Collection<ChannelMessageTargetChannel> getTargetChannels(ChannelMessageS
           .singletonList(new ChannelMessageTargetChannel(server.getChannel(), true)) : null;
       }
       case ENVIRONMENT: {
-        Collection<ServiceInfoSnapshot> services = this.cloudNet.getCloudServiceProvider()
-          .getCloudServices(target.getEnvironment());
+        Collection<ServiceInfoSnapshot> services = this.cloudNet.getCloudServiceManager()
+          .getServiceInfoSnapshotRegistry().getByEnvironment(target.getEnvironment());
         return this.getSendersFromServices(services, serviceOnly);
       }
       case ALL: {
@@ -155,6 +158,7 @@ private Collection<ChannelMessageTargetChannel> getSendersFromServices(Collectio
       return Collections.emptyList();
     }
     Collection<ChannelMessageTargetChannel> channels = new ArrayList<>();
+    Collection<String> targetNodes = new HashSet<>();
     for (ServiceInfoSnapshot service : services) {
       if (service.getServiceId().getNodeUniqueId().equals(this.cloudNet.getComponentName())) {
         ICloudService localService = this.cloudNet.getCloudServiceManager()
@@ -162,15 +166,12 @@ private Collection<ChannelMessageTargetChannel> getSendersFromServices(Collectio
         if (localService != null && localService.getNetworkChannel() != null) {
           channels.add(new ChannelMessageTargetChannel(localService.getNetworkChannel(), false));
         }
-      } else if (!serviceOnly) {
+      } else if (!serviceOnly && targetNodes.add(service.getServiceId().getNodeUniqueId())) {
         IClusterNodeServer server = this.cloudNet.getClusterNodeServerProvider()
           .getNodeServer(service.getServiceId().getNodeUniqueId());
         if (server == null || server.getChannel() == null) {
           continue;
         }
-        if (channels.stream().anyMatch(channel -> channel.getChannel().equals(server.getChannel()))) {
-          continue;
-        }
         channels.add(new ChannelMessageTargetChannel(server.getChannel(), true));
       }
     }
@@ -196,10 +197,9 @@ public void sendChannelMessage(@NotNull ChannelMessage channelMessage, boolean s
       return;
     }
 
-    IPacket packet = new PacketClientServerChannelMessage(channelMessage, false);
-    for (ChannelMessageTargetChannel channel : channels) {
-      channel.getChannel().sendPacket(packet);
-    }
+    this.cloudNet.getNetworkServer().broadcastPacket(
+      channels.stream().map(ChannelMessageTargetChannel::getChannel).collect(Collectors.toList()),
+      new PacketClientServerChannelMessage(channelMessage, false));
   }
 
   @Override
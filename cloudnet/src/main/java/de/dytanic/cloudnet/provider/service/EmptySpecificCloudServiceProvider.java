@@ -24,6 +24,8 @@
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingDeque;
 import org.jetbrains.annotations.NotNull;
@@ -111,6 +113,16 @@ public void deployResources(boolean removeDeployments) {
     return CompletedTask.create(null);
   }
 
+  @Override
+  public @Nullable Collection<ThreadSnapshot> getThreads() {
+    return null;
+  }
+
+  @Override
+  public @NotNull ITask<Collection<ThreadSnapshot>> getThreadsAsync() {
+    return CompletedTask.create(null);
+  }
+
   @Override
   public @NotNull ITask<Void> addServiceTemplateAsync(@NotNull ServiceTemplate serviceTemplate) {
     return CompletedTask.voidTask();
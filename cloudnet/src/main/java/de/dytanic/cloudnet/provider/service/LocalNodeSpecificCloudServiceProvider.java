@@ -26,7 +26,9 @@
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
 import de.dytanic.cloudnet.service.ICloudService;
+import java.util.Collection;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 import org.jetbrains.annotations.NotNull;
@@ -133,6 +135,17 @@ public ITask<Queue<String>> getCachedLogMessagesAsync() {
     return this.cloudNet.scheduleTask(this::getCachedLogMessages);
   }
 
+  @Override
+  public Collection<ThreadSnapshot> getThreads() {
+    return this.getThreadsAsync().get(5, TimeUnit.SECONDS, null);
+  }
+
+  @Override
+  @NotNull
+  public ITask<Collection<ThreadSnapshot>> getThreadsAsync() {
+    return this.service.getThreadsAsync();
+  }
+
   @Override
   public void setCloudServiceLifeCycle(@NotNull ServiceLifeCycle lifeCycle) {
     Preconditions.checkNotNull(lifeCycle);
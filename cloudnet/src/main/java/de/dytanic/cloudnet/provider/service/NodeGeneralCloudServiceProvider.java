@@ -22,13 +22,12 @@
 import de.dytanic.cloudnet.driver.provider.service.GeneralCloudServiceProvider;
 import de.dytanic.cloudnet.driver.service.ServiceEnvironmentType;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotRegistry;
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.UUID;
-import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -40,59 +39,50 @@ public NodeGeneralCloudServiceProvider(CloudNet cloudNet) {
     this.cloudNet = cloudNet;
   }
 
+  private ServiceInfoSnapshotRegistry registry() {
+    return this.cloudNet.getCloudServiceManager().getServiceInfoSnapshotRegistry();
+  }
+
   @Override
   public Collection<UUID> getServicesAsUniqueId() {
-    return Collections
-      .unmodifiableCollection(this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().keySet());
+    return Collections.unmodifiableCollection(this.registry().keySet());
   }
 
   @Nullable
   @Override
   public ServiceInfoSnapshot getCloudServiceByName(@NotNull String name) {
-    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().values().stream()
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getServiceId().getName().equalsIgnoreCase(name))
-      .findFirst()
-      .orElse(null);
+    return this.registry().getByName(name);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServices() {
-    return new ArrayList<>(this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().values());
+    return new ArrayList<>(this.registry().values());
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getStartedCloudServices() {
-    return this.getCloudServices().stream()
-      .filter(serviceInfoSnapshot -> serviceInfoSnapshot.getLifeCycle() == ServiceLifeCycle.RUNNING)
-      .collect(Collectors.toList());
+    return this.registry().getByLifeCycle(ServiceLifeCycle.RUNNING);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServices(@NotNull String taskName) {
     Preconditions.checkNotNull(taskName);
 
-    return this.getCloudServices().stream()
-      .filter(snapshot -> snapshot.getServiceId().getTaskName().equalsIgnoreCase(taskName))
-      .collect(Collectors.toList());
+    return this.registry().getByTask(taskName);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServices(@NotNull ServiceEnvironmentType environment) {
     Preconditions.checkNotNull(environment);
 
-    return this.getCloudServices().stream()
-      .filter(snapshot -> snapshot.getServiceId().getEnvironment() == environment)
-      .collect(Collectors.toList());
+    return this.registry().getByEnvironment(environment);
   }
 
   @Override
   public Collection<ServiceInfoSnapshot> getCloudServicesByGroup(@NotNull String group) {
     Preconditions.checkNotNull(group);
 
-    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().values()
-      .stream()
-      .filter(serviceInfoSnapshot -> Arrays.asList(serviceInfoSnapshot.getConfiguration().getGroups()).contains(group))
-      .collect(Collectors.toList());
+    return this.registry().getByGroup(group);
   }
 
   @Nullable
@@ -100,44 +90,26 @@ public Collection<ServiceInfoSnapshot> getCloudServicesByGroup(@NotNull String g
   public ServiceInfoSnapshot getCloudService(@NotNull UUID uniqueId) {
     Preconditions.checkNotNull(uniqueId);
 
-    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().get(uniqueId);
+    return this.registry().get(uniqueId);
   }
 
   @Override
   public int getServicesCount() {
-    return this.cloudNet.getCloudServiceManager().getGlobalServiceInfoSnapshots().size();
+    return this.registry().size();
   }
 
   @Override
   public int getServicesCountByGroup(@NotNull String group) {
     Preconditions.checkNotNull(group);
 
-    int amount = 0;
-
-    for (ServiceInfoSnapshot serviceInfoSnapshot : this.cloudNet.getCloudServiceManager()
-      .getGlobalServiceInfoSnapshots().values()) {
-      if (Arrays.asList(serviceInfoSnapshot.getConfiguration().getGroups()).contains(group)) {
-        amount++;
-      }
-    }
-
-    return amount;
+    return this.registry().countByGroup(group);
   }
 
   @Override
   public int getServicesCountByTask(@NotNull String taskName) {
     Preconditions.checkNotNull(taskName);
 
-    int amount = 0;
-
-    for (ServiceInfoSnapshot serviceInfoSnapshot : this.cloudNet.getCloudServiceManager()
-      .getGlobalServiceInfoSnapshots().values()) {
-      if (serviceInfoSnapshot.getServiceId().getTaskName().equals(taskName)) {
-        amount++;
-      }
-    }
-
-    return amount;
+    return this.registry().countByTask(taskName);
   }
 
   @Override
@@ -25,8 +25,10 @@
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
 import java.io.File;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
 import org.jetbrains.annotations.ApiStatus;
@@ -90,6 +92,13 @@ public interface ICloudService {
 
   ITask<ServiceInfoSnapshot> forceUpdateServiceInfoSnapshotAsync();
 
+  /**
+   * Requests the threads running in the process of this service from its wrapper.
+   *
+   * @return the running threads or null if the service is not connected
+   */
+  ITask<Collection<ThreadSnapshot>> getThreadsAsync();
+
   @Nullable
   Process getProcess();
 
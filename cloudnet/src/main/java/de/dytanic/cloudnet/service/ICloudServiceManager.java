@@ -20,6 +20,7 @@
 import de.dytanic.cloudnet.driver.network.def.packet.PacketClientServerServiceInfoPublisher;
 import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotRegistry;
 import java.io.File;
 import java.nio.file.Path;
 import java.util.Collection;
@@ -50,6 +51,16 @@ public interface ICloudServiceManager {
   @NotNull
   Map<UUID, ServiceInfoSnapshot> getGlobalServiceInfoSnapshots();
 
+  /**
+   * Gets the registry of the snapshots of all services in the cluster. It is the same map as returned by {@link
+   * #getGlobalServiceInfoSnapshots()} which allows indexed lookups of the services.
+   *
+   * @return the registry of all service snapshots
+   */
+  @NotNull
+  @ApiStatus.Internal
+  ServiceInfoSnapshotRegistry getServiceInfoSnapshotRegistry();
+
   boolean handleServiceUpdate(@NotNull PacketClientServerServiceInfoPublisher.PublisherType type,
     @NotNull ServiceInfoSnapshot snapshot);
 
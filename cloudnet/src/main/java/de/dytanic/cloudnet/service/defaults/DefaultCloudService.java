@@ -33,12 +33,14 @@
 import de.dytanic.cloudnet.driver.service.ServiceConfiguration;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
+import de.dytanic.cloudnet.driver.service.ThreadSnapshot;
 import de.dytanic.cloudnet.service.ICloudServiceManager;
 import de.dytanic.cloudnet.service.handler.CloudServiceHandler;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.jetbrains.annotations.ApiStatus;
@@ -203,14 +205,24 @@ public ITask<ServiceInfoSnapshot> forceUpdateServiceInfoSnapshotAsync() {
       });
   }
 
+  @Override
+  public ITask<Collection<ThreadSnapshot>> getThreadsAsync() {
+    if (this.getNetworkChannel() == null) {
+      return CompletedTask.create(null);
+    }
+
+    return this.getNetworkChannel()
+      .sendQueryAsync(new PacketClientDriverAPI(DriverAPIRequestType.GET_THREADS_FROM_CLOUD_SERVICE))
+      .map(packet -> packet.getBuffer().readObjectCollection(ThreadSnapshot.class));
+  }
+
   @Override
   public void updateServiceInfoSnapshot(@NotNull ServiceInfoSnapshot serviceInfoSnapshot) {
     this.setServiceInfoSnapshot(serviceInfoSnapshot);
     this.getCloudServiceManager()
       .handleServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType.UPDATE, serviceInfoSnapshot);
 
-    CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(serviceInfoSnapshot,
-      PacketClientServerServiceInfoPublisher.PublisherType.UPDATE));
+    CloudNet.getInstance().publishServiceInfoUpdate(serviceInfoSnapshot);
   }
 
   @Override
@@ -306,6 +318,9 @@ protected void preStart() {
   protected void postStart() {
     this.lifeCycle = ServiceLifeCycle.RUNNING;
     this.serviceInfoSnapshot.setLifeCycle(ServiceLifeCycle.RUNNING);
+    // the snapshot was changed in place, put it again to move it to the running services
+    this.getCloudServiceManager().getGlobalServiceInfoSnapshots()
+      .replace(this.getServiceId().getUniqueId(), this.serviceInfoSnapshot);
 
     CloudNet.getInstance().sendAll(new PacketClientServerServiceInfoPublisher(this.serviceInfoSnapshot,
       PacketClientServerServiceInfoPublisher.PublisherType.STARTED));
@@ -37,6 +37,8 @@
 import de.dytanic.cloudnet.driver.service.ServiceDeployment;
 import de.dytanic.cloudnet.driver.service.ServiceId;
 import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshot;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotRegistry;
+import de.dytanic.cloudnet.driver.service.ServiceInfoSnapshotVersions;
 import de.dytanic.cloudnet.driver.service.ServiceLifeCycle;
 import de.dytanic.cloudnet.driver.service.ServiceRemoteInclusion;
 import de.dytanic.cloudnet.driver.service.ServiceTemplate;
@@ -83,7 +85,8 @@ public final class DefaultCloudServiceManager implements ICloudServiceManager {
     .get(System.getProperty("cloudnet.persistable.services.path", "local/services"));
 
   private final Lock globalServicesUpdateLock = new ReentrantLock();
-  private final Map<UUID, ServiceInfoSnapshot> globalServiceInfoSnapshots = new ConcurrentHashMap<>();
+  private final ServiceInfoSnapshotRegistry globalServiceInfoSnapshots = new ServiceInfoSnapshotRegistry();
+  private final ServiceInfoSnapshotVersions serviceInfoSnapshotVersions = new ServiceInfoSnapshotVersions();
 
   private final Map<UUID, ICloudService> cloudServices = new ConcurrentHashMap<>();
   private final Map<String, ICloudServiceFactory> cloudServiceFactories = new ConcurrentHashMap<>();
@@ -277,11 +280,9 @@ public Collection<ICloudService> getLocalCloudServices() {
   public Collection<Integer> getReservedTaskIds(@NotNull String task) {
     Preconditions.checkNotNull(task);
 
-    Collection<Integer> taskIdList = new ArrayList<>();
-    for (ServiceInfoSnapshot serviceInfoSnapshot : this.globalServiceInfoSnapshots.values()) {
-      if (serviceInfoSnapshot.getServiceId().getTaskName().equalsIgnoreCase(task)) {
-        taskIdList.add(serviceInfoSnapshot.getServiceId().getTaskServiceId());
-      }
+    Collection<Integer> taskIdList = new HashSet<>();
+    for (ServiceInfoSnapshot serviceInfoSnapshot : this.globalServiceInfoSnapshots.getByTask(task)) {
+      taskIdList.add(serviceInfoSnapshot.getServiceId().getTaskServiceId());
     }
 
     return taskIdList;
@@ -379,6 +380,16 @@ public Path getPersistentServicesDirectoryPath() {
     return this.globalServiceInfoSnapshots;
   }
 
+  @Override
+  public @NotNull ServiceInfoSnapshotRegistry getServiceInfoSnapshotRegistry() {
+    return this.globalServiceInfoSnapshots;
+  }
+
+  @ApiStatus.Internal
+  public @NotNull ServiceInfoSnapshotVersions getServiceInfoSnapshotVersions() {
+    return this.serviceInfoSnapshotVersions;
+  }
+
   @Override
   public @NotNull Map<UUID, ICloudService> getCloudServices() {
     return this.cloudServices;
@@ -431,6 +442,10 @@ public void prepareServiceConfiguration(NodeServer server, ServiceConfiguration
 
   private boolean doServiceUpdate(PacketClientServerServiceInfoPublisher.PublisherType type,
     ServiceInfoSnapshot snapshot) {
+    if (type == PacketClientServerServiceInfoPublisher.PublisherType.UNREGISTER) {
+      this.serviceInfoSnapshotVersions.remove(snapshot.getServiceId().getUniqueId());
+    }
+
     if (this.globalServiceInfoSnapshots.containsKey(snapshot.getServiceId().getUniqueId())) {
       switch (type) {
         case STARTED:
@@ -20,8 +20,19 @@
 import de.dytanic.cloudnet.database.AbstractDatabaseProvider;
 import de.dytanic.cloudnet.database.IDatabaseHandler;
 import de.dytanic.cloudnet.driver.database.Database;
+import de.dytanic.cloudnet.driver.database.DatabaseException;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
@@ -94,6 +105,226 @@ public void testDatabaseProvider() throws Exception {
     databaseProvider.close();
   }
 
+  @Test
+  public void testBatchWrites() throws Exception {
+    AbstractDatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("batchDataDatabase");
+    database.clear();
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      documents.put(String.valueOf(i), new JsonDocument("val", i));
+    }
+
+    Assert.assertTrue(database.insertAll(documents));
+    Assert.assertEquals(100, database.getDocumentsCount());
+
+    documents.clear();
+    for (int i = 90; i < 110; i++) {
+      documents.put(String.valueOf(i), new JsonDocument("val", -i));
+    }
+
+    Assert.assertTrue(database.insertAllAsync(documents).get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(110, database.getDocumentsCount());
+    Assert.assertEquals(-95, database.get("95").getInt("val"));
+
+    Assert.assertTrue(database.insert("95", new JsonDocument("val", 95)));
+    Assert.assertEquals(95, database.get("95").getInt("val"));
+
+    Collection<String> keys = new ArrayList<>();
+    for (int i = 0; i < 110; i += 2) {
+      keys.add(String.valueOf(i));
+    }
+
+    Assert.assertTrue(database.deleteAll(keys));
+    Assert.assertEquals(55, database.getDocumentsCount());
+    Assert.assertFalse(database.contains("0"));
+    Assert.assertTrue(database.contains("1"));
+
+    Assert.assertTrue(database.insertAll(new HashMap<>()));
+    Assert.assertTrue(database.deleteAll(new ArrayList<>()));
+
+    database.clear();
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testIndexes() throws Exception {
+    H2DatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("indexedDataDatabase");
+    database.clear();
+
+    for (int i = 0; i < 2500; i++) {
+      database.insert(String.valueOf(i), new JsonDocument("name", "Player" + i)
+        .append("proxyInfo", new JsonDocument("name", "Player" + (i + 1)).append("version", i % 10)));
+    }
+
+    // without an index the search also finds the name of the nested document
+    Assert.assertEquals(2, database.get("name", "Player10").size());
+
+    Assert.assertTrue(database.createIndex("name"));
+    Assert.assertTrue(database.createIndex("proxyInfo.version"));
+    Assert.assertTrue(database.createIndex("name"));
+
+    Assert.assertEquals(1, database.get("name", "Player10").size());
+    Assert.assertEquals("Player11",
+      database.get("name", "Player10").get(0).getDocument("proxyInfo").getString("name"));
+    Assert.assertEquals(250, database.get(new JsonDocument("proxyInfo.version", 3)).size());
+    Assert.assertEquals(1, database.get(new JsonDocument("name", "Player13").append("proxyInfo.version", 3)).size());
+    Assert.assertEquals(0, database.get(new JsonDocument("name", "Player13").append("proxyInfo.version", 4)).size());
+
+    Assert.assertTrue(database.update("10", new JsonDocument("name", "Renamed")));
+    Assert.assertEquals(0, database.get("name", "Player10").size());
+    Assert.assertEquals(1, database.get("name", "Renamed").size());
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    documents.put("10", new JsonDocument("name", "Batch"));
+    documents.put("new", new JsonDocument("name", "Batch"));
+    Assert.assertTrue(database.insertAll(documents));
+    Assert.assertEquals(0, database.get("name", "Renamed").size());
+    Assert.assertEquals(2, database.get("name", "Batch").size());
+
+    databaseProvider.close();
+
+    // the indexes are restored from the columns of the table
+    databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    database = databaseProvider.getDatabase("indexedDataDatabase");
+    Assert.assertEquals(1, database.get("name", "Player11").size());
+    Assert.assertEquals(250, database.get("proxyInfo.version", 7).size());
+
+    Assert.assertTrue(databaseProvider.deleteDatabase("indexedDataDatabase"));
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testPagedIteration() throws Exception {
+    H2DatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database", false);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("pagedDataDatabase");
+    database.clear();
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 2000; i++) {
+      documents.put(String.format("key%04d", i), new JsonDocument("value", i));
+    }
+    Assert.assertTrue(database.insertAll(documents));
+
+    List<String> keys = new ArrayList<>();
+    String cursor = database.iterate(null, 1000, (key, document) -> keys.add(key));
+    Assert.assertEquals(1000, keys.size());
+    Assert.assertEquals("key0999", cursor);
+
+    // documents inserted after the cursor are read by the following pages
+    Assert.assertTrue(database.insert("key9999", new JsonDocument("value", 9999)));
+
+    cursor = database.iterate(cursor, 1000, (key, document) -> keys.add(key));
+    Assert.assertNotNull(cursor);
+    Assert.assertNull(database.iterate(cursor, 1000, (key, document) -> keys.add(key)));
+
+    Assert.assertEquals(2001, keys.size());
+    Assert.assertEquals("key0000", keys.get(0));
+    Assert.assertEquals("key9999", keys.get(2000));
+    for (int i = 1; i < keys.size(); i++) {
+      Assert.assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+    }
+
+    // the consumer is able to write to the database while it is iterated
+    AtomicInteger count = new AtomicInteger();
+    database.iterate(300, (key, document) -> {
+      count.incrementAndGet();
+      database.update(key, document.append("visited", true));
+    });
+    Assert.assertEquals(2001, count.get());
+    Assert.assertEquals(2001, database.filter((key, document) -> document.getBoolean("visited")).size());
+
+    Assert.assertTrue(databaseProvider.deleteDatabase("pagedDataDatabase"));
+
+    // a failed read must not look like the last page
+    try {
+      database.iterate(null, 1000, (key, document) -> keys.add(key));
+      Assert.fail("Iterated over a deleted database");
+    } catch (DatabaseException ignored) {
+    }
+
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testConcurrentAccess() throws Exception {
+    H2DatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database_pool", false, null, 4, 2);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("concurrentDataDatabase");
+    database.clear();
+
+    ExecutorService executorService = Executors.newFixedThreadPool(8);
+    Collection<Future<Boolean>> futures = new ArrayList<>();
+    for (int thread = 0; thread < 8; thread++) {
+      int offset = thread * 100;
+      futures.add(executorService.submit(() -> {
+        for (int i = offset; i < offset + 100; i++) {
+          String key = String.valueOf(i);
+          if (!database.insert(key, new JsonDocument("val", i))
+            || database.get(key).getInt("val") != i
+            || !database.contains(key)) {
+            return false;
+          }
+        }
+        return true;
+      }));
+    }
+
+    for (Future<Boolean> future : futures) {
+      Assert.assertTrue(future.get(30, TimeUnit.SECONDS));
+    }
+    executorService.shutdown();
+
+    Assert.assertEquals(800, database.getDocumentsCount());
+
+    H2ConnectionPoolStatistics statistics = databaseProvider.getConnectionPoolStatistics();
+    Assert.assertEquals(4, statistics.getPoolSize());
+    Assert.assertEquals(4, statistics.getIdleConnections());
+    Assert.assertEquals(0, statistics.getTimeouts());
+    Assert.assertTrue(statistics.getStatementCacheHits() > 0);
+
+    database.clear();
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testDedicatedConnection() throws Exception {
+    H2DatabaseProvider databaseProvider = new H2DatabaseProvider("build/h2database_pool", false, null, 1, 2);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("connectionDataDatabase");
+    database.clear();
+
+    // the state of a connection handed out must not leak into the pool
+    try (Connection connection = databaseProvider.getConnection()) {
+      connection.setAutoCommit(false);
+
+      Map<String, JsonDocument> documents = new HashMap<>();
+      documents.put("1", new JsonDocument("val", 1));
+      documents.put("2", new JsonDocument("val", 2));
+      Assert.assertTrue(database.insertAll(documents));
+    }
+
+    // a connection of the pool which was closed by the caller would fail here
+    Assert.assertTrue(database.insert("3", new JsonDocument("val", 3)));
+    Assert.assertEquals(3, database.getDocumentsCount());
+    Assert.assertEquals(1, databaseProvider.getConnectionPoolStatistics().getIdleConnections());
+
+    database.clear();
+    databaseProvider.close();
+  }
+
   @Override
   public void handleInsert(Database database, String key, JsonDocument document) {
     this.resultString = "foobar";
@@ -0,0 +1,298 @@
+/*
+ * Copyright 2019-2021 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.dytanic.cloudnet.database.mvstore;
+
+import com.google.gson.JsonObject;
+import de.dytanic.cloudnet.common.document.gson.JsonDocument;
+import de.dytanic.cloudnet.database.IDatabaseHandler;
+import de.dytanic.cloudnet.driver.database.Database;
+import de.dytanic.cloudnet.driver.serialization.json.BinaryJsonCodec;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public final class MVStoreDatabaseProviderTest implements IDatabaseHandler {
+
+  private static final String FILE = "build/mvstore/database.mv.db";
+
+  protected String resultString;
+
+  protected boolean value;
+  protected boolean geh;
+  protected boolean cleared;
+
+  @Test
+  public void testDatabaseProvider() throws Exception {
+    MVStoreDatabaseProvider databaseProvider = new MVStoreDatabaseProvider(FILE, false);
+    Assert.assertTrue(databaseProvider.init());
+
+    databaseProvider.setDatabaseHandler(this);
+
+    Database database = databaseProvider.getDatabase("randomDataDatabase");
+    Assert.assertNotNull(database);
+
+    Assert.assertTrue(databaseProvider.containsDatabase("RANDOMDATADATABASE"));
+    Assert.assertTrue(databaseProvider.getDatabaseNames().contains("randomdatadatabase"));
+    Assert.assertTrue(databaseProvider.deleteDatabase("randomDataDatabase"));
+    Assert.assertFalse(databaseProvider.getDatabaseNames().contains("randomdatadatabase"));
+
+    database = databaseProvider.getDatabase("randomDataDatabase");
+
+    Assert.assertTrue(database.insert("_xxx_", new JsonDocument("value", "1")));
+    Assert.assertEquals(1, database.get("value", "1").size());
+    Assert.assertTrue(database.contains("_xxx_"));
+    database.clear();
+
+    Assert.assertFalse(database.contains("_xxx_"));
+
+    JsonDocument document = new JsonDocument();
+    for (int i = 0; i < 100; i++) {
+      document.append("val", i).append("name", i == 50 ? "Albert" : i > 70 ? "Luzifer" : "Peter Parker")
+        .append("age", i > 70 ? 20 : 18);
+
+      Assert.assertTrue(database.insert(String.valueOf(i), document));
+    }
+
+    Assert.assertEquals(100, database.documents().size());
+    Assert.assertTrue(database.update(String.valueOf(10), new JsonDocument("val", 10)));
+    Assert.assertEquals(1, database.get(String.valueOf(10)).size());
+
+    Assert.assertEquals(1, database.get("val", 61).size());
+    Assert.assertEquals(1, database.get(new JsonDocument("name", "Albert").append("val", 50)).size());
+    Assert.assertEquals(29, database.get(new JsonDocument("age", 20).append("name", "Luzifer")).size());
+
+    AtomicInteger counter = new AtomicInteger();
+    database.iterate((s, strings) -> counter.incrementAndGet());
+    Assert.assertEquals(100, counter.get());
+
+    Assert.assertEquals(3, database.filter((s, strings) -> s.equalsIgnoreCase("10") ||
+      s.equalsIgnoreCase("14") ||
+      s.equalsIgnoreCase("16")).size());
+
+    Assert.assertTrue(database.delete("10"));
+    Assert.assertEquals(99, database.documents().size());
+    Assert.assertEquals(99, database.getDocumentsCountAsync().get(5, TimeUnit.SECONDS).longValue());
+
+    Assert.assertTrue(this.value && this.geh && this.resultString.equals("foobar"));
+
+    database.clear();
+    Assert.assertTrue(this.cleared);
+
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testBatchWrites() throws Exception {
+    MVStoreDatabaseProvider databaseProvider = new MVStoreDatabaseProvider(FILE, false);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("batchDataDatabase");
+    database.clear();
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      documents.put(String.valueOf(i), new JsonDocument("val", i));
+    }
+
+    Assert.assertTrue(database.insertAll(documents));
+    Assert.assertEquals(100, database.getDocumentsCount());
+
+    documents.clear();
+    for (int i = 90; i < 110; i++) {
+      documents.put(String.valueOf(i), new JsonDocument("val", -i));
+    }
+
+    Assert.assertTrue(database.insertAllAsync(documents).get(5, TimeUnit.SECONDS));
+    Assert.assertEquals(110, database.getDocumentsCount());
+    Assert.assertEquals(-95, database.get("95").getInt("val"));
+
+    Collection<String> keys = new ArrayList<>();
+    for (int i = 0; i < 110; i += 2) {
+      keys.add(String.valueOf(i));
+    }
+
+    Assert.assertTrue(database.deleteAll(keys));
+    Assert.assertEquals(55, database.getDocumentsCount());
+    Assert.assertFalse(database.contains("0"));
+    Assert.assertTrue(database.contains("1"));
+
+    // a document which can't be written fails the whole batch
+    JsonObject nested = new JsonObject();
+    for (int i = 0; i < BinaryJsonCodec.MAX_DEPTH; i++) {
+      JsonObject parent = new JsonObject();
+      parent.add("nested", nested);
+      nested = parent;
+    }
+
+    documents.clear();
+    documents.put("1", new JsonDocument("val", 1000));
+    documents.put("1000", new JsonDocument("val", 1000));
+    documents.put("invalid", new JsonDocument("nested", nested));
+
+    Assert.assertFalse(database.insertAll(documents));
+    Assert.assertEquals(55, database.getDocumentsCount());
+    Assert.assertEquals(1, database.get("1").getInt("val"));
+
+    databaseProvider.close();
+
+    // the documents are written to the file when the store is closed
+    databaseProvider = new MVStoreDatabaseProvider(FILE, false);
+    Assert.assertTrue(databaseProvider.init());
+
+    database = databaseProvider.getDatabase("batchDataDatabase");
+    Assert.assertEquals(55, database.getDocumentsCount());
+    Assert.assertEquals(-101, database.get("101").getInt("val"));
+
+    Assert.assertTrue(databaseProvider.deleteDatabase("batchDataDatabase"));
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testIndexes() throws Exception {
+    MVStoreDatabaseProvider databaseProvider = new MVStoreDatabaseProvider(FILE, false);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("indexedDataDatabase");
+    database.clear();
+
+    for (int i = 0; i < 2500; i++) {
+      database.insert(String.valueOf(i), new JsonDocument("name", "Player" + i)
+        .append("proxyInfo", new JsonDocument("name", "Player" + (i + 1)).append("version", i % 10)));
+    }
+
+    Assert.assertEquals(1, database.get("name", "Player10").size());
+    Assert.assertEquals(250, database.get(new JsonDocument("proxyInfo.version", 3)).size());
+
+    Assert.assertTrue(database.createIndex("name"));
+    Assert.assertTrue(database.createIndex("proxyInfo.version"));
+    Assert.assertTrue(database.createIndex("name"));
+
+    Assert.assertEquals(1, database.get("name", "Player10").size());
+    Assert.assertEquals("Player11",
+      database.get("name", "Player10").get(0).getDocument("proxyInfo").getString("name"));
+    Assert.assertEquals(250, database.get(new JsonDocument("proxyInfo.version", 3)).size());
+    Assert.assertEquals(1, database.get(new JsonDocument("name", "Player13").append("proxyInfo.version", 3)).size());
+    Assert.assertEquals(0, database.get(new JsonDocument("name", "Player13").append("proxyInfo.version", 4)).size());
+
+    Assert.assertTrue(database.update("10", new JsonDocument("name", "Renamed")));
+    Assert.assertEquals(0, database.get("name", "Player10").size());
+    Assert.assertEquals(1, database.get("name", "Renamed").size());
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    documents.put("10", new JsonDocument("name", "Batch"));
+    documents.put("new", new JsonDocument("name", "Batch"));
+    Assert.assertTrue(database.insertAll(documents));
+    Assert.assertEquals(0, database.get("name", "Renamed").size());
+    Assert.assertEquals(2, database.get("name", "Batch").size());
+
+    Assert.assertTrue(database.delete("new"));
+    Assert.assertEquals(1, database.get("name", "Batch").size());
+
+    databaseProvider.close();
+
+    // the indexes are restored from the registry of the store
+    databaseProvider = new MVStoreDatabaseProvider(FILE, false);
+    Assert.assertTrue(databaseProvider.init());
+
+    database = databaseProvider.getDatabase("indexedDataDatabase");
+    Assert.assertEquals(1, database.get("name", "Player11").size());
+    Assert.assertEquals(250, database.get("proxyInfo.version", 7).size());
+
+    Assert.assertTrue(databaseProvider.deleteDatabase("indexedDataDatabase"));
+    Assert.assertTrue(databaseProvider.getIndexes().isEmpty());
+
+    // a database created with the same name doesn't reuse the indexes of the deleted one
+    database = databaseProvider.getDatabase("indexedDataDatabase");
+    Assert.assertTrue(database.insert("1", new JsonDocument("name", "Player1")));
+    Assert.assertEquals(1, database.get("name", "Player1").size());
+
+    Assert.assertTrue(databaseProvider.deleteDatabase("indexedDataDatabase"));
+    databaseProvider.close();
+  }
+
+  @Test
+  public void testPagedIteration() throws Exception {
+    MVStoreDatabaseProvider databaseProvider = new MVStoreDatabaseProvider(FILE, false);
+    Assert.assertTrue(databaseProvider.init());
+
+    Database database = databaseProvider.getDatabase("pagedDataDatabase");
+    database.clear();
+
+    Map<String, JsonDocument> documents = new HashMap<>();
+    for (int i = 0; i < 2000; i++) {
+      documents.put(String.format("key%04d", i), new JsonDocument("value", i));
+    }
+    Assert.assertTrue(database.insertAll(documents));
+
+    List<String> keys = new ArrayList<>();
+    String cursor = database.iterate(null, 1000, (key, document) -> keys.add(key));
+    Assert.assertEquals(1000, keys.size());
+    Assert.assertEquals("key0999", cursor);
+
+    // documents inserted after the cursor are read by the following pages
+    Assert.assertTrue(database.insert("key9999", new JsonDocument("value", 9999)));
+
+    cursor = database.iterate(cursor, 1000, (key, document) -> keys.add(key));
+    Assert.assertNotNull(cursor);
+    Assert.assertNull(database.iterate(cursor, 1000, (key, document) -> keys.add(key)));
+
+    Assert.assertEquals(2001, keys.size());
+    Assert.assertEquals("key0000", keys.get(0));
+    Assert.assertEquals("key9999", keys.get(2000));
+    for (int i = 1; i < keys.size(); i++) {
+      Assert.assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+    }
+
+    // the consumer is able to write to the database while it is iterated
+    AtomicInteger count = new AtomicInteger();
+    database.iterate(300, (key, document) -> {
+      count.incrementAndGet();
+      database.update(key, document.append("visited", true));
+    });
+    Assert.assertEquals(2001, count.get());
+    Assert.assertEquals(2001, database.filter((key, document) -> document.getBoolean("visited")).size());
+
+    Assert.assertTrue(databaseProvider.deleteDatabase("pagedDataDatabase"));
+    databaseProvider.close();
+  }
+
+  @Override
+  public void handleInsert(Database database, String key, JsonDocument document) {
+    this.resultString = "foobar";
+  }
+
+  @Override
+  public void handleUpdate(Database database, String key, JsonDocument document) {
+    this.value = true;
+  }
+
+  @Override
+  public void handleDelete(Database database, String key) {
+    this.geh = true;
+  }
+
+  @Override
+  public void handleClear(Database database) {
+    this.cleared = true;
+  }
+}